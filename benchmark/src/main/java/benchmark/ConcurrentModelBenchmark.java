@@ -0,0 +1,201 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.CompactModelImpl;
+import model.ConcurrentModel;
+import model.ModelInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of how many calls per second threads sharing a single model get through, for
+ * mixes of reads (outputEvents of a random Area) and writes (addEvent to a random Area), between a
+ * {@link ConcurrentModel} and a {@link CompactModelImpl} with every call made while holding a
+ * single lock. Each benchmark runs the same mix on a different number of threads; JMH adds up the
+ * calls made by all of them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentModelBenchmark {
+
+  /**
+   * Benchmarks a single thread making calls.
+   * @param model model to make calls to
+   * @return Events read, null if an Event was added
+   */
+  @Benchmark
+  @Threads(1)
+  public List<EventData> oneThread(SharedModel model) {
+    return model.call();
+  }
+
+  /**
+   * Benchmarks two threads making calls at once.
+   * @param model model to make calls to
+   * @return Events read, null if an Event was added
+   */
+  @Benchmark
+  @Threads(2)
+  public List<EventData> twoThreads(SharedModel model) {
+    return model.call();
+  }
+
+  /**
+   * Benchmarks four threads making calls at once.
+   * @param model model to make calls to
+   * @return Events read, null if an Event was added
+   */
+  @Benchmark
+  @Threads(4)
+  public List<EventData> fourThreads(SharedModel model) {
+    return model.call();
+  }
+
+  /**
+   * Benchmarks eight threads making calls at once.
+   * @param model model to make calls to
+   * @return Events read, null if an Event was added
+   */
+  @Benchmark
+  @Threads(8)
+  public List<EventData> eightThreads(SharedModel model) {
+    return model.call();
+  }
+
+  /**
+   * A model shared by every thread of a benchmark, opened afresh for each iteration so the Events
+   * added by one don't slow down the reads of the next.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedModel {
+
+    /**
+     * Number of Events of the generated model data, 100 to an Area.
+     */
+    @Param({"100000"})
+    public int eventCount;
+
+    /**
+     * Percentage of calls that are writes.
+     */
+    @Param({"1", "10", "50"})
+    public int writePercentage;
+
+    /**
+     * How the model is shared: "concurrent" for a ConcurrentModel, or "locked" for a
+     * CompactModelImpl with every call made while holding a single lock.
+     */
+    @Param({"concurrent", "locked"})
+    public String sharing;
+
+    /**
+     * Number of Areas of the generated model data, with IDs from 1.
+     */
+    private int areaCount;
+
+    /**
+     * The generated model data file.
+     */
+    private Path file;
+
+    /**
+     * The opened model.
+     */
+    private ModelInterface model;
+
+    /**
+     * Whether every call is made while holding a lock on the model.
+     */
+    private boolean locked;
+
+    /**
+     * Generates the model data file.
+     * @throws IOException if the file couldn't be written
+     * @throws IllegalStateException if the sharing parameter names no known way of sharing
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+      if (!sharing.equals("concurrent") && !sharing.equals("locked")) {
+        throw new IllegalStateException("Unknown sharing " + sharing + "!");
+      }
+      areaCount = Math.max(1, eventCount / 100);
+      file = Files.createTempFile("XMLData", ".xml");
+      ModelDataGenerator.generate(file, areaCount, eventCount);
+      locked = sharing.equals("locked");
+    }
+
+    /**
+     * Opens the model.
+     */
+    @Setup(Level.Iteration)
+    public void open() {
+      model = locked ? new CompactModelImpl(file.toString())
+          : new ConcurrentModel(new CompactModelImpl(file.toString()));
+      model.openModelData();
+    }
+
+    /**
+     * Deletes the model data file.
+     * @throws IOException if the file couldn't be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+      Files.deleteIfExists(file);
+    }
+
+    /**
+     * Makes a single read or write call to the model, about a random Area.
+     * @return Events read, null if an Event was added
+     */
+    List<EventData> call() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int areaID = 1 + random.nextInt(areaCount);
+      boolean write = random.nextInt(100) < writePercentage;
+      if (locked) {
+        synchronized (model) {
+          return call(areaID, write);
+        }
+      }
+      return call(areaID, write);
+    }
+
+    /**
+     * Makes a single read or write call to the model.
+     * @param areaID ID of the Area to read the Events of, or add an Event to
+     * @param write whether to add an Event rather than read the Events
+     * @return Events read, null if an Event was added
+     */
+    private List<EventData> call(int areaID, boolean write) {
+      if (write) {
+        model.addEvent(new EventDataImpl(areaID, 0, "added", "", "",
+            LocalDateTime.of(2020, 1, 1, 12, 0)));
+        return null;
+      }
+      return model.outputEvents(areaID);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.DateTimeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of encoding and decoding the date and time of an Event as stored in the model
+ * data file: with {@link DateTimeCodec}, with the String.format and substring and
+ * Integer.parseInt code it replaced, and with DateTimeFormatter.ISO_LOCAL_DATE_TIME. Run with
+ * {@code -prof gc} to compare how much each allocates too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeCodecBenchmark {
+
+  /**
+   * Number of random dates and times cycled through, a power of two.
+   */
+  private static final int COUNT = 1024;
+
+  /**
+   * Random dates and times to encode.
+   */
+  private final LocalDateTime[] dateTimes = new LocalDateTime[COUNT];
+
+  /**
+   * The same dates and times, encoded, to decode.
+   */
+  private final String[] encoded = new String[COUNT];
+
+  /**
+   * Codec benchmarked.
+   */
+  private final DateTimeCodec codec = new DateTimeCodec();
+
+  /**
+   * Index of the next date and time to use.
+   */
+  private int next;
+
+  /**
+   * Makes the random dates and times.
+   */
+  public DateTimeCodecBenchmark() {
+    Random random = new Random(1);
+    for (int i = 0; i < COUNT; i++) {
+      dateTimes[i] = LocalDateTime.of(2000 + random.nextInt(40), 1 + random.nextInt(12),
+          1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+      encoded[i] = codec.format(dateTimes[i]);
+    }
+  }
+
+  /**
+   * Returns the index of the next date and time to use, cycling through all of them.
+   * @return index of a date and time
+   */
+  private int nextIndex() {
+    next = (next + 1) & (COUNT - 1);
+    return next;
+  }
+
+  /**
+   * Benchmarks encoding with String.format, as the models did before DateTimeCodec.
+   * @return the encoded date and time
+   */
+  @Benchmark
+  public String encodeStringFormat() {
+    LocalDateTime dateTime = dateTimes[nextIndex()];
+    return String.format("%02d-%02d-%02dT%02d:%02d:00", dateTime.getYear(),
+        dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(),
+        dateTime.getMinute());
+  }
+
+  /**
+   * Benchmarks encoding with DateTimeFormatter.ISO_LOCAL_DATE_TIME.
+   * @return the encoded date and time
+   */
+  @Benchmark
+  public String encodeIsoFormatter() {
+    return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTimes[nextIndex()]);
+  }
+
+  /**
+   * Benchmarks encoding with DateTimeCodec into a String, as the JDOM based models do.
+   * @return the encoded date and time
+   */
+  @Benchmark
+  public String encodeCodecString() {
+    return codec.format(dateTimes[nextIndex()]);
+  }
+
+  /**
+   * Benchmarks encoding with DateTimeCodec into its buffer, as the StAX writer does.
+   * @return the buffer holding the encoded date and time
+   */
+  @Benchmark
+  public char[] encodeCodecBuffer() {
+    return codec.encode(dateTimes[nextIndex()]);
+  }
+
+  /**
+   * Benchmarks decoding with substring and Integer.parseInt, as the models did before
+   * DateTimeCodec.
+   * @return the decoded date and time
+   */
+  @Benchmark
+  public LocalDateTime decodeSubstring() {
+    String dateAndTimeString = encoded[nextIndex()];
+    int year = Integer.parseInt(dateAndTimeString.substring(0, 4));
+    int month = Integer.parseInt(dateAndTimeString.substring(5, 7));
+    int day = Integer.parseInt(dateAndTimeString.substring(8, 10));
+    int hour = Integer.parseInt(dateAndTimeString.substring(11, 13));
+    int minute = Integer.parseInt(dateAndTimeString.substring(14, 16));
+    return LocalDateTime.of(year, month, day, hour, minute);
+  }
+
+  /**
+   * Benchmarks decoding with DateTimeFormatter.ISO_LOCAL_DATE_TIME.
+   * @return the decoded date and time
+   */
+  @Benchmark
+  public LocalDateTime decodeIsoFormatter() {
+    return LocalDateTime.parse(encoded[nextIndex()], DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+  }
+
+  /**
+   * Benchmarks decoding with DateTimeCodec.
+   * @return the decoded date and time
+   */
+  @Benchmark
+  public LocalDateTime decodeCodec() {
+    return DateTimeCodec.decode(encoded[nextIndex()]);
+  }
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the model layer - {@link ModelFileBenchmark},
+ * {@link ModelOperationBenchmark}, {@link DateTimeCodecBenchmark}, {@link ShardedSaveBenchmark}
+ * and {@link ConcurrentModelBenchmark} - writing their results as JSON to a file named after the
+ * time of the run in the benchmark-results directory, so runs can be kept and compared over time.
+ * Takes the same options as JMH's own command line, e.g. {@code -p eventCount=1000} to run at a
+ * single size, {@code -p implementation=CompactModelImpl} to run a single model, a benchmark name
+ * pattern to run only some benchmarks, or {@code -rff} to write the results elsewhere.
+ */
+public final class ModelBenchmarks {
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private ModelBenchmarks() {
+  }
+
+  /**
+   * Runs the benchmarks.
+   * @param args JMH command line options
+   * @throws CommandLineOptionException if the options couldn't be parsed
+   * @throws IOException if the results directory couldn't be made
+   * @throws RunnerException if a benchmark failed to run
+   */
+  public static void main(String[] args) throws CommandLineOptionException, IOException,
+      RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine)
+        .resultFormat(ResultFormatType.JSON);
+
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include(ModelFileBenchmark.class.getSimpleName())
+          .include(ModelOperationBenchmark.class.getSimpleName())
+          .include(DateTimeCodecBenchmark.class.getSimpleName())
+          .include(ShardedSaveBenchmark.class.getSimpleName())
+          .include(ConcurrentModelBenchmark.class.getSimpleName());
+    }
+    if (!commandLine.getResult().hasValue()) {
+      Path results = Paths.get("benchmark-results", "model-"
+          + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+      Files.createDirectories(results.getParent());
+      options.result(results.toString());
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import model.CompactModelImpl;
+import model.IndexedModelImpl;
+import model.ModelImpl;
+import model.ModelInterface;
+import model.PersistentModelImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * JMH state shared by the benchmarks of the model layer: a model data file generated by
+ * {@link ModelDataGenerator} with a given number of Events, 100 to an Area, and which
+ * implementation of the ModelInterface to benchmark on it. Both are JMH parameters, so every
+ * benchmark runs once for each number of Events and each implementation unless narrowed down with
+ * {@code -p eventCount=...} or {@code -p implementation=...}.
+ */
+@State(Scope.Benchmark)
+public class ModelData {
+
+  /**
+   * Number of Events of the generated model data file.
+   */
+  @Param({"1000", "100000", "1000000"})
+  public int eventCount;
+
+  /**
+   * Simple name of the ModelInterface implementation benchmarked.
+   */
+  @Param({"CompactModelImpl", "PersistentModelImpl", "IndexedModelImpl", "ModelImpl"})
+  public String implementation;
+
+  /**
+   * Number of Areas of the generated model data file, with IDs from 1.
+   */
+  public int areaCount;
+
+  /**
+   * The generated model data file.
+   */
+  public Path file;
+
+  /**
+   * Generates the model data file.
+   * @throws IOException if the file couldn't be written
+   */
+  @Setup(Level.Trial)
+  public void generate() throws IOException {
+    areaCount = Math.max(1, eventCount / 100);
+    file = Files.createTempFile("XMLData", ".xml");
+    ModelDataGenerator.generate(file, areaCount, eventCount);
+  }
+
+  /**
+   * Deletes the model data file.
+   * @throws IOException if the file couldn't be deleted
+   */
+  @TearDown(Level.Trial)
+  public void delete() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Returns a new, unopened model of the benchmarked implementation for the model data file.
+   * @return model of the generated model data file
+   * @throws IllegalStateException if the implementation parameter names no known implementation
+   */
+  public ModelInterface newModel() {
+    switch (implementation) {
+      case "CompactModelImpl":
+        return new CompactModelImpl(file.toString());
+      case "PersistentModelImpl":
+        return new PersistentModelImpl(file.toString());
+      case "IndexedModelImpl":
+        return new IndexedModelImpl(file.toString());
+      case "ModelImpl":
+        return new ModelImpl(file.toString());
+      default:
+        throw new IllegalStateException("Unknown model implementation " + implementation + "!");
+    }
+  }
+
+  /**
+   * Returns a new model of the benchmarked implementation, opened.
+   * @return opened model of the generated model data file
+   */
+  public ModelInterface openModel() {
+    ModelInterface toReturn = newModel();
+    toReturn.openModelData();
+    return toReturn;
+  }
+}
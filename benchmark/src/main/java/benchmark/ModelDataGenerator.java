@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Generates synthetic model data files in the format of XMLData.xml, for benchmarking the models
+ * of this ApplicationManager against agendas far larger than any hand made one.
+ */
+public final class ModelDataGenerator {
+
+  /**
+   * Words names, descriptions and locations of generated Areas and Events are made from.
+   */
+  private static final String[] WORDS = {"meeting", "review", "lunch", "call", "dentist",
+      "gym", "project", "deadline", "report", "office", "home", "school", "library", "planning",
+      "budget", "travel", "doctor", "practice", "concert", "dinner", "interview", "seminar"};
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private ModelDataGenerator() {
+  }
+
+  /**
+   * Generates a model data file with the given number of Areas, whose Events add up to the given
+   * total number of Events spread evenly across them. The same arguments always generate the same
+   * file.
+   * @param file file to write the model data to, replaced if it already exists
+   * @param areaCount number of Areas to generate
+   * @param eventCount total number of Events to generate
+   * @throws IOException if the file couldn't be written
+   * @throws IllegalArgumentException if given Area count isn't positive or Event count is
+   *         negative
+   */
+  public static void generate(Path file, int areaCount, int eventCount) throws IOException {
+    if (areaCount <= 0) {
+      throw new IllegalArgumentException("Must generate at least one Area!");
+    }
+    else if (eventCount < 0) {
+      throw new IllegalArgumentException("Can't generate a negative number of Events!");
+    }
+
+    Random random = new Random(areaCount * 31L + eventCount);
+    LocalDateTime start = LocalDateTime.of(2018, 1, 1, 0, 0);
+
+    try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8),
+        1 << 16)) {
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      out.write("<root xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+          + "xsi:noNamespaceSchemaLocation=\"XMLDataSchema.xml\" next-id=\""
+          + (areaCount + 1) + "\">\n");
+
+      for (int area = 1; area <= areaCount; area++) {
+        int events = eventCount / areaCount + (area <= eventCount % areaCount ? 1 : 0);
+        out.write("  <area id=\"" + area + "\" next-id=\"" + (events + 1) + "\">\n");
+        out.write("    <name>" + phrase(random, 2) + "</name>\n");
+        out.write("    <description>" + phrase(random, 6) + "</description>\n");
+
+        for (int event = 1; event <= events; event++) {
+          LocalDateTime dateTime = start.plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+          out.write("    <event id=\"" + event + "\">\n");
+          out.write("      <name>" + phrase(random, 3) + "</name>\n");
+          out.write("      <description>" + phrase(random, 8) + "</description>\n");
+          out.write("      <date-time>" + dateTime + ":00</date-time>\n");
+          out.write("      <location>" + phrase(random, 1) + "</location>\n");
+          out.write("    </event>\n");
+        }
+        out.write("  </area>\n");
+      }
+      out.write("</root>\n");
+    }
+  }
+
+  /**
+   * Returns a phrase made of the given number of random words.
+   * @param random source of randomness
+   * @param words number of words in the phrase
+   * @return phrase of random words
+   */
+  private static String phrase(Random random, int words) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        builder.append(' ');
+      }
+      builder.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Generates a model data file from the command line.
+   * @param args file to write, number of Areas, and total number of Events
+   * @throws IOException if the file couldn't be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: ModelDataGenerator <file> <areas> <events>");
+      System.exit(1);
+    }
+    generate(Paths.get(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+  }
+}
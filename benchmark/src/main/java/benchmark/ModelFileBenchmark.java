@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import datatransfer.EventDataImpl;
+import model.ModelInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of reading a model data file into a model and saving it back out. Each call
+ * takes milliseconds to seconds, so each is timed on its own.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelFileBenchmark {
+
+  /**
+   * Benchmarks openModelData, from constructing the model to its model data being read.
+   * @param data model data file to open
+   * @return opened model, so its model data isn't optimized away
+   */
+  @Benchmark
+  public ModelInterface openModelData(ModelData data) {
+    return data.openModel();
+  }
+
+  /**
+   * Benchmarks closeModelData of a model with a single unsaved change, i.e. a save of every Area
+   * and Event.
+   * @param model changed model to save
+   */
+  @Benchmark
+  public void closeModelData(ChangedModel model) {
+    model.model.closeModelData();
+  }
+
+  /**
+   * An opened model with a single Event added since it was last saved, so closing it has to write
+   * its model data out.
+   */
+  @State(Scope.Thread)
+  public static class ChangedModel {
+
+    /**
+     * The changed model.
+     */
+    ModelInterface model;
+
+    /**
+     * Opens the model.
+     * @param data model data file to open
+     */
+    @Setup(Level.Trial)
+    public void open(ModelData data) {
+      model = data.openModel();
+    }
+
+    /**
+     * Adds an Event to the model, so it has a change to save.
+     */
+    @Setup(Level.Invocation)
+    public void change() {
+      model.addEvent(new EventDataImpl(1, 0, "changed", "", "", LocalDateTime.of(2020, 1, 1,
+          12, 0)));
+    }
+  }
+}
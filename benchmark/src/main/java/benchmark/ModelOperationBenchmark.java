@@ -0,0 +1,235 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.ModelInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the calls made to an opened model while the application runs: changing a
+ * single Event, and reading its Areas, the Events of an Area, or a single Event. Areas and Events
+ * are picked at random, the same ones for every implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelOperationBenchmark {
+
+  /**
+   * Number of Events added or deleted by each call of the benchmarks that need the model reset
+   * between calls, so resetting it isn't timed once per Event.
+   */
+  private static final int BATCH = 1000;
+
+  /**
+   * Benchmarks addEvent, adding Events to a single Area that are deleted again between calls.
+   * @param model opened model to add Events to
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void addEvent(BatchModel model) {
+    for (int i = 0; i < BATCH; i++) {
+      model.model.addEvent(new EventDataImpl(model.areaID, 0, "added", "", "",
+          LocalDateTime.of(2020, 1, 1, 12, 0)));
+    }
+  }
+
+  /**
+   * Benchmarks deleteEvent, deleting Events from a single Area that are added between calls.
+   * @param model opened model to delete Events from
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void deleteEvent(DeletableModel model) {
+    for (int eventID : model.addedEventIDs) {
+      model.model.deleteEvent(model.areaID, eventID);
+    }
+  }
+
+  /**
+   * Benchmarks editEvent, renaming a random Event.
+   * @param model opened model to edit
+   */
+  @Benchmark
+  public void editEvent(OpenedModel model) {
+    EventData event = model.nextEvent();
+    model.model.editEvent(new EventDataImpl(event.getAssociatedAreaId(), event.getEventId(),
+        "edited", event.getEventDescription(), event.getEventLocation(),
+        event.getEventDateAndTime()));
+  }
+
+  /**
+   * Benchmarks outputAreas.
+   * @param model opened model to read
+   * @return every Area
+   */
+  @Benchmark
+  public List<AreaData> outputAreas(OpenedModel model) {
+    return model.model.outputAreas();
+  }
+
+  /**
+   * Benchmarks outputEvents of a random Area.
+   * @param model opened model to read
+   * @return Events of the Area
+   */
+  @Benchmark
+  public List<EventData> outputEvents(OpenedModel model) {
+    return model.model.outputEvents(model.nextEvent().getAssociatedAreaId());
+  }
+
+  /**
+   * Benchmarks getEventData of a random Event.
+   * @param model opened model to read
+   * @return the Event
+   */
+  @Benchmark
+  public EventData getEventData(OpenedModel model) {
+    EventData event = model.nextEvent();
+    return model.model.getEventData(event.getAssociatedAreaId(), event.getEventId());
+  }
+
+  /**
+   * An opened model, along with a fixed sequence of random Events of it to make calls about.
+   */
+  @State(Scope.Thread)
+  public static class OpenedModel {
+
+    /**
+     * Number of random Events picked.
+     */
+    private static final int PICKED = 4096;
+
+    /**
+     * The opened model.
+     */
+    ModelInterface model;
+
+    /**
+     * Random Events of the model, as they were when it was opened.
+     */
+    private final EventData[] events = new EventData[PICKED];
+
+    /**
+     * Index of the next Event to return.
+     */
+    private int next;
+
+    /**
+     * Opens the model and picks the Events.
+     * @param data model data file to open
+     */
+    @Setup(Level.Trial)
+    public void open(ModelData data) {
+      model = data.openModel();
+      Random random = new Random(1);
+      for (int i = 0; i < PICKED; i++) {
+        List<EventData> areaEvents = model.outputEvents(1 + random.nextInt(data.areaCount));
+        events[i] = areaEvents.get(random.nextInt(areaEvents.size()));
+      }
+    }
+
+    /**
+     * Returns the next picked Event, cycling through all of them.
+     * @return a random Event of the model
+     */
+    EventData nextEvent() {
+      EventData toReturn = events[next];
+      next = (next + 1) % PICKED;
+      return toReturn;
+    }
+  }
+
+  /**
+   * An opened model whose Events beyond those of its model data file are deleted after each
+   * call, so it doesn't grow from call to call.
+   */
+  @State(Scope.Thread)
+  public static class BatchModel {
+
+    /**
+     * The opened model.
+     */
+    ModelInterface model;
+
+    /**
+     * ID of the Area Events are added to and deleted from.
+     */
+    int areaID = 1;
+
+    /**
+     * Number of Events the Area has in the model data file.
+     */
+    int originalSize;
+
+    /**
+     * Opens the model.
+     * @param data model data file to open
+     */
+    @Setup(Level.Trial)
+    public void open(ModelData data) {
+      model = data.openModel();
+      originalSize = model.outputEvents(areaID).size();
+    }
+
+    /**
+     * Deletes every Event added to the Area since it was opened. Added Events have the largest
+     * IDs, so they are output after the Area's original Events.
+     */
+    @TearDown(Level.Invocation)
+    public void deleteAdded() {
+      List<EventData> events = model.outputEvents(areaID);
+      for (int i = originalSize; i < events.size(); i++) {
+        model.deleteEvent(areaID, events.get(i).getEventId());
+      }
+    }
+  }
+
+  /**
+   * An opened model that a batch of Events is added to before each call, for the call to delete.
+   */
+  @State(Scope.Thread)
+  public static class DeletableModel extends BatchModel {
+
+    /**
+     * IDs of the batch of Events added before the current call.
+     */
+    int[] addedEventIDs;
+
+    /**
+     * Adds a batch of Events to the Area.
+     */
+    @Setup(Level.Invocation)
+    public void addBatch() {
+      for (int i = 0; i < BATCH; i++) {
+        model.addEvent(new EventDataImpl(areaID, 0, "added", "", "",
+            LocalDateTime.of(2020, 1, 1, 12, 0)));
+      }
+      List<EventData> events = model.outputEvents(areaID);
+      addedEventIDs = new int[BATCH];
+      for (int i = 0; i < BATCH; i++) {
+        addedEventIDs[i] = events.get(originalSize + i).getEventId();
+      }
+    }
+  }
+}
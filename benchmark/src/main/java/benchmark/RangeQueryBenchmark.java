@@ -0,0 +1,221 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.CompactModelImpl;
+import model.ModelChangeListener;
+import model.ModelInterface;
+
+/**
+ * Measures how long asking a model for every Event in a window of time takes, between the
+ * {@link CompactModelImpl} - which looks Events up in an index sorted by date and time - and the
+ * default of {@link ModelInterface#outputEventsBetween}, which looks at every Event of every Area
+ * as {@link model.ModelImpl} does. Also measures how long keeping the index up to date makes adding an
+ * Event.
+ */
+public final class RangeQueryBenchmark {
+
+  /**
+   * Number of untimed queries before measuring each window.
+   */
+  private static final int WARMUP_QUERIES = 200;
+
+  /**
+   * Number of timed queries of each window.
+   */
+  private static final int MEASURED_QUERIES = 1000;
+
+  /**
+   * Number of Events added to measure how long adding an Event takes.
+   */
+  private static final int ADDED_EVENTS = 10_000;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private RangeQueryBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args total number of Events to generate a file with, defaults to 1000000
+   * @throws IOException if a model data file couldn't be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int eventCount = args.length == 0 ? 1_000_000 : Integer.parseInt(args[0]);
+    Path file = Files.createTempFile("XMLData", ".xml");
+    try {
+      ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+      CompactModelImpl model = new CompactModelImpl(file.toString());
+      model.openModelData();
+
+      long start = System.nanoTime();
+      model.outputEventsBetween(LocalDateTime.MIN, LocalDateTime.MAX);
+      System.out.printf("built index of %d events in %.1f ms%n", eventCount,
+          (System.nanoTime() - start) / 1e6);
+
+      System.out.printf("%-10s %-8s %12s %14s%n", "query", "window", "events", "median (us)");
+      for (Duration window : new Duration[] {Duration.ofHours(1), Duration.ofDays(1),
+          Duration.ofDays(7)}) {
+        run("index", model, window, false);
+        run("scan", model, window, true);
+      }
+
+      Random random = new Random(1);
+      start = System.nanoTime();
+      for (int i = 0; i < ADDED_EVENTS; i++) {
+        model.addEvent(new EventDataImpl(1, 0, "added", "", "", randomDateTime(random)));
+      }
+      System.out.printf("addEvent with index kept up to date: %.2f us%n",
+          (System.nanoTime() - start) / 1e3 / ADDED_EVENTS);
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Queries the given model for Events in randomly placed windows of the given length, printing
+   * the median time taken.
+   * @param name name of the kind of query
+   * @param model model to query
+   * @param window length of each window
+   * @param scan whether to use the default query that looks at every Event
+   */
+  private static void run(String name, ModelInterface model, Duration window, boolean scan) {
+    // Scanning every Event is too slow to repeat as often as an index lookup.
+    int measured = scan ? MEASURED_QUERIES / 100 : MEASURED_QUERIES;
+    int warmup = scan ? WARMUP_QUERIES / 100 : WARMUP_QUERIES;
+    ModelInterface queried = scan ? new ScanningModel(model) : model;
+
+    Random random = new Random(window.toMinutes());
+    long[] times = new long[measured];
+    long found = 0;
+    for (int i = 0; i < warmup + measured; i++) {
+      LocalDateTime from = randomDateTime(random);
+      long start = System.nanoTime();
+      int size = queried.outputEventsBetween(from, from.plus(window)).size();
+      long time = System.nanoTime() - start;
+      if (i >= warmup) {
+        times[i - warmup] = time;
+        found += size;
+      }
+    }
+    Arrays.sort(times);
+
+    System.out.printf("%-10s %-8s %12d %14.1f%n", name, window, found / measured,
+        times[measured / 2] / 1e3);
+  }
+
+  /**
+   * Returns a random date and time within the years generated model data spans.
+   * @param random source of randomness
+   * @return random date and time
+   */
+  private static LocalDateTime randomDateTime(Random random) {
+    return LocalDateTime.of(2018, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+  }
+
+  /**
+   * Read-only view of another model that answers queries by date and time with the default of
+   * {@link ModelInterface#outputEventsBetween}, rather than the other model's own.
+   */
+  private static final class ScanningModel implements ModelInterface {
+
+    /**
+     * The model viewed.
+     */
+    private final ModelInterface model;
+
+    /**
+     * Constructs a ScanningModel of the given model.
+     * @param model model to view
+     */
+    ScanningModel(ModelInterface model) {
+      this.model = model;
+    }
+
+    @Override
+    public void openModelData() {
+    }
+
+    @Override
+    public void closeModelData() {
+    }
+
+    @Override
+    public void addArea(AreaData data) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void editArea(AreaData data) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addEvent(EventData data) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void editEvent(EventData data) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteArea(int areaID) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteEvent(int areaID, int eventID) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AreaData> outputAreas() {
+      return model.outputAreas();
+    }
+
+    @Override
+    public List<EventData> outputEvents(int areaID) {
+      return model.outputEvents(areaID);
+    }
+
+    @Override
+    public AreaData getAreaData(int areaID) {
+      return model.getAreaData(areaID);
+    }
+
+    @Override
+    public EventData getEventData(int areaID, int eventID) {
+      return model.getEventData(areaID, eventID);
+    }
+
+    @Override
+    public String outputModelDataAsString() {
+      return model.outputModelDataAsString();
+    }
+
+    @Override
+    public void addModelChangeListener(ModelChangeListener listener) {
+      model.addModelChangeListener(listener);
+    }
+
+    @Override
+    public void removeModelChangeListener(ModelChangeListener listener) {
+      model.removeModelChangeListener(listener);
+    }
+  }
+}
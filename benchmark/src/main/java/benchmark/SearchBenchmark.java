@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import model.CompactModelImpl;
+
+/**
+ * Measures how long a {@link CompactModelImpl} takes to search the text of its Events as a query
+ * is typed, one search per keystroke, over a large generated XMLData.xml.
+ */
+public final class SearchBenchmark {
+
+  /**
+   * Queries typed, one character at a time.
+   */
+  private static final String[] QUERIES = {"meeting", "budget review", "dentist office",
+      "d", "project deadline report", "lib", "Concert Dinner"};
+
+  /**
+   * Number of times each query is typed before measuring.
+   */
+  private static final int WARMUP_RUNS = 5;
+
+  /**
+   * Number of times each query is typed while measuring.
+   */
+  private static final int MEASURED_RUNS = 10;
+
+  /**
+   * Most results asked for by each search, as many as the view shows.
+   */
+  private static final int MAX_RESULTS = 50;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private SearchBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args total number of Events to generate a file with, defaults to 500000
+   * @throws IOException if a model data file couldn't be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int eventCount = args.length == 0 ? 500_000 : Integer.parseInt(args[0]);
+    Path file = Files.createTempFile("XMLData", ".xml");
+    try {
+      ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+      CompactModelImpl model = new CompactModelImpl(file.toString());
+      model.openModelData();
+
+      long start = System.nanoTime();
+      model.searchEvents("", MAX_RESULTS);
+      System.out.printf("built index of %d events in %.1f ms%n", eventCount,
+          (System.nanoTime() - start) / 1e6);
+
+      System.out.printf("%-26s %16s %14s%n", "query", "median (ms)", "max (ms)");
+      for (String query : QUERIES) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+          type(model, query);
+        }
+
+        long[] times = new long[MEASURED_RUNS * query.length()];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+          System.arraycopy(type(model, query), 0, times, i * query.length(), query.length());
+        }
+        Arrays.sort(times);
+        System.out.printf("%-26s %16.2f %14.2f%n", "\"" + query + "\"",
+            times[times.length / 2] / 1e6, times[times.length - 1] / 1e6);
+      }
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Searches the given model for every prefix of the given query, as if it were typed.
+   * @param model model to search
+   * @param query query to type
+   * @return time taken by the search after each keystroke, in nanoseconds
+   */
+  private static long[] type(CompactModelImpl model, String query) {
+    long[] times = new long[query.length()];
+    for (int i = 1; i <= query.length(); i++) {
+      long start = System.nanoTime();
+      model.searchEvents(query.substring(0, i), MAX_RESULTS);
+      times[i - 1] = System.nanoTime() - start;
+    }
+    return times;
+  }
+}
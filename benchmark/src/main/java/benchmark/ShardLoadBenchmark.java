@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import model.CompactModelImpl;
+import model.ShardConverter;
+
+/**
+ * Measures how reading every Event of model data stored as a directory with a file per Area scales
+ * with the number of threads a {@link CompactModelImpl} reads the files on, over a generated
+ * XMLData.xml of a given number of Events, 100 to an Area, converted to such a directory.
+ */
+public final class ShardLoadBenchmark {
+
+  /**
+   * Number of untimed opens before measuring each number of threads.
+   */
+  private static final int WARMUP_RUNS = 2;
+
+  /**
+   * Number of timed opens with each number of threads.
+   */
+  private static final int MEASURED_RUNS = 5;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private ShardLoadBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args total number of Events to generate, defaults to 1000000, then the numbers of
+   *             threads to read with, default to 1 2 4 8
+   * @throws IOException if the model data couldn't be generated, converted or deleted
+   */
+  public static void main(String[] args) throws IOException {
+    int eventCount = args.length == 0 ? 1_000_000 : Integer.parseInt(args[0]);
+    int[] threadCounts = args.length < 2 ? new int[] {1, 2, 4, 8}
+        : Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray();
+
+    Path file = Files.createTempFile("XMLData", ".xml");
+    Path directory = Files.createTempDirectory("XMLData");
+    try {
+      ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+      ShardConverter.convert(file, directory);
+
+      System.out.printf("%d events, %d processors%n", eventCount,
+          Runtime.getRuntime().availableProcessors());
+      System.out.printf("%8s %12s %16s %10s%n", "threads", "open (ms)", "events/s", "speedup");
+      long singleThreaded = 0;
+      for (int threads : threadCounts) {
+        long time = run(directory, threads);
+        if (singleThreaded == 0) {
+          singleThreaded = time;
+        }
+        System.out.printf("%8d %12.1f %16.0f %10.2f%n", threads, time / 1e6,
+            eventCount / (time / 1e9), (double) singleThreaded / time);
+      }
+    }
+    finally {
+      Files.delete(file);
+      try (Stream<Path> paths = Files.walk(directory)) {
+        for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  /**
+   * Opens the given directory several times, reading every Event on the given number of threads.
+   * @param directory directory of model data to open
+   * @param threads most threads to read the files of Areas on
+   * @return median time taken in nanoseconds
+   */
+  private static long run(Path directory, int threads) {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      new CompactModelImpl(directory.toString(), false, false, threads).openModelData();
+    }
+
+    long[] times = new long[MEASURED_RUNS];
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      new CompactModelImpl(directory.toString(), false, false, threads).openModelData();
+      times[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(times);
+    return times[MEASURED_RUNS / 2];
+  }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.CompactModelImpl;
+import model.ModelInterface;
+import model.ShardConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of what a save costs after a single edit, with the model data stored as a single
+ * XMLData.xml or as a directory with a file per Area. A {@link CompactModelImpl} opened lazily has
+ * one Event edited before each save, so the single file has every Area copied or written out again
+ * while the directory has only the edited Area's file rewritten.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShardedSaveBenchmark {
+
+  /**
+   * Benchmarks closeModelData of a model with a single edited Event.
+   * @param model edited model to save
+   */
+  @Benchmark
+  public void closeModelData(EditedModel model) {
+    model.model.closeModelData();
+  }
+
+  /**
+   * An opened model, stored in a given layout, with a single Event edited since it was last saved.
+   */
+  @State(Scope.Thread)
+  public static class EditedModel {
+
+    /**
+     * Number of Events of the generated model data, 100 to an Area.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int eventCount;
+
+    /**
+     * How the model data is stored, "single" for a single XML file, "sharded" for a directory
+     * with a file per Area.
+     */
+    @Param({"single", "sharded"})
+    public String layout;
+
+    /**
+     * The generated model data file.
+     */
+    private Path file;
+
+    /**
+     * The directory the model data file is converted to, for the sharded layout.
+     */
+    private Path directory;
+
+    /**
+     * The edited model.
+     */
+    ModelInterface model;
+
+    /**
+     * Number of edits made so far, to give each edit a different Event name.
+     */
+    private int edits;
+
+    /**
+     * Generates the model data, converts it to the benchmarked layout, and opens it lazily.
+     * @throws IOException if the model data couldn't be generated or converted
+     */
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+      file = Files.createTempFile("XMLData", ".xml");
+      ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+      Path opened = file;
+      if (layout.equals("sharded")) {
+        directory = Files.createTempDirectory("XMLData");
+        ShardConverter.convert(file, directory);
+        opened = directory;
+      }
+      model = new CompactModelImpl(opened.toString(), true, false);
+      model.openModelData();
+    }
+
+    /**
+     * Edits the first Event of Area 1, so the model has a single change to save.
+     */
+    @Setup(Level.Invocation)
+    public void edit() {
+      EventData event = model.outputEvents(1).get(0);
+      model.editEvent(new EventDataImpl(1, event.getEventId(), "edited " + edits++,
+          event.getEventDescription(), event.getEventLocation(),
+          LocalDateTime.of(2020, 1, 1, 12, 0)));
+    }
+
+    /**
+     * Deletes the model data file and directory.
+     * @throws IOException if a file couldn't be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+      Files.deleteIfExists(file);
+      if (directory != null) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+          for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+            Files.delete(path);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import model.CompactModelImpl;
+import model.SnapshotConverter;
+
+/**
+ * Compares the size of a large generated XMLData.xml with that of its binary snapshot, and how
+ * long a {@link CompactModelImpl} takes to open every Area and Event from each.
+ */
+public final class SnapshotBenchmark {
+
+  /**
+   * Number of untimed opens before measuring each format.
+   */
+  private static final int WARMUP_RUNS = 2;
+
+  /**
+   * Number of timed opens of each format.
+   */
+  private static final int MEASURED_RUNS = 5;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private SnapshotBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args total numbers of Events to generate files with, defaults to 10000 100000 1000000
+   * @throws IOException if a model data file couldn't be generated or converted
+   */
+  public static void main(String[] args) throws IOException {
+    int[] eventCounts = args.length == 0 ? new int[] {10_000, 100_000, 1_000_000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.printf("%-8s %10s %12s %12s%n", "format", "events", "file (MB)", "open (ms)");
+    for (int eventCount : eventCounts) {
+      Path file = Files.createTempFile("XMLData", ".xml");
+      Path snapshot = CompactModelImpl.binarySnapshotPath(file);
+      try {
+        ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+        SnapshotConverter.convert(file, snapshot);
+        run("XML", file, false, Files.size(file), eventCount);
+        run("binary", file, true, Files.size(snapshot), eventCount);
+      }
+      finally {
+        Files.deleteIfExists(snapshot);
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Opens the given file several times, printing the median time taken.
+   * @param format name of the format read
+   * @param file XML model data file to open
+   * @param binarySnapshot whether to read the binary snapshot beside the file instead
+   * @param size size of the file read
+   * @param eventCount number of Events in the file
+   */
+  private static void run(String format, Path file, boolean binarySnapshot, long size,
+      int eventCount) {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      new CompactModelImpl(file.toString(), false, binarySnapshot).openModelData();
+    }
+
+    long[] times = new long[MEASURED_RUNS];
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      new CompactModelImpl(file.toString(), false, binarySnapshot).openModelData();
+      times[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(times);
+
+    System.out.printf("%-8s %10d %12.1f %12.1f%n", format, eventCount, size / 1e6,
+        times[MEASURED_RUNS / 2] / 1e6);
+  }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import model.CompactModelImpl;
+import model.ModelImpl;
+import model.ModelInterface;
+
+/**
+ * Compares how long opening a large generated XMLData.xml takes, and how much heap the opened
+ * model data retains, between the JDOM backed {@link ModelImpl} and the StAX loaded
+ * {@link CompactModelImpl}, both reading every Event and lazily reading only the Areas.
+ */
+public final class StartupBenchmark {
+
+  /**
+   * Number of untimed opens before measuring each model.
+   */
+  private static final int WARMUP_RUNS = 2;
+
+  /**
+   * Number of timed opens of each model.
+   */
+  private static final int MEASURED_RUNS = 5;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private StartupBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args total numbers of Events to generate files with, defaults to 10000 100000 1000000
+   * @throws IOException if a model data file couldn't be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int[] eventCounts = args.length == 0 ? new int[] {10_000, 100_000, 1_000_000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.printf("%-18s %10s %12s %12s %14s%n", "model", "events", "file (MB)",
+        "open (ms)", "retained (MB)");
+    for (int eventCount : eventCounts) {
+      Path file = Files.createTempFile("XMLData", ".xml");
+      try {
+        ModelDataGenerator.generate(file, Math.max(1, eventCount / 100), eventCount);
+        run("ModelImpl", ModelImpl::new, file, eventCount);
+        run("CompactModelImpl", CompactModelImpl::new, file, eventCount);
+        run("CompactModel lazy", path -> new CompactModelImpl(path, true), file, eventCount);
+      }
+      finally {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Opens the given file with the given kind of model several times, printing the median time
+   * taken and the heap retained by the last opened model.
+   * @param name name of the kind of model
+   * @param constructor creates a model associated with a file path
+   * @param file model data file to open
+   * @param eventCount number of Events in the file
+   * @throws IOException if the size of the file couldn't be read
+   */
+  private static void run(String name, Function<String, ModelInterface> constructor, Path file,
+      int eventCount) throws IOException {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      constructor.apply(file.toString()).openModelData();
+    }
+
+    long[] times = new long[MEASURED_RUNS];
+    long retained = 0;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long before = usedHeap();
+      long start = System.nanoTime();
+      ModelInterface model = constructor.apply(file.toString());
+      model.openModelData();
+      times[i] = System.nanoTime() - start;
+      retained = usedHeap() - before;
+      // Keep the model reachable until its retained heap has been measured.
+      model.outputAreas();
+    }
+    Arrays.sort(times);
+
+    System.out.printf("%-18s %10d %12.1f %12.1f %14.1f%n", name, eventCount,
+        Files.size(file) / 1e6, times[MEASURED_RUNS / 2] / 1e6, retained / 1e6);
+  }
+
+  /**
+   * Returns the heap in use after asking for a garbage collection.
+   * @return bytes of heap in use
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,216 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.CompactModelImpl;
+import model.ConcurrentModel;
+import model.ModelInterface;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single {@link ConcurrentModel} of a lazily loaded {@link CompactModelImpl} from many
+ * threads at once: writers adding, editing, and deleting Events and editing Areas, readers
+ * checking every list they are given is consistent, a searcher making searches and queries by
+ * date and time, and a saver saving the model data file over and over. Once they stop, checks the
+ * model, and the model data file it saved, hold exactly the Events the writers left. Run as a test
+ * of this module, failing the build if any check failed.
+ */
+class ConcurrentModelStressTest {
+
+  /**
+   * Number of threads changing the model.
+   */
+  private static final int WRITERS = 4;
+
+  /**
+   * Number of threads reading the model.
+   */
+  private static final int READERS = 4;
+
+  /**
+   * Milliseconds the threads run for.
+   */
+  private static final long RUN_MILLIS = 5000;
+
+  /**
+   * Total number of Events of the generated model data file.
+   */
+  private static final int EVENT_COUNT = 20_000;
+
+  /**
+   * Runs every thread against a single model, then checks the model and the file it saved.
+   * @throws IOException if a model data file couldn't be generated
+   * @throws InterruptedException if interrupted while waiting for threads to finish
+   */
+  @Test
+  void concurrentCallsLeaveModelConsistent() throws IOException, InterruptedException {
+    int areaCount = Math.max(WRITERS, EVENT_COUNT / 100);
+    Queue<String> failures = new ConcurrentLinkedQueue<>();
+    Path file = Files.createTempFile("XMLData", ".xml");
+    try {
+      ModelDataGenerator.generate(file, areaCount, EVENT_COUNT);
+      ModelInterface model = new ConcurrentModel(new CompactModelImpl(file.toString(), true));
+      model.openModelData();
+
+      int[] expected = new int[areaCount + 1];
+      for (int areaID = 1; areaID <= areaCount; areaID++) {
+        expected[areaID] = model.outputEvents(areaID).size();
+      }
+      // Count only loaded the Events of each Area, so start over with none of them loaded.
+      model.openModelData();
+
+      AtomicBoolean stopped = new AtomicBoolean();
+      AtomicInteger calls = new AtomicInteger();
+      List<Thread> threads = new ArrayList<>();
+
+      for (int i = 0; i < WRITERS; i++) {
+        int writer = i;
+        threads.add(new Thread(() -> {
+          // Each writer only changes the Areas whose ID leaves it as remainder, so it alone knows
+          // how many Events they should hold.
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          while (!stopped.get()) {
+            int areaID = writer + 1 + WRITERS * random.nextInt(areaCount / WRITERS);
+            int choice = random.nextInt(10);
+            if (choice < 5) {
+              model.addEvent(new EventDataImpl(areaID, 0, "added by " + writer, "", "",
+                  LocalDateTime.of(2020, 1, 1, 12, 0)));
+              expected[areaID]++;
+            }
+            else if (choice < 9) {
+              List<EventData> events = model.outputEvents(areaID);
+              if (!events.isEmpty()) {
+                EventData event = events.get(random.nextInt(events.size()));
+                if (choice < 7) {
+                  model.deleteEvent(areaID, event.getEventId());
+                  expected[areaID]--;
+                }
+                else {
+                  model.editEvent(new EventDataImpl(areaID, event.getEventId(),
+                      "edited by " + writer, "", "", event.getEventDateAndTime()));
+                }
+              }
+            }
+            else {
+              model.editArea(new AreaDataImpl(areaID, "Area " + areaID + " edited", ""));
+            }
+            calls.incrementAndGet();
+          }
+        }));
+      }
+
+      for (int i = 0; i < READERS; i++) {
+        threads.add(new Thread(() -> {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          while (!stopped.get()) {
+            int areaID = 1 + random.nextInt(areaCount);
+            check(model.outputEvents(areaID), areaID, failures);
+            List<AreaData> areas = model.outputAreas();
+            if (areas.size() != areaCount) {
+              failures.add("outputAreas returned " + areas.size() + " Areas");
+            }
+            if (model.getAreaData(areaID).getAreaId() != areaID) {
+              failures.add("getAreaData(" + areaID + ") returned another Area");
+            }
+            calls.incrementAndGet();
+          }
+        }));
+      }
+
+      threads.add(new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!stopped.get()) {
+          model.searchEvents("meeting", 50);
+          LocalDateTime from = LocalDateTime.of(2018, 1, 1, 0, 0)
+              .plusDays(random.nextInt(3 * 365));
+          List<EventData> events = model.outputEventsBetween(from, from.plusDays(1));
+          for (EventData event : events) {
+            if (event.getEventDateAndTime().isBefore(from)
+                || !event.getEventDateAndTime().isBefore(from.plusDays(1))) {
+              failures.add("outputEventsBetween returned an Event outside its window");
+            }
+          }
+          calls.incrementAndGet();
+        }
+      }));
+
+      threads.add(new Thread(() -> {
+        while (!stopped.get()) {
+          model.closeModelData();
+          calls.incrementAndGet();
+        }
+      }));
+
+      for (Thread thread : threads) {
+        thread.setUncaughtExceptionHandler((t, e) -> failures.add(t.getName() + " threw " + e));
+        thread.start();
+      }
+      Thread.sleep(RUN_MILLIS);
+      stopped.set(true);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      model.closeModelData();
+      ModelInterface saved = new CompactModelImpl(file.toString());
+      saved.openModelData();
+      for (int areaID = 1; areaID <= areaCount; areaID++) {
+        check(model.outputEvents(areaID), areaID, failures);
+        if (model.outputEvents(areaID).size() != expected[areaID]) {
+          failures.add("Area " + areaID + " holds " + model.outputEvents(areaID).size()
+              + " Events rather than " + expected[areaID]);
+        }
+        if (saved.outputEvents(areaID).size() != expected[areaID]) {
+          failures.add("Area " + areaID + " was saved with " + saved.outputEvents(areaID).size()
+              + " Events rather than " + expected[areaID]);
+        }
+      }
+
+      assertTrue(failures.isEmpty(), () -> failures.size() + " failures in " + calls.get()
+          + " calls from " + threads.size() + " threads, e.g.\n"
+          + failures.stream().limit(20).collect(Collectors.joining("\n")));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Checks that the given Events all belong to the given Area and have distinct IDs, adding a
+   * description of any that don't to the given failures.
+   * @param events Events output for an Area
+   * @param areaID ID of the Area
+   * @param failures failures found so far
+   */
+  private static void check(List<EventData> events, int areaID, Queue<String> failures) {
+    Set<Integer> eventIDs = new HashSet<>();
+    for (EventData event : events) {
+      if (event.getAssociatedAreaId() != areaID) {
+        failures.add("outputEvents(" + areaID + ") returned an Event of another Area");
+      }
+      if (!eventIDs.add(event.getEventId())) {
+        failures.add("outputEvents(" + areaID + ") returned Event " + event.getEventId()
+            + " twice");
+      }
+    }
+  }
+}
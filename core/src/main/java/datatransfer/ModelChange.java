@@ -0,0 +1,53 @@
+package datatransfer;
+
+import java.util.List;
+
+/**
+ * Represents a batch of changes made to this ApplicationManager's data model, being sent from a
+ * model to a view so it can update only the Areas and Events that changed rather than redisplaying
+ * all of them.
+ */
+public interface ModelChange {
+  /**
+   * Returns the Areas added to the model, with the IDs the model gave them.
+   * @return added Areas
+   */
+  List<AreaData> getAddedAreas();
+
+  /**
+   * Returns the Areas of the model whose name or description was changed, with their new data.
+   * @return updated Areas
+   */
+  List<AreaData> getUpdatedAreas();
+
+  /**
+   * Returns the Areas deleted from the model, with the data they had. Every Event of a deleted
+   * Area is deleted along with it, without being listed in the removed Events.
+   * @return removed Areas
+   */
+  List<AreaData> getRemovedAreas();
+
+  /**
+   * Returns the Events added to the model, with the IDs the model gave them.
+   * @return added Events
+   */
+  List<EventData> getAddedEvents();
+
+  /**
+   * Returns the Events of the model whose data was changed, with their new data.
+   * @return updated Events
+   */
+  List<EventData> getUpdatedEvents();
+
+  /**
+   * Returns the Events deleted from the model, with the data they had.
+   * @return removed Events
+   */
+  List<EventData> getRemovedEvents();
+
+  /**
+   * Returns whether this ModelChange holds no changes at all.
+   * @return if no Area or Event was added, updated, or removed
+   */
+  boolean isEmpty();
+}
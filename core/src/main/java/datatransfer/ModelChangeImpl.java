@@ -0,0 +1,218 @@
+package datatransfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An implementation of the ModelChange interface, simply stores the lists of Areas and Events that
+ * were added, updated, and removed by some change to a model.
+ */
+public class ModelChangeImpl implements ModelChange {
+
+  /**
+   * The Areas added.
+   */
+  private final List<AreaData> addedAreas;
+
+  /**
+   * The Areas updated.
+   */
+  private final List<AreaData> updatedAreas;
+
+  /**
+   * The Areas removed.
+   */
+  private final List<AreaData> removedAreas;
+
+  /**
+   * The Events added.
+   */
+  private final List<EventData> addedEvents;
+
+  /**
+   * The Events updated.
+   */
+  private final List<EventData> updatedEvents;
+
+  /**
+   * The Events removed.
+   */
+  private final List<EventData> removedEvents;
+
+  /**
+   * Default constructor for this ModelChangeImpl, takes in every list of Areas and Events changed.
+   * The lists are copied, so later changes to them aren't seen by this ModelChangeImpl.
+   * @param addedAreas Areas added
+   * @param updatedAreas Areas updated
+   * @param removedAreas Areas removed
+   * @param addedEvents Events added
+   * @param updatedEvents Events updated
+   * @param removedEvents Events removed
+   * @throws IllegalArgumentException if any given list is null or holds null
+   */
+  public ModelChangeImpl(List<AreaData> addedAreas, List<AreaData> updatedAreas,
+      List<AreaData> removedAreas, List<EventData> addedEvents, List<EventData> updatedEvents,
+      List<EventData> removedEvents) {
+    this.addedAreas = copy(addedAreas);
+    this.updatedAreas = copy(updatedAreas);
+    this.removedAreas = copy(removedAreas);
+    this.addedEvents = copy(addedEvents);
+    this.updatedEvents = copy(updatedEvents);
+    this.removedEvents = copy(removedEvents);
+  }
+
+  /**
+   * Returns an unmodifiable copy of the given list of changes.
+   * @param changes list of changed Areas or Events
+   * @param <T> type of the changed data
+   * @return copy of the given list
+   * @throws IllegalArgumentException if given list is null or holds null
+   */
+  private static <T> List<T> copy(List<T> changes) {
+    if (changes == null) {
+      throw new IllegalArgumentException("Given lists of changes can't be null!");
+    }
+    List<T> toReturn = new ArrayList<>(changes);
+    for (T change : toReturn) {
+      if (change == null) {
+        throw new IllegalArgumentException("Given lists of changes can't hold null!");
+      }
+    }
+    return Collections.unmodifiableList(toReturn);
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Area being added.
+   * @param area Area added
+   * @return change adding the given Area
+   * @throws IllegalArgumentException if given Area is null
+   */
+  public static ModelChange areaAdded(AreaData area) {
+    return new ModelChangeImpl(Collections.singletonList(area), List.of(), List.of(), List.of(),
+        List.of(), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Area being updated.
+   * @param area Area updated, with its new data
+   * @return change updating the given Area
+   * @throws IllegalArgumentException if given Area is null
+   */
+  public static ModelChange areaUpdated(AreaData area) {
+    return new ModelChangeImpl(List.of(), Collections.singletonList(area), List.of(), List.of(),
+        List.of(), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Area being removed, along with all its Events.
+   * @param area Area removed
+   * @return change removing the given Area
+   * @throws IllegalArgumentException if given Area is null
+   */
+  public static ModelChange areaRemoved(AreaData area) {
+    return new ModelChangeImpl(List.of(), List.of(), Collections.singletonList(area), List.of(),
+        List.of(), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Event being added.
+   * @param event Event added
+   * @return change adding the given Event
+   * @throws IllegalArgumentException if given Event is null
+   */
+  public static ModelChange eventAdded(EventData event) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), Collections.singletonList(event),
+        List.of(), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Event being updated.
+   * @param event Event updated, with its new data
+   * @return change updating the given Event
+   * @throws IllegalArgumentException if given Event is null
+   */
+  public static ModelChange eventUpdated(EventData event) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), List.of(),
+        Collections.singletonList(event), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of a single Event being removed.
+   * @param event Event removed
+   * @return change removing the given Event
+   * @throws IllegalArgumentException if given Event is null
+   */
+  public static ModelChange eventRemoved(EventData event) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), List.of(), List.of(),
+        Collections.singletonList(event));
+  }
+
+  /**
+   * Returns a ModelChangeImpl of several Events being added at once.
+   * @param events Events added
+   * @return change adding the given Events
+   * @throws IllegalArgumentException if given list is null or holds null
+   */
+  public static ModelChange eventsAdded(List<EventData> events) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), events, List.of(), List.of());
+  }
+
+  /**
+   * Returns a ModelChangeImpl of several Events being removed at once.
+   * @param events Events removed
+   * @return change removing the given Events
+   * @throws IllegalArgumentException if given list is null or holds null
+   */
+  public static ModelChange eventsRemoved(List<EventData> events) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), List.of(), List.of(), events);
+  }
+
+  /**
+   * Returns a ModelChangeImpl of several Events being moved from one Area to another at once,
+   * i.e. removed from the one Area and added, with their new IDs, to the other.
+   * @param removed Events as they were before being moved
+   * @param added Events as they are after being moved
+   * @return change moving the given Events
+   * @throws IllegalArgumentException if either given list is null or holds null
+   */
+  public static ModelChange eventsMoved(List<EventData> removed, List<EventData> added) {
+    return new ModelChangeImpl(List.of(), List.of(), List.of(), added, List.of(), removed);
+  }
+
+  @Override
+  public List<AreaData> getAddedAreas() {
+    return addedAreas;
+  }
+
+  @Override
+  public List<AreaData> getUpdatedAreas() {
+    return updatedAreas;
+  }
+
+  @Override
+  public List<AreaData> getRemovedAreas() {
+    return removedAreas;
+  }
+
+  @Override
+  public List<EventData> getAddedEvents() {
+    return addedEvents;
+  }
+
+  @Override
+  public List<EventData> getUpdatedEvents() {
+    return updatedEvents;
+  }
+
+  @Override
+  public List<EventData> getRemovedEvents() {
+    return removedEvents;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return addedAreas.isEmpty() && updatedAreas.isEmpty() && removedAreas.isEmpty()
+        && addedEvents.isEmpty() && updatedEvents.isEmpty() && removedEvents.isEmpty();
+  }
+}
@@ -0,0 +1,43 @@
+package model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Loads the Events of an Area whose Events were left unloaded when its {@link ModelStore} was
+ * read, or copies them elsewhere without loading them.
+ */
+interface AreaEventLoader {
+
+  /**
+   * Reads the Events of the given Area and stores them in it, advancing the Area's next Event ID
+   * past the largest ID read if needed.
+   * @param area Area whose Events to load
+   * @throws IOException if the Events couldn't be read
+   */
+  void loadEvents(AreaRecord area) throws IOException;
+
+  /**
+   * Reads the Events of each of the given Areas and stores them in it, as
+   * {@link #loadEvents(AreaRecord)} does for one. Loads them one after another unless the loader
+   * can do better.
+   * @param areas Areas whose Events to load
+   * @throws IOException if the Events couldn't be read
+   */
+  default void loadEvents(List<AreaRecord> areas) throws IOException {
+    for (AreaRecord area : areas) {
+      loadEvents(area);
+    }
+  }
+
+  /**
+   * Copies the Events of the given unloaded Area to the given output, as they are written inside
+   * their Area Element, without loading them into the Area - exactly as they are stored and
+   * without parsing them, where the loader can.
+   * @param area Area whose Events to copy
+   * @param output output to copy to, left open
+   * @throws IOException if the Events couldn't be read or written
+   */
+  void copyEvents(AreaRecord area, OutputStream output) throws IOException;
+}
@@ -0,0 +1,73 @@
+package model;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+
+/**
+ * A single Area as held in memory by a {@link ModelStore} - the Area's own data, the ID to give
+ * the next Event added to it, and all its Events keyed by their IDs. Events are stored as the same
+ * immutable EventDatas that are handed out to other objects, so outputting them never has to
+ * decode anything. When model data is loaded lazily, an AreaRecord starts out holding only the
+ * Area's own data and where its Events lie in the model data file; the Events are read the first
+ * time they are needed.
+ */
+final class AreaRecord {
+
+  /**
+   * ID, name and description of this Area.
+   */
+  AreaData data;
+
+  /**
+   * ID to give the next Event added to this Area.
+   */
+  int nextEventID;
+
+  /**
+   * Every Event of this Area, keyed by the Event's ID, in the order they were added. Null if the
+   * Events haven't been loaded yet.
+   */
+  IntMap<EventData> events;
+
+  /**
+   * Whether the Events of this Area have changed since they were last read or saved. Model data
+   * stored with a file per Area only rewrites the files of Areas for which this is set.
+   */
+  boolean eventsModified;
+
+  /**
+   * Whether the map of this Area's Events is shared with the copy of the Area held by a staged
+   * save, so must be copied before it is changed.
+   */
+  boolean eventsShared;
+
+  /**
+   * Offset of the first byte of this Area's Events in the model data file, if they haven't been
+   * loaded yet.
+   */
+  long eventsStart = -1;
+
+  /**
+   * Offset one past the last byte of this Area's Events in the model data file, if they haven't
+   * been loaded yet.
+   */
+  long eventsEnd = -1;
+
+  /**
+   * Number of the save that wrote the file holding this Area's Events, when model data is stored
+   * with a file per Area (see {@link ShardDirectory}).
+   */
+  int shardGeneration;
+
+  /**
+   * Constructs an AreaRecord from the given Area data, with the given Events.
+   * @param data ID, name and description of the Area
+   * @param nextEventID ID to give the next Event added to the Area
+   * @param events Events of the Area, keyed by their IDs, or null if they haven't been loaded
+   */
+  AreaRecord(AreaData data, int nextEventID, IntMap<EventData> events) {
+    this.data = data;
+    this.nextEventID = nextEventID;
+    this.events = events;
+  }
+}
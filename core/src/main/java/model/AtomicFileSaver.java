@@ -0,0 +1,213 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+
+/**
+ * Saves files so that a crash part way through never leaves a half written file behind. Content
+ * is written through a buffer to a temporary file beside the target, forced to disk, then moved
+ * over the target in a single atomic rename - so the target always holds either all of the old
+ * content or all of the new. The two steps may also be taken apart, through {@link #write}, so the
+ * content can be written out while the target is still in use and only moved into place later.
+ * On a file system that can't rename atomically the save fails with an IOException instead.
+ */
+final class AtomicFileSaver {
+
+  /**
+   * Size of the buffer content is written through.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Writes the content of a file.
+   */
+  interface Content {
+
+    /**
+     * Writes the content to the given output, which is closed by the caller.
+     * @param output output to write to
+     * @throws IOException if the content couldn't be written
+     */
+    void writeTo(OutputStream output) throws IOException;
+  }
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private AtomicFileSaver() {
+  }
+
+  /**
+   * Replaces the given file with the given content.
+   * @param target file to replace
+   * @param content content to write
+   * @return number of bytes written and time taken
+   * @throws IOException if the content couldn't be written, in which case the target is left
+   *         untouched
+   */
+  static SaveStatistics save(Path target, Content content) throws IOException {
+    PendingFile pending = write(target, content);
+    try {
+      return pending.commit();
+    }
+    finally {
+      pending.discard();
+    }
+  }
+
+  /**
+   * Writes the given content to a temporary file beside the given file and forces it to disk,
+   * leaving the given file untouched until the returned PendingFile is committed.
+   * @param target file to replace
+   * @param content content to write
+   * @return the written content, to be moved over the target or discarded
+   * @throws IOException if the content couldn't be written, in which case no temporary file is
+   *         left behind
+   */
+  static PendingFile write(Path target, Content content) throws IOException {
+    long start = System.nanoTime();
+    Path temp = Files.createTempFile(target.toAbsolutePath().getParent(),
+        target.getFileName().toString(), ".tmp");
+
+    boolean written = false;
+    try {
+      copyPermissions(target, temp);
+      long bytesWritten;
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        CountingOutputStream output = new CountingOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        content.writeTo(output);
+        output.flush();
+        channel.force(true);
+        bytesWritten = output.getCount();
+      }
+      written = true;
+      return new PendingFile(target, temp, bytesWritten, System.nanoTime() - start);
+    }
+    finally {
+      if (!written) {
+        Files.deleteIfExists(temp);
+      }
+    }
+  }
+
+  /**
+   * Content written to a temporary file by {@link #write}, waiting to be moved over the file it
+   * replaces.
+   */
+  static final class PendingFile {
+
+    /**
+     * File the content replaces.
+     */
+    private final Path target;
+
+    /**
+     * Temporary file holding the content.
+     */
+    private final Path temp;
+
+    /**
+     * Number of bytes of the content.
+     */
+    private final long bytesWritten;
+
+    /**
+     * Nanoseconds taken to write the content.
+     */
+    private final long writeNanos;
+
+    /**
+     * Constructs a PendingFile of content written to the given temporary file.
+     * @param target file the content replaces
+     * @param temp temporary file holding the content
+     * @param bytesWritten number of bytes of the content
+     * @param writeNanos nanoseconds taken to write the content
+     */
+    private PendingFile(Path target, Path temp, long bytesWritten, long writeNanos) {
+      this.target = target;
+      this.temp = temp;
+      this.bytesWritten = bytesWritten;
+      this.writeNanos = writeNanos;
+    }
+
+    /**
+     * Returns the temporary file holding the content, which has the same size and last modified
+     * time the target has once the content is committed.
+     * @return temporary file holding the content
+     */
+    Path getTemp() {
+      return temp;
+    }
+
+    /**
+     * Moves the content over the file it replaces, in a single atomic rename.
+     * @return number of bytes written and time taken to write and move them
+     * @throws IOException if the content couldn't be moved - including where the file system can't
+     *         rename atomically, rather than falling back to a move a crash could interrupt - in
+     *         which case the target is left untouched
+     */
+    SaveStatistics commit() throws IOException {
+      long start = System.nanoTime();
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (AtomicMoveNotSupportedException e) {
+        throw new IOException("File system of the target can't replace it atomically!", e);
+      }
+      forceDirectory(target.toAbsolutePath().getParent());
+      return new SaveStatistics(bytesWritten, writeNanos + System.nanoTime() - start);
+    }
+
+    /**
+     * Deletes the temporary file if the content wasn't committed.
+     */
+    void discard() {
+      try {
+        Files.deleteIfExists(temp);
+      }
+      catch (IOException e) {
+        // Left behind as a stray temporary file, the target is untouched either way.
+      }
+    }
+  }
+
+  /**
+   * Gives the given temporary file the POSIX permissions of the target it will replace, where the
+   * platform has them and the target exists - temporary files are created readable by their owner
+   * only, which the target would otherwise be left with once replaced.
+   * @param target file to copy the permissions of
+   * @param temp temporary file to give them to
+   * @throws IOException if the permissions couldn't be read or set
+   */
+  private static void copyPermissions(Path target, Path temp) throws IOException {
+    if (Files.exists(target) && Files.getFileAttributeView(temp,
+        PosixFileAttributeView.class) != null) {
+      Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+    }
+  }
+
+  /**
+   * Forces the entry of a renamed file in the given directory to disk, where the platform allows
+   * directories to be opened.
+   * @param directory directory to force
+   */
+  private static void forceDirectory(Path directory) {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+    catch (IOException e) {
+      // Not supported on every platform, the rename itself has still happened.
+    }
+  }
+}
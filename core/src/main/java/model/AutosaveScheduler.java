@@ -0,0 +1,275 @@
+package model;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import datatransfer.ModelChange;
+
+/**
+ * Saves a model on a background thread whenever it has been changed, without saving once per
+ * change. A save is made once the model has gone a quiet period without changes, or once a
+ * longest delay has passed since the first change that hasn't been saved yet - whichever comes
+ * first - so a burst of changes is saved in a single write, and a steady stream of changes still
+ * gets saved every so often.
+ *
+ * <p>Saves are made by calling closeModelData on the autosave thread while other threads may be
+ * changing the model, so the model must be safe to use from several threads at once and must save
+ * a consistent version of its model data, e.g. a {@link ConcurrentModel} or a
+ * {@link PersistentModelImpl}. Changes made while a save is being written are saved by the next
+ * one.
+ */
+public class AutosaveScheduler {
+
+  /**
+   * The model saved.
+   */
+  private final ModelInterface model;
+
+  /**
+   * Nanoseconds without changes after which the model is saved.
+   */
+  private final long quietPeriodNanos;
+
+  /**
+   * Most nanoseconds a change is left unsaved for.
+   */
+  private final long maxDelayNanos;
+
+  /**
+   * Thread saves are made on.
+   */
+  private final ScheduledThreadPoolExecutor executor;
+
+  /**
+   * Listener counting the changes made to the model.
+   */
+  private final ModelChangeListener listener = this::changed;
+
+  /**
+   * Lock guarding the counts and times of changes and the scheduled save.
+   */
+  private final Object lock = new Object();
+
+  /**
+   * Number of changes made to the model since this AutosaveScheduler was made.
+   */
+  private long changeCount;
+
+  /**
+   * Number of changes made to the model before the last successful save started.
+   */
+  private long savedChangeCount;
+
+  /**
+   * Time in nanoseconds of the first change not covered by a save started since, or -1 if there
+   * is none.
+   */
+  private long firstUnsavedChange = -1;
+
+  /**
+   * Time in nanoseconds of the latest change made to the model.
+   */
+  private long lastChange;
+
+  /**
+   * Next save scheduled, null if none is.
+   */
+  private ScheduledFuture<?> scheduled;
+
+  /**
+   * Whether a save is being made.
+   */
+  private boolean saving;
+
+  /**
+   * Statistics of the last save made, null if none has been made yet.
+   */
+  private volatile SaveStatistics lastSave;
+
+  /**
+   * Number of saves made.
+   */
+  private volatile int saveCount;
+
+  /**
+   * What the last save that failed threw, null if none has failed yet.
+   */
+  private volatile RuntimeException lastFailure;
+
+  /**
+   * Constructs an AutosaveScheduler saving the given model once it has gone the given quiet period
+   * without changes, or the given longest delay has passed since its first unsaved change.
+   * Changes made to the model from now on are counted, until this AutosaveScheduler is closed.
+   * @param model model to save
+   * @param quietPeriod time without changes after which the model is saved
+   * @param maxDelay most time a change is left unsaved for
+   * @throws IllegalArgumentException if any argument is null, either duration is negative, or the
+   *         longest delay is shorter than the quiet period
+   */
+  public AutosaveScheduler(ModelInterface model, Duration quietPeriod, Duration maxDelay) {
+    if (model == null || quietPeriod == null || maxDelay == null) {
+      throw new IllegalArgumentException("Given model and durations can't be null!");
+    }
+    else if (quietPeriod.isNegative()) {
+      throw new IllegalArgumentException("Given quiet period can't be negative!");
+    }
+    else if (maxDelay.compareTo(quietPeriod) < 0) {
+      throw new IllegalArgumentException("Given longest delay can't be shorter than the quiet "
+          + "period!");
+    }
+
+    this.model = model;
+    this.quietPeriodNanos = quietPeriod.toNanos();
+    this.maxDelayNanos = maxDelay.toNanos();
+    executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      // A daemon thread, so a save left waiting doesn't keep the application from exiting; a save
+      // cut short is never seen, as saves replace the file atomically.
+      Thread thread = new Thread(runnable, "autosave");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    executor.setRemoveOnCancelPolicy(true);
+    model.addModelChangeListener(listener);
+  }
+
+  /**
+   * Counts a change made to the model, scheduling a save if none is scheduled or being made.
+   * @param change change made
+   */
+  private void changed(ModelChange change) {
+    synchronized (lock) {
+      changeCount++;
+      lastChange = System.nanoTime();
+      if (firstUnsavedChange < 0) {
+        firstUnsavedChange = lastChange;
+      }
+      // A scheduled save checks whether it is due when it runs, and puts itself off if not, so a
+      // burst of changes doesn't reschedule it once per change.
+      if (scheduled == null && !saving && !executor.isShutdown()) {
+        schedule(dueTime() - lastChange);
+      }
+    }
+  }
+
+  /**
+   * Returns the time in nanoseconds the next save is due at, given the changes made so far. Must
+   * be called while holding the lock, with an unsaved change.
+   * @return time the next save is due at
+   */
+  private long dueTime() {
+    return Math.min(lastChange + quietPeriodNanos, firstUnsavedChange + maxDelayNanos);
+  }
+
+  /**
+   * Schedules a save to run after the given number of nanoseconds. Must be called while holding
+   * the lock.
+   * @param delayNanos nanoseconds to wait before saving
+   */
+  private void schedule(long delayNanos) {
+    scheduled = executor.schedule(this::save, Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Saves the model if a save is due, otherwise schedules the save for when it is.
+   */
+  private void save() {
+    long startChangeCount;
+    synchronized (lock) {
+      scheduled = null;
+      long now = System.nanoTime();
+      if (changeCount == savedChangeCount || executor.isShutdown()) {
+        return;
+      }
+      else if (now < dueTime()) {
+        schedule(dueTime() - now);
+        return;
+      }
+      saving = true;
+      startChangeCount = changeCount;
+      firstUnsavedChange = -1;
+    }
+
+    long start = System.nanoTime();
+    RuntimeException failure = null;
+    try {
+      model.closeModelData();
+      SaveStatistics modelSave = model.getLastSaveStatistics();
+      lastSave = new SaveStatistics(modelSave == null ? 0 : modelSave.getBytesWritten(),
+          System.nanoTime() - start);
+      saveCount++;
+    }
+    catch (RuntimeException e) {
+      failure = e;
+      lastFailure = e;
+    }
+
+    synchronized (lock) {
+      saving = false;
+      if (failure == null) {
+        savedChangeCount = startChangeCount;
+      }
+      else if (firstUnsavedChange < 0) {
+        firstUnsavedChange = start;
+      }
+
+      if (changeCount != savedChangeCount && !executor.isShutdown()) {
+        // Don't retry a save that failed straight away, in case it keeps failing.
+        schedule(failure == null ? dueTime() - System.nanoTime() : maxDelayNanos);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the model has been changed since the last save started.
+   * @return if there are unsaved changes
+   */
+  public boolean isDirty() {
+    synchronized (lock) {
+      return changeCount != savedChangeCount;
+    }
+  }
+
+  /**
+   * Returns statistics of the last save made: the bytes the model reports having written, or 0 if
+   * it doesn't report them, and how long the call to save it took, including any wait for other
+   * threads using the model.
+   * @return statistics of the last save, or null if none has been made yet
+   */
+  public SaveStatistics getLastSaveStatistics() {
+    return lastSave;
+  }
+
+  /**
+   * Returns the number of saves made so far.
+   * @return number of saves made
+   */
+  public int getSaveCount() {
+    return saveCount;
+  }
+
+  /**
+   * Returns what the last save that failed threw.
+   * @return exception of the last failed save, or null if none has failed yet
+   */
+  public RuntimeException getLastFailure() {
+    return lastFailure;
+  }
+
+  /**
+   * Stops counting changes and cancels any save scheduled, waiting for a save being made to
+   * finish. Changes not saved yet are left for the model's owner to save as it closes the model.
+   */
+  public void close() {
+    model.removeModelChangeListener(listener);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
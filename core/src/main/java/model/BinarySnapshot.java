@@ -0,0 +1,326 @@
+package model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+
+/**
+ * Reads and writes model data in a compact binary format, much faster to read than XMLData.xml
+ * as nothing needs to be tokenized, unescaped or parsed from text. A snapshot file holds:
+ * <ul>
+ *   <li>a header - the int {@link #MAGIC}, then the varint next Area ID and number of Areas</li>
+ *   <li>each Area in order - its varint ID, next Event ID and number of Events, its name and
+ *   description, then each of its Events in order - its varint ID, zigzag varint date and time
+ *   as minutes since the epoch, name, description and location</li>
+ *   <li>an index of where each Area and Event starts - for each Area in order of ID, its int ID,
+ *   long offset, int number of Events and long offset of its Event table; then each Event table,
+ *   holding for each Event of an Area in order of ID its int ID and long offset</li>
+ *   <li>a footer - the long offset of the index, int number of Areas, and int
+ *   {@link #INDEX_MAGIC}</li>
+ * </ul>
+ * Strings are stored as their varint length in UTF-8 bytes followed by those bytes. Integers
+ * outside of varints are big endian. Reading a whole snapshot only needs the Areas and Events;
+ * the index lets a reader find any single Area or Event without reading the rest.
+ */
+final class BinarySnapshot {
+
+  /**
+   * First int of every snapshot file.
+   */
+  static final int MAGIC = 0x414D5331;
+
+  /**
+   * Last int of every snapshot file.
+   */
+  static final int INDEX_MAGIC = 0x414D5831;
+
+  /**
+   * Number of bytes of the footer of a snapshot file.
+   */
+  static final int FOOTER_SIZE = 8 + 4 + 4;
+
+  /**
+   * Number of bytes of each Area's entry in the index.
+   */
+  static final int AREA_ENTRY_SIZE = 4 + 8 + 4 + 8;
+
+  /**
+   * Number of bytes of each Event's entry in an Event table.
+   */
+  static final int EVENT_ENTRY_SIZE = 4 + 8;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private BinarySnapshot() {
+  }
+
+  /**
+   * Reads model data from the given snapshot, which is left open.
+   * @param input snapshot to read
+   * @return ModelStore holding the read model data
+   * @throws IOException if the snapshot couldn't be read or isn't well formed
+   */
+  static ModelStore read(InputStream input) throws IOException {
+    DataInputStream data = new DataInputStream(input);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a model data snapshot!");
+    }
+
+    int nextAreaID = readVarInt(data);
+    int areaCount = readVarInt(data);
+    IntMap<AreaRecord> areas = new IntMap<>(areaCount);
+
+    for (int i = 0; i < areaCount; i++) {
+      int areaID = readVarInt(data);
+      int nextEventID = readVarInt(data);
+      int eventCount = readVarInt(data);
+      AreaData area = new AreaDataImpl(areaID, readString(data), readString(data));
+
+      IntMap<EventData> events = new IntMap<>(eventCount);
+      for (int j = 0; j < eventCount; j++) {
+        int eventID = readVarInt(data);
+        LocalDateTime dateTime = fromEpochMinute(readZigZag(data));
+        events.put(eventID, new EventDataImpl(areaID, eventID, readString(data),
+            readString(data), readString(data), dateTime));
+      }
+      areas.put(areaID, new AreaRecord(area, nextEventID, events));
+    }
+
+    return new ModelStore(areas, nextAreaID);
+  }
+
+  /**
+   * Writes the given model data as a snapshot to the given output, which is flushed but left
+   * open. The Events of Areas that haven't been loaded are read through the model data's loader
+   * one Area at a time as they are written, without loading them into their Areas.
+   * @param store model data to write
+   * @param output output to write to
+   * @throws IOException if the snapshot couldn't be written, or an Area's Events couldn't be read
+   */
+  static void write(ModelStore store, OutputStream output) throws IOException {
+    CountingOutputStream counted = new CountingOutputStream(output);
+    DataOutputStream data = new DataOutputStream(counted);
+    data.writeInt(MAGIC);
+    writeVarInt(data, store.nextAreaID);
+    writeVarInt(data, store.areas.size());
+
+    // Index entries, gathered while writing then sorted by ID, each an ID and an offset packed
+    // into a long so they sort by ID.
+    long[] areaEntries = new long[store.areas.size()];
+    long[][] eventEntries = new long[store.areas.size()][];
+    long[] areaOffsets = new long[store.areas.size()];
+
+    int areaIndex = 0;
+    for (AreaRecord stored : store.areas.values()) {
+      AreaRecord area = stored;
+      if (area.events == null) {
+        // Read into a copy, so the Area stays unloaded and only one Area's Events are held.
+        area = new AreaRecord(stored.data, stored.nextEventID, null);
+        area.eventsStart = stored.eventsStart;
+        area.eventsEnd = stored.eventsEnd;
+        store.eventLoader.loadEvents(area);
+      }
+
+      areaOffsets[areaIndex] = counted.getCount();
+      areaEntries[areaIndex] = ((long) area.data.getAreaId() << 32) | areaIndex;
+      writeVarInt(data, area.data.getAreaId());
+      writeVarInt(data, area.nextEventID);
+      writeVarInt(data, area.events.size());
+      writeString(data, area.data.getAreaName());
+      writeString(data, area.data.getAreaDescription());
+
+      long[] events = new long[area.events.size() * 2];
+      int eventIndex = 0;
+      for (EventData event : area.events.values()) {
+        events[eventIndex * 2] = event.getEventId();
+        events[eventIndex * 2 + 1] = counted.getCount();
+        writeVarInt(data, event.getEventId());
+        writeZigZag(data, toEpochMinute(event.getEventDateAndTime()));
+        writeString(data, event.getEventName());
+        writeString(data, event.getEventDescription());
+        writeString(data, event.getEventLocation());
+        eventIndex++;
+      }
+      eventEntries[areaIndex] = events;
+      areaIndex++;
+    }
+
+    long indexOffset = counted.getCount();
+    Arrays.sort(areaEntries);
+    long eventTableOffset = indexOffset + (long) AREA_ENTRY_SIZE * areaEntries.length;
+    for (long entry : areaEntries) {
+      int index = (int) entry;
+      int eventCount = eventEntries[index].length / 2;
+      data.writeInt((int) (entry >>> 32));
+      data.writeLong(areaOffsets[index]);
+      data.writeInt(eventCount);
+      data.writeLong(eventTableOffset);
+      eventTableOffset += (long) EVENT_ENTRY_SIZE * eventCount;
+    }
+    for (long entry : areaEntries) {
+      writeEventTable(data, eventEntries[(int) entry]);
+    }
+
+    data.writeLong(indexOffset);
+    data.writeInt(areaEntries.length);
+    data.writeInt(INDEX_MAGIC);
+    data.flush();
+  }
+
+  /**
+   * Writes the Event table of a single Area, sorted by Event ID.
+   * @param data output to write to
+   * @param events ID and offset of each Event of the Area, one after the other
+   * @throws IOException if the table couldn't be written
+   */
+  private static void writeEventTable(DataOutputStream data, long[] events) throws IOException {
+    int count = events.length / 2;
+    Integer[] order = new Integer[count];
+    boolean sorted = true;
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+      sorted &= i == 0 || events[i * 2] > events[(i - 1) * 2];
+    }
+    // Events are kept in order of ID already unless IDs were renumbered by an older version.
+    if (!sorted) {
+      Arrays.sort(order, (a, b) -> Long.compare(events[a * 2], events[b * 2]));
+    }
+    for (int i : order) {
+      data.writeInt((int) events[i * 2]);
+      data.writeLong(events[i * 2 + 1]);
+    }
+  }
+
+  /**
+   * Returns the given date and time as minutes since the epoch, ignoring seconds.
+   * @param dateTime date and time to convert
+   * @return minutes since 1970-01-01T00:00
+   */
+  static long toEpochMinute(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  /**
+   * Returns the date and time the given number of minutes after the epoch.
+   * @param epochMinute minutes since 1970-01-01T00:00
+   * @return date and time
+   */
+  static LocalDateTime fromEpochMinute(long epochMinute) {
+    return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Writes a non-negative int in as few bytes as needed, seven bits per byte with the high bit
+   * set on every byte but the last.
+   * @param data output to write to
+   * @param value value to write
+   * @throws IOException if the value couldn't be written
+   */
+  static void writeVarInt(DataOutputStream data, int value) throws IOException {
+    writeVarLong(data, value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes a non-negative long in as few bytes as needed, as with {@link #writeVarInt}.
+   * @param data output to write to
+   * @param value value to write
+   * @throws IOException if the value couldn't be written
+   */
+  private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      data.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    data.writeByte((int) value);
+  }
+
+  /**
+   * Writes a long that may be negative as a varint, mapping small negative and positive values
+   * alike to small unsigned values.
+   * @param data output to write to
+   * @param value value to write
+   * @throws IOException if the value couldn't be written
+   */
+  private static void writeZigZag(DataOutputStream data, long value) throws IOException {
+    writeVarLong(data, (value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes a String as its varint length in UTF-8 bytes followed by those bytes.
+   * @param data output to write to
+   * @param s String to write
+   * @throws IOException if the String couldn't be written
+   */
+  private static void writeString(DataOutputStream data, String s) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(data, bytes.length);
+    data.write(bytes);
+  }
+
+  /**
+   * Reads an int written by {@link #writeVarInt}.
+   * @param data input to read from
+   * @return value read
+   * @throws IOException if the value couldn't be read
+   */
+  private static int readVarInt(DataInputStream data) throws IOException {
+    return (int) readVarLong(data);
+  }
+
+  /**
+   * Reads a long written by {@link #writeVarLong}.
+   * @param data input to read from
+   * @return value read
+   * @throws IOException if the value couldn't be read
+   */
+  private static long readVarLong(DataInputStream data) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = data.read();
+      if (b < 0) {
+        throw new EOFException("Snapshot ends part way through a value!");
+      }
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint in snapshot!");
+  }
+
+  /**
+   * Reads a long written by {@link #writeZigZag}.
+   * @param data input to read from
+   * @return value read
+   * @throws IOException if the value couldn't be read
+   */
+  private static long readZigZag(DataInputStream data) throws IOException {
+    long value = readVarLong(data);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads a String written by {@link #writeString}.
+   * @param data input to read from
+   * @return String read
+   * @throws IOException if the String couldn't be read
+   */
+  private static String readString(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[readVarInt(data)];
+    data.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
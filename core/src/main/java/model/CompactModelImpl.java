@@ -0,0 +1,1065 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import datatransfer.ModelChangeImpl;
+
+/**
+ * An implementation of the ModelInterface for a ApplicationManager that holds its model data in a
+ * compact in-memory {@link ModelStore} rather than a JDOM document. The associated XML file is
+ * streamed into the store by a {@link StaxModelReader} when opened, and streamed back out by a
+ * {@link StaxModelWriter} when closed - atomically, through an {@link AtomicFileSaver}, and only
+ * if the model data was changed. Areas and Events are found by their IDs with a single hash
+ * lookup, and are kept as the immutable AreaDatas and EventDatas this model hands out.
+ *
+ * <p>A CompactModelImpl may also be opened lazily, in which case opening it only reads the ID,
+ * name and description of each Area (see {@link LazyModelReader}); the Events of an Area are read
+ * the first time any of them are asked for or changed. Since the view only ever shows the Events
+ * of one Area at a time, this keeps Areas that are never opened during a session out of memory.
+ *
+ * <p>A CompactModelImpl may also keep a {@link BinarySnapshot} of its model data beside the XML
+ * file, named as the XML file with a ".bin" extension, which is much faster to read. Whenever the
+ * model data is saved, the snapshot is saved right after the XML file - reading the Events of any
+ * Area never loaded from the XML file, one Area at a time. Opening the model reads
+ * every Area and Event from the snapshot instead of the XML file, lazily or not, as long as the
+ * snapshot is at least as new as the XML file - so an XML file edited by hand is never shadowed by
+ * an older snapshot.
+ *
+ * <p>The model data may instead be stored as a directory with a file per Area, as laid out by
+ * {@link ShardDirectory}, by giving the directory's path in place of the XML file's. Opening the
+ * model then reads only the directory's manifest of Areas - and, unless opened lazily, each Area's
+ * file after it - and closing it only rewrites the files of Areas whose Events changed, along with
+ * the manifest. No binary snapshot is kept of model data stored this way. Model data
+ * is moved between the two layouts by {@link ShardConverter}.
+ *
+ * <p>Events are found by date and time through a {@link DateIndex}, and by the words of their
+ * text through a {@link SearchIndex}; each is built the first time Events are asked for that way,
+ * and kept up to date as Events are added, edited and deleted from then on.
+ *
+ * <p>A save may also be staged, written and committed as separate steps (see
+ * {@link StagedSaving}), so the model data can be written while the model goes on being changed.
+ * Staging a save copies the store's Areas, but not their Events: the map of each Area's Events is
+ * shared with the copy, and only copied by the first change made to it before the save is
+ * committed.
+ */
+public class CompactModelImpl implements ModelInterface, StagedSaving {
+
+  /**
+   * The file path to this CompactModelImpl's associated XML model data file.
+   */
+  private final Path modelDataFilePath;
+
+  /**
+   * Latest version of this CompactModelImpl's model data.
+   */
+  private ModelStore modelData = new ModelStore();
+
+  /**
+   * Whether the Events of each Area are read only once they are needed.
+   */
+  private final boolean lazy;
+
+  /**
+   * File path of the binary snapshot kept beside the XML file, null if none is kept.
+   */
+  private final Path binarySnapshotPath;
+
+  /**
+   * Directory holding the model data with a file per Area, null if it is held in a single XML
+   * file.
+   */
+  private final ShardDirectory shardDirectory;
+
+  /**
+   * Every Event of the model data sorted by date and time, null until first needed.
+   */
+  private DateIndex dateIndex;
+
+  /**
+   * Every Event of the model data indexed by the words of its text, null until first needed.
+   */
+  private SearchIndex searchIndex;
+
+  /**
+   * Whether the model data has been changed since it was last read or saved.
+   */
+  private boolean modified;
+
+  /**
+   * Statistics of the last save of the model data, null if it hasn't been saved yet.
+   */
+  private SaveStatistics lastSave;
+
+  /**
+   * Whether a save has been staged and not yet committed or aborted.
+   */
+  private boolean saveStaged;
+
+  /**
+   * Listeners notified of every change made to the model data.
+   */
+  private final ModelChangeSupport changeSupport = new ModelChangeSupport();
+
+  /**
+   * Default constructor for this CompactModelImpl, takes in a file path to read data from and
+   * make changes to as the results of any method calls on this CMI.
+   * @param modelDataFilePath file path of the model data this CompactModelImpl is suppose to read
+   *                          from and change as needed
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public CompactModelImpl(String modelDataFilePath) {
+    this(modelDataFilePath, false);
+  }
+
+  /**
+   * Constructs a CompactModelImpl from a file path to read data from and make changes to, which
+   * either reads every Event when opened or only reads the Events of an Area once they are needed.
+   * @param modelDataFilePath file path of the model data this CompactModelImpl is suppose to read
+   *                          from and change as needed
+   * @param lazy whether to read the Events of each Area only once they are needed
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public CompactModelImpl(String modelDataFilePath, boolean lazy) {
+    this(modelDataFilePath, lazy, false);
+  }
+
+  /**
+   * Constructs a CompactModelImpl from a file path to read data from and make changes to, which
+   * may read Events only once they are needed, and may keep a binary snapshot of its model data
+   * beside the XML file. If the given path is that of a directory, the model data is stored in it
+   * with a file per Area instead.
+   * @param modelDataFilePath file path of the model data this CompactModelImpl is suppose to read
+   *                          from and change as needed, or of a directory holding it
+   * @param lazy whether to read the Events of each Area only once they are needed
+   * @param binarySnapshot whether to keep a binary snapshot of the model data beside the XML file,
+   *                       ignored if the model data is stored in a directory
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public CompactModelImpl(String modelDataFilePath, boolean lazy, boolean binarySnapshot) {
+    this(modelDataFilePath, lazy, binarySnapshot, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a CompactModelImpl from a file path to read data from and make changes to, as
+   * {@link #CompactModelImpl(String, boolean, boolean)} does, reading the files of several Areas
+   * of model data stored in a directory at once on at most the given number of threads.
+   * @param modelDataFilePath file path of the model data this CompactModelImpl is suppose to read
+   *                          from and change as needed, or of a directory holding it
+   * @param lazy whether to read the Events of each Area only once they are needed
+   * @param binarySnapshot whether to keep a binary snapshot of the model data beside the XML file,
+   *                       ignored if the model data is stored in a directory
+   * @param loaderThreads most threads to read the files of Areas on when every Area's Events are
+   *                      needed, ignored unless the model data is stored in a directory
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist,
+   *         or the given number of threads is less than 1
+   */
+  public CompactModelImpl(String modelDataFilePath, boolean lazy, boolean binarySnapshot,
+      int loaderThreads) {
+    if (modelDataFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (modelDataFilePath.isEmpty()) {
+      throw new IllegalArgumentException("Given file path can't be empty!");
+    }
+    else if (Files.notExists(Paths.get(modelDataFilePath))) {
+      throw new IllegalArgumentException("Given file path doesn't exist!");
+    }
+    else if (loaderThreads < 1) {
+      throw new IllegalArgumentException("Given number of loader threads must be greater than 0!");
+    }
+
+    this.modelDataFilePath = Paths.get(modelDataFilePath);
+    this.lazy = lazy;
+    this.shardDirectory = Files.isDirectory(this.modelDataFilePath)
+        ? new ShardDirectory(this.modelDataFilePath, loaderThreads) : null;
+    this.binarySnapshotPath = binarySnapshot && shardDirectory == null
+        ? binarySnapshotPath(this.modelDataFilePath) : null;
+  }
+
+  /**
+   * Returns the file path of the binary snapshot kept beside the given XML file - the XML file's
+   * path with its ".xml" extension replaced by ".bin", or with ".bin" added if it has none.
+   * @param modelDataFilePath file path of an XML model data file
+   * @return file path of the binary snapshot of the given file
+   */
+  public static Path binarySnapshotPath(Path modelDataFilePath) {
+    String name = modelDataFilePath.getFileName().toString();
+    if (name.toLowerCase().endsWith(".xml")) {
+      name = name.substring(0, name.length() - ".xml".length());
+    }
+    return modelDataFilePath.resolveSibling(name + ".bin");
+  }
+
+  /**
+   * Returns true if a binary snapshot is kept and holds the same model data as the XML file, i.e.
+   * it exists and was saved no earlier than the XML file.
+   * @return if the binary snapshot can be read in place of the XML file
+   * @throws IOException if the last modified times of the files couldn't be read
+   */
+  private boolean binarySnapshotCurrent() throws IOException {
+    return binarySnapshotPath != null && Files.exists(binarySnapshotPath)
+        && Files.getLastModifiedTime(binarySnapshotPath).compareTo(
+        Files.getLastModifiedTime(modelDataFilePath)) >= 0;
+  }
+
+  /**
+   * Returns the record of the Area with the given ID.
+   * @param areaID ID of the Area to return
+   * @return record of Area with given ID
+   * @throws IllegalArgumentException if given ID is non-positive, or if there is no Area in this
+   *         model data with the given ID
+   */
+  private AreaRecord getAreaRecord(int areaID) {
+    validExistingAreaID(areaID);
+
+    AreaRecord area = modelData.areas.get(areaID);
+    if (area == null) {
+      throw new IllegalArgumentException("No area with the given id has been added to this model "
+          + "data!");
+    }
+    return area;
+  }
+
+  /**
+   * Returns the record of the Area with the given ID, with its Events loaded.
+   * @param areaID ID of the Area to return
+   * @return record of Area with given ID, with its Events loaded
+   * @throws IllegalArgumentException if given ID is non-positive, or if there is no Area in this
+   *         model data with the given ID
+   * @throws IllegalStateException if the Events of the Area couldn't be read
+   */
+  private AreaRecord getLoadedAreaRecord(int areaID) {
+    AreaRecord area = getAreaRecord(areaID);
+    try {
+      modelData.ensureEventsLoaded(area);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+    return area;
+  }
+
+  /**
+   * Returns the record of the Area with the given ID, with its Events loaded and ready to be
+   * changed - copying them first if they are shared with a staged save.
+   * @param areaID ID of the Area to return
+   * @return record of Area with given ID, with Events of its own loaded
+   * @throws IllegalArgumentException if given ID is non-positive, or if there is no Area in this
+   *         model data with the given ID
+   * @throws IllegalStateException if the Events of the Area couldn't be read
+   */
+  private AreaRecord getChangedAreaRecord(int areaID) {
+    AreaRecord area = getLoadedAreaRecord(areaID);
+    if (area.eventsShared) {
+      IntMap<EventData> events = new IntMap<>(area.events.size());
+      for (EventData event : area.events.values()) {
+        events.put(event.getEventId(), event);
+      }
+      area.events = events;
+      area.eventsShared = false;
+    }
+    return area;
+  }
+
+  /**
+   * Checks if a given AreaData is valid, i.e. it is non-null and its id is a natural number.
+   * @param data AreaData to check
+   * @throws IllegalArgumentException if the given Area data is null or has a negative ID
+   */
+  private void validAreaData(AreaData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given Area data can't be null");
+    }
+    else if (data.getAreaId() < 0) {
+      throw new IllegalArgumentException("Given Area data must have a natural number as an ID!");
+    }
+  }
+
+  /**
+   * Checks if a given EventData is valid - i.e. it is non-null, its id is a natural number, its
+   * date and time has a year of at most four digits, and its associated Area has been added to
+   * this model data - else throws an IllegalArgumentException.
+   * @param data EventData to check is valid
+   * @throws IllegalArgumentException if given EventData is null, has a negative ID or year, has a
+   *         year of more than four digits, or its associated Area hasn't been added to this model
+   *         data
+   */
+  private void validEventData(EventData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given data can't be null");
+    }
+    else if (data.getEventId() < 0) {
+      throw new IllegalArgumentException("Given Event data must have a natural number as an ID!");
+    }
+    else if (data.getEventDateAndTime().getYear() < 0) {
+      throw new IllegalArgumentException("Can't have a negative year!");
+    }
+    else if (data.getEventDateAndTime().getYear() > DateTimeCodec.MAX_YEAR) {
+      throw new IllegalArgumentException("Can't have a year of more than four digits!");
+    }
+    else if (!modelData.areas.containsKey(data.getAssociatedAreaId())) {
+      throw new IllegalArgumentException("The area this event is associated with has not been" +
+          "added to this model data!");
+    }
+  }
+
+  /**
+   * Checks if a given integer represents the ID of a possible valid existing Area. Only checks if
+   * given ID is >= 0, else throws a specified error.
+   * @param areaID possible ID to check
+   * @throws IllegalArgumentException if given ID is non-positive
+   */
+  private void validExistingAreaID(int areaID) {
+    if (areaID == 0) {
+      throw new IllegalArgumentException("The ID of any Area that is apart of this model can't" +
+          " have the ID dedicated to creating new Areas - i.e. no Area can have ID of zero!");
+    }
+    else if (areaID < 0) {
+      throw new IllegalArgumentException("An existing Area's ID must be greater than 0!");
+    }
+  }
+
+  @Override
+  public void openModelData() {
+    modified = false;
+    dateIndex = null;
+    searchIndex = null;
+
+    if (shardDirectory != null) {
+      try {
+        modelData = shardDirectory.read(!lazy);
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to read associated model data directory!");
+      }
+      return;
+    }
+    try {
+      if (binarySnapshotCurrent()) {
+        try (InputStream input = new BufferedInputStream(
+            Files.newInputStream(binarySnapshotPath))) {
+          modelData = BinarySnapshot.read(input);
+          return;
+        }
+      }
+    }
+    catch (IOException e) {
+      // A snapshot that can't be read is no worse than a missing one, so fall back to the XML.
+    }
+
+    if (lazy) {
+      try {
+        modelData = new LazyModelReader(modelDataFilePath).read();
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to read associated XML file!");
+      }
+      return;
+    }
+
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(modelDataFilePath))) {
+      modelData = new StaxModelReader().read(input);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+  }
+
+  @Override
+  public void closeModelData() {
+    StagedSaving.saveNow(stageSave());
+  }
+
+  /**
+   * Stages a save of the model data, if it was changed since it was last read or saved - or, if
+   * it wasn't, of just the binary snapshot if one is kept and doesn't already hold the model data
+   * of the XML file.
+   * @return save of the model data as it is now, or null if there is nothing to save
+   * @throws IllegalStateException if another save is staged, or the last modified times of the
+   *         XML file and binary snapshot couldn't be read
+   */
+  @Override
+  public Save stageSave() {
+    if (saveStaged) {
+      throw new IllegalStateException("A save of the model data is already staged!");
+    }
+    else if (!modified) {
+      // Nothing to write if the files already hold the latest model data.
+      try {
+        if (shardDirectory != null || binarySnapshotPath == null || binarySnapshotCurrent()) {
+          return null;
+        }
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to write binary snapshot of associated XML "
+            + "file!");
+      }
+    }
+
+    IntMap<AreaRecord> areas = new IntMap<>(modelData.areas.size());
+    for (AreaRecord area : modelData.areas.values()) {
+      AreaRecord copy = new AreaRecord(area.data, area.nextEventID, area.events);
+      copy.eventsModified = area.eventsModified;
+      copy.eventsStart = area.eventsStart;
+      copy.eventsEnd = area.eventsEnd;
+      copy.shardGeneration = area.shardGeneration;
+      areas.put(area.data.getAreaId(), copy);
+      area.eventsShared = area.events != null;
+      area.eventsModified = false;
+    }
+    ModelStore copy = new ModelStore(areas, modelData.nextAreaID);
+    copy.generation = modelData.generation;
+    if (modelData.eventLoader != null) {
+      // A loader of its own, as the model's loader may be used by other threads meanwhile.
+      copy.eventLoader = shardDirectory != null ? shardDirectory
+          : new LazyModelReader(modelDataFilePath);
+    }
+
+    CompactSave toReturn = new CompactSave(copy, modified);
+    modified = false;
+    saveStaged = true;
+    return toReturn;
+  }
+
+  /**
+   * A staged save of this CompactModelImpl's model data, from a copy of its store taken when the
+   * save was staged.
+   */
+  private final class CompactSave implements Save {
+
+    /**
+     * Copy of the store to save, sharing the Events of each Area with the store.
+     */
+    private final ModelStore copy;
+
+    /**
+     * Whether the model data was changed, so the XML file is saved, rather than only the binary
+     * snapshot.
+     */
+    private final boolean xmlSaved;
+
+    /**
+     * The XML file written, null if it isn't saved or hasn't been written.
+     */
+    private AtomicFileSaver.PendingFile xml;
+
+    /**
+     * The binary snapshot written, null if it isn't saved or hasn't been written.
+     */
+    private AtomicFileSaver.PendingFile snapshot;
+
+    /**
+     * Where the Events of each Area that wasn't loaded were copied to in the XML file written,
+     * keyed by the Area's ID.
+     */
+    private final IntMap<long[]> copied = new IntMap<>();
+
+    /**
+     * The save written into the model data directory, null if the model data isn't stored in one
+     * or it hasn't been written.
+     */
+    private ShardDirectory.PendingSave shardSave;
+
+    /**
+     * Constructs a CompactSave of the given copy of the store.
+     * @param copy copy of the store to save
+     * @param xmlSaved whether the XML file is saved, rather than only the binary snapshot
+     */
+    private CompactSave(ModelStore copy, boolean xmlSaved) {
+      this.copy = copy;
+      this.xmlSaved = xmlSaved;
+    }
+
+    @Override
+    public void write() {
+      if (shardDirectory != null) {
+        try {
+          shardSave = shardDirectory.write(copy);
+        }
+        catch (IOException e) {
+          throw new IllegalStateException("Failed to write associated model data directory!");
+        }
+        return;
+      }
+
+      // Events of Areas never loaded are copied over from the old file as they are, so remember
+      // where they end up in the new file to load them from later.
+      if (xmlSaved) {
+        try {
+          xml = AtomicFileSaver.write(modelDataFilePath, output -> {
+            copied.clear();
+            IntMap<long[]> written = new StaxModelWriter().write(copy, output);
+            for (int areaID : written.keys()) {
+              copied.put(areaID, written.get(areaID));
+            }
+          });
+        }
+        catch (IOException e) {
+          throw new IllegalStateException("Failed to write associated XML file!");
+        }
+      }
+
+      // Written after the XML file, so it is never older. The Events of Areas never loaded are
+      // read from the old XML file, which stays in place until the save is committed.
+      if (binarySnapshotPath != null) {
+        try {
+          snapshot = AtomicFileSaver.write(binarySnapshotPath,
+              output -> BinarySnapshot.write(copy, output));
+        }
+        catch (IOException e) {
+          throw new IllegalStateException("Failed to write binary snapshot of associated XML "
+              + "file!");
+        }
+      }
+    }
+
+    @Override
+    public void commit() {
+      try {
+        if (shardDirectory != null) {
+          commitShards();
+        }
+        else {
+          commitFiles();
+        }
+      }
+      finally {
+        discard();
+        saveStaged = false;
+      }
+    }
+
+    /**
+     * Puts the manifest written into place, then marks each Area saved by it as such in the store.
+     * @throws IllegalStateException if the manifest couldn't be put in place, or a file it no
+     *         longer lists couldn't be deleted
+     */
+    private void commitShards() {
+      try {
+        lastSave = shardDirectory.commit(copy, shardSave);
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to write associated model data directory!");
+      }
+      finally {
+        if (copy.generation == shardSave.generation) {
+          modelData.generation = copy.generation;
+          for (AreaRecord saved : copy.areas.values()) {
+            AreaRecord area = modelData.areas.get(saved.data.getAreaId());
+            if (area != null) {
+              area.shardGeneration = saved.shardGeneration;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Puts the XML file and binary snapshot written into place, then points each Area still
+     * unloaded at where its Events lie in the new XML file.
+     * @throws IllegalStateException if either file couldn't be put in place
+     */
+    private void commitFiles() {
+      if (xml != null) {
+        try {
+          lastSave = xml.commit();
+        }
+        catch (IOException e) {
+          throw new IllegalStateException("Failed to write associated XML file!");
+        }
+        for (int areaID : copied.keys()) {
+          AreaRecord area = modelData.areas.get(areaID);
+          if (area != null && area.events == null) {
+            area.eventsStart = copied.get(areaID)[0];
+            area.eventsEnd = copied.get(areaID)[1];
+          }
+        }
+      }
+
+      if (snapshot != null) {
+        SaveStatistics snapshotSave;
+        try {
+          snapshotSave = snapshot.commit();
+        }
+        catch (IOException e) {
+          throw new IllegalStateException("Failed to write binary snapshot of associated XML "
+              + "file!");
+        }
+        lastSave = xml == null ? snapshotSave : new SaveStatistics(
+            lastSave.getBytesWritten() + snapshotSave.getBytesWritten(),
+            lastSave.getDuration().plus(snapshotSave.getDuration()).toNanos());
+      }
+    }
+
+    @Override
+    public void abort() {
+      discard();
+      saveStaged = false;
+      modified = true;
+      for (AreaRecord saved : copy.areas.values()) {
+        AreaRecord area = modelData.areas.get(saved.data.getAreaId());
+        if (area != null && saved.eventsModified) {
+          area.eventsModified = true;
+        }
+      }
+    }
+
+    /**
+     * Deletes whatever files were written and not put in place.
+     */
+    private void discard() {
+      if (xml != null) {
+        xml.discard();
+      }
+      if (snapshot != null) {
+        snapshot.discard();
+      }
+      if (shardSave != null) {
+        shardSave.manifest.discard();
+      }
+    }
+
+    @Override
+    public Path written() {
+      if (shardSave != null) {
+        return shardSave.manifest.getTemp();
+      }
+      return xml == null ? null : xml.getTemp();
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    return lastSave;
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() != 0) {
+      throw new IllegalArgumentException("Given AreaData's ID must be zero to signal it " +
+          "represents an Area not yet added to this model!");
+    }
+
+    int newAreaID = modelData.nextAreaID++;
+    AreaData newArea = new AreaDataImpl(newAreaID, data.getAreaName(), data.getAreaDescription());
+    AreaRecord newRecord = new AreaRecord(newArea, 1, new IntMap<>());
+    newRecord.eventsModified = true;
+    modelData.areas.put(newAreaID, newRecord);
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaAdded(newArea));
+    }
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() == 0) {
+      throw new IllegalArgumentException("Can't edit a new area!");
+    }
+
+    AreaRecord areaToEdit = getAreaRecord(data.getAreaId());
+    areaToEdit.data = new AreaDataImpl(data.getAreaId(), data.getAreaName(),
+        data.getAreaDescription());
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaUpdated(areaToEdit.data));
+    }
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    if (data.getEventId() > 0) {
+      throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+    }
+
+    int areaID = data.getAssociatedAreaId();
+    AreaRecord associatedArea = getChangedAreaRecord(areaID);
+    int newEventID = associatedArea.nextEventID++;
+    EventData newEvent = new EventDataImpl(areaID, newEventID, data.getEventName(),
+        data.getEventDescription(), data.getEventLocation(), data.getEventDateAndTime());
+    associatedArea.events.put(newEventID, newEvent);
+    indexEvent(newEvent);
+    associatedArea.eventsModified = true;
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventAdded(newEvent));
+    }
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    if (data.getEventId() == 0) {
+      throw new IllegalArgumentException("Given event data represents a new event that isn't" +
+          "already apart of this data model!");
+    }
+
+    AreaRecord associatedArea = getChangedAreaRecord(data.getAssociatedAreaId());
+    if (!associatedArea.events.containsKey(data.getEventId())) {
+      throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+          "Event with the given Event ID!");
+    }
+    EventData editedEvent = new EventDataImpl(data.getAssociatedAreaId(), data.getEventId(),
+        data.getEventName(), data.getEventDescription(), data.getEventLocation(),
+        data.getEventDateAndTime());
+    unindexEvent(associatedArea.events.put(data.getEventId(), editedEvent));
+    indexEvent(editedEvent);
+    associatedArea.eventsModified = true;
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventUpdated(editedEvent));
+    }
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    AreaRecord area = getAreaRecord(areaID);
+    if (dateIndex != null || searchIndex != null) {
+      for (EventData event : area.events.values()) {
+        unindexEvent(event);
+      }
+    }
+    modelData.areas.remove(areaID);
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaRemoved(area.data));
+    }
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+
+    if (eventID == 0) {
+      throw new IllegalArgumentException("The ID of any Event that is apart of this model can't " +
+          "have the ID dedicated to creating new Events - i.e. no Event can have ID of zero!");
+    }
+    else if (eventID < 0) {
+      throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+    }
+
+    AreaRecord associatedArea = getChangedAreaRecord(areaID);
+    EventData deletedEvent = associatedArea.events.remove(eventID);
+    if (deletedEvent == null) {
+      throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+          "Event with the given Event ID!");
+    }
+    unindexEvent(deletedEvent);
+    associatedArea.eventsModified = true;
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventRemoved(deletedEvent));
+    }
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    if (events == null) {
+      throw new IllegalArgumentException("Given Events can't be null!");
+    }
+
+    // Check every Event, loading the Events of each Area added to, before adding any.
+    for (EventData data : events) {
+      validEventData(data);
+      if (data.getEventId() > 0) {
+        throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+      }
+      getLoadedAreaRecord(data.getAssociatedAreaId());
+    }
+    if (events.isEmpty()) {
+      return;
+    }
+
+    List<EventData> added = new ArrayList<>(events.size());
+    for (EventData data : events) {
+      int areaID = data.getAssociatedAreaId();
+      AreaRecord associatedArea = getChangedAreaRecord(areaID);
+      int newEventID = associatedArea.nextEventID++;
+      EventData newEvent = new EventDataImpl(areaID, newEventID, data.getEventName(),
+          data.getEventDescription(), data.getEventLocation(), data.getEventDateAndTime());
+      associatedArea.events.put(newEventID, newEvent);
+      indexEvent(newEvent);
+      associatedArea.eventsModified = true;
+      added.add(newEvent);
+    }
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventsAdded(added));
+    }
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    AreaRecord associatedArea = getLoadedAreaRecord(areaID);
+    List<EventData> deleted = getEvents(associatedArea, eventIDs);
+    if (deleted.isEmpty()) {
+      return;
+    }
+    associatedArea = getChangedAreaRecord(areaID);
+
+    for (EventData event : deleted) {
+      associatedArea.events.remove(event.getEventId());
+      unindexEvent(event);
+    }
+    associatedArea.eventsModified = true;
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventsRemoved(deleted));
+    }
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    if (fromAreaID == toAreaID) {
+      throw new IllegalArgumentException("Can't move Events to the Area they are already in!");
+    }
+
+    AreaRecord fromArea = getLoadedAreaRecord(fromAreaID);
+    AreaRecord toArea = getLoadedAreaRecord(toAreaID);
+    List<EventData> removed = getEvents(fromArea, eventIDs);
+    if (removed.isEmpty()) {
+      return;
+    }
+    fromArea = getChangedAreaRecord(fromAreaID);
+    toArea = getChangedAreaRecord(toAreaID);
+
+    List<EventData> added = new ArrayList<>(removed.size());
+    for (EventData event : removed) {
+      fromArea.events.remove(event.getEventId());
+      unindexEvent(event);
+      int newEventID = toArea.nextEventID++;
+      EventData movedEvent = new EventDataImpl(toAreaID, newEventID, event.getEventName(),
+          event.getEventDescription(), event.getEventLocation(), event.getEventDateAndTime());
+      toArea.events.put(newEventID, movedEvent);
+      indexEvent(movedEvent);
+      added.add(movedEvent);
+    }
+    fromArea.eventsModified = true;
+    toArea.eventsModified = true;
+    modified = true;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventsMoved(removed, added));
+    }
+  }
+
+  /**
+   * Returns the Events of the given Area with the given IDs, in the order the IDs are given,
+   * checking every ID is that of one of its Events and that none is given twice.
+   * @param area record of the Area, with its Events loaded
+   * @param eventIDs IDs of the Events to return
+   * @return Events of the Area with the given IDs
+   * @throws IllegalArgumentException if given array is null, or any given ID is non-positive,
+   *         isn't that of an Event of the Area, or is given more than once
+   */
+  private static List<EventData> getEvents(AreaRecord area, int[] eventIDs) {
+    if (eventIDs == null) {
+      throw new IllegalArgumentException("Given Event IDs can't be null!");
+    }
+
+    IntMap<EventData> toReturn = new IntMap<>(eventIDs.length);
+    for (int eventID : eventIDs) {
+      if (eventID <= 0) {
+        throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+      }
+      EventData event = area.events.get(eventID);
+      if (event == null) {
+        throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+            "Event with the given Event ID!");
+      }
+      else if (toReturn.put(eventID, event) != null) {
+        throw new IllegalArgumentException("Event ID " + eventID + " is given more than once!");
+      }
+    }
+    return toReturn.values();
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    List<AreaData> toReturn = new ArrayList<>(modelData.areas.size());
+    for (AreaRecord area : modelData.areas.values()) {
+      toReturn.add(area.data);
+    }
+    return toReturn;
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    return getLoadedAreaRecord(areaID).events.values();
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(LocalDateTime start, LocalDateTime end) {
+    return eventsBetween(0, start, end);
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(int areaID, LocalDateTime start,
+      LocalDateTime end) {
+    getAreaRecord(areaID);
+    return eventsBetween(areaID, start, end);
+  }
+
+  /**
+   * Returns every Event in the given window of time, of a single Area or of every Area, in order
+   * of date and time then of Area ID and Event ID.
+   * @param areaID ID of the Area whose Events to return, or 0 for the Events of every Area
+   * @param start start of the window of time, inclusive
+   * @param end end of the window of time, exclusive
+   * @return Events in the given window of time
+   * @throws IllegalArgumentException if either given date and time is null, or the given end is
+   *         before the given start
+   */
+  private List<EventData> eventsBetween(int areaID, LocalDateTime start, LocalDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Given dates and times can't be null!");
+    }
+    else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Given end can't be before given start!");
+    }
+
+    return getDateIndex().between(areaID, start, end);
+  }
+
+  @Override
+  public List<EventData> searchEvents(String query, int maxResults) {
+    if (query == null) {
+      throw new IllegalArgumentException("Given query can't be null!");
+    }
+    else if (maxResults < 0) {
+      throw new IllegalArgumentException("Given maximum number of results can't be negative!");
+    }
+
+    if (searchIndex == null) {
+      ensureAllEventsLoaded();
+      SearchIndex index = new SearchIndex();
+      for (AreaRecord area : modelData.areas.values()) {
+        for (EventData event : area.events.values()) {
+          index.add(event);
+        }
+      }
+      searchIndex = index;
+    }
+    return searchIndex.search(query, maxResults);
+  }
+
+  /**
+   * Loads the Events of every Area that hasn't had them loaded yet.
+   * @throws IllegalStateException if the Events of an Area couldn't be read
+   */
+  private void ensureAllEventsLoaded() {
+    try {
+      modelData.ensureAllEventsLoaded();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+  }
+
+  /**
+   * Returns the index of every Event by date and time, building it if it hasn't been yet.
+   * @return index of every Event of the model data
+   * @throws IllegalStateException if the Events of an Area couldn't be read
+   */
+  private DateIndex getDateIndex() {
+    if (dateIndex == null) {
+      ensureAllEventsLoaded();
+      DateIndex index = new DateIndex();
+      for (AreaRecord area : modelData.areas.values()) {
+        for (EventData event : area.events.values()) {
+          index.add(event);
+        }
+      }
+      dateIndex = index;
+    }
+    return dateIndex;
+  }
+
+  /**
+   * Adds the given Event to the indexes of Events that have been built.
+   * @param event Event to add
+   */
+  private void indexEvent(EventData event) {
+    if (dateIndex != null) {
+      dateIndex.add(event);
+    }
+    if (searchIndex != null) {
+      searchIndex.add(event);
+    }
+  }
+
+  /**
+   * Removes the given Event from the indexes of Events that have been built.
+   * @param event Event to remove
+   */
+  private void unindexEvent(EventData event) {
+    if (dateIndex != null) {
+      dateIndex.remove(event);
+    }
+    if (searchIndex != null) {
+      searchIndex.remove(event);
+    }
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    AreaRecord area = modelData.areas.get(areaID);
+    if (area == null) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return area.data;
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    EventData event = getLoadedAreaRecord(areaID).events.get(eventID);
+    if (event == null) {
+      throw new IllegalArgumentException("Area associated with given areaID has no Event "
+          + "associated with given eventID!");
+    }
+    return event;
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      new StaxModelWriter().write(modelData, output);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to output model data!");
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    changeSupport.addListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    changeSupport.removeListener(listener);
+  }
+}
@@ -0,0 +1,464 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+import datatransfer.ModelChange;
+
+/**
+ * A ModelInterface that can be used by any number of threads at once, made of another model that
+ * can't. Every call that reaches the wrapped model is made while holding a single lock, so changes,
+ * searches, and lazy loads of the wrapped model never overlap.
+ *
+ * <p>The Areas of the model, and the Events of each Area that has been asked for, are also kept as
+ * snapshots in {@link PersistentIntMap}s keyed by ID. Calls to outputAreas, getAreaData,
+ * outputEvents and getEventData are answered from these snapshots without taking the lock, so they
+ * never wait on a change or a save being made by another thread, and list Areas and Events in
+ * order of ID. The snapshots are kept up to date from the changes the wrapped model notifies its
+ * listeners of: the thread making a change puts each Area or Event it added or updated into a new
+ * version of the snapshot holding it, and removes each one it removed, before it releases the lock
+ * - so a change costs the same however many Events its Area has. A snapshot a change may have
+ * touched is dropped instead, to be taken again the next time it is asked for, if the wrapped
+ * model failed part way through the change or didn't notify its listeners of it.
+ *
+ * <p>If the wrapped model can save in steps (see {@link StagedSaving}), closing this model only
+ * holds the lock while the save is staged and committed, not while the model data is written - so
+ * other threads go on reading and changing the model meanwhile. Saves are made one at a time.
+ *
+ * <p>Listeners of this model are notified on the thread that made the change, while it still holds
+ * the lock, so changes are reported in the order they were made.
+ *
+ * <p>If the wrapped model is a {@link JournaledModel}, each change only appends its record to the
+ * journal while holding the lock, and waits for the record to be on disk once the lock is released
+ * - so changes made by several threads at once share a single force of the journal, rather than
+ * each forcing it in turn while holding the lock. A journal grown too large is compacted by the
+ * thread whose change grew it, once that change is on disk.
+ */
+public class ConcurrentModel implements ModelInterface {
+
+  /**
+   * The model every call is made to.
+   */
+  private final ModelInterface model;
+
+  /**
+   * The wrapped model if it is a JournaledModel, whose records are committed outside of the lock,
+   * otherwise null.
+   */
+  private final JournaledModel journaled;
+
+  /**
+   * The wrapped model if it can save in steps, whose model data is written outside of the lock,
+   * otherwise null.
+   */
+  private final StagedSaving staged;
+
+  /**
+   * Lock held for every call made to the wrapped model.
+   */
+  private final Object lock = new Object();
+
+  /**
+   * Lock held for the whole of each save, and while the model is opened, so saves are made one at
+   * a time. Always taken before {@link #lock}.
+   */
+  private final Object saveLock = new Object();
+
+  /**
+   * Snapshot of the Areas of the model keyed by ID, or null if one hasn't been taken since the
+   * model was opened.
+   */
+  private volatile PersistentIntMap<AreaData> areas;
+
+  /**
+   * Snapshot of the Events of each Area asked for since the model was opened, each keyed by Event
+   * ID, keyed by Area ID.
+   */
+  private final Map<Integer, PersistentIntMap<EventData>> events = new ConcurrentHashMap<>();
+
+  /**
+   * Whether the wrapped model has notified this ConcurrentModel of a change since the current
+   * change to it began. Only used while holding the lock.
+   */
+  private boolean changeApplied;
+
+  /**
+   * Constructs a ConcurrentModel of the given model. The given model should no longer be used
+   * directly.
+   * @param model model to make calls to
+   * @throws IllegalArgumentException if given model is null
+   */
+  public ConcurrentModel(ModelInterface model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Given model can't be null!");
+    }
+    this.model = model;
+    this.journaled = model instanceof JournaledModel ? (JournaledModel) model : null;
+    this.staged = model instanceof StagedSaving ? (StagedSaving) model : null;
+    if (journaled != null) {
+      journaled.deferCommits();
+    }
+    model.addModelChangeListener(this::applyChange);
+  }
+
+  @Override
+  public void openModelData() {
+    synchronized (saveLock) {
+      synchronized (lock) {
+        model.openModelData();
+        areas = null;
+        events.clear();
+      }
+    }
+  }
+
+  @Override
+  public void closeModelData() {
+    save(false);
+  }
+
+  /**
+   * Saves the wrapped model, holding the lock only to stage and commit the save if the wrapped
+   * model can save in steps.
+   * @param onlyIfCompactionDue whether to save only if the wrapped model is a JournaledModel whose
+   *                            journal is due to be compacted
+   * @throws IllegalStateException if the model data couldn't be saved
+   */
+  private void save(boolean onlyIfCompactionDue) {
+    synchronized (saveLock) {
+      if (staged == null) {
+        synchronized (lock) {
+          model.closeModelData();
+        }
+        return;
+      }
+
+      StagedSaving.Save save;
+      synchronized (lock) {
+        if (onlyIfCompactionDue && !journaled.isCompactionDue()) {
+          return;
+        }
+        save = staged.stageSave();
+      }
+      if (save == null) {
+        return;
+      }
+
+      boolean committed = false;
+      try {
+        save.write();
+        synchronized (lock) {
+          save.commit();
+        }
+        committed = true;
+      }
+      finally {
+        if (!committed) {
+          synchronized (lock) {
+            save.abort();
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    synchronized (lock) {
+      return model.getLastSaveStatistics();
+    }
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    change(() -> model.addArea(data), this::dropAreas);
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    change(() -> model.editArea(data), this::dropAreas);
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    change(() -> model.addEvent(data), () -> {
+      if (data != null) {
+        events.remove(data.getAssociatedAreaId());
+      }
+    });
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    change(() -> model.editEvent(data), () -> {
+      if (data != null) {
+        events.remove(data.getAssociatedAreaId());
+      }
+    });
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    change(() -> model.deleteArea(areaID), () -> {
+      events.remove(areaID);
+      dropAreas();
+    });
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    change(() -> model.deleteEvent(areaID, eventID), () -> events.remove(areaID));
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    change(() -> model.addEvents(events), () -> {
+      if (events != null) {
+        for (EventData data : events) {
+          if (data != null) {
+            this.events.remove(data.getAssociatedAreaId());
+          }
+        }
+      }
+    });
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    change(() -> model.deleteEvents(areaID, eventIDs), () -> events.remove(areaID));
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    change(() -> model.moveEvents(fromAreaID, eventIDs, toAreaID), () -> {
+      events.remove(fromAreaID);
+      events.remove(toAreaID);
+    });
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    return getAreaSnapshot().values();
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    return getEventSnapshot(areaID).values();
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(LocalDateTime start, LocalDateTime end) {
+    synchronized (lock) {
+      return model.outputEventsBetween(start, end);
+    }
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(int areaID, LocalDateTime start,
+      LocalDateTime end) {
+    synchronized (lock) {
+      return model.outputEventsBetween(areaID, start, end);
+    }
+  }
+
+  @Override
+  public List<EventData> searchEvents(String query, int maxResults) {
+    synchronized (lock) {
+      return model.searchEvents(query, maxResults);
+    }
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    AreaData toReturn = getAreaSnapshot().get(areaID);
+    if (toReturn == null) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return toReturn;
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    EventData toReturn = getEventSnapshot(areaID).get(eventID);
+    if (toReturn == null) {
+      throw new IllegalArgumentException("Area associated with given areaID has no Event "
+          + "associated with given eventID!");
+    }
+    return toReturn;
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    synchronized (lock) {
+      return model.outputModelDataAsString();
+    }
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    model.addModelChangeListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    model.removeModelChangeListener(listener);
+  }
+
+  /**
+   * Returns the sequence number of the journal record of the last change made to the wrapped
+   * model, if it is a JournaledModel. Must be called while holding the lock.
+   * @return sequence number of the last record, 0 if the wrapped model isn't journaled
+   */
+  private long lastRecorded() {
+    return journaled == null ? 0 : journaled.lastRecorded();
+  }
+
+  /**
+   * Waits until the journal record with the given sequence number is on disk, if the wrapped model
+   * is a JournaledModel, then compacts the journal if it has grown too large. Called once the lock
+   * is released, so other threads can append their records to be written along with it, and go on
+   * making changes while the journal is compacted.
+   * @param sequence sequence number of the record to wait for
+   * @throws IllegalStateException if the record couldn't be written, or the journal compacted
+   */
+  private void commit(long sequence) {
+    if (journaled != null) {
+      journaled.commit(sequence);
+      if (journaled.isCompactionDue()) {
+        save(true);
+      }
+    }
+  }
+
+  /**
+   * Makes a change to the wrapped model while holding the lock, then waits for it to be on disk if
+   * the wrapped model is a JournaledModel. If the wrapped model fails part way through the change,
+   * or makes it without notifying its listeners of it, the snapshots it may have touched are
+   * dropped, as they can't be kept up to date from it.
+   * @param change call making the change to the wrapped model
+   * @param dropSnapshots drops the snapshots the change may touch
+   */
+  private void change(Runnable change, Runnable dropSnapshots) {
+    long recorded;
+    synchronized (lock) {
+      changeApplied = false;
+      boolean completed = false;
+      try {
+        change.run();
+        completed = true;
+      }
+      finally {
+        if (!completed || !changeApplied) {
+          dropSnapshots.run();
+        }
+      }
+      recorded = lastRecorded();
+    }
+    commit(recorded);
+  }
+
+  /**
+   * Applies the given change of the wrapped model to the snapshots taken, putting each Area or
+   * Event added or updated into the snapshot holding it and removing each one removed. Called by
+   * the wrapped model on the thread making the change.
+   * @param change change made to the wrapped model
+   */
+  private void applyChange(ModelChange change) {
+    synchronized (lock) {
+      PersistentIntMap<AreaData> changedAreas = areas;
+      if (changedAreas != null) {
+        for (AreaData area : change.getRemovedAreas()) {
+          changedAreas = changedAreas.remove(area.getAreaId());
+        }
+        for (AreaData area : change.getAddedAreas()) {
+          changedAreas = changedAreas.put(area.getAreaId(), area);
+        }
+        for (AreaData area : change.getUpdatedAreas()) {
+          changedAreas = changedAreas.put(area.getAreaId(), area);
+        }
+        areas = changedAreas;
+      }
+      for (AreaData area : change.getRemovedAreas()) {
+        events.remove(area.getAreaId());
+      }
+
+      for (EventData event : change.getRemovedEvents()) {
+        events.computeIfPresent(event.getAssociatedAreaId(),
+            (areaID, snapshot) -> snapshot.remove(event.getEventId()));
+      }
+      for (EventData event : change.getAddedEvents()) {
+        events.computeIfPresent(event.getAssociatedAreaId(),
+            (areaID, snapshot) -> snapshot.put(event.getEventId(), event));
+      }
+      for (EventData event : change.getUpdatedEvents()) {
+        events.computeIfPresent(event.getAssociatedAreaId(),
+            (areaID, snapshot) -> snapshot.put(event.getEventId(), event));
+      }
+      changeApplied = true;
+    }
+  }
+
+  /**
+   * Drops the snapshot of the Areas, to be taken again the next time it is asked for. Must be
+   * called while holding the lock.
+   */
+  private void dropAreas() {
+    areas = null;
+  }
+
+  /**
+   * Returns the snapshot of the Areas of the model, taking it if it hasn't been taken yet.
+   * @return snapshot of the Areas, keyed by ID
+   */
+  private PersistentIntMap<AreaData> getAreaSnapshot() {
+    PersistentIntMap<AreaData> toReturn = areas;
+    if (toReturn == null) {
+      synchronized (lock) {
+        // Another thread may have taken the snapshot while this one waited for the lock.
+        toReturn = areas;
+        if (toReturn == null) {
+          List<AreaData> output = model.outputAreas();
+          IntMap<AreaData> byID = new IntMap<>(output.size());
+          for (AreaData area : output) {
+            byID.put(area.getAreaId(), area);
+          }
+          toReturn = PersistentIntMap.of(byID);
+          areas = toReturn;
+        }
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Returns the snapshot of the Events of the Area with the given ID, taking it if it hasn't been
+   * taken yet.
+   * @param areaID ID of the Area
+   * @return snapshot of the Area's Events, keyed by ID
+   * @throws IllegalArgumentException if the wrapped model has no Area with the given ID
+   */
+  private PersistentIntMap<EventData> getEventSnapshot(int areaID) {
+    PersistentIntMap<EventData> toReturn = events.get(areaID);
+    if (toReturn == null) {
+      synchronized (lock) {
+        // Another thread may have taken the snapshot while this one waited for the lock.
+        toReturn = events.get(areaID);
+        if (toReturn == null) {
+          List<EventData> output = model.outputEvents(areaID);
+          IntMap<EventData> byID = new IntMap<>(output.size());
+          for (EventData event : output) {
+            byID.put(event.getEventId(), event);
+          }
+          toReturn = PersistentIntMap.of(byID);
+          events.put(areaID, toReturn);
+        }
+      }
+    }
+    return toReturn;
+  }
+}
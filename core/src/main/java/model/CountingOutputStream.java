@@ -0,0 +1,45 @@
+package model;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes written through it. When it wraps the output of a whole file, its count is the
+ * offset in the file of the next byte written.
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+  /**
+   * Number of bytes written so far.
+   */
+  private long count;
+
+  /**
+   * Constructs a CountingOutputStream writing to the given output.
+   * @param output output to write to
+   */
+  CountingOutputStream(OutputStream output) {
+    super(output);
+  }
+
+  /**
+   * Returns the number of bytes written so far.
+   * @return number of bytes written
+   */
+  long getCount() {
+    return count;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    out.write(b);
+    count++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    count += len;
+  }
+}
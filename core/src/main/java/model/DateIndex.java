@@ -0,0 +1,266 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import datatransfer.EventData;
+
+/**
+ * Index of Events sorted by their date and time, for finding every Event within a window of time
+ * without looking at any Event outside of it. Each entry is an Event's date and time, as minutes
+ * since the epoch, its Area and Event ID, and the EventData itself; entries are ordered by date
+ * and time, then Area ID, then Event ID.
+ *
+ * <p>Entries are kept in arrays, split into chunks of at most {@link #CHUNK_SIZE} entries so
+ * adding or removing an entry only shifts the entries of one chunk. A chunk is found by binary
+ * search over the last entry of each chunk, and an entry by binary search within its chunk.
+ */
+final class DateIndex {
+
+  /**
+   * Most entries a chunk holds; a chunk that grows past this is split in two.
+   */
+  private static final int CHUNK_SIZE = 1024;
+
+  /**
+   * Every chunk of entries, in order.
+   */
+  private final List<Chunk> chunks = new ArrayList<>();
+
+  /**
+   * Adds an entry for the given Event to this index.
+   * @param event Event to add
+   */
+  void add(EventData event) {
+    long minute = BinarySnapshot.toEpochMinute(event.getEventDateAndTime());
+    long ids = packIDs(event);
+    if (chunks.isEmpty()) {
+      Chunk first = new Chunk();
+      first.insert(0, minute, ids, event);
+      chunks.add(first);
+      return;
+    }
+
+    int chunkIndex = findChunk(minute, ids);
+    if (chunkIndex == chunks.size()) {
+      chunkIndex--;
+    }
+    Chunk chunk = chunks.get(chunkIndex);
+    chunk.insert(chunk.search(minute, ids), minute, ids, event);
+
+    if (chunk.size > CHUNK_SIZE) {
+      chunks.add(chunkIndex + 1, chunk.split());
+    }
+  }
+
+  /**
+   * Removes the entry for the given Event from this index, if it has one.
+   * @param event Event to remove, with the date and time it was added with
+   */
+  void remove(EventData event) {
+    long minute = BinarySnapshot.toEpochMinute(event.getEventDateAndTime());
+    long ids = packIDs(event);
+    int chunkIndex = findChunk(minute, ids);
+    if (chunkIndex == chunks.size()) {
+      return;
+    }
+
+    Chunk chunk = chunks.get(chunkIndex);
+    int position = chunk.search(minute, ids);
+    if (position < chunk.size && chunk.minutes[position] == minute
+        && chunk.ids[position] == ids) {
+      chunk.delete(position);
+      if (chunk.size == 0) {
+        chunks.remove(chunkIndex);
+      }
+    }
+  }
+
+  /**
+   * Returns every Event with a date and time in the given window, of a single Area or of every
+   * Area, in order of date and time then of Area ID and Event ID.
+   * @param areaID ID of the Area whose Events to return, or 0 for the Events of every Area
+   * @param start start of the window, inclusive
+   * @param end end of the window, exclusive
+   * @return Events in the window
+   */
+  List<EventData> between(int areaID, LocalDateTime start, LocalDateTime end) {
+    List<EventData> toReturn = new ArrayList<>();
+    long fromMinute = BinarySnapshot.toEpochMinute(start);
+    long toMinute = BinarySnapshot.toEpochMinute(end);
+
+    int first = findChunk(fromMinute, Long.MIN_VALUE);
+    for (int i = first; i < chunks.size(); i++) {
+      Chunk chunk = chunks.get(i);
+      int position = i == first ? chunk.search(fromMinute, Long.MIN_VALUE) : 0;
+      for (; position < chunk.size; position++) {
+        long minute = chunk.minutes[position];
+        if (minute > toMinute) {
+          return toReturn;
+        }
+        else if (areaID != 0 && (int) (chunk.ids[position] >>> 32) != areaID) {
+          continue;
+        }
+
+        // Entries are by whole minute, so only those in the first or last minute of the window
+        // may have a date and time outside of it.
+        EventData event = chunk.events[position];
+        if (minute == fromMinute || minute == toMinute) {
+          LocalDateTime dateTime = event.getEventDateAndTime();
+          if (dateTime.isBefore(start) || !dateTime.isBefore(end)) {
+            continue;
+          }
+        }
+        toReturn.add(event);
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Packs the Area and Event ID of the given Event into a single long, ordered by Area ID then
+   * Event ID.
+   * @param event Event whose IDs to pack
+   * @return both IDs as a long
+   */
+  private static long packIDs(EventData event) {
+    return ((long) event.getAssociatedAreaId() << 32) | (event.getEventId() & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the position of the first chunk whose last entry isn't before the given entry, or
+   * the number of chunks if there is none.
+   * @param minute date and time of the entry
+   * @param ids packed IDs of the entry
+   * @return position of the chunk the entry belongs in
+   */
+  private int findChunk(long minute, long ids) {
+    int low = 0;
+    int high = chunks.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      Chunk chunk = chunks.get(mid);
+      int last = chunk.size - 1;
+      if (compare(chunk.minutes[last], chunk.ids[last], minute, ids) < 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Compares two entries by date and time, then packed IDs.
+   * @param minuteA date and time of the first entry
+   * @param idsA packed IDs of the first entry
+   * @param minuteB date and time of the second entry
+   * @param idsB packed IDs of the second entry
+   * @return negative, zero or positive as the first entry is before, the same as or after the
+   *         second
+   */
+  private static int compare(long minuteA, long idsA, long minuteB, long idsB) {
+    int byMinute = Long.compare(minuteA, minuteB);
+    return byMinute != 0 ? byMinute : Long.compare(idsA, idsB);
+  }
+
+  /**
+   * A sorted run of consecutive entries of the index.
+   */
+  private static final class Chunk {
+
+    /**
+     * Date and time of each entry.
+     */
+    private long[] minutes = new long[16];
+
+    /**
+     * Packed IDs of each entry.
+     */
+    private long[] ids = new long[16];
+
+    /**
+     * Event of each entry.
+     */
+    private EventData[] events = new EventData[16];
+
+    /**
+     * Number of entries in this chunk.
+     */
+    private int size;
+
+    /**
+     * Returns the position of the first entry of this chunk that isn't before the given entry.
+     * @param minute date and time of the entry
+     * @param entryIDs packed IDs of the entry
+     * @return position of the given entry, or where it would be inserted
+     */
+    int search(long minute, long entryIDs) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (compare(minutes[mid], ids[mid], minute, entryIDs) < 0) {
+          low = mid + 1;
+        }
+        else {
+          high = mid - 1;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Inserts an entry at the given position.
+     * @param position position to insert at
+     * @param minute date and time of the entry
+     * @param entryIDs packed IDs of the entry
+     * @param event Event of the entry
+     */
+    void insert(int position, long minute, long entryIDs, EventData event) {
+      if (size == minutes.length) {
+        int capacity = Math.min(minutes.length * 2, CHUNK_SIZE + 1);
+        minutes = Arrays.copyOf(minutes, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        events = Arrays.copyOf(events, capacity);
+      }
+      System.arraycopy(minutes, position, minutes, position + 1, size - position);
+      System.arraycopy(ids, position, ids, position + 1, size - position);
+      System.arraycopy(events, position, events, position + 1, size - position);
+      minutes[position] = minute;
+      ids[position] = entryIDs;
+      events[position] = event;
+      size++;
+    }
+
+    /**
+     * Deletes the entry at the given position.
+     * @param position position of the entry to delete
+     */
+    void delete(int position) {
+      System.arraycopy(minutes, position + 1, minutes, position, size - position - 1);
+      System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+      System.arraycopy(events, position + 1, events, position, size - position - 1);
+      events[--size] = null;
+    }
+
+    /**
+     * Moves the second half of this chunk's entries into a new chunk.
+     * @return chunk holding the entries moved
+     */
+    Chunk split() {
+      Chunk toReturn = new Chunk();
+      int half = size / 2;
+      toReturn.minutes = Arrays.copyOfRange(minutes, half, CHUNK_SIZE + 1);
+      toReturn.ids = Arrays.copyOfRange(ids, half, CHUNK_SIZE + 1);
+      toReturn.events = Arrays.copyOfRange(events, half, CHUNK_SIZE + 1);
+      toReturn.size = size - half;
+      Arrays.fill(events, half, size, null);
+      size = half;
+      return toReturn;
+    }
+  }
+}
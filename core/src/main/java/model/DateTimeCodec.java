@@ -0,0 +1,119 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Encodes and decodes the date and time of an Event as it is stored in the model data file:
+ * fixed width, as yyyy-MM-ddTHH:mm:00, with seconds always written as zero and ignored when read.
+ * Encoding writes the digits into a char buffer this DateTimeCodec reuses for every call, and
+ * decoding reads the digits in place, so neither makes the intermediate Strings and arrays of
+ * String.format or substring and Integer.parseInt.
+ *
+ * <p>A DateTimeCodec isn't safe to use from several threads at once, as they would share its
+ * buffer; {@link #decode} doesn't use the buffer, so it is static.
+ */
+public final class DateTimeCodec {
+
+  /**
+   * Number of characters of an encoded date and time.
+   */
+  public static final int LENGTH = 19;
+
+  /**
+   * Largest year that can be encoded, as years are written with four digits.
+   */
+  public static final int MAX_YEAR = 9999;
+
+  /**
+   * Number of characters of an encoded date and time that are decoded, i.e. all but the seconds.
+   */
+  private static final int DECODED_LENGTH = 16;
+
+  /**
+   * Buffer every date and time is encoded into, with its separators already in place.
+   */
+  private final char[] buffer = "0000-00-00T00:00:00".toCharArray();
+
+  /**
+   * Encodes the given date and time into this DateTimeCodec's buffer, which holds it until the
+   * next call.
+   * @param dateTime date and time to encode
+   * @return the buffer, holding the encoded date and time in its first {@link #LENGTH} characters
+   * @throws IllegalArgumentException if the given date and time is null, or its year is negative
+   *         or has more than four digits
+   */
+  public char[] encode(LocalDateTime dateTime) {
+    if (dateTime == null) {
+      throw new IllegalArgumentException("Given date and time can't be null!");
+    }
+    int year = dateTime.getYear();
+    if (year < 0 || year > MAX_YEAR) {
+      throw new IllegalArgumentException("Year must be in the range [0, " + MAX_YEAR + "]!");
+    }
+
+    writeDigits(year / 100, 0);
+    writeDigits(year % 100, 2);
+    writeDigits(dateTime.getMonthValue(), 5);
+    writeDigits(dateTime.getDayOfMonth(), 8);
+    writeDigits(dateTime.getHour(), 11);
+    writeDigits(dateTime.getMinute(), 14);
+    return buffer;
+  }
+
+  /**
+   * Encodes the given date and time as a String.
+   * @param dateTime date and time to encode
+   * @return given date and time formatted as yyyy-MM-ddTHH:mm:00
+   * @throws IllegalArgumentException if the given date and time is null, or its year is negative
+   *         or has more than four digits
+   */
+  public String format(LocalDateTime dateTime) {
+    return new String(encode(dateTime), 0, LENGTH);
+  }
+
+  /**
+   * Writes a number below 100 into the buffer as two digits.
+   * @param value number to write
+   * @param offset index of the buffer to write the first digit at
+   */
+  private void writeDigits(int value, int offset) {
+    buffer[offset] = (char) ('0' + value / 10);
+    buffer[offset + 1] = (char) ('0' + value % 10);
+  }
+
+  /**
+   * Decodes a date and time formatted as yyyy-MM-ddTHH:mm, ignoring anything after the minutes
+   * such as seconds.
+   * @param text encoded date and time
+   * @return decoded date and time
+   * @throws IllegalArgumentException if the given text is null, too short, or has something other
+   *         than a digit where a digit should be
+   * @throws java.time.DateTimeException if the decoded date and time doesn't exist, e.g. has a
+   *         month of 13
+   */
+  public static LocalDateTime decode(CharSequence text) {
+    if (text == null || text.length() < DECODED_LENGTH) {
+      throw new IllegalArgumentException("Date and time " + text + " isn't of the form "
+          + "yyyy-MM-ddTHH:mm!");
+    }
+    return LocalDateTime.of(readDigits(text, 0) * 100 + readDigits(text, 2),
+        readDigits(text, 5), readDigits(text, 8), readDigits(text, 11), readDigits(text, 14));
+  }
+
+  /**
+   * Reads two digits of the given text as a number.
+   * @param text text to read from
+   * @param offset index of the first digit
+   * @return number the digits make
+   * @throws IllegalArgumentException if either character isn't a digit
+   */
+  private static int readDigits(CharSequence text, int offset) {
+    int tens = text.charAt(offset) - '0';
+    int ones = text.charAt(offset + 1) - '0';
+    if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+      throw new IllegalArgumentException("Date and time " + text + " isn't of the form "
+          + "yyyy-MM-ddTHH:mm!");
+    }
+    return tens * 10 + ones;
+  }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import org.jdom2.Element;
+
+/**
+ * Hands out the IDs of new Areas and Events in a JDOM model data document. Each parent Element -
+ * the root for Areas, an Area for its Events - stores the next ID to give out in its "next-id"
+ * attribute, so IDs only ever increase and are never reused after a deletion. IDs of existing
+ * Areas and Events therefore never change, and deleting one never touches its siblings.
+ */
+final class IdAllocator {
+
+  /**
+   * Name of the attribute holding the next ID to give out.
+   */
+  static final String NEXT_ID = "next-id";
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private IdAllocator() {
+  }
+
+  /**
+   * Returns the next ID to give a new child of the given parent Element, and advances the parent's
+   * "next-id" attribute past it. If the parent has no such attribute yet (i.e. it was written
+   * before IDs were allocated this way), starts after the largest ID of its existing children.
+   * @param parent Element the new child will be added to
+   * @param childName name of the parent's children sharing the same IDs
+   * @return ID for the new child
+   */
+  static int allocate(Element parent, String childName) {
+    int nextID = peek(parent, childName);
+    parent.setAttribute(NEXT_ID, Integer.toString(nextID + 1));
+    return nextID;
+  }
+
+  /**
+   * Returns the ID the next child of the given parent Element would be given, without changing the
+   * parent.
+   * @param parent Element whose next child ID to return
+   * @param childName name of the parent's children sharing the same IDs
+   * @return ID the next new child would be given
+   */
+  static int peek(Element parent, String childName) {
+    String nextID = parent.getAttributeValue(NEXT_ID);
+    if (nextID != null) {
+      return Integer.parseInt(nextID);
+    }
+
+    int maxID = 0;
+    for (Element child : parent.getChildren(childName)) {
+      maxID = Math.max(maxID, Integer.parseInt(child.getAttributeValue("id")));
+    }
+    return maxID + 1;
+  }
+}
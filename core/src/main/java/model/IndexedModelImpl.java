@@ -0,0 +1,637 @@
+package model;
+
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import datatransfer.ModelChangeImpl;
+
+/**
+ * An implementation of the ModelInterface for a ApplicationManager that, like {@link ModelImpl},
+ * keeps its model data as a document read from an associated XML file, but also keeps an index of
+ * every Area and Event Element in that document keyed by their IDs. Finding an Area or Event is
+ * then a single hash lookup rather than a scan over every Element of the document, and the index
+ * is updated alongside the document by every method that changes it.
+ */
+public class IndexedModelImpl implements ModelInterface {
+
+  /**
+   * The file path to this IndexedModelImpl's associated XML model data file.
+   */
+  private final String modelDataFilePath;
+
+  /**
+   * Latest version of this IndexedModelImpl's model data as a readable document.
+   */
+  private Document modelData = new Document();
+
+  /**
+   * Statistics of the last save of the model data, null if it hasn't been saved yet.
+   */
+  private SaveStatistics lastSave;
+
+  /**
+   * Listeners notified of every change made to the model data.
+   */
+  private final ModelChangeSupport changeSupport = new ModelChangeSupport();
+
+  /**
+   * Codec of the date and time of each Event as stored in the model data.
+   */
+  private final DateTimeCodec dateTimeCodec = new DateTimeCodec();
+
+  /**
+   * Every Area Element in the model data, keyed by the Area's ID.
+   */
+  private final IntMap<Element> areaIndex = new IntMap<>();
+
+  /**
+   * Every Event Element in the model data, grouped by the ID of their associated Area then keyed
+   * by the Event's ID.
+   */
+  private final IntMap<IntMap<Element>> eventIndex = new IntMap<>();
+
+  /**
+   * Default constructor for this IndexedModelImpl, takes in a file path to read data from and make
+   * changes to as the results of any method calls on this IMI.
+   * @param modelDataFilePath file path of the model data this IndexedModelImpl is suppose to read
+   *                          from and change as needed
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public IndexedModelImpl(String modelDataFilePath) {
+    if (modelDataFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (modelDataFilePath.isEmpty()) {
+      throw new IllegalArgumentException("Given file path can't be empty!");
+    }
+    else if (Files.notExists(Paths.get(modelDataFilePath))) {
+      throw new IllegalArgumentException("Given file path doesn't exist!");
+    }
+
+    this.modelDataFilePath = modelDataFilePath;
+  }
+
+  /**
+   * Rebuilds the index of every Area and Event Element from the current model data.
+   */
+  private void rebuildIndex() {
+    areaIndex.clear();
+    eventIndex.clear();
+    for (Element area : modelData.getRootElement().getChildren("area")) {
+      int areaID = Integer.parseInt(area.getAttributeValue("id"));
+      areaIndex.put(areaID, area);
+      eventIndex.put(areaID, indexEvents(area));
+    }
+  }
+
+  /**
+   * Builds an index of the Event Elements of the given Area Element, keyed by the Event's ID.
+   * @param area Area Element whose Events to index
+   * @return index of the given Area's Events
+   */
+  private IntMap<Element> indexEvents(Element area) {
+    List<Element> events = area.getChildren("event");
+    IntMap<Element> toReturn = new IntMap<>(events.size());
+    for (Element event : events) {
+      toReturn.put(Integer.parseInt(event.getAttributeValue("id")), event);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Returns the Area Element with the associated input id.
+   * @param id id of the Area Element to return
+   * @return Area element that has input id as its own id
+   * @throws IllegalArgumentException if there is no Area Element in this model data that has the
+   *                                  associated id
+   */
+  private Element getAreaElement(int id) {
+    if (id == 0) {
+      throw new IllegalArgumentException("Can't retrieve an AreaData with an ID of 0!");
+    }
+
+    Element area = areaIndex.get(id);
+    if (area == null) {
+      throw new IllegalArgumentException("No area with the given id has been added to this model "
+          + "data!");
+    }
+    return area;
+  }
+
+  /**
+   * Returns the Event whose ID is the given event ID, whose associated Area has an ID matching
+   * given Area ID.
+   * @param areaID id of the desired event's associated area
+   * @param eventID id the desired event
+   * @return Event whose id matches given Event ID, and whose associated Area has an ID matching
+   *         given Area ID
+   * @throws IllegalArgumentException if there is no Area in this model data with an id matching
+   *         given AreaID, or if the matching Area has no Event with an ID matching the given
+   *         Event ID
+   */
+  private Element getEventElement(int areaID, int eventID) {
+    getAreaElement(areaID);
+
+    Element event = eventIndex.get(areaID).get(eventID);
+    if (event == null) {
+      throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+          "Event with the given Event ID!");
+    }
+    return event;
+  }
+
+  /**
+   * Checks if a given AreaData is valid, i.e. it is non-null and its id is a natural number.
+   * @param data AreaData to check
+   * @throws IllegalArgumentException if the given Area data is null or has a negative ID
+   */
+  private void validAreaData(AreaData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given Area data can't be null");
+    }
+    else if (data.getAreaId() < 0) {
+      throw new IllegalArgumentException("Given Area data must have a natural number as an ID!");
+    }
+  }
+
+  /**
+   * Checks if a given EventData is valid - i.e. it is non-null, its id is a natural number, and
+   * its associated Area has been added to this model data - else throws an
+   * IllegalArgumentException.
+   * @param data EventData to check is valid
+   * @throws IllegalArgumentException if given EventData is null, has a negative ID, or its
+   *         associated Area hasn't been added to this model data
+   */
+  private void validEventData(EventData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given data can't be null");
+    }
+    else if (data.getEventId() < 0) {
+      throw new IllegalArgumentException("Given Event data must have a natural number as an ID!");
+    }
+    else if (!areaIndex.containsKey(data.getAssociatedAreaId())) {
+      throw new IllegalArgumentException("The area this event is associated with has not been" +
+          "added to this model data!");
+    }
+  }
+
+  /**
+   * Checks if a given integer represents the ID of a possible valid existing Area. Only checks if
+   * given ID is >= 0, else throws a specified error.
+   * @param areaID possible ID to check
+   * @throws IllegalArgumentException if given ID is non-positive
+   */
+  private void validExistingAreaID(int areaID) {
+    if (areaID == 0) {
+      throw new IllegalArgumentException("The ID of any Area that is apart of this model can't" +
+          " have the ID dedicated to creating new Areas - i.e. no Area can have ID of zero!");
+    }
+    else if (areaID < 0) {
+      throw new IllegalArgumentException("An existing Area's ID must be greater than 0!");
+    }
+  }
+
+  /**
+   * Helper method for converting the date and time of an EventData into a properly formatted
+   * String to be stored in the XML file.
+   * @param dateTime date and time of some event
+   * @return String representation of the given date and time
+   * @throws IllegalArgumentException if given date and time is null, or has a negative year or
+   *         one of more than four digits
+   */
+  private String dateAndTimeToString(LocalDateTime dateTime) {
+    if (dateTime == null) {
+      throw new IllegalArgumentException("Given date and time can't be null!");
+    }
+    else if (dateTime.getYear() < 0) {
+      throw new IllegalArgumentException("Can't have a negative year!");
+    }
+    else if (dateTime.getYear() > DateTimeCodec.MAX_YEAR) {
+      throw new IllegalArgumentException("Can't have a year of more than four digits!");
+    }
+
+    return dateTimeCodec.format(dateTime);
+  }
+
+  @Override
+  public void openModelData() {
+    try {
+      File xmlFile = new File(modelDataFilePath);
+      SAXBuilder saxBuilder = new SAXBuilder();
+      modelData = saxBuilder.build(xmlFile);
+    }
+    catch (JDOMException | IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+
+    rebuildIndex();
+  }
+
+  @Override
+  public void closeModelData() {
+    XMLOutputter xmlOutputter = new XMLOutputter(Format.getRawFormat());
+    try {
+      lastSave = AtomicFileSaver.save(Paths.get(modelDataFilePath),
+          output -> xmlOutputter.output(modelData, output));
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to write associated XML file!");
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    return lastSave;
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() != 0) {
+      throw new IllegalArgumentException("Given AreaData's ID must be zero to signal it " +
+          "represents an Area not yet added to this model!");
+    }
+
+    Element root = modelData.getRootElement();
+    int newAreaID = IdAllocator.allocate(root, "area");
+
+    Element newArea = new Element("area");
+    newArea.setAttribute("id", Integer.toString(newAreaID));
+    newArea.setAttribute(IdAllocator.NEXT_ID, "1");
+    newArea.addContent(new Element("name").setText(data.getAreaName()));
+    newArea.addContent(new Element("description").setText(data.getAreaDescription()));
+
+    root.addContent(newArea);
+    areaIndex.put(newAreaID, newArea);
+    eventIndex.put(newAreaID, new IntMap<>());
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaAdded(toAreaData(newArea)));
+    }
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() == 0) {
+      throw new IllegalArgumentException("Can't edit a new area!");
+    }
+
+    Element areaToEdit = getAreaElement(data.getAreaId());
+    areaToEdit.getChild("name").setText(data.getAreaName());
+    areaToEdit.getChild("description").setText(data.getAreaDescription());
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaUpdated(toAreaData(areaToEdit)));
+    }
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    if (data.getEventId() > 0) {
+      throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+    }
+
+    int areaID = data.getAssociatedAreaId();
+    Element associatedArea = getAreaElement(areaID);
+    IntMap<Element> events = eventIndex.get(areaID);
+    int newEventID = IdAllocator.allocate(associatedArea, "event");
+
+    Element newEvent = new Element("event");
+    newEvent.setAttribute("id", Integer.toString(newEventID));
+    newEvent.addContent(new Element("name").setText(data.getEventName()));
+    newEvent.addContent(new Element("description").setText(data.getEventDescription()));
+    newEvent.addContent(new Element("date-time")
+        .setText(dateAndTimeToString(data.getEventDateAndTime())));
+    newEvent.addContent(new Element("location").setText(data.getEventLocation()));
+
+    associatedArea.addContent(newEvent);
+    events.put(newEventID, newEvent);
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventAdded(toEventData(areaID, newEvent)));
+    }
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    if (data.getEventId() == 0) {
+      throw new IllegalArgumentException("Given event data represents a new event that isn't" +
+          "already apart of this data model!");
+    }
+
+    Element eventToEdit = getEventElement(data.getAssociatedAreaId(), data.getEventId());
+    eventToEdit.getChild("name").setText(data.getEventName());
+    eventToEdit.getChild("description").setText(data.getEventDescription());
+    eventToEdit.getChild("date-time").setText(dateAndTimeToString(data.getEventDateAndTime()));
+    eventToEdit.getChild("location").setText(data.getEventLocation());
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventUpdated(
+          toEventData(data.getAssociatedAreaId(), eventToEdit)));
+    }
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    validExistingAreaID(areaID);
+
+    Element areaToRemove = getAreaElement(areaID);
+
+    // IDs are never reused, so the remaining Areas keep their IDs. Make sure the next ID is
+    // recorded before removing the Area, in case it currently holds the largest ID.
+    Element root = modelData.getRootElement();
+    root.setAttribute(IdAllocator.NEXT_ID, Integer.toString(IdAllocator.peek(root, "area")));
+    root.removeContent(areaToRemove);
+    areaIndex.remove(areaID);
+    eventIndex.remove(areaID);
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaRemoved(toAreaData(areaToRemove)));
+    }
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+
+    if (eventID == 0) {
+      throw new IllegalArgumentException("The ID of any Event that is apart of this model can't " +
+          "have the ID dedicated to creating new Events - i.e. no Event can have ID of zero!");
+    }
+    else if (eventID < 0) {
+      throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+    }
+
+    Element associatedArea = getAreaElement(areaID);
+    Element eventToDelete = getEventElement(areaID, eventID);
+
+    // IDs are never reused, so the remaining Events keep their IDs. Make sure the next ID is
+    // recorded before removing the Event, in case it currently holds the largest ID.
+    associatedArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(associatedArea, "event")));
+    associatedArea.removeContent(eventToDelete);
+    eventIndex.get(areaID).remove(eventID);
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventRemoved(toEventData(areaID, eventToDelete)));
+    }
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    if (events == null) {
+      throw new IllegalArgumentException("Given Events can't be null!");
+    }
+
+    // Check every Event and format its date and time before adding any.
+    String[] dateTimes = new String[events.size()];
+    int i = 0;
+    for (EventData data : events) {
+      validEventData(data);
+      if (data.getEventId() > 0) {
+        throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+      }
+      dateTimes[i++] = dateAndTimeToString(data.getEventDateAndTime());
+    }
+    if (events.isEmpty()) {
+      return;
+    }
+
+    boolean notify = changeSupport.hasListeners();
+    List<EventData> added = new ArrayList<>(notify ? events.size() : 0);
+    i = 0;
+    for (EventData data : events) {
+      int areaID = data.getAssociatedAreaId();
+      Element associatedArea = areaIndex.get(areaID);
+      int newEventID = IdAllocator.allocate(associatedArea, "event");
+
+      Element newEvent = new Element("event");
+      newEvent.setAttribute("id", Integer.toString(newEventID));
+      newEvent.addContent(new Element("name").setText(data.getEventName()));
+      newEvent.addContent(new Element("description").setText(data.getEventDescription()));
+      newEvent.addContent(new Element("date-time").setText(dateTimes[i++]));
+      newEvent.addContent(new Element("location").setText(data.getEventLocation()));
+
+      associatedArea.addContent(newEvent);
+      eventIndex.get(areaID).put(newEventID, newEvent);
+      if (notify) {
+        added.add(toEventData(areaID, newEvent));
+      }
+    }
+    if (notify) {
+      changeSupport.fireChange(ModelChangeImpl.eventsAdded(added));
+    }
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    validExistingAreaID(areaID);
+
+    Element associatedArea = getAreaElement(areaID);
+    List<Element> eventsToDelete = getEventElements(areaID, eventIDs);
+    if (eventsToDelete.isEmpty()) {
+      return;
+    }
+
+    // IDs are never reused, so record the next ID before removing the Events, as in deleteEvent.
+    associatedArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(associatedArea, "event")));
+    removeChildren(associatedArea, eventsToDelete);
+
+    IntMap<Element> events = eventIndex.get(areaID);
+    boolean notify = changeSupport.hasListeners();
+    List<EventData> removed = new ArrayList<>(notify ? eventsToDelete.size() : 0);
+    for (Element event : eventsToDelete) {
+      events.remove(Integer.parseInt(event.getAttributeValue("id")));
+      if (notify) {
+        removed.add(toEventData(areaID, event));
+      }
+    }
+    if (notify) {
+      changeSupport.fireChange(ModelChangeImpl.eventsRemoved(removed));
+    }
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    validExistingAreaID(fromAreaID);
+    validExistingAreaID(toAreaID);
+
+    if (fromAreaID == toAreaID) {
+      throw new IllegalArgumentException("Can't move Events to the Area they are already in!");
+    }
+
+    Element fromArea = getAreaElement(fromAreaID);
+    Element toArea = getAreaElement(toAreaID);
+    List<Element> eventsToMove = getEventElements(fromAreaID, eventIDs);
+    if (eventsToMove.isEmpty()) {
+      return;
+    }
+
+    // The moved Event Elements are reused as they are, given new IDs by the Area moved to.
+    fromArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(fromArea, "event")));
+    removeChildren(fromArea, eventsToMove);
+
+    IntMap<Element> fromEvents = eventIndex.get(fromAreaID);
+    IntMap<Element> toEvents = eventIndex.get(toAreaID);
+    boolean notify = changeSupport.hasListeners();
+    List<EventData> removed = new ArrayList<>(notify ? eventsToMove.size() : 0);
+    List<EventData> added = new ArrayList<>(notify ? eventsToMove.size() : 0);
+    for (Element event : eventsToMove) {
+      if (notify) {
+        removed.add(toEventData(fromAreaID, event));
+      }
+      fromEvents.remove(Integer.parseInt(event.getAttributeValue("id")));
+      int newEventID = IdAllocator.allocate(toArea, "event");
+      event.setAttribute("id", Integer.toString(newEventID));
+      toEvents.put(newEventID, event);
+      if (notify) {
+        added.add(toEventData(toAreaID, event));
+      }
+    }
+    toArea.addContent(eventsToMove);
+    if (notify) {
+      changeSupport.fireChange(ModelChangeImpl.eventsMoved(removed, added));
+    }
+  }
+
+  /**
+   * Returns the Event Elements of the Area with the given ID that have the given IDs, in the order
+   * the IDs are given, checking every ID is that of one of its Events and that none is given twice.
+   * @param areaID ID of the Area whose Events to return
+   * @param eventIDs IDs of the Events to return
+   * @return Event Elements of the Area with the given IDs
+   * @throws IllegalArgumentException if given array is null, or any given ID is non-positive,
+   *         isn't that of an Event of the Area, or is given more than once
+   */
+  private List<Element> getEventElements(int areaID, int[] eventIDs) {
+    if (eventIDs == null) {
+      throw new IllegalArgumentException("Given Event IDs can't be null!");
+    }
+
+    IntMap<Element> toReturn = new IntMap<>(eventIDs.length);
+    for (int eventID : eventIDs) {
+      if (eventID <= 0) {
+        throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+      }
+      else if (toReturn.put(eventID, getEventElement(areaID, eventID)) != null) {
+        throw new IllegalArgumentException("Event ID " + eventID + " is given more than once!");
+      }
+    }
+    return toReturn.values();
+  }
+
+  /**
+   * Removes the given children from the given parent Element in a single pass over its content,
+   * rather than searching its content for each child in turn.
+   * @param parent Element to remove the children from
+   * @param children children of the parent to remove
+   */
+  private static void removeChildren(Element parent, List<Element> children) {
+    Set<Content> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+    toRemove.addAll(children);
+    List<Content> kept = parent.removeContent();
+    kept.removeIf(toRemove::contains);
+    parent.addContent(kept);
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    List<AreaData> toReturn = new ArrayList<>(areaIndex.size());
+    for (Element area : areaIndex.values()) {
+      toReturn.add(toAreaData(area));
+    }
+    return toReturn;
+  }
+
+  /**
+   * Converts the given Area Element into an AreaData.
+   * @param area Area Element to convert
+   * @return AreaData holding the data of the given Area Element
+   */
+  private AreaData toAreaData(Element area) {
+    int id = Integer.parseInt(area.getAttributeValue("id"));
+    return new AreaDataImpl(id, area.getChildText("name"), area.getChildText("description"));
+  }
+
+  /**
+   * Converts the given Event Element into an EventData.
+   * @param areaID ID of the Area the given Event is associated with
+   * @param event Event Element to convert
+   * @return EventData holding the data of the given Event Element
+   */
+  private EventData toEventData(int areaID, Element event) {
+    int id = Integer.parseInt(event.getAttributeValue("id"));
+    LocalDateTime dateTime = DateTimeCodec.decode(event.getChildText("date-time"));
+
+    return new EventDataImpl(areaID, id, event.getChildText("name"),
+        event.getChildText("description"), event.getChildText("location"), dateTime);
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    validExistingAreaID(areaID);
+    getAreaElement(areaID);
+
+    List<Element> events = eventIndex.get(areaID).values();
+    List<EventData> toReturn = new ArrayList<>(events.size());
+    for (Element event : events) {
+      toReturn.add(toEventData(areaID, event));
+    }
+    return toReturn;
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    Element area = areaIndex.get(areaID);
+    if (area == null) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return toAreaData(area);
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+    Element event = getEventElement(areaID, eventID);
+    return toEventData(areaID, event);
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    return new XMLOutputter().outputString(modelData);
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    changeSupport.addListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    changeSupport.removeListener(listener);
+  }
+}
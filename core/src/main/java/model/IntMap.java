@@ -0,0 +1,276 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash map keyed by primitive ints, used by the models of this ApplicationManager to find Areas
+ * and Events by their IDs in constant time without boxing keys or formatting them as Strings.
+ * Entries are kept in insertion order, so iterating over the values of an IntMap yields them in
+ * the same order they were added - the same order they appear in the model data file. Values
+ * can't be null.
+ * @param <V> type of value stored in this IntMap
+ */
+public final class IntMap<V> {
+
+  /**
+   * Open addressing hash table, each slot holds the index of an entry plus one, or 0 if the slot
+   * is empty.
+   */
+  private int[] table;
+
+  /**
+   * Keys of each entry, in insertion order.
+   */
+  private int[] keys;
+
+  /**
+   * Values of each entry, in insertion order. A null value marks an entry that has been removed.
+   */
+  private Object[] values;
+
+  /**
+   * Number of entries currently in this IntMap.
+   */
+  private int size;
+
+  /**
+   * Number of entry positions used so far, including those of removed entries.
+   */
+  private int used;
+
+  /**
+   * Constructs an empty IntMap.
+   */
+  public IntMap() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty IntMap able to hold the given number of entries before resizing.
+   * @param expectedSize number of entries expected to be added
+   * @throws IllegalArgumentException if given expected size is negative
+   */
+  public IntMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size of an IntMap can't be negative!");
+    }
+    int capacity = Math.max(8, Integer.highestOneBit(Math.max(1, expectedSize) - 1) << 1);
+    keys = new int[capacity];
+    values = new Object[capacity];
+    table = new int[capacity * 2];
+  }
+
+  /**
+   * Spreads the bits of the given key so sequential IDs don't cluster in the table.
+   * @param key key to hash
+   * @return hash of given key
+   */
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Returns the slot of the table holding the entry with the given key, or -1 if there is none.
+   * @param key key to look for
+   * @return slot of entry with given key, or -1
+   */
+  private int findSlot(int key) {
+    int mask = table.length - 1;
+    int i = hash(key) & mask;
+    while (table[i] != 0) {
+      if (keys[table[i] - 1] == key) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of entries in this IntMap.
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if this IntMap has no entries.
+   * @return if this IntMap is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns true if this IntMap has an entry with the given key.
+   * @param key key to look for
+   * @return if an entry with the given key exists
+   */
+  public boolean containsKey(int key) {
+    return findSlot(key) != -1;
+  }
+
+  /**
+   * Returns the value associated with the given key, or null if there is none.
+   * @param key key of the value to return
+   * @return value associated with given key, or null
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    int slot = findSlot(key);
+    return slot == -1 ? null : (V) values[table[slot] - 1];
+  }
+
+  /**
+   * Associates the given value with the given key. Replacing the value of an existing key keeps
+   * that key's position in the insertion order.
+   * @param key key to associate value with
+   * @param value value to store
+   * @return value previously associated with given key, or null if there was none
+   * @throws IllegalArgumentException if given value is null
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Can't store a null value in an IntMap!");
+    }
+
+    int slot = findSlot(key);
+    if (slot != -1) {
+      int entry = table[slot] - 1;
+      V previous = (V) values[entry];
+      values[entry] = value;
+      return previous;
+    }
+
+    if (used == keys.length) {
+      // Reclaim the positions of removed entries if there are enough of them, else grow.
+      rehash(size < used / 2 ? keys.length : keys.length * 2);
+    }
+
+    keys[used] = key;
+    values[used] = value;
+    used++;
+    size++;
+
+    int mask = table.length - 1;
+    int i = hash(key) & mask;
+    while (table[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    table[i] = used;
+    return null;
+  }
+
+  /**
+   * Removes the entry with the given key, if one exists.
+   * @param key key of the entry to remove
+   * @return value that was associated with given key, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    int slot = findSlot(key);
+    if (slot == -1) {
+      return null;
+    }
+
+    int entry = table[slot] - 1;
+    V previous = (V) values[entry];
+    values[entry] = null;
+    size--;
+
+    // Shift back any following entries that were displaced past the now empty slot.
+    int mask = table.length - 1;
+    int empty = slot;
+    int i = slot;
+    while (true) {
+      i = (i + 1) & mask;
+      if (table[i] == 0) {
+        break;
+      }
+      int ideal = hash(keys[table[i] - 1]) & mask;
+      boolean between = empty <= i ? (empty < ideal && ideal <= i) : (empty < ideal || ideal <= i);
+      if (!between) {
+        table[empty] = table[i];
+        empty = i;
+      }
+    }
+    table[empty] = 0;
+    return previous;
+  }
+
+  /**
+   * Removes every entry of this IntMap.
+   */
+  public void clear() {
+    Arrays.fill(table, 0);
+    Arrays.fill(values, 0, used, null);
+    size = 0;
+    used = 0;
+  }
+
+  /**
+   * Returns the keys of this IntMap in insertion order.
+   * @return keys of this IntMap
+   */
+  public int[] keys() {
+    int[] toReturn = new int[size];
+    int index = 0;
+    for (int i = 0; i < used; i++) {
+      if (values[i] != null) {
+        toReturn[index++] = keys[i];
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Returns the values of this IntMap in insertion order.
+   * @return values of this IntMap
+   */
+  @SuppressWarnings("unchecked")
+  public List<V> values() {
+    List<V> toReturn = new ArrayList<>(size);
+    for (int i = 0; i < used; i++) {
+      if (values[i] != null) {
+        toReturn.add((V) values[i]);
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Packs the remaining entries of this IntMap to the front of arrays of the given capacity,
+   * preserving their order, and rebuilds the hash table.
+   * @param capacity number of entries the new arrays can hold
+   */
+  private void rehash(int capacity) {
+    int[] newKeys = new int[capacity];
+    Object[] newValues = new Object[capacity];
+    int[] newTable = new int[capacity * 2];
+    int mask = newTable.length - 1;
+
+    int index = 0;
+    for (int i = 0; i < used; i++) {
+      if (values[i] != null) {
+        newKeys[index] = keys[i];
+        newValues[index] = values[i];
+        int slot = hash(keys[i]) & mask;
+        while (newTable[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        newTable[slot] = index + 1;
+        index++;
+      }
+    }
+
+    keys = newKeys;
+    values = newValues;
+    table = newTable;
+    used = index;
+  }
+}
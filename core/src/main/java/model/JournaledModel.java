@@ -0,0 +1,749 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+
+/**
+ * A ModelInterface that makes every change to another model durable as soon as it is made, by
+ * recording it in a {@link ModelJournal} kept beside the model data file. Each change costs one
+ * small append to the journal (shared with any changes made at the same time by other threads)
+ * rather than a rewrite of the whole model data file.
+ *
+ * <p>Opening this model opens the wrapped model, then replays every change recorded in the
+ * journal since the model data file was last saved - so changes made in a session that crashed
+ * before closing its model are not lost. Once the journal grows past a set size, the wrapped model
+ * is saved and the journal emptied; closing this model does the same. Model data stored as a
+ * directory with a file per Area (see {@link ShardDirectory}) is journaled the same way, its
+ * journal kept beside the directory: as a save of such a directory only takes effect once its
+ * manifest is written, a save cut short leaves the directory and its journal as they were.
+ *
+ * <p>Replaying relies on the wrapped model giving new Areas and Events the same IDs when the same
+ * changes are made to the same model data, which holds as IDs are allocated from the next-id
+ * attributes stored in the model data file.
+ *
+ * <p>A change is made to the wrapped model before it is recorded, as only then is it known to be
+ * valid. If its record then fails to be written, the change stays made but isn't yet durable: the
+ * record is queued to be written again, and the next change first writes it - refusing to be made,
+ * before changing anything, while it still can't be.
+ *
+ * <p>Used on its own, each change waits for its record to be on disk before returning. Wrapped in
+ * a {@link ConcurrentModel}, changes only append their records while its lock is held, and wait for
+ * them to be on disk once it is released - so the records of changes made by several threads at
+ * once are forced to disk together. A journal grown too large is then left for the ConcurrentModel
+ * to compact once its lock is released, through a staged save (see {@link StagedSaving}): changes
+ * go on being recorded while the wrapped model's data is written, and only the records made before
+ * the save was staged are dropped from the journal once it is committed.
+ */
+public class JournaledModel implements ModelInterface, StagedSaving {
+
+  /**
+   * Size in bytes the journal may grow to before the wrapped model is saved and the journal
+   * emptied, if no other size is given.
+   */
+  public static final long DEFAULT_COMPACTION_THRESHOLD = 8L << 20;
+
+  /**
+   * Record of a call to addArea.
+   */
+  private static final byte ADD_AREA = 1;
+
+  /**
+   * Record of a call to editArea.
+   */
+  private static final byte EDIT_AREA = 2;
+
+  /**
+   * Record of a call to deleteArea.
+   */
+  private static final byte DELETE_AREA = 3;
+
+  /**
+   * Record of a call to addEvent.
+   */
+  private static final byte ADD_EVENT = 4;
+
+  /**
+   * Record of a call to editEvent.
+   */
+  private static final byte EDIT_EVENT = 5;
+
+  /**
+   * Record of a call to deleteEvent.
+   */
+  private static final byte DELETE_EVENT = 6;
+
+  /**
+   * Record of a call to addEvents.
+   */
+  private static final byte ADD_EVENTS = 7;
+
+  /**
+   * Record of a call to deleteEvents.
+   */
+  private static final byte DELETE_EVENTS = 8;
+
+  /**
+   * Record of a call to moveEvents.
+   */
+  private static final byte MOVE_EVENTS = 9;
+
+  /**
+   * The model whose changes are journaled.
+   */
+  private final ModelInterface model;
+
+  /**
+   * Journal of the changes made to the model since its model data file was last saved.
+   */
+  private final ModelJournal journal;
+
+  /**
+   * Size in bytes the journal may grow to before being compacted into the model data file.
+   */
+  private final long compactionThreshold;
+
+  /**
+   * Whether changes leave their records to be committed by {@link #commit}, rather than commit
+   * them before returning.
+   */
+  private boolean deferCommits;
+
+  /**
+   * Whether this model was opened for reading only, so nothing may be written.
+   */
+  private boolean readOnly;
+
+  /**
+   * Whether the journal has grown too large while commits were deferred, so should be compacted
+   * by whoever defers them.
+   */
+  private volatile boolean compactionDue;
+
+  /**
+   * Constructs a JournaledModel of the given model, whose model data file is at the given path.
+   * The journal is kept beside it, with ".journal" added to its name.
+   * @param model model whose changes to journal
+   * @param modelDataFilePath file path of the given model's model data
+   * @throws IllegalArgumentException if the given model or file path is null
+   */
+  public JournaledModel(ModelInterface model, String modelDataFilePath) {
+    this(model, modelDataFilePath, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * Constructs a JournaledModel of the given model, whose model data file is at the given path,
+   * compacting its journal into the model data file once it grows past the given size.
+   * @param model model whose changes to journal
+   * @param modelDataFilePath file path of the given model's model data
+   * @param compactionThreshold size in bytes the journal may grow to before being compacted
+   * @throws IllegalArgumentException if the given model or file path is null, or the given
+   *         threshold isn't positive
+   */
+  public JournaledModel(ModelInterface model, String modelDataFilePath,
+      long compactionThreshold) {
+    if (model == null) {
+      throw new IllegalArgumentException("Given model can't be null!");
+    }
+    else if (modelDataFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (compactionThreshold <= 0) {
+      throw new IllegalArgumentException("Given compaction threshold must be positive!");
+    }
+
+    Path snapshot = Paths.get(modelDataFilePath);
+    this.model = model;
+    this.journal = new ModelJournal(Paths.get(modelDataFilePath + ".journal"), snapshot);
+    this.compactionThreshold = compactionThreshold;
+  }
+
+  @Override
+  public void openModelData() {
+    model.openModelData();
+    readOnly = false;
+
+    List<byte[]> records;
+    try {
+      records = journal.open();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read journal of associated XML file!");
+    }
+    replayAll(records);
+
+    // Fold the replayed changes into the model data file straight away.
+    if (!records.isEmpty()) {
+      compact();
+    }
+  }
+
+  /**
+   * Opens the wrapped model and replays the changes recorded in the journal into it, as
+   * {@link #openModelData} does, but without writing anything: the journal is only read, and its
+   * changes are kept in memory rather than saved to the model data file. So the model data can be
+   * read, with every change recorded so far, while another process has it open - as long as that
+   * process doesn't save it meanwhile. A model opened this way can't be changed, and closing it
+   * does nothing.
+   * @throws IllegalStateException if the model data or journal couldn't be read, or the journal
+   *         doesn't match the model data
+   */
+  public void openModelDataForReading() {
+    model.openModelData();
+    readOnly = true;
+
+    try {
+      replayAll(journal.read());
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read journal of associated XML file!");
+    }
+  }
+
+  /**
+   * Replays the changes described by the given records into the wrapped model, in order.
+   * @param records payloads of the records to replay
+   * @throws IllegalStateException if a record isn't well formed or can't be applied to the model
+   */
+  private void replayAll(List<byte[]> records) {
+    try {
+      for (byte[] record : records) {
+        replay(record);
+      }
+    }
+    catch (IOException | IllegalArgumentException e) {
+      throw new IllegalStateException("Journal of associated XML file doesn't match its model "
+          + "data!");
+    }
+  }
+
+  @Override
+  public void closeModelData() {
+    if (!readOnly) {
+      compact();
+    }
+  }
+
+  /**
+   * Stages a save of the wrapped model, once the journal has been compacted by which every record
+   * appended so far may be dropped. Records appended while the save is written are kept.
+   * @return save of the wrapped model as it is now, or null if there is nothing to save or this
+   *         model was opened for reading only
+   * @throws IllegalStateException if another save is staged
+   */
+  @Override
+  public Save stageSave() {
+    if (readOnly) {
+      return null;
+    }
+    compactionDue = false;
+    if (!(model instanceof StagedSaving)) {
+      return new CompactingSave();
+    }
+
+    Save save = ((StagedSaving) model).stageSave();
+    return save == null ? null : new JournaledSave(save, journal.size());
+  }
+
+  /**
+   * Returns whether the journal has grown too large since it was last compacted, while commits
+   * were deferred - in which case it should be compacted through {@link #stageSave} once the
+   * records appended so far are committed.
+   * @return if the journal is due to be compacted
+   */
+  boolean isCompactionDue() {
+    return compactionDue;
+  }
+
+  /**
+   * A save of a wrapped model that saves in a single step, made entirely when committed.
+   */
+  private final class CompactingSave implements Save {
+
+    @Override
+    public void write() {
+      // Nothing can be written before the wrapped model saves.
+    }
+
+    @Override
+    public void commit() {
+      compact();
+    }
+
+    @Override
+    public void abort() {
+      // Nothing was written.
+    }
+
+    @Override
+    public Path written() {
+      return null;
+    }
+  }
+
+  /**
+   * A staged save of the wrapped model, which once committed drops the records appended before it
+   * was staged from the journal.
+   */
+  private final class JournaledSave implements Save {
+
+    /**
+     * Staged save of the wrapped model.
+     */
+    private final Save save;
+
+    /**
+     * Size of the journal when the save was staged; the records before it are held by the save.
+     */
+    private final long mark;
+
+    /**
+     * Constructs a JournaledSave of the given save of the wrapped model, staged once the journal
+     * was of the given size.
+     * @param save staged save of the wrapped model
+     * @param mark size of the journal when the save was staged
+     */
+    private JournaledSave(Save save, long mark) {
+      this.save = save;
+      this.mark = mark;
+    }
+
+    @Override
+    public void write() {
+      save.write();
+    }
+
+    @Override
+    public void commit() {
+      // A save that leaves the model data file as it is holds nothing the journal doesn't.
+      if (save.written() == null) {
+        save.commit();
+        return;
+      }
+
+      try {
+        journal.checkpoint(mark, journal.versionOf(save.written()));
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to write journal of associated XML file!");
+      }
+      save.commit();
+      try {
+        journal.resetTo(mark);
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to reset journal of associated XML file!");
+      }
+    }
+
+    @Override
+    public void abort() {
+      save.abort();
+    }
+
+    @Override
+    public Path written() {
+      return save.written();
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    return model.getLastSaveStatistics();
+  }
+
+  /**
+   * Saves the wrapped model to its model data file, then empties the journal.
+   * @throws IllegalStateException if either couldn't be written
+   */
+  private void compact() {
+    compactionDue = false;
+    model.closeModelData();
+    try {
+      journal.reset();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to reset journal of associated XML file!");
+    }
+  }
+
+  /**
+   * Makes changes to this model only append their records to the journal, leaving them to be
+   * forced to disk by a later call to {@link #commit}. Used by a {@link ConcurrentModel} wrapping
+   * this model, so it can wait for records outside of its lock.
+   */
+  void deferCommits() {
+    deferCommits = true;
+  }
+
+  /**
+   * Returns the sequence number of the record of the last change made to this model, to be
+   * committed with {@link #commit}.
+   * @return sequence number of the last record appended to the journal
+   */
+  long lastRecorded() {
+    return journal.lastAppended();
+  }
+
+  /**
+   * Waits until the record with the given sequence number, and every record before it, is on
+   * disk, forcing every record not yet on disk along with it if no other thread is already doing
+   * so.
+   * @param sequence sequence number of the record to wait for
+   * @throws IllegalStateException if the records couldn't be written, in which case they are
+   *         queued to be written again
+   */
+  void commit(long sequence) {
+    try {
+      journal.commit(sequence);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to write journal of associated XML file!");
+    }
+  }
+
+  /**
+   * Writes the records left queued by a failed commit, if any, before a change is made.
+   * @throws IllegalStateException if the records still couldn't be written, or this model was
+   *         opened for reading only, in which case no change should be made
+   */
+  private void recoverJournal() {
+    if (readOnly) {
+      throw new IllegalStateException("Model was opened for reading only!");
+    }
+    try {
+      journal.recover();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to write journal of associated XML file!");
+    }
+  }
+
+  /**
+   * Records a change already made to the wrapped model, returning once it is on disk unless
+   * commits are deferred. Compacts the journal instead if it has grown too large, which saves the
+   * change along with every other - or, if commits are deferred, marks it as due to be compacted.
+   * @param record payload of the record describing the change
+   * @throws IllegalStateException if the record couldn't be written
+   */
+  private void record(byte[] record) {
+    long sequence = journal.append(record);
+    if (journal.size() > compactionThreshold && deferCommits) {
+      compactionDue = true;
+    }
+    else if (journal.size() > compactionThreshold) {
+      compact();
+    }
+    else if (!deferCommits) {
+      commit(sequence);
+    }
+  }
+
+  /**
+   * Applies the change described by the given record to the wrapped model.
+   * @param record payload of the record to replay
+   * @throws IOException if the record isn't well formed
+   */
+  private void replay(byte[] record) throws IOException {
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+    byte type = input.readByte();
+    switch (type) {
+      case ADD_AREA:
+        model.addArea(new AreaDataImpl(0, readString(input), readString(input)));
+        break;
+      case EDIT_AREA:
+        model.editArea(new AreaDataImpl(input.readInt(), readString(input), readString(input)));
+        break;
+      case DELETE_AREA:
+        model.deleteArea(input.readInt());
+        break;
+      case ADD_EVENT:
+      case EDIT_EVENT:
+        int areaID = input.readInt();
+        int eventID = type == ADD_EVENT ? 0 : input.readInt();
+        EventData event = readEvent(input, areaID, eventID);
+        if (type == ADD_EVENT) {
+          model.addEvent(event);
+        }
+        else {
+          model.editEvent(event);
+        }
+        break;
+      case DELETE_EVENT:
+        model.deleteEvent(input.readInt(), input.readInt());
+        break;
+      case ADD_EVENTS:
+        List<EventData> events = new ArrayList<>();
+        for (int i = input.readInt(); i > 0; i--) {
+          events.add(readEvent(input, input.readInt(), 0));
+        }
+        model.addEvents(events);
+        break;
+      case DELETE_EVENTS:
+        model.deleteEvents(input.readInt(), readIDs(input));
+        break;
+      case MOVE_EVENTS:
+        int fromAreaID = input.readInt();
+        int toAreaID = input.readInt();
+        model.moveEvents(fromAreaID, readIDs(input), toAreaID);
+        break;
+      default:
+        throw new IOException("Unknown journal record type " + type + "!");
+    }
+  }
+
+  /**
+   * Reads the name, description, location, and date and time of an Event, as recorded for a call
+   * to addEvent or editEvent.
+   * @param input input to read from
+   * @param areaID ID of the Area the Event is associated with
+   * @param eventID ID of the Event
+   * @return Event read
+   * @throws IOException if the Event couldn't be read
+   */
+  private static EventData readEvent(DataInputStream input, int areaID, int eventID)
+      throws IOException {
+    String name = readString(input);
+    String desp = readString(input);
+    String location = readString(input);
+    LocalDateTime dateTime = LocalDateTime.ofEpochSecond(input.readLong() * 60, 0,
+        ZoneOffset.UTC);
+    return new EventDataImpl(areaID, eventID, name, desp, location, dateTime);
+  }
+
+  /**
+   * Reads a number of Event IDs followed by that many IDs.
+   * @param input input to read from
+   * @return IDs read
+   * @throws IOException if the IDs couldn't be read
+   */
+  private static int[] readIDs(DataInputStream input) throws IOException {
+    int[] toReturn = new int[input.readInt()];
+    for (int i = 0; i < toReturn.length; i++) {
+      toReturn[i] = input.readInt();
+    }
+    return toReturn;
+  }
+
+  /**
+   * Reads a String written by {@link #writeString}.
+   * @param input input to read from
+   * @return String read
+   * @throws IOException if the String couldn't be read
+   */
+  private static String readString(DataInputStream input) throws IOException {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a String as its length in UTF-8 bytes followed by those bytes.
+   * @param output output to write to
+   * @param s String to write
+   * @throws IOException if the String couldn't be written
+   */
+  private static void writeString(DataOutputStream output, String s) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  /**
+   * Encodes a record of the given type holding the given values. Integers are written as ints,
+   * Strings through {@link #writeString}, and dates and times as their minute since the epoch.
+   * @param type type of the record
+   * @param values values the record holds
+   * @return payload of the record
+   */
+  private static byte[] encode(byte type, Object... values) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    try {
+      output.writeByte(type);
+      for (Object value : values) {
+        if (value instanceof Integer) {
+          output.writeInt((Integer) value);
+        }
+        else if (value instanceof String) {
+          writeString(output, (String) value);
+        }
+        else {
+          output.writeLong(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC) / 60);
+        }
+      }
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to encode journal record!", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    recoverJournal();
+    model.addArea(data);
+    record(encode(ADD_AREA, data.getAreaName(), data.getAreaDescription()));
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    recoverJournal();
+    model.editArea(data);
+    record(encode(EDIT_AREA, data.getAreaId(), data.getAreaName(), data.getAreaDescription()));
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    recoverJournal();
+    model.addEvent(data);
+    record(encode(ADD_EVENT, data.getAssociatedAreaId(), data.getEventName(),
+        data.getEventDescription(), data.getEventLocation(), data.getEventDateAndTime()));
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    recoverJournal();
+    model.editEvent(data);
+    record(encode(EDIT_EVENT, data.getAssociatedAreaId(), data.getEventId(),
+        data.getEventName(), data.getEventDescription(), data.getEventLocation(),
+        data.getEventDateAndTime()));
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    recoverJournal();
+    model.deleteArea(areaID);
+    record(encode(DELETE_AREA, areaID));
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    recoverJournal();
+    model.deleteEvent(areaID, eventID);
+    record(encode(DELETE_EVENT, areaID, eventID));
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    recoverJournal();
+    model.addEvents(events);
+    if (events.isEmpty()) {
+      return;
+    }
+
+    // The whole batch is a single record, so it is replayed all or nothing too.
+    Object[] values = new Object[1 + events.size() * 5];
+    int i = 0;
+    values[i++] = events.size();
+    for (EventData data : events) {
+      values[i++] = data.getAssociatedAreaId();
+      values[i++] = data.getEventName();
+      values[i++] = data.getEventDescription();
+      values[i++] = data.getEventLocation();
+      values[i++] = data.getEventDateAndTime();
+    }
+    record(encode(ADD_EVENTS, values));
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    recoverJournal();
+    model.deleteEvents(areaID, eventIDs);
+    if (eventIDs.length > 0) {
+      record(encode(DELETE_EVENTS, withIDs(eventIDs, areaID)));
+    }
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    recoverJournal();
+    model.moveEvents(fromAreaID, eventIDs, toAreaID);
+    if (eventIDs.length > 0) {
+      record(encode(MOVE_EVENTS, withIDs(eventIDs, fromAreaID, toAreaID)));
+    }
+  }
+
+  /**
+   * Returns the values of a record holding the given values, then the number of given Event IDs,
+   * then the IDs themselves - to be read back by {@link #readIDs}.
+   * @param eventIDs IDs of the Events
+   * @param values values to hold before the IDs
+   * @return values of the record
+   */
+  private static Object[] withIDs(int[] eventIDs, Object... values) {
+    Object[] toReturn = new Object[values.length + 1 + eventIDs.length];
+    System.arraycopy(values, 0, toReturn, 0, values.length);
+    toReturn[values.length] = eventIDs.length;
+    for (int i = 0; i < eventIDs.length; i++) {
+      toReturn[values.length + 1 + i] = eventIDs[i];
+    }
+    return toReturn;
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    return model.outputAreas();
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    return model.outputEvents(areaID);
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(LocalDateTime start, LocalDateTime end) {
+    return model.outputEventsBetween(start, end);
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(int areaID, LocalDateTime start,
+      LocalDateTime end) {
+    return model.outputEventsBetween(areaID, start, end);
+  }
+
+  @Override
+  public List<EventData> searchEvents(String query, int maxResults) {
+    return model.searchEvents(query, maxResults);
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    return model.getAreaData(areaID);
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    return model.getEventData(areaID, eventID);
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    return model.outputModelDataAsString();
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    model.addModelChangeListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    model.removeModelChangeListener(listener);
+  }
+}
@@ -0,0 +1,375 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads model data in the format of XMLData.xml into a {@link ModelStore} without reading any
+ * Events. A quick scan over the raw bytes of the file finds every Area; only the start of each
+ * Area - its ID, name and description - is parsed, and the byte range holding its Events is
+ * remembered. The Events of an Area are parsed from that range by {@link #loadEvents} the first
+ * time they are needed.
+ *
+ * <p>The file must be UTF-8 encoded, as written by this ApplicationManager's models, and every
+ * Area must have a name Element (so no Area is an empty Element).
+ */
+final class LazyModelReader implements AreaEventLoader {
+
+  /**
+   * Finds the next-id attribute of the root Element.
+   */
+  private static final Pattern NEXT_ID = Pattern.compile("\\s" + IdAllocator.NEXT_ID
+      + "\\s*=\\s*[\"'](\\d+)[\"']");
+
+  /**
+   * Closing tag of an Area Element.
+   */
+  private static final String AREA_END = "</area>";
+
+  /**
+   * The model data file to read.
+   */
+  private final Path file;
+
+  /**
+   * Parses the start of each Area and the Events of each loaded Area.
+   */
+  private final StaxModelReader staxReader = new StaxModelReader();
+
+  /**
+   * Constructs a LazyModelReader of the given model data file.
+   * @param file model data file to read
+   */
+  LazyModelReader(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Reads every Area of the model data file, leaving their Events unloaded.
+   * @return ModelStore holding every Area of the model data, which loads Events through this
+   *         LazyModelReader
+   * @throws IOException if the file couldn't be read or isn't well formed model data
+   */
+  ModelStore read() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      FileBytes bytes = new FileBytes(channel);
+
+      long rootStart = bytes.indexOf('<', 0);
+      while (rootStart != -1 && !bytes.isTag(rootStart, "root")) {
+        rootStart = bytes.indexOf('<', rootStart + 1);
+      }
+      long rootEnd = rootStart == -1 ? -1 : bytes.indexOf('>', rootStart);
+      if (rootEnd == -1) {
+        throw new IOException("Model data has no root element!");
+      }
+      Matcher nextID = NEXT_ID.matcher(bytes.string(rootStart, rootEnd));
+
+      ModelStore store = new ModelStore();
+      store.eventLoader = this;
+      int maxAreaID = 0;
+
+      long position = rootEnd + 1;
+      while (true) {
+        position = bytes.indexOf('<', position);
+        if (position == -1) {
+          throw new IOException("Model data has no closing root tag!");
+        }
+        else if (bytes.startsWith(position, "</root")) {
+          break;
+        }
+        else if (!bytes.isTag(position, "area")) {
+          position++;
+          continue;
+        }
+
+        // The start of the Area runs up to its first Event, or its end if it has none.
+        long headerEnd = bytes.indexOf('<', position + 1);
+        while (headerEnd != -1 && !bytes.isTag(headerEnd, "event")
+            && !bytes.startsWith(headerEnd, AREA_END)) {
+          headerEnd = bytes.indexOf('<', headerEnd + 1);
+        }
+        if (headerEnd == -1) {
+          throw new IOException("Model data has an unclosed area!");
+        }
+
+        AreaRecord area = staxReader.readArea(new SequenceInputStream(
+            new ByteArrayInputStream(bytes.read(position, headerEnd)),
+            new ByteArrayInputStream(AREA_END.getBytes(StandardCharsets.UTF_8))));
+        area.events = null;
+        area.eventsStart = headerEnd;
+        area.eventsEnd = bytes.indexOf(AREA_END, headerEnd);
+        if (area.eventsEnd == -1) {
+          throw new IOException("Model data has an unclosed area!");
+        }
+
+        store.areas.put(area.data.getAreaId(), area);
+        maxAreaID = Math.max(maxAreaID, area.data.getAreaId());
+        position = area.eventsEnd + AREA_END.length();
+      }
+
+      // Files written before IDs were allocated through next-id start after the largest ID.
+      store.nextAreaID = nextID.find() ? Integer.parseInt(nextID.group(1)) : maxAreaID + 1;
+      return store;
+    }
+  }
+
+  @Override
+  public void loadEvents(AreaRecord area) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // Wrap the Events in an Area Element of their own so they can be parsed as a document.
+      String start = "<area id=\"" + area.data.getAreaId() + "\">";
+      InputStream events = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+          new ByteArrayInputStream(start.getBytes(StandardCharsets.UTF_8)),
+          new RegionInputStream(channel, area.eventsStart, area.eventsEnd),
+          new ByteArrayInputStream(AREA_END.getBytes(StandardCharsets.UTF_8)))));
+
+      AreaRecord loaded = staxReader.readArea(events);
+      area.events = loaded.events;
+      area.nextEventID = Math.max(area.nextEventID, loaded.nextEventID);
+    }
+  }
+
+  @Override
+  public void copyEvents(AreaRecord area, OutputStream output) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel target = Channels.newChannel(output);
+      long position = area.eventsStart;
+      while (position < area.eventsEnd) {
+        position += channel.transferTo(position, area.eventsEnd - position, target);
+      }
+    }
+  }
+
+  /**
+   * Random access to the bytes of a file through a window of buffered bytes, refilled as reads
+   * move past it. Sequential scans over the file read each byte from disk once.
+   */
+  private static final class FileBytes {
+
+    /**
+     * Channel of the file to read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Bytes of the file currently buffered.
+     */
+    private final byte[] window = new byte[1 << 16];
+
+    /**
+     * Offset in the file of the first buffered byte.
+     */
+    private long windowStart;
+
+    /**
+     * Number of bytes currently buffered.
+     */
+    private int windowLength;
+
+    /**
+     * Constructs a FileBytes reading from the given channel.
+     * @param channel channel of the file to read
+     */
+    FileBytes(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Buffers the bytes of the file starting at the given offset.
+     * @param position offset in the file to start buffering at
+     * @throws IOException if the file couldn't be read
+     */
+    private void fill(long position) throws IOException {
+      ByteBuffer buffer = ByteBuffer.wrap(window);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          break;
+        }
+      }
+      windowStart = position;
+      windowLength = buffer.position();
+    }
+
+    /**
+     * Returns the byte at the given offset of the file, or -1 if it is past the end of the file.
+     * @param position offset of the byte to return
+     * @return byte at given offset as an unsigned value, or -1
+     * @throws IOException if the file couldn't be read
+     */
+    int get(long position) throws IOException {
+      if (position < windowStart || position >= windowStart + windowLength) {
+        fill(position);
+        if (windowLength == 0) {
+          return -1;
+        }
+      }
+      return window[(int) (position - windowStart)] & 0xFF;
+    }
+
+    /**
+     * Returns the offset of the first occurrence of the given ASCII character at or after the
+     * given offset, or -1 if there is none.
+     * @param c character to find
+     * @param from offset to start looking at
+     * @return offset of the character, or -1
+     * @throws IOException if the file couldn't be read
+     */
+    long indexOf(char c, long from) throws IOException {
+      long position = from;
+      while (true) {
+        if (position < windowStart || position >= windowStart + windowLength) {
+          fill(position);
+          if (windowLength == 0) {
+            return -1;
+          }
+        }
+        for (int i = (int) (position - windowStart); i < windowLength; i++) {
+          if (window[i] == c) {
+            return windowStart + i;
+          }
+        }
+        position = windowStart + windowLength;
+      }
+    }
+
+    /**
+     * Returns the offset of the first occurrence of the given ASCII String at or after the given
+     * offset, or -1 if there is none.
+     * @param s String to find
+     * @param from offset to start looking at
+     * @return offset of the String, or -1
+     * @throws IOException if the file couldn't be read
+     */
+    long indexOf(String s, long from) throws IOException {
+      long position = indexOf(s.charAt(0), from);
+      while (position != -1 && !startsWith(position, s)) {
+        position = indexOf(s.charAt(0), position + 1);
+      }
+      return position;
+    }
+
+    /**
+     * Returns true if the bytes at the given offset are the given ASCII String.
+     * @param position offset to compare at
+     * @param s String to compare with
+     * @return if the file holds the given String at the given offset
+     * @throws IOException if the file couldn't be read
+     */
+    boolean startsWith(long position, String s) throws IOException {
+      for (int i = 0; i < s.length(); i++) {
+        if (get(position + i) != s.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Returns true if the bytes at the given offset start a tag of an Element with the given name.
+     * @param position offset to check
+     * @param name name of the Element
+     * @return if an Element with the given name starts at the given offset
+     * @throws IOException if the file couldn't be read
+     */
+    boolean isTag(long position, String name) throws IOException {
+      if (get(position) != '<' || !startsWith(position + 1, name)) {
+        return false;
+      }
+      int next = get(position + 1 + name.length());
+      return next == '>' || next == '/' || next == ' ' || next == '\t' || next == '\r'
+          || next == '\n';
+    }
+
+    /**
+     * Returns the bytes of the file in the given range.
+     * @param start offset of the first byte
+     * @param end offset one past the last byte
+     * @return bytes in the given range
+     * @throws IOException if the file couldn't be read
+     */
+    byte[] read(long start, long end) throws IOException {
+      byte[] toReturn = new byte[(int) (end - start)];
+      for (int i = 0; i < toReturn.length; i++) {
+        toReturn[i] = (byte) get(start + i);
+      }
+      return toReturn;
+    }
+
+    /**
+     * Returns the bytes of the file in the given range decoded as UTF-8.
+     * @param start offset of the first byte
+     * @param end offset one past the last byte
+     * @return text in the given range
+     * @throws IOException if the file couldn't be read
+     */
+    String string(long start, long end) throws IOException {
+      return new String(read(start, end), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Reads a range of bytes of a file, without moving the position of the file's channel.
+   */
+  private static final class RegionInputStream extends InputStream {
+
+    /**
+     * Channel of the file to read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Offset of the next byte to read.
+     */
+    private long position;
+
+    /**
+     * Offset one past the last byte to read.
+     */
+    private final long end;
+
+    /**
+     * Constructs a RegionInputStream reading the given range of the given file.
+     * @param channel channel of the file to read
+     * @param start offset of the first byte to read
+     * @param end offset one past the last byte to read
+     */
+    RegionInputStream(FileChannel channel, long start, long end) {
+      this.channel = channel;
+      this.position = start;
+      this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (position >= end) {
+        return -1;
+      }
+      int toRead = (int) Math.min(len, end - position);
+      int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+      if (read > 0) {
+        position += read;
+      }
+      return read;
+    }
+  }
+}
@@ -0,0 +1,456 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+
+/**
+ * A read-only implementation of the ModelInterface for browsing archived model data, served
+ * straight out of a memory-mapped {@link BinarySnapshot}. Opening the model only reads the
+ * snapshot's footer, so it takes the same time however large the snapshot is; every AreaData and
+ * EventData handed out is decoded from the mapped file when asked for, using the snapshot's index
+ * to find it, and none are kept - so heap use doesn't grow with the size of the snapshot either.
+ *
+ * <p>Every method that would change the model data throws an UnsupportedOperationException.
+ */
+public class MappedModelImpl implements ModelInterface {
+
+  /**
+   * Number of bytes of the snapshot mapped by each buffer; a snapshot larger than this is mapped
+   * as several consecutive buffers, as a single buffer can't map more than 2GB.
+   */
+  private static final int SEGMENT_SIZE = 1 << 30;
+
+  /**
+   * The file path to this MappedModelImpl's binary snapshot.
+   */
+  private final Path snapshotFilePath;
+
+  /**
+   * Consecutive buffers mapping the whole snapshot, empty while the model isn't open.
+   */
+  private ByteBuffer[] segments = new ByteBuffer[0];
+
+  /**
+   * Offset of the snapshot's index.
+   */
+  private long indexOffset;
+
+  /**
+   * Number of Areas in the snapshot.
+   */
+  private int areaCount;
+
+  /**
+   * Positions in the index of the Areas in the order they are stored in the snapshot, which is
+   * the order they were added.
+   */
+  private int[] areaOrder = new int[0];
+
+  /**
+   * Listeners added to this model. As its model data is read-only they are never notified, but
+   * are kept so removing one behaves as for any other model.
+   */
+  private final ModelChangeSupport changeSupport = new ModelChangeSupport();
+
+  /**
+   * Constructs a MappedModelImpl of the given binary snapshot, such as one written beside an XML
+   * model data file by a {@link CompactModelImpl} or by the {@link SnapshotConverter}.
+   * @param snapshotFilePath file path of the binary snapshot to read
+   * @throws IllegalArgumentException if given file path is null, empty, or doesn't exist
+   */
+  public MappedModelImpl(String snapshotFilePath) {
+    if (snapshotFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (snapshotFilePath.isEmpty()) {
+      throw new IllegalArgumentException("Given file path can't be empty!");
+    }
+    else if (Files.notExists(Paths.get(snapshotFilePath))) {
+      throw new IllegalArgumentException("Given file path doesn't exist!");
+    }
+
+    this.snapshotFilePath = Paths.get(snapshotFilePath);
+  }
+
+  @Override
+  public void openModelData() {
+    try (FileChannel channel = FileChannel.open(snapshotFilePath, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < 4 + BinarySnapshot.FOOTER_SIZE) {
+        throw new IllegalStateException("Associated file isn't a binary snapshot!");
+      }
+
+      ByteBuffer[] mapped = new ByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+      for (int i = 0; i < mapped.length; i++) {
+        long start = (long) i * SEGMENT_SIZE;
+        mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(SEGMENT_SIZE, size - start));
+      }
+      segments = mapped;
+      // The mapping stays valid once the channel is closed.
+
+      long footer = size - BinarySnapshot.FOOTER_SIZE;
+      if (getInt(0) != BinarySnapshot.MAGIC || getInt(footer + 12) != BinarySnapshot.INDEX_MAGIC) {
+        segments = new ByteBuffer[0];
+        throw new IllegalStateException("Associated file isn't a binary snapshot!");
+      }
+      indexOffset = getLong(footer);
+      areaCount = getInt(footer + 8);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated binary snapshot!");
+    }
+
+    // Areas are indexed in order of ID, which is the order they were added in unless IDs were
+    // renumbered by an older version.
+    Integer[] order = new Integer[areaCount];
+    boolean sorted = true;
+    for (int i = 0; i < areaCount; i++) {
+      order[i] = i;
+      sorted &= i == 0 || areaOffset(i) > areaOffset(i - 1);
+    }
+    if (!sorted) {
+      Arrays.sort(order, (a, b) -> Long.compare(areaOffset(a), areaOffset(b)));
+    }
+    areaOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+  }
+
+  @Override
+  public void closeModelData() {
+    // Nothing to save, so just drop the mapping - it is unmapped once garbage collected.
+    segments = new ByteBuffer[0];
+    areaCount = 0;
+    areaOrder = new int[0];
+  }
+
+  /**
+   * Fails, as this model can't be changed.
+   * @throws UnsupportedOperationException always
+   */
+  private static void readOnly() {
+    throw new UnsupportedOperationException("Model data of a mapped binary snapshot is "
+        + "read-only and can't be changed!");
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    readOnly();
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    readOnly();
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    readOnly();
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    readOnly();
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    readOnly();
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    readOnly();
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    readOnly();
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    readOnly();
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    readOnly();
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    List<AreaData> toReturn = new ArrayList<>(areaCount);
+    for (int index : areaOrder) {
+      toReturn.add(readArea(new Cursor(areaOffset(index))));
+    }
+    return toReturn;
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    int index = findAreaIndex(areaID);
+    if (index < 0) {
+      throw new IllegalArgumentException("No area with the given id has been added to this model "
+          + "data!");
+    }
+
+    Cursor cursor = new Cursor(areaOffset(index));
+    readArea(cursor);
+    int eventCount = getInt(areaEntry(index) + 12);
+    List<EventData> toReturn = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; i++) {
+      toReturn.add(readEvent(areaID, cursor));
+    }
+    return toReturn;
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    int index = findAreaIndex(areaID);
+    if (index < 0) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return readArea(new Cursor(areaOffset(index)));
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    int index = findAreaIndex(areaID);
+    if (index < 0) {
+      throw new IllegalArgumentException("No area with the given id has been added to this model "
+          + "data!");
+    }
+
+    long entry = areaEntry(index);
+    long table = getLong(entry + 16);
+    int low = 0;
+    int high = getInt(entry + 12) - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long eventEntry = table + (long) mid * BinarySnapshot.EVENT_ENTRY_SIZE;
+      int midID = getInt(eventEntry);
+      if (midID < eventID) {
+        low = mid + 1;
+      }
+      else if (midID > eventID) {
+        high = mid - 1;
+      }
+      else {
+        return readEvent(areaID, new Cursor(getLong(eventEntry + 4)));
+      }
+    }
+    throw new IllegalArgumentException("Area associated with given areaID has no Event "
+        + "associated with given eventID!");
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (InputStream input = new BufferedInputStream(Channels.newInputStream(
+        FileChannel.open(snapshotFilePath, StandardOpenOption.READ)))) {
+      new StaxModelWriter().write(BinarySnapshot.read(input), output);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to output model data!");
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    changeSupport.addListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    changeSupport.removeListener(listener);
+  }
+
+  /**
+   * Returns the position in the index of the Area with the given ID, found by binary search.
+   * @param areaID ID of the Area to find
+   * @return position of the Area in the index, or -1 if there is no Area with the given ID
+   */
+  private int findAreaIndex(int areaID) {
+    int low = 0;
+    int high = areaCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midID = getInt(areaEntry(mid));
+      if (midID < areaID) {
+        low = mid + 1;
+      }
+      else if (midID > areaID) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the offset of the entry at the given position in the index.
+   * @param index position of the entry in the index
+   * @return offset of the entry
+   */
+  private long areaEntry(int index) {
+    return indexOffset + (long) index * BinarySnapshot.AREA_ENTRY_SIZE;
+  }
+
+  /**
+   * Returns the offset of the Area at the given position in the index.
+   * @param index position of the Area in the index
+   * @return offset of the Area
+   */
+  private long areaOffset(int index) {
+    return getLong(areaEntry(index) + 4);
+  }
+
+  /**
+   * Decodes the Area at the given cursor, leaving the cursor at its first Event.
+   * @param cursor cursor at the start of an Area
+   * @return AreaData of the Area
+   */
+  private AreaData readArea(Cursor cursor) {
+    int areaID = cursor.readVarInt();
+    cursor.readVarInt();
+    cursor.readVarInt();
+    return new AreaDataImpl(areaID, cursor.readString(), cursor.readString());
+  }
+
+  /**
+   * Decodes the Event at the given cursor, leaving the cursor after it.
+   * @param areaID ID of the Area the Event belongs to
+   * @param cursor cursor at the start of an Event
+   * @return EventData of the Event
+   */
+  private EventData readEvent(int areaID, Cursor cursor) {
+    int eventID = cursor.readVarInt();
+    long epochMinute = cursor.readVarLong();
+    epochMinute = (epochMinute >>> 1) ^ -(epochMinute & 1);
+    return new EventDataImpl(areaID, eventID, cursor.readString(), cursor.readString(),
+        cursor.readString(), BinarySnapshot.fromEpochMinute(epochMinute));
+  }
+
+  /**
+   * Returns the byte at the given offset of the snapshot.
+   * @param position offset of the byte
+   * @return byte at the given offset
+   */
+  private byte getByte(long position) {
+    return segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+  }
+
+  /**
+   * Returns the big endian int at the given offset of the snapshot.
+   * @param position offset of the int
+   * @return int at the given offset
+   */
+  private int getInt(long position) {
+    ByteBuffer segment = segments[(int) (position / SEGMENT_SIZE)];
+    int offset = (int) (position % SEGMENT_SIZE);
+    if (offset + 4 <= segment.limit()) {
+      return segment.getInt(offset);
+    }
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      value = (value << 8) | (getByte(position + i) & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the big endian long at the given offset of the snapshot.
+   * @param position offset of the long
+   * @return long at the given offset
+   */
+  private long getLong(long position) {
+    return ((long) getInt(position) << 32) | (getInt(position + 4) & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Decodes consecutive values of the snapshot, starting at a given offset.
+   */
+  private final class Cursor {
+
+    /**
+     * Offset of the next byte to decode.
+     */
+    private long position;
+
+    /**
+     * Constructs a Cursor at the given offset.
+     * @param position offset to start decoding at
+     */
+    Cursor(long position) {
+      this.position = position;
+    }
+
+    /**
+     * Decodes a varint written by {@link BinarySnapshot#writeVarInt}.
+     * @return value decoded
+     */
+    int readVarInt() {
+      return (int) readVarLong();
+    }
+
+    /**
+     * Decodes a varint of up to 64 bits.
+     * @return value decoded
+     */
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = getByte(position++);
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Malformed varint in binary snapshot!");
+    }
+
+    /**
+     * Decodes a String stored as its varint length in UTF-8 bytes followed by those bytes.
+     * @return String decoded
+     */
+    String readString() {
+      byte[] bytes = new byte[readVarInt()];
+      ByteBuffer segment = segments[(int) (position / SEGMENT_SIZE)];
+      int offset = (int) (position % SEGMENT_SIZE);
+      if (offset + bytes.length <= segment.limit()) {
+        ByteBuffer view = segment.duplicate();
+        view.position(offset);
+        view.get(bytes);
+      }
+      else {
+        for (int i = 0; i < bytes.length; i++) {
+          bytes[i] = getByte(position + i);
+        }
+      }
+      position += bytes.length;
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+}
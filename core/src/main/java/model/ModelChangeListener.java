@@ -0,0 +1,15 @@
+package model;
+
+import datatransfer.ModelChange;
+
+/**
+ * Listens for the changes made to a model, so whatever displays the model's data can update only
+ * what changed rather than asking the model for all of its data again.
+ */
+public interface ModelChangeListener {
+  /**
+   * Called after a model's data has changed, once for every call that changed it.
+   * @param change every Area and Event the call added, updated, or removed
+   */
+  void modelChanged(ModelChange change);
+}
@@ -0,0 +1,58 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import datatransfer.ModelChange;
+
+/**
+ * Keeps the ModelChangeListeners of a model and notifies them of the model's changes, for models
+ * to hold one of rather than each keeping their own list of listeners.
+ */
+final class ModelChangeSupport {
+
+  /**
+   * Listeners to notify, copied on write so a listener may add or remove listeners while being
+   * notified.
+   */
+  private final List<ModelChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Adds the given listener, to be notified of every change made from now on.
+   * @param listener listener to add
+   * @throws IllegalArgumentException if given listener is null
+   */
+  void addListener(ModelChangeListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Given listener can't be null!");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes the given listener, if it was added.
+   * @param listener listener to remove
+   */
+  void removeListener(ModelChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Returns whether any listener has been added, so a model need not put together a change that
+   * no one would be notified of.
+   * @return if there is a listener to notify
+   */
+  boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+
+  /**
+   * Notifies every listener of the given change.
+   * @param change change made to the model
+   */
+  void fireChange(ModelChange change) {
+    for (ModelChangeListener listener : listeners) {
+      listener.modelChanged(change);
+    }
+  }
+}
@@ -0,0 +1,802 @@
+package model;
+
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import datatransfer.ModelChangeImpl;
+
+/**
+ * An implementation of the ModelInterface for a ApplicationManager. This implementation is
+ * associated with a specific XML file - XMLData.xml - to hold all the model data for this AM. Adds
+ * new data, edits old data, deletes old data, etc. by directly interacting with that XML file.
+ * Areas and Events are decoded from their Elements into AreaDatas and EventDatas the first time
+ * they are output, and the decoded objects are kept and updated alongside the Elements, so
+ * outputting them again or looking a single one up decodes nothing.
+ */
+public class ModelImpl implements ModelInterface {
+
+  /**
+   * The file path to this ModelImpl's associated XML model data file.
+   */
+  private final String modelDataFilePath;
+
+  /**
+   * Latest version of this ModelImpl's model data as a readable document.
+   */
+  private Document modelData = new Document();
+
+  /**
+   * Statistics of the last save of the model data, null if it hasn't been saved yet.
+   */
+  private SaveStatistics lastSave;
+
+  /**
+   * Listeners notified of every change made to the model data.
+   */
+  private final ModelChangeSupport changeSupport = new ModelChangeSupport();
+
+  /**
+   * Codec of the date and time of each Event as stored in the model data.
+   */
+  private final DateTimeCodec dateTimeCodec = new DateTimeCodec();
+
+  /**
+   * Every Area of the model data decoded into an AreaData, keyed by ID in document order. Null
+   * until first needed, then kept up to date by each change made to an Area.
+   */
+  private IntMap<AreaData> decodedAreas;
+
+  /**
+   * The Events of each Area that have been needed, decoded into EventDatas keyed by ID in
+   * document order, keyed by the ID of their Area. Kept up to date by each change made to an
+   * Event or Area, so Events are only decoded once however many times they are output.
+   */
+  private final IntMap<IntMap<EventData>> decodedEvents = new IntMap<>();
+
+  /**
+   * Default constructor for this ModelImpl, takes in a file path to read data from and make changes
+   * to as  the results of any method calls on this MI / changes to this MI's model data.
+   * @param modelDataFilePath file path of the model data this ModelImpl is suppose to read from and
+   *                          change as needed
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public ModelImpl(String modelDataFilePath) {
+    if (modelDataFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (modelDataFilePath.isEmpty()) {
+      throw new IllegalArgumentException("Given file path can't be empty!");
+    }
+    else if (Files.notExists(Paths.get(modelDataFilePath))) {
+      throw new IllegalArgumentException("Given file path doesn't exist!");
+    }
+
+    this.modelDataFilePath = modelDataFilePath;
+  }
+
+  /**
+   * Retursn true if this ModelImpl's data model contains an Area Element that has the input id
+   * as its own id.
+   * @param id unique id to Area Elements for
+   * @return if this data model contains an Area Element whose own id is the input id
+   */
+  private boolean containsAreaElement(int id) {
+    // Get the root child of the XML file and all its inner children.
+    Element root = modelData.getRootElement();
+    List<Element> areas = root.getChildren();
+
+    for (Element area : areas) {
+      if (area.getAttributeValue("id").equals(Integer.toString(id))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the Area Element with the associated input id.
+   * @param id id of the Area Element to return
+   * @return Area element that has input id as its own id
+   * @throws IllegalArgumentException if there is no Area Element in this model data that has the
+   *                                  associated id
+   */
+  private Element getAreaElement(int id) {
+    if (id == 0) {
+      throw new IllegalArgumentException("Can't retrieve an AreaData with an ID of 0!");
+    }
+    // Get the root child of the XML file and all its inner children.
+    Element root = modelData.getRootElement();
+    List<Element> areas = root.getChildren();
+
+    for (Element area : areas) {
+      if (area.getAttributeValue("id").equals(Integer.toString(id))) {
+        return area;
+      }
+    }
+    throw new IllegalArgumentException("No area with the given id has been added to this model data!");
+  }
+
+  /**
+   * Returns the Event whose ID is the given event ID, whose associated Area has an ID matching
+   * given Area ID.
+   * @param areaID id of the desired event's associated area
+   * @param eventID id the desired event
+   * @return Event whose id matches given Event ID, and whose associated Area has an ID matching
+   *         given Area ID
+   * @throws IllegalArgumentException if there is no Area in this model data with an id matching
+   *         given AreaID, or if the matching Area has no Event with an ID matching the given
+   *         Event ID
+   */
+  private Element getEventElement(int areaID, int eventID) {
+    Element associatedArea = getAreaElement(areaID);
+    List<Element> events = associatedArea.getChildren("event");
+
+    for (Element event : events) {
+      if (event.getAttributeValue("id").equals(Integer.toString(eventID))) {
+        return event;
+      }
+    }
+    throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+            "Event with the given Event ID!");
+  }
+
+  /**
+   * Checks if a given AreaData is valid, i.e. it is non-null, its name is not empty, and its id
+   * is a natural number.
+   * @param data AreaData to check
+   * @throws IllegalArgumentException if the given Area data is null or has an empty name
+   */
+  private void validAreaData(AreaData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given Area data can't be null");
+    }
+    else if (data.getAreaId() < 0) {
+      throw new IllegalArgumentException("Given Area data must have a natural number as an ID!");
+    }
+  }
+
+  /**
+   * Checks if a given EventData is valid - i.e. it is non-null, its name is not empty, its id is a
+   * natural number, and its associated Area has been added to this model data - else throws an
+   * IllegalArgumentException.
+   * @param data EventData to check is valid
+   * @throws IllegalArgumentException if given EventData is non-null, its name is not empty, and
+   * its associated Area has been added to this model data
+   */
+  private void validEventData(EventData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given data can't be null");
+    }
+    else if (data.getEventId() < 0) {
+      throw new IllegalArgumentException("Given Event data must have a natural number as an ID!");
+    }
+    else if (!containsAreaElement(data.getAssociatedAreaId())) {
+      throw new IllegalArgumentException("The area this event is associated with has not been" +
+              "added to this model data!");
+    }
+  }
+
+  /**
+   * Checks if a given integer represents the ID of a possible valid existing Area. Only checks if
+   * given ID is >= 0, else throws a specified error.
+   * @param areaID possible ID to check
+   * @throws IllegalArgumentException if given ID is non-positive
+   */
+  private void validExistingAreaID(int areaID) {
+    if (areaID == 0) {
+      throw new IllegalArgumentException("The ID of any Area that is apart of this model can't" +
+              " have the ID dedicated to creating new Areas - i.e. no Area can have ID of zero!");
+    }
+    else if (areaID < 0) {
+      throw new IllegalArgumentException("An existing Area's ID must be greater than 0!");
+    }
+  }
+
+  /**
+   * Returns every Area of the model data as an AreaData, keyed by ID in document order, decoding
+   * them if they haven't been yet.
+   * @return decoded Areas of the model data
+   */
+  private IntMap<AreaData> getDecodedAreas() {
+    if (decodedAreas == null) {
+      List<Element> areas = modelData.getRootElement().getChildren();
+      decodedAreas = new IntMap<>(areas.size());
+      for (Element area : areas) {
+        int id = Integer.parseInt(area.getAttributeValue("id"));
+        String name = area.getChild("name").getText();
+        String desp = area.getChild("description").getText();
+        decodedAreas.put(id, new AreaDataImpl(id, name, desp));
+      }
+    }
+    return decodedAreas;
+  }
+
+  /**
+   * Returns every Event of the Area with the given ID as an EventData, keyed by ID in document
+   * order, decoding them if they haven't been yet.
+   * @param areaID ID of the Area whose Events to return
+   * @return decoded Events of the Area
+   * @throws IllegalArgumentException if there is no Area in this model data with the given ID
+   */
+  private IntMap<EventData> getDecodedEvents(int areaID) {
+    IntMap<EventData> toReturn = decodedEvents.get(areaID);
+    if (toReturn == null) {
+      List<Element> events = getAreaElement(areaID).getChildren("event");
+      toReturn = new IntMap<>(events.size());
+      for (Element event : events) {
+        EventData decoded = decodeEvent(areaID, event);
+        toReturn.put(decoded.getEventId(), decoded);
+      }
+      decodedEvents.put(areaID, toReturn);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Decodes the given Event Element into an EventData.
+   * @param areaID ID of the Area the given Event is associated with
+   * @param event Event Element to decode
+   * @return EventData holding the data of the given Event Element
+   */
+  private static EventData decodeEvent(int areaID, Element event) {
+    int id = Integer.parseInt(event.getAttributeValue("id"));
+    String name = event.getChild("name").getText();
+    String desp = event.getChild("description").getText();
+    String location = event.getChild("location").getText();
+    LocalDateTime dateTime = DateTimeCodec.decode(event.getChild("date-time").getText());
+    return new EventDataImpl(areaID, id, name, desp, location, dateTime);
+  }
+
+  /**
+   * Returns the Event Elements of the given Area Element with the given IDs, in the order the IDs
+   * are given, checking every ID is that of one of its Events and that none is given twice. Looks
+   * through the Area's Events once, however many IDs are given.
+   * @param area Area Element whose Events to return
+   * @param eventIDs IDs of the Events to return
+   * @return Event Elements of the Area with the given IDs
+   * @throws IllegalArgumentException if given array is null, or any given ID is non-positive,
+   *         isn't that of an Event of the Area, or is given more than once
+   */
+  private static List<Element> getEventElements(Element area, int[] eventIDs) {
+    if (eventIDs == null) {
+      throw new IllegalArgumentException("Given Event IDs can't be null!");
+    }
+
+    List<Element> events = area.getChildren("event");
+    IntMap<Element> eventsByID = new IntMap<>(events.size());
+    for (Element event : events) {
+      eventsByID.put(Integer.parseInt(event.getAttributeValue("id")), event);
+    }
+
+    IntMap<Element> toReturn = new IntMap<>(eventIDs.length);
+    for (int eventID : eventIDs) {
+      if (eventID <= 0) {
+        throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+      }
+      Element event = eventsByID.get(eventID);
+      if (event == null) {
+        throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+                "Event with the given Event ID!");
+      }
+      else if (toReturn.put(eventID, event) != null) {
+        throw new IllegalArgumentException("Event ID " + eventID + " is given more than once!");
+      }
+    }
+    return toReturn.values();
+  }
+
+  /**
+   * Removes the given children from the given parent Element in a single pass over its content,
+   * rather than searching its content for each child in turn.
+   * @param parent Element to remove the children from
+   * @param children children of the parent to remove
+   */
+  private static void removeChildren(Element parent, List<Element> children) {
+    Set<Content> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+    toRemove.addAll(children);
+    List<Content> kept = parent.removeContent();
+    kept.removeIf(toRemove::contains);
+    parent.addContent(kept);
+  }
+
+  @Override
+  public void openModelData() {
+    try{
+      File xmlFile = new File(modelDataFilePath);
+      SAXBuilder saxBuilder = new SAXBuilder();
+      modelData = saxBuilder.build(xmlFile);
+      decodedAreas = null;
+      decodedEvents.clear();
+    }
+    catch (JDOMException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+  }
+
+  @Override
+  public void closeModelData() {
+    XMLOutputter xmlOutputter = new XMLOutputter(Format.getRawFormat());
+    try {
+      lastSave = AtomicFileSaver.save(Paths.get(modelDataFilePath),
+          output -> xmlOutputter.output(modelData, output));
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to write associated XML file!");
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    return lastSave;
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() != 0) {
+      throw new IllegalArgumentException("Given AreaData's ID must be zero to signal it " +
+              "represents an Area not yet added to this model!");
+    }
+
+    // Get the root child of the XML file.
+    Element root = modelData.getRootElement();
+
+    // Get data from input data class.
+    String newAreaName = data.getAreaName();
+    String newAreaDesp = data.getAreaDescription();
+
+    // Create a new area element to add to the model from input data.
+    int newAreaID = IdAllocator.allocate(root, "area");
+    Element newArea = new Element("area");
+    newArea.setAttribute("id", Integer.toString(newAreaID));
+    newArea.setAttribute(IdAllocator.NEXT_ID, "1");
+
+    Element areaElementName = new Element("name");
+    areaElementName.setText(newAreaName);
+    newArea.addContent(areaElementName);
+
+    Element areaElementDesp = new Element("description");
+    areaElementDesp.setText(newAreaDesp);
+    newArea.addContent(areaElementDesp);
+
+    // Add new area element to model data
+    root.addContent(newArea);
+    AreaData added = new AreaDataImpl(newAreaID, newAreaName, newAreaDesp);
+    if (decodedAreas != null) {
+      decodedAreas.put(newAreaID, added);
+    }
+    decodedEvents.put(newAreaID, new IntMap<>());
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaAdded(added));
+    }
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() == 0) {
+      throw new IllegalArgumentException("Can't edit a new area!");
+    }
+
+    // Get data from input data class.
+    int editAreaId = data.getAreaId();
+    String editAreaName = data.getAreaName();
+    String editAreaDesp = data.getAreaDescription();
+
+    // Grab area element to edit
+    Element areaToEdit = getAreaElement(editAreaId);
+
+    // Updates the found area with a its new name and description
+    Element areaToEditName = areaToEdit.getChild("name");
+    areaToEditName.setText(editAreaName);
+
+    Element areaToEditDesp = areaToEdit.getChild("description");
+    areaToEditDesp.setText(editAreaDesp);
+    AreaData edited = new AreaDataImpl(editAreaId, editAreaName, editAreaDesp);
+    if (decodedAreas != null) {
+      decodedAreas.put(editAreaId, edited);
+    }
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.areaUpdated(edited));
+    }
+  }
+
+  /**
+   * Helper method for converting a date and time array from an EventData into a properly
+   * formatted String to be stored in the XML file.
+   * @param dateTime integer array containing info for some date and time of an event
+   * @return String representation of the given date and time info
+   * @throws IllegalArgumentException if date and time array is null or not of length 6, or if
+   *         any of the info stored inside the array doesn't fall within the appropriate range:
+   *         -year - [0, 9999]
+   *         -month - [1, 12]
+   *         -day - [0, 31]
+   *         -hour - [0, 12]
+   *         -minute - [0, 59]
+   *         -time convention - 0 or 1
+   */
+  private String dateAndTimeArrayToString(LocalDateTime dateTime) {
+    if (dateTime == null) {
+      throw new IllegalArgumentException("Given date and time array can't be null!");
+    }
+
+    int year = dateTime.getYear();
+    int month = dateTime.getMonthValue();
+    int day = dateTime.getDayOfMonth();
+    int hour = dateTime.getHour();
+    int minute = dateTime.getMinute();
+
+    if (year < 0) {
+      throw new IllegalArgumentException("Can't have a negative year!");
+    }
+    else if (year > DateTimeCodec.MAX_YEAR) {
+      throw new IllegalArgumentException("Can't have a year of more than four digits!");
+    }
+    else if (!(1 <= month && month <= 12)) {
+      throw new IllegalArgumentException("A month must be in range [1, 12]!");
+    }
+    else if (!(1 <= day && day <= 31)) {
+      throw new IllegalArgumentException("A day must be in the range [1, 31]!");
+    }
+    else if (!(0 <= hour && hour <= 23)) {
+      throw new IllegalArgumentException("A hour must be in the range [0, 23]");
+    }
+    else if (!(0 <= minute && minute <= 59)) {
+      throw new IllegalArgumentException("A minute must be in the range [0, 59]");
+    }
+
+    return dateTimeCodec.format(dateTime);
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    // Pull out event data
+    int areaID = data.getAssociatedAreaId();
+    int eventID = data.getEventId();
+    String eventName = data.getEventName();
+    String eventDesp = data.getEventDescription();
+    String eventLocation = data.getEventLocation();
+    LocalDateTime eventDateAndTime = data.getEventDateAndTime();
+
+    if (eventID > 0) {
+      throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+    }
+
+    Element associatedArea = getAreaElement(areaID);
+
+    int newEventID = IdAllocator.allocate(associatedArea, "event");
+    Element newEvent = new Element("event");
+    newEvent.setAttribute("id", Integer.toString(newEventID));
+
+    Element eventNameElement = new Element("name").setText(eventName);
+    newEvent.addContent(eventNameElement);
+
+    Element eventDespElement = new Element("description").setText(eventDesp);
+    newEvent.addContent(eventDespElement);
+
+    String result = dateAndTimeArrayToString(eventDateAndTime);
+    Element eventDateAndTimeElement = new Element("date-time").addContent(result);
+    newEvent.addContent(eventDateAndTimeElement);
+
+    Element eventLocationElement = new Element("location").setText(eventLocation);
+    newEvent.addContent(eventLocationElement);
+
+    associatedArea.addContent(newEvent);
+    EventData added = new EventDataImpl(areaID, newEventID, eventName, eventDesp, eventLocation,
+        eventDateAndTime);
+    IntMap<EventData> areaEvents = decodedEvents.get(areaID);
+    if (areaEvents != null) {
+      areaEvents.put(newEventID, added);
+    }
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventAdded(added));
+    }
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    validEventData(data);
+
+    int areaID = data.getAssociatedAreaId();
+    int eventID = data.getEventId();
+    String editEventName = data.getEventName();
+    String editEventDesp = data.getEventDescription();
+    String editEventLocation = data.getEventLocation();
+    LocalDateTime editEventDateAndTime = data.getEventDateAndTime();
+
+    if (eventID == 0) {
+      throw new IllegalArgumentException("Given event data represents a new event that isn't" +
+              "already apart of this data model!");
+    }
+
+    Element eventToEdit = getEventElement(areaID, eventID);
+
+    eventToEdit.getChild("name").setText(editEventName);
+
+    eventToEdit.getChild("description").setText(editEventDesp);
+
+    String result = dateAndTimeArrayToString(editEventDateAndTime);
+    eventToEdit.getChild("date-time").setText(result);
+
+    eventToEdit.getChild("location").setText(editEventLocation);
+    EventData edited = new EventDataImpl(areaID, eventID, editEventName, editEventDesp,
+        editEventLocation, editEventDateAndTime);
+    IntMap<EventData> areaEvents = decodedEvents.get(areaID);
+    if (areaEvents != null) {
+      areaEvents.put(eventID, edited);
+    }
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventUpdated(edited));
+    }
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    validExistingAreaID(areaID);
+
+    Element areaToRemove = getAreaElement(areaID);
+    AreaData removedArea = changeSupport.hasListeners() ? getAreaData(areaID) : null;
+
+    // IDs are never reused, so the remaining Areas keep their IDs. Make sure the next ID is
+    // recorded before removing the Area, in case it currently holds the largest ID.
+    Element root = modelData.getRootElement();
+    root.setAttribute(IdAllocator.NEXT_ID, Integer.toString(IdAllocator.peek(root, "area")));
+    root.removeContent(areaToRemove);
+    if (decodedAreas != null) {
+      decodedAreas.remove(areaID);
+    }
+    decodedEvents.remove(areaID);
+    if (removedArea != null) {
+      changeSupport.fireChange(ModelChangeImpl.areaRemoved(removedArea));
+    }
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+
+    if (eventID == 0) {
+      throw new IllegalArgumentException("The ID of any Event that is apart of this model can't " +
+              "have the ID dedicated to creating new Events - i.e. no Event can have ID of zero!");
+    }
+    else if (eventID < 0) {
+      throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+    }
+
+    Element associatedArea = getAreaElement(areaID);
+    Element eventToDelete = getEventElement(areaID, eventID);
+    EventData removedEvent = changeSupport.hasListeners() ? getEventData(areaID, eventID) : null;
+
+    // IDs are never reused, so the remaining Events keep their IDs. Make sure the next ID is
+    // recorded before removing the Event, in case it currently holds the largest ID.
+    associatedArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(associatedArea, "event")));
+    associatedArea.removeContent(eventToDelete);
+    IntMap<EventData> areaEvents = decodedEvents.get(areaID);
+    if (areaEvents != null) {
+      areaEvents.remove(eventID);
+    }
+    if (removedEvent != null) {
+      changeSupport.fireChange(ModelChangeImpl.eventRemoved(removedEvent));
+    }
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    if (events == null) {
+      throw new IllegalArgumentException("Given Events can't be null!");
+    }
+
+    // Find every Area once, then check every Event and format its date and time before adding any.
+    List<Element> areas = modelData.getRootElement().getChildren();
+    IntMap<Element> areasByID = new IntMap<>(areas.size());
+    for (Element area : areas) {
+      areasByID.put(Integer.parseInt(area.getAttributeValue("id")), area);
+    }
+    String[] dateTimes = new String[events.size()];
+    int i = 0;
+    for (EventData data : events) {
+      if (data == null) {
+        throw new IllegalArgumentException("Given data can't be null");
+      }
+      else if (data.getEventId() < 0) {
+        throw new IllegalArgumentException("Given Event data must have a natural number as an ID!");
+      }
+      else if (data.getEventId() > 0) {
+        throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+      }
+      else if (!areasByID.containsKey(data.getAssociatedAreaId())) {
+        throw new IllegalArgumentException("The area this event is associated with has not been" +
+                "added to this model data!");
+      }
+      dateTimes[i++] = dateAndTimeArrayToString(data.getEventDateAndTime());
+    }
+    if (events.isEmpty()) {
+      return;
+    }
+
+    List<EventData> added = new ArrayList<>(events.size());
+    i = 0;
+    for (EventData data : events) {
+      int areaID = data.getAssociatedAreaId();
+      Element associatedArea = areasByID.get(areaID);
+      int newEventID = IdAllocator.allocate(associatedArea, "event");
+      Element newEvent = new Element("event");
+      newEvent.setAttribute("id", Integer.toString(newEventID));
+      newEvent.addContent(new Element("name").setText(data.getEventName()));
+      newEvent.addContent(new Element("description").setText(data.getEventDescription()));
+      newEvent.addContent(new Element("date-time").addContent(dateTimes[i++]));
+      newEvent.addContent(new Element("location").setText(data.getEventLocation()));
+      associatedArea.addContent(newEvent);
+
+      EventData newData = new EventDataImpl(areaID, newEventID, data.getEventName(),
+          data.getEventDescription(), data.getEventLocation(), data.getEventDateAndTime());
+      IntMap<EventData> areaEvents = decodedEvents.get(areaID);
+      if (areaEvents != null) {
+        areaEvents.put(newEventID, newData);
+      }
+      added.add(newData);
+    }
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(ModelChangeImpl.eventsAdded(added));
+    }
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    validExistingAreaID(areaID);
+
+    Element associatedArea = getAreaElement(areaID);
+    List<Element> eventsToDelete = getEventElements(associatedArea, eventIDs);
+    if (eventsToDelete.isEmpty()) {
+      return;
+    }
+
+    // IDs are never reused, so record the next ID before removing the Events, as in deleteEvent.
+    associatedArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(associatedArea, "event")));
+    removeChildren(associatedArea, eventsToDelete);
+
+    boolean notify = changeSupport.hasListeners();
+    IntMap<EventData> areaEvents = decodedEvents.get(areaID);
+    List<EventData> removed = new ArrayList<>(notify ? eventsToDelete.size() : 0);
+    for (Element event : eventsToDelete) {
+      EventData removedEvent = areaEvents == null ? null
+          : areaEvents.remove(Integer.parseInt(event.getAttributeValue("id")));
+      if (notify) {
+        removed.add(removedEvent != null ? removedEvent : decodeEvent(areaID, event));
+      }
+    }
+    if (notify) {
+      changeSupport.fireChange(ModelChangeImpl.eventsRemoved(removed));
+    }
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    validExistingAreaID(fromAreaID);
+    validExistingAreaID(toAreaID);
+
+    if (fromAreaID == toAreaID) {
+      throw new IllegalArgumentException("Can't move Events to the Area they are already in!");
+    }
+
+    Element fromArea = getAreaElement(fromAreaID);
+    Element toArea = getAreaElement(toAreaID);
+    List<Element> eventsToMove = getEventElements(fromArea, eventIDs);
+    if (eventsToMove.isEmpty()) {
+      return;
+    }
+
+    // The moved Event Elements are reused as they are, given new IDs by the Area moved to.
+    fromArea.setAttribute(IdAllocator.NEXT_ID,
+        Integer.toString(IdAllocator.peek(fromArea, "event")));
+    removeChildren(fromArea, eventsToMove);
+
+    boolean notify = changeSupport.hasListeners();
+    IntMap<EventData> fromEvents = decodedEvents.get(fromAreaID);
+    IntMap<EventData> toEvents = decodedEvents.get(toAreaID);
+    List<EventData> removed = new ArrayList<>(notify ? eventsToMove.size() : 0);
+    List<EventData> added = new ArrayList<>(notify ? eventsToMove.size() : 0);
+    for (Element event : eventsToMove) {
+      EventData removedEvent = fromEvents == null ? null
+          : fromEvents.remove(Integer.parseInt(event.getAttributeValue("id")));
+      if (removedEvent == null && (notify || toEvents != null)) {
+        removedEvent = decodeEvent(fromAreaID, event);
+      }
+
+      int newEventID = IdAllocator.allocate(toArea, "event");
+      event.setAttribute("id", Integer.toString(newEventID));
+      if (removedEvent != null) {
+        EventData movedEvent = new EventDataImpl(toAreaID, newEventID,
+            removedEvent.getEventName(), removedEvent.getEventDescription(),
+            removedEvent.getEventLocation(), removedEvent.getEventDateAndTime());
+        if (toEvents != null) {
+          toEvents.put(newEventID, movedEvent);
+        }
+        if (notify) {
+          removed.add(removedEvent);
+          added.add(movedEvent);
+        }
+      }
+    }
+    toArea.addContent(eventsToMove);
+    if (notify) {
+      changeSupport.fireChange(ModelChangeImpl.eventsMoved(removed, added));
+    }
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    return getDecodedAreas().values();
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    validExistingAreaID(areaID);
+    return getDecodedEvents(areaID).values();
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    AreaData toReturn = getDecodedAreas().get(areaID);
+    if (toReturn == null) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return toReturn;
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+    EventData toReturn = getDecodedEvents(areaID).get(eventID);
+    if (toReturn == null) {
+      throw new IllegalArgumentException("Area associated with given areaID has no Event "
+          + "associated with given eventID!");
+    }
+    return toReturn;
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    return new XMLOutputter().outputString(modelData);
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    changeSupport.addListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    changeSupport.removeListener(listener);
+  }
+}
@@ -0,0 +1,372 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+
+/**
+ * Represents the data of this ApplicationManager, manages any changes that wish to be made to the
+ * data as well as outputting the data into a "universal" data class so it can be utilized by other
+ * objects.
+ */
+public interface ModelInterface {
+
+  /**
+   * Opens this ApplicationManager's data modek, should only be called before all other relevant
+   * methods need to be called (other than closeModelData()).
+   */
+  void openModelData();
+
+  /**
+   * Closes this ApplicationManager's data model, should only be called after all other relevant
+   * methods have been called (other than openModelData()).
+   */
+  void closeModelData();
+
+  /**
+   * Returns how long the last save of this ApplicationManager's data model took and how many bytes
+   * it wrote. This default reports no saves, for models that don't keep track of them.
+   * @return statistics of the last save, or null if the model data hasn't been saved yet
+   */
+  default SaveStatistics getLastSaveStatistics() {
+    return null;
+  }
+
+  /**
+   * Adds a new "area of interest" to this ApplicationManager's data model. Data has a unique
+   * integer id, a name, and a optional description. ID of AreaData should be 0 to signal it is a
+   * new AreaData.
+   * @param data area of interest to add
+   * @throws IllegalArgumentException if given area's ID isn't zero, if given data is null, or if
+   * given name is empty
+   */
+  void addArea(AreaData data) throws IllegalArgumentException;
+
+  /**
+   * Edits an existing "area of interest" in this ApplicationManager's data model by finding an
+   * existing area with given area's id, then updates all fields that were changed.
+   * @param data data of existing area to update
+   * @throws IllegalArgumentException if given data has associated id of a area not added to this
+   *         AM's data model, if given data is null, if given name is empty
+   */
+  void editArea(AreaData data) throws IllegalArgumentException;
+
+  /**
+   * Adds a new event to an existing "area of interest" in this ApplicationManger's data model.
+   * Has id of its associated area, unique integer id, a name, an optional location, an optional
+   * description, and a date & time. Unique integer id is negative to indicate it is a new event.
+   * @param data data of event to add to some existing area
+   * @throws IllegalArgumentException if given event is associated with a nonexistent area, it
+   *         has a nonnegative integer id, has event id of an already existing event in its
+   *         associated area, if given data is null, or if given name or date / time is empty
+   */
+  void addEvent(EventData data) throws IllegalArgumentException;
+
+  /**
+   * Edits an existing event in an existing "area of interest" in this AM's data model by finding
+   * area with event's associated area's id, then finding event with matching id as the given data,
+   * then updating any necessary data.
+   * @param data data of an existing event to update with
+   * @throws IllegalArgumentException if given data is associated with a area not added to this
+   * AM's data model, or if data is associated with a event not added to its associated area, if
+   * given data is null, or if given name or date / time is empty
+   */
+  void editEvent(EventData data) throws IllegalArgumentException;
+
+  /**
+   * Removes the Area with the associated ID from the given AreaData from this model. Ignores the
+   * name and description parts of the AreaData.
+   * @param areaID ID of associated Area to delete
+   * @throws IllegalArgumentException if given AreaData is null, or if no Area with the given ID
+   *         has been added to the model
+   */
+  void deleteArea(int areaID);
+
+  /**
+   * Removes the Event with the associated Event ID from the Area with the matching Area ID, both
+   * IDs are given by the input EventData. Ignores the name, description, location, and date & time
+   * parts of the EventData.
+   * @param areaID ID of associated Area desired Event is associated with
+   * @param eventID ID of associated Event to delete
+   * @throws IllegalArgumentException if given EventData is null, if no Area with the given Area ID
+   *         has been added to the model, or if no Event with the given Event ID has been added to
+   *         the Area with the given Area ID
+   */
+  void deleteEvent(int areaID, int eventID);
+
+  /**
+   * Adds several new events at once, each to the existing Area it is associated with, in the
+   * order given. Each event is checked as by {@link #addEvent} before any is added, so either
+   * every event is added or, if any is invalid, none are. Listeners are notified of all the
+   * added events in a single change; adding no events changes nothing and notifies no one.
+   *
+   * <p>This default checks every event, then adds them one at a time, notifying listeners of each;
+   * implementations should override it to add them in one pass with a single notification.
+   * @param events data of the events to add, each with an event ID of zero
+   * @throws IllegalArgumentException if given collection is null, or any event in it would be
+   *         refused by {@link #addEvent}
+   */
+  default void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    if (events == null) {
+      throw new IllegalArgumentException("Given Events can't be null!");
+    }
+    for (EventData data : events) {
+      if (data == null) {
+        throw new IllegalArgumentException("Given Events can't hold null!");
+      }
+      else if (data.getEventId() != 0) {
+        throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+      }
+      else if (data.getEventDateAndTime().getYear() < 0) {
+        throw new IllegalArgumentException("Can't have a negative year!");
+      }
+      else if (data.getEventDateAndTime().getYear() > DateTimeCodec.MAX_YEAR) {
+        throw new IllegalArgumentException("Can't have a year of more than four digits!");
+      }
+      getAreaData(data.getAssociatedAreaId());
+    }
+
+    for (EventData data : events) {
+      addEvent(data);
+    }
+  }
+
+  /**
+   * Removes several Events at once from the Area with the given ID. Every given Event ID is
+   * checked before any Event is removed, so either every Event is removed or, if any ID is
+   * invalid or given twice, none are. Listeners are notified of all the removed Events in a single
+   * change; removing no Events changes nothing and notifies no one.
+   *
+   * <p>This default checks every ID, then removes the Events one at a time, notifying listeners of
+   * each; implementations should override it to remove them in one pass with a single
+   * notification.
+   * @param areaID ID of the Area the Events are associated with
+   * @param eventIDs IDs of the Events to remove
+   * @throws IllegalArgumentException if given array is null, no Area has the given ID, or any
+   *         given Event ID isn't that of an Event of the Area or is given more than once
+   */
+  default void deleteEvents(int areaID, int[] eventIDs) {
+    checkEventIDs(areaID, eventIDs);
+    for (int eventID : eventIDs) {
+      deleteEvent(areaID, eventID);
+    }
+  }
+
+  /**
+   * Moves several Events at once from one Area to another, in the order given. Event IDs are only
+   * unique within an Area, so each moved Event is given a new ID by the Area it is moved to, as if
+   * it were added to it; its name, description, location, and date and time are kept. Every given
+   * Event ID is checked before any Event is moved, so either every Event is moved or, if any is
+   * invalid, none are. Listeners are notified of the Events removed from the one Area and added
+   * to the other in a single change; moving no Events changes nothing and notifies no one.
+   *
+   * <p>This default checks every ID, then removes and adds the Events one at a time, notifying
+   * listeners of each; implementations should override it to move them in one pass with a single
+   * notification.
+   * @param fromAreaID ID of the Area the Events are associated with
+   * @param eventIDs IDs of the Events to move
+   * @param toAreaID ID of the Area to move the Events to
+   * @throws IllegalArgumentException if given array is null, either Area doesn't exist, both Area
+   *         IDs are the same, or any given Event ID isn't that of an Event of the Area moved from
+   *         or is given more than once
+   */
+  default void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    if (fromAreaID == toAreaID) {
+      throw new IllegalArgumentException("Can't move Events to the Area they are already in!");
+    }
+    getAreaData(toAreaID);
+    List<EventData> moved = checkEventIDs(fromAreaID, eventIDs);
+
+    for (EventData event : moved) {
+      deleteEvent(fromAreaID, event.getEventId());
+      addEvent(new EventDataImpl(toAreaID, 0, event.getEventName(), event.getEventDescription(),
+          event.getEventLocation(), event.getEventDateAndTime()));
+    }
+  }
+
+  /**
+   * Checks that every given Event ID is that of an Event of the given Area, and that none is given
+   * twice, returning the Events in the order their IDs were given.
+   * @param areaID ID of the Area the Events are associated with
+   * @param eventIDs IDs of the Events to check
+   * @return the Events with the given IDs
+   * @throws IllegalArgumentException if given array is null, no Area has the given ID, or any
+   *         given Event ID isn't that of an Event of the Area or is given more than once
+   */
+  private List<EventData> checkEventIDs(int areaID, int[] eventIDs) {
+    if (eventIDs == null) {
+      throw new IllegalArgumentException("Given Event IDs can't be null!");
+    }
+    getAreaData(areaID);
+
+    IntMap<EventData> events = new IntMap<>(eventIDs.length);
+    for (int eventID : eventIDs) {
+      if (events.put(eventID, getEventData(areaID, eventID)) != null) {
+        throw new IllegalArgumentException("Event ID " + eventID + " is given more than once!");
+      }
+    }
+    return events.values();
+  }
+
+  /**
+   * Outputs a list of AreaDatas representing all Areas stored in this Model.
+   * @return list of AreaDatas representing all Areas stored in this Model
+   */
+  List<AreaData> outputAreas();
+
+  /**
+   * Outputs a list of EventDatas representing all the Events of a specific added Area, specified
+   * Area is given by the ID of the given AreaData. The name and description of the given AreaData
+   * are ignored.
+   * @param areaID ID of associated Area to retrieve its associated Events from
+   * @return list of EventDatas representing all the events of a specific Area, as given by the ID
+   *         of the given AreaData
+   * @throws IllegalArgumentException if given areaID is negative, or no Area in this model has an
+   *                                  ID associated with given ID
+   */
+  List<EventData> outputEvents(int areaID);
+
+  /**
+   * Outputs a list of EventDatas representing every Event, across all Areas, whose date and time
+   * is at or after the given start and before the given end. Events are listed in order of date
+   * and time, then of Area ID and Event ID.
+   *
+   * <p>This default looks at every Event of every Area; implementations should override it with
+   * a lookup in an index of Events sorted by date and time.
+   * @param start start of the window of time, inclusive
+   * @param end end of the window of time, exclusive
+   * @return list of EventDatas representing every Event in the given window of time
+   * @throws IllegalArgumentException if either given date and time is null, or the given end is
+   *         before the given start
+   */
+  default List<EventData> outputEventsBetween(LocalDateTime start, LocalDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Given dates and times can't be null!");
+    }
+    else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Given end can't be before given start!");
+    }
+
+    List<EventData> toReturn = new ArrayList<>();
+    for (AreaData area : outputAreas()) {
+      toReturn.addAll(outputEventsBetween(area.getAreaId(), start, end));
+    }
+    toReturn.sort(Comparator.comparing(EventData::getEventDateAndTime)
+        .thenComparingInt(EventData::getAssociatedAreaId)
+        .thenComparingInt(EventData::getEventId));
+    return toReturn;
+  }
+
+  /**
+   * Outputs a list of EventDatas representing every Event of a specific added Area whose date and
+   * time is at or after the given start and before the given end, in order of date and time then
+   * of Event ID.
+   * @param areaID ID of associated Area to retrieve its associated Events from
+   * @param start start of the window of time, inclusive
+   * @param end end of the window of time, exclusive
+   * @return list of EventDatas representing every Event of the Area in the given window of time
+   * @throws IllegalArgumentException if either given date and time is null, the given end is
+   *         before the given start, or no Area in this model has an ID associated with given ID
+   */
+  default List<EventData> outputEventsBetween(int areaID, LocalDateTime start,
+      LocalDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Given dates and times can't be null!");
+    }
+    else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Given end can't be before given start!");
+    }
+
+    List<EventData> toReturn = new ArrayList<>();
+    for (EventData event : outputEvents(areaID)) {
+      LocalDateTime dateTime = event.getEventDateAndTime();
+      if (!dateTime.isBefore(start) && dateTime.isBefore(end)) {
+        toReturn.add(event);
+      }
+    }
+    toReturn.sort(Comparator.comparing(EventData::getEventDateAndTime)
+        .thenComparingInt(EventData::getEventId));
+    return toReturn;
+  }
+
+  /**
+   * Searches the names, descriptions and locations of every Event, across all Areas, for the given
+   * query. The query is split into words at every character that isn't a letter or digit, and an
+   * Event matches if each word, ignoring case, starts some word of its name, description or
+   * location - so the query may be searched for as it is typed. Matching Events are ranked best
+   * first, with matches in the name ranked above those in the location, those in the location
+   * above those in the description, and whole word matches above partial ones.
+   *
+   * <p>This default indexes every Event of every Area for each search; implementations should
+   * override it with a lookup in an index kept up to date as Events change.
+   * @param query words to search for
+   * @param maxResults most Events to return
+   * @return list of EventDatas representing the best matching Events, best match first
+   * @throws IllegalArgumentException if given query is null, or given maximum is negative
+   */
+  default List<EventData> searchEvents(String query, int maxResults) {
+    if (query == null) {
+      throw new IllegalArgumentException("Given query can't be null!");
+    }
+    else if (maxResults < 0) {
+      throw new IllegalArgumentException("Given maximum number of results can't be negative!");
+    }
+
+    SearchIndex index = new SearchIndex();
+    for (AreaData area : outputAreas()) {
+      for (EventData event : outputEvents(area.getAreaId())) {
+        index.add(event);
+      }
+    }
+    return index.search(query, maxResults);
+  }
+
+  /**
+   * Returns AreaData containing data of Area associated with given Area ID.
+   * @param areaID ID of associated Area to retrieve data from
+   * @return AreaData containing data of associated Area
+   * @throws IllegalArgumentException if given Area ID is negative or zero, or if model has no Area
+   *         associated with given ID
+   */
+  AreaData getAreaData(int areaID);
+
+  /**
+   * Returns the EventData of the given eventID, associated with the Area as per the areaID.
+   * @param areaID ID of the given Area to retrieve the EventData from
+   * @param eventID ID of EventData to retrieve
+   * @return EventData associated with the given eventID, that is associated with given Area, as per
+   *         given areaID
+   * @throws IllegalArgumentException if Area represented by given areaID has no Event associated
+   *          with given EventID, or if either given ID is negative or zero, or if model doesn't
+   *          contain Area with given ID
+   */
+  EventData getEventData(int areaID, int eventID);
+
+  /**
+   * Outputs the data of this ApplicationManager's data model as a String for other storage,
+   * testing, etc.
+   * @return data of AM's data model as a String.
+   */
+  String outputModelDataAsString();
+
+  /**
+   * Adds a listener to be notified of every change made to this model's data from now on, after
+   * each call that adds, edits, or deletes an Area or Event.
+   * @param listener listener to add
+   * @throws IllegalArgumentException if given listener is null
+   */
+  void addModelChangeListener(ModelChangeListener listener) throws IllegalArgumentException;
+
+  /**
+   * Removes a listener added to this model, so it is no longer notified of changes. Does nothing
+   * if the given listener wasn't added.
+   * @param listener listener to remove
+   */
+  void removeModelChangeListener(ModelChangeListener listener);
+}
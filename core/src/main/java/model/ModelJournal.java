@@ -0,0 +1,615 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of records, each describing one change made to some model data since it
+ * was last saved to its snapshot file. Records are forced to disk with group commit: appending a
+ * record only buffers it, and committing waits until it is on disk, with a single write and force
+ * covering every record appended by any thread up to that point.
+ *
+ * <p>The journal starts with a header identifying the version of the snapshot it applies on top
+ * of: by the snapshot's size and last modified time if it is a file, or by the generation of its
+ * last save if it is a directory laid out by {@link ShardDirectory} - whose own size and last
+ * modified time change with every file written into it, even by a save that never completed. A
+ * journal whose snapshot has since been replaced - for example by a crash after a new snapshot was
+ * saved but before the journal was reset - is stale, and its records are never read. Each record
+ * is stored as its length, a CRC32 checksum, then its bytes; reading stops at the first record
+ * that is incomplete or doesn't match its checksum, as left by a crash part way through a write.
+ *
+ * <p>A snapshot may also be saved while records go on being appended, as a {@link ConcurrentModel}
+ * does. Such a save holds the records appended up to a mark, so the journal is then cut back to
+ * the records after it by {@link #resetTo}; but first a checkpoint is forced to the journal, naming
+ * the mark and the version the new snapshot will have. A journal whose header doesn't match its
+ * snapshot, but which holds a checkpoint that does - as left by a crash after the new snapshot was
+ * put in place but before the journal was cut back - still has its records after that mark read.
+ *
+ * <p>A batch that fails to be written is cut back off the journal file, so no torn record is left
+ * in front of the records written after it, and queued again ahead of any record appended since -
+ * to be written by the next commit, or by {@link #recover}.
+ */
+final class ModelJournal implements Closeable {
+
+  /**
+   * First bytes of every journal file.
+   */
+  private static final int MAGIC = 0x414D4A31;
+
+  /**
+   * Number of bytes of the header of a journal file.
+   */
+  private static final int HEADER_SIZE = 4 + 8 + 8;
+
+  /**
+   * Number of bytes stored before the payload of each record.
+   */
+  private static final int RECORD_OVERHEAD = 4 + 4;
+
+  /**
+   * Length stored in place of that of a record to mark a checkpoint.
+   */
+  private static final int CHECKPOINT = -1;
+
+  /**
+   * Number of bytes of a checkpoint after its length and checksum: the mark, then the version of
+   * the snapshot.
+   */
+  private static final int CHECKPOINT_SIZE = 8 + 8 + 8;
+
+  /**
+   * Returned by {@link #readRecords} for a journal file that is stale.
+   */
+  private static final long STALE = -1;
+
+  /**
+   * Returned by {@link #readRecords} for a journal file whose header is stale, but which holds a
+   * checkpoint matching the snapshot.
+   */
+  private static final long CHECKPOINTED = -2;
+
+  /**
+   * The journal file.
+   */
+  private final Path file;
+
+  /**
+   * The snapshot file, or directory, this journal's records apply on top of.
+   */
+  private final Path snapshot;
+
+  /**
+   * Channel the journal file is written through.
+   */
+  private FileChannel channel;
+
+  /**
+   * Guards the fields below, and is waited on by threads waiting for a commit.
+   */
+  private final Object lock = new Object();
+
+  /**
+   * Records appended but not yet written to the journal file.
+   */
+  private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+  /**
+   * Sequence number of the last record appended.
+   */
+  private long appended;
+
+  /**
+   * Sequence number of the last record forced to disk.
+   */
+  private long durable;
+
+  /**
+   * Whether some thread is currently writing and forcing a batch of records.
+   */
+  private boolean flushing;
+
+  /**
+   * Number of bytes of the journal file holding its header and the records forced to disk.
+   */
+  private long durableSize;
+
+  /**
+   * Whether the last batch written failed to be, and so is queued again.
+   */
+  private boolean failed;
+
+  /**
+   * Constructs a ModelJournal kept in the given file, for the given snapshot file. Neither file is
+   * touched until the journal is opened.
+   * @param file journal file
+   * @param snapshot snapshot file or directory the journal's records apply on top of
+   */
+  ModelJournal(Path file, Path snapshot) {
+    this.file = file;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Opens this journal, returning the payloads of the records it holds for the current snapshot
+   * file in the order they were appended. The journal file is created if it doesn't exist, and
+   * any stale, incomplete or corrupt records are dropped from it.
+   * @return payloads of the journal's records
+   * @throws IOException if the journal file couldn't be read or written
+   */
+  List<byte[]> open() throws IOException {
+    List<byte[]> records = new ArrayList<>();
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    long position = readRecords(channel, records);
+    if (position == STALE) {
+      reset();
+      return records;
+    }
+    else if (position == CHECKPOINTED) {
+      synchronized (lock) {
+        rewrite(records);
+      }
+      return records;
+    }
+
+    // Drop whatever follows the last complete record, so new records are appended after it.
+    channel.truncate(position);
+    channel.position(position);
+    durableSize = position;
+    return records;
+  }
+
+  /**
+   * Returns the payloads of the records the journal file holds for the current snapshot, in the
+   * order they were appended, without opening this journal or changing the file - so it may be
+   * read while another process has it open.
+   * @return payloads of the journal's records, none if the journal file doesn't exist or is stale
+   * @throws IOException if the journal file couldn't be read
+   */
+  List<byte[]> read() throws IOException {
+    List<byte[]> records = new ArrayList<>();
+    if (Files.exists(file)) {
+      try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+        readRecords(reader, records);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Reads the payloads of the records of the journal file that apply to the current snapshot, up
+   * to the first that is incomplete or doesn't match its checksum, into the given list: every
+   * record if the header matches the snapshot, otherwise those after the last checkpoint that
+   * does.
+   * @param reader channel to read the journal file through
+   * @param records list to add the payload of each record read to
+   * @return offset one past the last record read if the header matches the snapshot,
+   *         {@link #CHECKPOINTED} if a checkpoint does, or {@link #STALE} if the journal file has
+   *         no header or neither matches, in which case no record is read
+   * @throws IOException if the journal file couldn't be read
+   */
+  private long readRecords(FileChannel reader, List<byte[]> records) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(reader, header, 0);
+    header.flip();
+    if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+      return STALE;
+    }
+    long[] version = snapshotVersion();
+    boolean current = header.getLong() == version[0] && header.getLong() == version[1];
+
+    List<byte[]> read = new ArrayList<>();
+    List<Long> starts = new ArrayList<>();
+    List<long[]> checkpoints = new ArrayList<>();
+    long position = readEntries(reader, read, starts, checkpoints);
+
+    long replayFrom = current ? HEADER_SIZE : -1;
+    if (!current) {
+      for (long[] checkpoint : checkpoints) {
+        if (checkpoint[1] == version[0] && checkpoint[2] == version[1]) {
+          replayFrom = checkpoint[0];
+        }
+      }
+      if (replayFrom < 0) {
+        return STALE;
+      }
+    }
+
+    for (int i = 0; i < read.size(); i++) {
+      if (starts.get(i) >= replayFrom) {
+        records.add(read.get(i));
+      }
+    }
+    return current ? position : CHECKPOINTED;
+  }
+
+  /**
+   * Reads every record and checkpoint of the journal file after its header, up to the first that
+   * is incomplete or doesn't match its checksum.
+   * @param reader channel to read the journal file through
+   * @param records list to add the payload of each record read to
+   * @param starts list to add the offset of each record read to
+   * @param checkpoints list to add the mark and snapshot version of each checkpoint read to
+   * @return offset one past the last record or checkpoint read
+   * @throws IOException if the journal file couldn't be read
+   */
+  private static long readEntries(FileChannel reader, List<byte[]> records, List<Long> starts,
+      List<long[]> checkpoints) throws IOException {
+    long position = HEADER_SIZE;
+    ByteBuffer prefix = ByteBuffer.allocate(RECORD_OVERHEAD);
+    CRC32 crc = new CRC32();
+    while (true) {
+      prefix.clear();
+      readFully(reader, prefix, position);
+      if (prefix.position() < RECORD_OVERHEAD) {
+        break;
+      }
+      prefix.flip();
+      int length = prefix.getInt();
+      int checksum = prefix.getInt();
+      int size = length == CHECKPOINT ? CHECKPOINT_SIZE : length;
+      if (size < 0 || position + RECORD_OVERHEAD + size > reader.size()) {
+        break;
+      }
+
+      ByteBuffer payload = ByteBuffer.allocate(size);
+      readFully(reader, payload, position + RECORD_OVERHEAD);
+      crc.reset();
+      crc.update(payload.array());
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+
+      if (length == CHECKPOINT) {
+        payload.flip();
+        checkpoints.add(new long[] {payload.getLong(), payload.getLong(), payload.getLong()});
+      }
+      else {
+        records.add(payload.array());
+        starts.add(position);
+      }
+      position += RECORD_OVERHEAD + size;
+    }
+    return position;
+  }
+
+  /**
+   * Reads from the journal file into the given buffer until it is full or the file ends.
+   * @param reader channel to read the journal file through
+   * @param buffer buffer to read into
+   * @param position offset in the file to start reading at
+   * @throws IOException if the file couldn't be read
+   */
+  private static void readFully(FileChannel reader, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = reader.read(buffer, position + buffer.position());
+      if (read < 0) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Returns the two numbers identifying the current version of the snapshot: the size and last
+   * modified time in nanoseconds of a snapshot file, or -1 and the generation of the last save of
+   * a snapshot directory.
+   * @return numbers identifying the version of the snapshot
+   * @throws IOException if the snapshot couldn't be read
+   */
+  private long[] snapshotVersion() throws IOException {
+    return versionOf(Files.isDirectory(snapshot)
+        ? snapshot.resolve(ShardDirectory.MANIFEST) : snapshot);
+  }
+
+  /**
+   * Returns the two numbers identifying the version the snapshot has once the given file is moved
+   * into place as the snapshot file, or as the manifest of a snapshot directory - as
+   * {@link #snapshotVersion} does for the snapshot in place.
+   * @param written file that is, or is to become, the snapshot file or its manifest
+   * @return numbers identifying the version of the snapshot with the given file in place
+   * @throws IOException if the given file couldn't be read
+   */
+  long[] versionOf(Path written) throws IOException {
+    if (Files.isDirectory(snapshot)) {
+      return new long[] {-1, ShardDirectory.readGeneration(written)};
+    }
+    return new long[] {Files.size(written),
+        Files.getLastModifiedTime(written).to(TimeUnit.NANOSECONDS)};
+  }
+
+  /**
+   * Buffers a record with the given payload to be written to this journal.
+   * @param payload bytes of the record
+   * @return sequence number of the record, to wait for with {@link #commit}
+   */
+  long append(byte[] payload) {
+    return append(payload.length, payload);
+  }
+
+  /**
+   * Buffers a record or checkpoint to be written to this journal.
+   * @param length length to store ahead of the payload, {@link #CHECKPOINT} for a checkpoint
+   * @param payload bytes of the record or checkpoint
+   * @return sequence number of the record or checkpoint, to wait for with {@link #commit}
+   */
+  private long append(int length, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    synchronized (lock) {
+      DataOutputStream output = new DataOutputStream(pending);
+      try {
+        output.writeInt(length);
+        output.writeInt((int) crc.getValue());
+        output.write(payload);
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to buffer journal record!", e);
+      }
+      return ++appended;
+    }
+  }
+
+  /**
+   * Returns the sequence number of the last record appended to this journal.
+   * @return sequence number of the last record appended, 0 if none has been
+   */
+  long lastAppended() {
+    synchronized (lock) {
+      return appended;
+    }
+  }
+
+  /**
+   * Waits until the record with the given sequence number, and every record appended before it,
+   * has been forced to disk. If no other thread is already writing, the calling thread writes and
+   * forces every record appended so far as one batch.
+   * @param sequence sequence number of the record to wait for
+   * @throws IOException if the records couldn't be written, in which case they are queued to be
+   *         written again
+   */
+  void commit(long sequence) throws IOException {
+    byte[] batch;
+    long batchEnd;
+    synchronized (lock) {
+      while (durable < sequence && flushing) {
+        try {
+          lock.wait();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for journal commit!", e);
+        }
+      }
+      if (durable >= sequence) {
+        return;
+      }
+
+      flushing = true;
+      batch = pending.toByteArray();
+      batchEnd = appended;
+      pending = new ByteArrayOutputStream();
+    }
+
+    boolean written = false;
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(batch);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+      written = true;
+    }
+    finally {
+      synchronized (lock) {
+        if (written) {
+          durable = batchEnd;
+          durableSize += batch.length;
+          failed = false;
+        }
+        else {
+          requeue(batch);
+        }
+        flushing = false;
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Writes the records queued again by a failed commit, if the last commit failed.
+   * @throws IOException if the records still couldn't be written
+   */
+  void recover() throws IOException {
+    long sequence;
+    synchronized (lock) {
+      if (!failed) {
+        return;
+      }
+      sequence = appended;
+    }
+    commit(sequence);
+  }
+
+  /**
+   * Cuts whatever part of the given batch was written off the journal file, and queues the batch
+   * to be written again ahead of the records appended since it was taken. Must be called while
+   * holding the lock.
+   * @param batch records that failed to be written
+   */
+  private void requeue(byte[] batch) {
+    failed = true;
+    try {
+      channel.truncate(durableSize);
+      channel.position(durableSize);
+    }
+    catch (IOException e) {
+      // Left for the next commit to write over; records are never read past a torn one anyway.
+    }
+
+    ByteArrayOutputStream queued = new ByteArrayOutputStream(batch.length + pending.size());
+    queued.write(batch, 0, batch.length);
+    queued.write(pending.toByteArray(), 0, pending.size());
+    pending = queued;
+  }
+
+  /**
+   * Returns the number of bytes the journal file holds once every record appended so far is
+   * written.
+   * @return size of the journal file with every record appended
+   */
+  long size() {
+    synchronized (lock) {
+      return durableSize + pending.size();
+    }
+  }
+
+  /**
+   * Forces a checkpoint to this journal, along with every record appended before it, recording
+   * that the records up to the given mark are held by the snapshot of the given version. Called
+   * before a snapshot saved from the records up to the mark is put in place, so they are skipped
+   * if the snapshot is put in place but the journal isn't then cut back by {@link #resetTo}.
+   * @param mark size of this journal, as returned by {@link #size}, once the last record held by
+   *             the snapshot was appended
+   * @param version numbers identifying the version of the snapshot, as returned by
+   *                {@link #versionOf}
+   * @throws IOException if the checkpoint couldn't be written, in which case it is queued to be
+   *         written again
+   */
+  void checkpoint(long mark, long[] version) throws IOException {
+    ByteBuffer payload = ByteBuffer.allocate(CHECKPOINT_SIZE);
+    payload.putLong(mark).putLong(version[0]).putLong(version[1]);
+    commit(append(CHECKPOINT, payload.array()));
+  }
+
+  /**
+   * Drops every record of this journal appended before the given mark, and marks it as applying
+   * to the snapshot file as it is now - keeping every record appended after the mark. Called once
+   * the snapshot holds every change recorded up to the mark. Every record appended is forced to
+   * disk first, then the journal file is rewritten atomically.
+   * @param mark size of this journal, as returned by {@link #size}, once the last record held by
+   *             the snapshot was appended
+   * @throws IOException if a record couldn't be written, or the journal file couldn't be
+   *         rewritten, in which case it is left as it was
+   */
+  void resetTo(long mark) throws IOException {
+    long sequence;
+    synchronized (lock) {
+      sequence = appended;
+    }
+    commit(sequence);
+
+    synchronized (lock) {
+      while (flushing) {
+        try {
+          lock.wait();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for journal commit!", e);
+        }
+      }
+
+      List<byte[]> read = new ArrayList<>();
+      List<Long> starts = new ArrayList<>();
+      readEntries(channel, read, starts, new ArrayList<>());
+      List<byte[]> records = new ArrayList<>();
+      for (int i = 0; i < read.size(); i++) {
+        if (starts.get(i) >= mark) {
+          records.add(read.get(i));
+        }
+      }
+      rewrite(records);
+    }
+  }
+
+  /**
+   * Replaces the journal file atomically with one marked as applying to the snapshot as it is now
+   * and holding the given records, dropping every record not yet written. Must be called while
+   * holding the lock.
+   * @param records payloads of the records to hold
+   * @throws IOException if the journal file couldn't be written, in which case it is left as it
+   *         was
+   */
+  private void rewrite(List<byte[]> records) throws IOException {
+    long[] version = snapshotVersion();
+    AtomicFileSaver.save(file, output -> {
+      DataOutputStream data = new DataOutputStream(output);
+      data.writeInt(MAGIC);
+      data.writeLong(version[0]);
+      data.writeLong(version[1]);
+      CRC32 crc = new CRC32();
+      for (byte[] record : records) {
+        crc.reset();
+        crc.update(record);
+        data.writeInt(record.length);
+        data.writeInt((int) crc.getValue());
+        data.write(record);
+      }
+      data.flush();
+    });
+
+    channel.close();
+    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    durableSize = channel.size();
+    channel.position(durableSize);
+    pending = new ByteArrayOutputStream();
+    durable = appended;
+    failed = false;
+    lock.notifyAll();
+  }
+
+  /**
+   * Drops every record of this journal, and marks it as applying to the snapshot file as it is
+   * now. Called once the snapshot holds every change recorded so far.
+   * @throws IOException if the journal file couldn't be written
+   */
+  void reset() throws IOException {
+    synchronized (lock) {
+      // A batch being written may only be dropped once it is no longer being written.
+      while (flushing) {
+        try {
+          lock.wait();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for journal commit!", e);
+        }
+      }
+      pending = new ByteArrayOutputStream();
+      durable = appended;
+      failed = false;
+
+      long[] version = snapshotVersion();
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putLong(version[0]).putLong(version[1]);
+      header.flip();
+      channel.truncate(0);
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      channel.position(HEADER_SIZE);
+      channel.force(true);
+      durableSize = HEADER_SIZE;
+      lock.notifyAll();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+    }
+  }
+}
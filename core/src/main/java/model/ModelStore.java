@@ -0,0 +1,90 @@
+package model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact in-memory form of the model data of this ApplicationManager - every Area keyed by its
+ * ID, and the ID to give the next Area added. Unlike a JDOM document it holds no Element, text or
+ * attribute objects, only the AreaDatas and EventDatas the model hands out. The Events of each
+ * Area may be left unloaded, in which case they are loaded through the store's
+ * {@link AreaEventLoader} the first time they are needed.
+ */
+final class ModelStore {
+
+  /**
+   * Every Area of the model data, keyed by the Area's ID, in the order they were added.
+   */
+  final IntMap<AreaRecord> areas;
+
+  /**
+   * ID to give the next Area added.
+   */
+  int nextAreaID;
+
+  /**
+   * Number of the save that last wrote model data stored with a file per Area (see
+   * {@link ShardDirectory}), 0 if it was never saved that way.
+   */
+  int generation;
+
+  /**
+   * Loads the Events of Areas that haven't had them loaded yet, null if every Area was loaded
+   * along with its Events.
+   */
+  AreaEventLoader eventLoader;
+
+  /**
+   * Constructs an empty ModelStore.
+   */
+  ModelStore() {
+    this(new IntMap<>(), 1);
+  }
+
+  /**
+   * Constructs a ModelStore holding the given Areas.
+   * @param areas Areas of the model data, keyed by their IDs
+   * @param nextAreaID ID to give the next Area added
+   */
+  ModelStore(IntMap<AreaRecord> areas, int nextAreaID) {
+    this.areas = areas;
+    this.nextAreaID = nextAreaID;
+  }
+
+  /**
+   * Loads the Events of the given Area of this ModelStore, if they haven't been loaded yet.
+   * @param area Area whose Events to load
+   * @throws IOException if the Events couldn't be read
+   */
+  void ensureEventsLoaded(AreaRecord area) throws IOException {
+    if (area.events == null) {
+      eventLoader.loadEvents(area);
+      area.eventsStart = -1;
+      area.eventsEnd = -1;
+    }
+  }
+
+  /**
+   * Loads the Events of every Area of this ModelStore that hasn't had them loaded yet.
+   * @throws IOException if the Events couldn't be read
+   */
+  void ensureAllEventsLoaded() throws IOException {
+    List<AreaRecord> unloaded = new ArrayList<>();
+    for (AreaRecord area : areas.values()) {
+      if (area.events == null) {
+        unloaded.add(area);
+      }
+    }
+    if (unloaded.isEmpty()) {
+      return;
+    }
+
+    // Handed over all at once, so a loader able to read several Areas at a time can do so.
+    eventLoader.loadEvents(unloaded);
+    for (AreaRecord area : unloaded) {
+      area.eventsStart = -1;
+      area.eventsEnd = -1;
+    }
+  }
+}
@@ -0,0 +1,424 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map keyed by non-negative primitive ints, used by {@link PersistentModelImpl} to
+ * hold its Areas and Events. Putting or removing an entry returns a new PersistentIntMap that
+ * shares every part of this one but the path to the changed entry, so each version costs only a
+ * handful of small arrays and older versions stay valid for as long as they are needed.
+ *
+ * <p>Entries are held in a trie of 32-way nodes indexed by 5 bits of the key at a time, most
+ * significant first, and each node only holds the children it has. Lookups take one step per 5
+ * bits of the largest key, iterating over the values yields them in order of key, and two
+ * versions of a map can be compared by only looking at the nodes they don't share. Values can't
+ * be null.
+ * @param <V> type of value stored in this PersistentIntMap
+ */
+public final class PersistentIntMap<V> {
+
+  /**
+   * Number of bits of a key indexing each level of the trie.
+   */
+  private static final int BITS = 5;
+
+  /**
+   * Mask of the bits of a key indexing a single level of the trie.
+   */
+  private static final int MASK = (1 << BITS) - 1;
+
+  /**
+   * The empty PersistentIntMap.
+   */
+  private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0, 0);
+
+  /**
+   * Root node of the trie, null if this PersistentIntMap is empty.
+   */
+  private final Node root;
+
+  /**
+   * Number of bits keys are shifted by to index the root node; the root covers every key below
+   * {@code 1 << (shift + BITS)}.
+   */
+  private final int shift;
+
+  /**
+   * Number of entries in this PersistentIntMap.
+   */
+  private final int size;
+
+  /**
+   * Constructs a PersistentIntMap of the given trie.
+   * @param root root node of the trie, null if empty
+   * @param shift number of bits keys are shifted by to index the root node
+   * @param size number of entries in the trie
+   */
+  private PersistentIntMap(Node root, int shift, int size) {
+    this.root = root;
+    this.shift = shift;
+    this.size = size;
+  }
+
+  /**
+   * Returns the empty PersistentIntMap.
+   * @param <V> type of value stored in the map
+   * @return map with no entries
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentIntMap<V> empty() {
+    return (PersistentIntMap<V>) EMPTY;
+  }
+
+  /**
+   * Returns a PersistentIntMap holding every entry of the given IntMap, built in a single pass
+   * rather than one put at a time.
+   * @param map entries to hold
+   * @param <V> type of value stored in the map
+   * @return map holding the given entries
+   * @throws IllegalArgumentException if given map is null or has a negative key
+   */
+  public static <V> PersistentIntMap<V> of(IntMap<V> map) {
+    if (map == null) {
+      throw new IllegalArgumentException("Given map can't be null!");
+    }
+
+    int[] keys = map.keys();
+    Arrays.sort(keys);
+    if (keys.length == 0) {
+      return empty();
+    }
+    else if (keys[0] < 0) {
+      throw new IllegalArgumentException("Keys of a PersistentIntMap can't be negative!");
+    }
+    Object[] values = new Object[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      values[i] = map.get(keys[i]);
+    }
+
+    int shift = shiftCovering(keys[keys.length - 1]);
+    return new PersistentIntMap<>(build(keys, values, 0, keys.length, shift), shift, keys.length);
+  }
+
+  /**
+   * Returns the smallest shift of a root node covering the given key.
+   * @param key largest key to cover
+   * @return shift of the root node
+   */
+  private static int shiftCovering(int key) {
+    int shift = 0;
+    while (shift + BITS < Integer.SIZE && (key >>> (shift + BITS)) != 0) {
+      shift += BITS;
+    }
+    return shift;
+  }
+
+  /**
+   * Builds the node at the given shift holding the given range of sorted entries, all of which
+   * share the bits of their keys above those the node indexes.
+   * @param keys keys of the entries, in ascending order
+   * @param values values of the entries
+   * @param from index of the first entry of the node
+   * @param to index one past the last entry of the node
+   * @param shift number of bits keys are shifted by to index the node
+   * @return node built
+   */
+  private static Node build(int[] keys, Object[] values, int from, int to, int shift) {
+    int bitmap = 0;
+    for (int i = from; i < to; i++) {
+      bitmap |= 1 << ((keys[i] >>> shift) & MASK);
+    }
+    Object[] slots = new Object[Integer.bitCount(bitmap)];
+    int slot = 0;
+    int start = from;
+    while (start < to) {
+      int index = (keys[start] >>> shift) & MASK;
+      int end = start + 1;
+      while (end < to && ((keys[end] >>> shift) & MASK) == index) {
+        end++;
+      }
+      slots[slot++] = shift == 0 ? values[start] : build(keys, values, start, end, shift - BITS);
+      start = end;
+    }
+    return new Node(bitmap, slots);
+  }
+
+  /**
+   * Returns the number of entries in this PersistentIntMap.
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of the given key, or null if this PersistentIntMap has no such key.
+   * @param key key whose value to return
+   * @return value of the given key, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    if (root == null || key < 0 || (shift + BITS < Integer.SIZE && key >>> (shift + BITS) != 0)) {
+      return null;
+    }
+
+    Node node = root;
+    for (int level = shift; ; level -= BITS) {
+      int bit = 1 << ((key >>> level) & MASK);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+      if (level == 0) {
+        return (V) slot;
+      }
+      node = (Node) slot;
+    }
+  }
+
+  /**
+   * Returns whether this PersistentIntMap has the given key.
+   * @param key key to look for
+   * @return if the given key has a value
+   */
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Returns a PersistentIntMap holding the entries of this one, with the given key mapped to the
+   * given value.
+   * @param key key of the entry
+   * @param value value of the entry
+   * @return map with the given entry
+   * @throws IllegalArgumentException if given key is negative or value is null
+   */
+  public PersistentIntMap<V> put(int key, V value) {
+    if (key < 0) {
+      throw new IllegalArgumentException("Keys of a PersistentIntMap can't be negative!");
+    }
+    else if (value == null) {
+      throw new IllegalArgumentException("Values of a PersistentIntMap can't be null!");
+    }
+
+    int newSize = containsKey(key) ? size : size + 1;
+    if (root == null) {
+      int newShift = shiftCovering(key);
+      return new PersistentIntMap<>(put(null, newShift, key, value), newShift, newSize);
+    }
+
+    // Grow the trie a level at a time until its root covers the key.
+    Node newRoot = root;
+    int newShift = shift;
+    while (newShift + BITS < Integer.SIZE && key >>> (newShift + BITS) != 0) {
+      newRoot = new Node(1, new Object[] {newRoot});
+      newShift += BITS;
+    }
+    return new PersistentIntMap<>(put(newRoot, newShift, key, value), newShift, newSize);
+  }
+
+  /**
+   * Returns a copy of the given node with the given key mapped to the given value, copying only
+   * the nodes on the path to the key.
+   * @param node node to copy, or null if there is none yet
+   * @param shift number of bits keys are shifted by to index the node
+   * @param key key of the entry
+   * @param value value of the entry
+   * @return copy of the node with the entry
+   */
+  private static Node put(Node node, int shift, int key, Object value) {
+    int bitmap = node == null ? 0 : node.bitmap;
+    Object[] slots = node == null ? new Object[0] : node.slots;
+    int bit = 1 << ((key >>> shift) & MASK);
+    int slot = Integer.bitCount(bitmap & (bit - 1));
+
+    if ((bitmap & bit) != 0) {
+      Object[] newSlots = slots.clone();
+      newSlots[slot] = shift == 0 ? value : put((Node) slots[slot], shift - BITS, key, value);
+      return new Node(bitmap, newSlots);
+    }
+
+    Object[] newSlots = new Object[slots.length + 1];
+    System.arraycopy(slots, 0, newSlots, 0, slot);
+    newSlots[slot] = shift == 0 ? value : put(null, shift - BITS, key, value);
+    System.arraycopy(slots, slot, newSlots, slot + 1, slots.length - slot);
+    return new Node(bitmap | bit, newSlots);
+  }
+
+  /**
+   * Returns a PersistentIntMap holding the entries of this one, without the given key. Returns
+   * this PersistentIntMap itself if it doesn't have the key.
+   * @param key key of the entry to remove
+   * @return map without the given key
+   */
+  public PersistentIntMap<V> remove(int key) {
+    if (!containsKey(key)) {
+      return this;
+    }
+    else if (size == 1) {
+      return empty();
+    }
+    return new PersistentIntMap<>(remove(root, shift, key), shift, size - 1);
+  }
+
+  /**
+   * Returns a copy of the given node without the given key, which it must have, copying only the
+   * nodes on the path to the key.
+   * @param node node to copy
+   * @param shift number of bits keys are shifted by to index the node
+   * @param key key of the entry to remove
+   * @return copy of the node without the entry, or null if it would be left empty
+   */
+  private static Node remove(Node node, int shift, int key) {
+    int bit = 1 << ((key >>> shift) & MASK);
+    int slot = Integer.bitCount(node.bitmap & (bit - 1));
+
+    Node child = shift == 0 ? null : remove((Node) node.slots[slot], shift - BITS, key);
+    if (child != null) {
+      Object[] newSlots = node.slots.clone();
+      newSlots[slot] = child;
+      return new Node(node.bitmap, newSlots);
+    }
+    else if (node.slots.length == 1) {
+      return null;
+    }
+
+    Object[] newSlots = new Object[node.slots.length - 1];
+    System.arraycopy(node.slots, 0, newSlots, 0, slot);
+    System.arraycopy(node.slots, slot + 1, newSlots, slot, newSlots.length - slot);
+    return new Node(node.bitmap & ~bit, newSlots);
+  }
+
+  /**
+   * Returns the values of this PersistentIntMap in order of their keys.
+   * @return list of values
+   */
+  public List<V> values() {
+    List<V> toReturn = new ArrayList<>(size);
+    if (root != null) {
+      addValues(root, shift, toReturn);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Adds every value held under the given node to the given list, in order of their keys.
+   * @param node node whose values to add
+   * @param shift number of bits keys are shifted by to index the node
+   * @param values list to add the values to
+   * @param <V> type of value
+   */
+  @SuppressWarnings("unchecked")
+  private static <V> void addValues(Node node, int shift, List<V> values) {
+    for (Object slot : node.slots) {
+      if (shift == 0) {
+        values.add((V) slot);
+      }
+      else {
+        addValues((Node) slot, shift - BITS, values);
+      }
+    }
+  }
+
+  /**
+   * Calls the given action with every pair of values that differ between this PersistentIntMap
+   * and the given one, in order of key: the value of this map first and the value of the given map
+   * second, either null where the map has no such key. Values are compared by identity, and parts
+   * of the two maps they share are skipped without being looked at, so comparing a map with a
+   * version of itself only costs as much as the changes between them.
+   * @param other map to compare this one with
+   * @param action action to call with every pair of differing values
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public void forEachDifference(PersistentIntMap<V> other, BiConsumer<V, V> action) {
+    if (other == null || action == null) {
+      throw new IllegalArgumentException("Given map and action can't be null!");
+    }
+
+    // Grow the shallower trie to the height of the other, so their nodes line up level by level.
+    int commonShift = Math.max(shift, other.shift);
+    difference(lift(root, shift, commonShift), lift(other.root, other.shift, commonShift),
+        commonShift, action);
+  }
+
+  /**
+   * Returns a node at the given shift holding the same entries as the given node.
+   * @param node node to lift, possibly null
+   * @param shift number of bits keys are shifted by to index the node
+   * @param toShift shift to lift the node to, at least the node's own
+   * @return lifted node, the given node itself if the shifts are the same
+   */
+  private static Node lift(Node node, int shift, int toShift) {
+    for (int level = shift; node != null && level < toShift; level += BITS) {
+      node = new Node(1, new Object[] {node});
+    }
+    return node;
+  }
+
+  /**
+   * Calls the given action with every pair of values that differ between the two given nodes.
+   * @param before node of the first map, possibly null
+   * @param after node of the second map, possibly null
+   * @param shift number of bits keys are shifted by to index both nodes
+   * @param action action to call with every pair of differing values
+   * @param <V> type of value
+   */
+  @SuppressWarnings("unchecked")
+  private static <V> void difference(Node before, Node after, int shift,
+      BiConsumer<V, V> action) {
+    if (before == after) {
+      return;
+    }
+
+    int beforeBitmap = before == null ? 0 : before.bitmap;
+    int afterBitmap = after == null ? 0 : after.bitmap;
+    int bitmap = beforeBitmap | afterBitmap;
+    while (bitmap != 0) {
+      int bit = Integer.lowestOneBit(bitmap);
+      bitmap &= ~bit;
+      Object beforeSlot = (beforeBitmap & bit) == 0 ? null
+          : before.slots[Integer.bitCount(beforeBitmap & (bit - 1))];
+      Object afterSlot = (afterBitmap & bit) == 0 ? null
+          : after.slots[Integer.bitCount(afterBitmap & (bit - 1))];
+      if (beforeSlot == afterSlot) {
+        continue;
+      }
+      else if (shift == 0) {
+        action.accept((V) beforeSlot, (V) afterSlot);
+      }
+      else {
+        difference((Node) beforeSlot, (Node) afterSlot, shift - BITS, action);
+      }
+    }
+  }
+
+  /**
+   * A single node of the trie, holding a slot for each of the 32 indexes of its level that it has
+   * a child or value for.
+   */
+  private static final class Node {
+
+    /**
+     * Bit i is set if this node has a slot for index i.
+     */
+    private final int bitmap;
+
+    /**
+     * Children of this node, or values at the bottom level, in order of index.
+     */
+    private final Object[] slots;
+
+    /**
+     * Constructs a Node with the given slots.
+     * @param bitmap bit i set if the node has a slot for index i
+     * @param slots children or values of the node, in order of index
+     */
+    private Node(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+  }
+}
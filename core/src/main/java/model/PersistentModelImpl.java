@@ -0,0 +1,897 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import datatransfer.ModelChange;
+import datatransfer.ModelChangeImpl;
+
+/**
+ * An implementation of the ModelInterface for a ApplicationManager that holds its model data as
+ * an immutable tree of Areas and Events - each Area's Events in a {@link PersistentIntMap} keyed
+ * by ID, and every Area in another - published through a single volatile reference. A change
+ * builds a new version of the tree that shares everything but the path to what changed, then
+ * publishes it in one write.
+ *
+ * <p>Reading Areas and Events never takes a lock: each call reads whichever version is published
+ * when it starts and sees it whole, no matter what changes are made while it runs. Changes are
+ * made one at a time, and saving writes out the version published when the save starts, so
+ * changes carry on while the file is written. Older versions cost nothing to keep, so every change
+ * can be undone and redone by publishing the version before or after it again.
+ *
+ * <p>Events are found by date and time through a {@link DateIndex}, and by the words of their
+ * text through a {@link SearchIndex}. Each is built from the version published when Events are
+ * first asked for that way, then kept for later calls: a call made once other versions have been
+ * published brings the index up to date by adding and removing only the Events that differ
+ * between the version it holds and the one the call reads - found without looking at what the two
+ * versions share. As an index is changed in place, calls using the same index are made one at a
+ * time; no other call, nor any change, ever waits on them.
+ *
+ * <p>The associated XML file is streamed in by a {@link StaxModelReader} when opened, and streamed
+ * back out by a {@link StaxModelWriter} when closed - atomically, through an
+ * {@link AtomicFileSaver}, and only if the model data was changed since it was last read or saved.
+ */
+public class PersistentModelImpl implements ModelInterface {
+
+  /**
+   * Number of changes that can be undone, if no other number is given.
+   */
+  public static final int DEFAULT_UNDO_LIMIT = 100;
+
+  /**
+   * The file path to this PersistentModelImpl's associated XML model data file.
+   */
+  private final Path modelDataFilePath;
+
+  /**
+   * Most changes that can be undone at once.
+   */
+  private final int undoLimit;
+
+  /**
+   * Latest version of this PersistentModelImpl's model data.
+   */
+  private volatile ModelState current = ModelState.EMPTY;
+
+  /**
+   * Version of the model data the XML file holds, as last read or saved.
+   */
+  private volatile ModelState saved = ModelState.EMPTY;
+
+  /**
+   * Lock held while changing the model data, so changes are made one at a time.
+   */
+  private final Object changeLock = new Object();
+
+  /**
+   * Lock held while saving the model data, so saves are made one at a time.
+   */
+  private final Object saveLock = new Object();
+
+  /**
+   * Versions of the model data before each change that can be undone, latest first.
+   */
+  private final Deque<ModelState> undoHistory = new ArrayDeque<>();
+
+  /**
+   * Versions of the model data before each undo that can be redone, latest first.
+   */
+  private final Deque<ModelState> redoHistory = new ArrayDeque<>();
+
+  /**
+   * Lock held while using or updating the indexes of Events, and the versions they are of.
+   */
+  private final Object indexLock = new Object();
+
+  /**
+   * Every Event of the version in dateIndexed sorted by date and time, null until first needed.
+   */
+  private DateIndex dateIndex;
+
+  /**
+   * Version of the model data whose Events dateIndex holds.
+   */
+  private ModelState dateIndexed;
+
+  /**
+   * Every Event of the version in searchIndexed indexed by the words of its text, null until
+   * first needed.
+   */
+  private SearchIndex searchIndex;
+
+  /**
+   * Version of the model data whose Events searchIndex holds.
+   */
+  private ModelState searchIndexed;
+
+  /**
+   * Statistics of the last save of the model data, null if it hasn't been saved yet.
+   */
+  private volatile SaveStatistics lastSave;
+
+  /**
+   * Listeners notified of every change made to the model data.
+   */
+  private final ModelChangeSupport changeSupport = new ModelChangeSupport();
+
+  /**
+   * Default constructor for this PersistentModelImpl, takes in a file path to read data from and
+   * make changes to as the results of any method calls on this PMI.
+   * @param modelDataFilePath file path of the model data this PersistentModelImpl is suppose to
+   *                          read from and change as needed
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist
+   */
+  public PersistentModelImpl(String modelDataFilePath) {
+    this(modelDataFilePath, DEFAULT_UNDO_LIMIT);
+  }
+
+  /**
+   * Constructs a PersistentModelImpl of the model data at the given file path, keeping up to the
+   * given number of changes to undo.
+   * @param modelDataFilePath file path of the model data this PersistentModelImpl is suppose to
+   *                          read from and change as needed
+   * @param undoLimit most changes that can be undone at once
+   * @throws IllegalArgumentException if given input file path is null, empty, or doesn't exist,
+   *         or given limit is negative
+   */
+  public PersistentModelImpl(String modelDataFilePath, int undoLimit) {
+    if (modelDataFilePath == null) {
+      throw new IllegalArgumentException("Given input file path can't be null!");
+    }
+    else if (modelDataFilePath.isEmpty()) {
+      throw new IllegalArgumentException("Given file path can't be empty!");
+    }
+    else if (Files.notExists(Paths.get(modelDataFilePath))) {
+      throw new IllegalArgumentException("Given file path doesn't exist!");
+    }
+    else if (undoLimit < 0) {
+      throw new IllegalArgumentException("Given undo limit can't be negative!");
+    }
+
+    this.modelDataFilePath = Paths.get(modelDataFilePath);
+    this.undoLimit = undoLimit;
+  }
+
+  @Override
+  public void openModelData() {
+    ModelStore store;
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(modelDataFilePath))) {
+      store = new StaxModelReader().read(input);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to read associated XML file!");
+    }
+
+    IntMap<AreaState> areas = new IntMap<>(store.areas.size());
+    for (AreaRecord area : store.areas.values()) {
+      areas.put(area.data.getAreaId(), new AreaState(area.data, area.nextEventID,
+          PersistentIntMap.of(area.events)));
+    }
+    ModelState opened = new ModelState(PersistentIntMap.of(areas), store.nextAreaID);
+
+    synchronized (changeLock) {
+      current = opened;
+      saved = opened;
+      undoHistory.clear();
+      redoHistory.clear();
+    }
+    synchronized (indexLock) {
+      dateIndex = null;
+      dateIndexed = null;
+      searchIndex = null;
+      searchIndexed = null;
+    }
+  }
+
+  @Override
+  public void closeModelData() {
+    synchronized (saveLock) {
+      // Changes made from here on are left for the next save.
+      ModelState toSave = current;
+      // Nothing to write if the file already holds the latest model data.
+      if (toSave == saved) {
+        return;
+      }
+
+      try {
+        lastSave = AtomicFileSaver.save(modelDataFilePath,
+            output -> new StaxModelWriter().write(toSave.toStore(), output));
+      }
+      catch (IOException e) {
+        throw new IllegalStateException("Failed to write associated XML file!");
+      }
+      saved = toSave;
+    }
+  }
+
+  @Override
+  public SaveStatistics getLastSaveStatistics() {
+    return lastSave;
+  }
+
+  /**
+   * Undoes the latest change made to the model data that hasn't been undone yet, notifying
+   * listeners of every Area and Event it brings back to how it was. Undoing restores the model
+   * data exactly as it was before the change, including the IDs the next Area and Event added
+   * will be given.
+   * @return if there was a change to undo
+   */
+  public boolean undo() {
+    synchronized (changeLock) {
+      if (undoHistory.isEmpty()) {
+        return false;
+      }
+      redoHistory.push(current);
+      restore(undoHistory.pop());
+      return true;
+    }
+  }
+
+  /**
+   * Redoes the latest change undone, as long as no other change has been made since, notifying
+   * listeners of every Area and Event it brings back.
+   * @return if there was a change to redo
+   */
+  public boolean redo() {
+    synchronized (changeLock) {
+      if (redoHistory.isEmpty()) {
+        return false;
+      }
+      undoHistory.push(current);
+      restore(redoHistory.pop());
+      return true;
+    }
+  }
+
+  /**
+   * Publishes the given version of the model data, notifying listeners of every difference from
+   * the current one. Must be called while holding the change lock.
+   * @param restored version of the model data to publish
+   */
+  private void restore(ModelState restored) {
+    ModelState replaced = current;
+    current = restored;
+    if (changeSupport.hasListeners()) {
+      ModelChange change = difference(replaced, restored);
+      if (!change.isEmpty()) {
+        changeSupport.fireChange(change);
+      }
+    }
+  }
+
+  /**
+   * Returns the change that turns one version of the model data into another, only looking at the
+   * parts of them they don't share.
+   * @param before version of the model data before the change
+   * @param after version of the model data after the change
+   * @return change from the first version to the second
+   */
+  private static ModelChange difference(ModelState before, ModelState after) {
+    List<AreaData> addedAreas = new ArrayList<>();
+    List<AreaData> updatedAreas = new ArrayList<>();
+    List<AreaData> removedAreas = new ArrayList<>();
+    List<EventData> addedEvents = new ArrayList<>();
+    List<EventData> updatedEvents = new ArrayList<>();
+    List<EventData> removedEvents = new ArrayList<>();
+
+    before.areas.forEachDifference(after.areas, (beforeArea, afterArea) -> {
+      if (beforeArea == null) {
+        addedAreas.add(afterArea.data);
+        addedEvents.addAll(afterArea.events.values());
+      }
+      else if (afterArea == null) {
+        removedAreas.add(beforeArea.data);
+      }
+      else {
+        if (beforeArea.data != afterArea.data) {
+          updatedAreas.add(afterArea.data);
+        }
+        beforeArea.events.forEachDifference(afterArea.events, (beforeEvent, afterEvent) -> {
+          if (beforeEvent == null) {
+            addedEvents.add(afterEvent);
+          }
+          else if (afterEvent == null) {
+            removedEvents.add(beforeEvent);
+          }
+          else {
+            updatedEvents.add(afterEvent);
+          }
+        });
+      }
+    });
+    return new ModelChangeImpl(addedAreas, updatedAreas, removedAreas, addedEvents,
+        updatedEvents, removedEvents);
+  }
+
+  /**
+   * Publishes the given version of the model data as the result of a change, so the change can be
+   * undone, then notifies listeners of it. Must be called while holding the change lock.
+   * @param changed version of the model data with the change made
+   * @param change change made, only asked for if there are listeners to notify
+   */
+  private void publish(ModelState changed, Supplier<ModelChange> change) {
+    if (undoLimit > 0) {
+      if (undoHistory.size() == undoLimit) {
+        undoHistory.removeLast();
+      }
+      undoHistory.push(current);
+    }
+    redoHistory.clear();
+    current = changed;
+    if (changeSupport.hasListeners()) {
+      changeSupport.fireChange(change.get());
+    }
+  }
+
+  /**
+   * Returns the state of the Area with the given ID in the given version of the model data.
+   * @param state version of the model data
+   * @param areaID ID of the Area to return
+   * @return state of Area with given ID
+   * @throws IllegalArgumentException if given ID is non-positive, or if there is no Area in the
+   *         model data with the given ID
+   */
+  private static AreaState getAreaState(ModelState state, int areaID) {
+    validExistingAreaID(areaID);
+
+    AreaState area = state.areas.get(areaID);
+    if (area == null) {
+      throw new IllegalArgumentException("No area with the given id has been added to this model "
+          + "data!");
+    }
+    return area;
+  }
+
+  /**
+   * Checks if a given AreaData is valid, i.e. it is non-null and its id is a natural number.
+   * @param data AreaData to check
+   * @throws IllegalArgumentException if the given Area data is null or has a negative ID
+   */
+  private static void validAreaData(AreaData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given Area data can't be null");
+    }
+    else if (data.getAreaId() < 0) {
+      throw new IllegalArgumentException("Given Area data must have a natural number as an ID!");
+    }
+  }
+
+  /**
+   * Checks if a given EventData is valid - i.e. it is non-null, its id is a natural number, its
+   * date and time has a year of at most four digits, and its associated Area is in the given
+   * version of the model data - else throws an IllegalArgumentException.
+   * @param state version of the model data
+   * @param data EventData to check is valid
+   * @throws IllegalArgumentException if given EventData is null, has a negative ID or year, has a
+   *         year of more than four digits, or its associated Area isn't in the model data
+   */
+  private static void validEventData(ModelState state, EventData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Given data can't be null");
+    }
+    else if (data.getEventId() < 0) {
+      throw new IllegalArgumentException("Given Event data must have a natural number as an ID!");
+    }
+    else if (data.getEventDateAndTime().getYear() < 0) {
+      throw new IllegalArgumentException("Can't have a negative year!");
+    }
+    else if (data.getEventDateAndTime().getYear() > DateTimeCodec.MAX_YEAR) {
+      throw new IllegalArgumentException("Can't have a year of more than four digits!");
+    }
+    else if (!state.areas.containsKey(data.getAssociatedAreaId())) {
+      throw new IllegalArgumentException("The area this event is associated with has not been" +
+          "added to this model data!");
+    }
+  }
+
+  /**
+   * Checks if a given integer represents the ID of a possible valid existing Area. Only checks if
+   * given ID is >= 0, else throws a specified error.
+   * @param areaID possible ID to check
+   * @throws IllegalArgumentException if given ID is non-positive
+   */
+  private static void validExistingAreaID(int areaID) {
+    if (areaID == 0) {
+      throw new IllegalArgumentException("The ID of any Area that is apart of this model can't" +
+          " have the ID dedicated to creating new Areas - i.e. no Area can have ID of zero!");
+    }
+    else if (areaID < 0) {
+      throw new IllegalArgumentException("An existing Area's ID must be greater than 0!");
+    }
+  }
+
+  @Override
+  public void addArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() != 0) {
+      throw new IllegalArgumentException("Given AreaData's ID must be zero to signal it " +
+          "represents an Area not yet added to this model!");
+    }
+
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaData newArea = new AreaDataImpl(state.nextAreaID, data.getAreaName(),
+          data.getAreaDescription());
+      publish(new ModelState(state.areas.put(newArea.getAreaId(),
+          new AreaState(newArea, 1, PersistentIntMap.empty())), state.nextAreaID + 1),
+          () -> ModelChangeImpl.areaAdded(newArea));
+    }
+  }
+
+  @Override
+  public void editArea(AreaData data) throws IllegalArgumentException {
+    validAreaData(data);
+
+    if (data.getAreaId() == 0) {
+      throw new IllegalArgumentException("Can't edit a new area!");
+    }
+
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaState area = getAreaState(state, data.getAreaId());
+      AreaData editedArea = new AreaDataImpl(data.getAreaId(), data.getAreaName(),
+          data.getAreaDescription());
+      publish(state.withArea(new AreaState(editedArea, area.nextEventID, area.events)),
+          () -> ModelChangeImpl.areaUpdated(editedArea));
+    }
+  }
+
+  @Override
+  public void addEvent(EventData data) throws IllegalArgumentException {
+    synchronized (changeLock) {
+      ModelState state = current;
+      validEventData(state, data);
+
+      if (data.getEventId() > 0) {
+        throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+      }
+
+      AreaState area = getAreaState(state, data.getAssociatedAreaId());
+      EventData newEvent = new EventDataImpl(data.getAssociatedAreaId(), area.nextEventID,
+          data.getEventName(), data.getEventDescription(), data.getEventLocation(),
+          data.getEventDateAndTime());
+      publish(state.withArea(new AreaState(area.data, area.nextEventID + 1,
+          area.events.put(newEvent.getEventId(), newEvent))),
+          () -> ModelChangeImpl.eventAdded(newEvent));
+    }
+  }
+
+  @Override
+  public void editEvent(EventData data) throws IllegalArgumentException {
+    synchronized (changeLock) {
+      ModelState state = current;
+      validEventData(state, data);
+
+      if (data.getEventId() == 0) {
+        throw new IllegalArgumentException("Given event data represents a new event that isn't" +
+            "already apart of this data model!");
+      }
+
+      AreaState area = getAreaState(state, data.getAssociatedAreaId());
+      if (!area.events.containsKey(data.getEventId())) {
+        throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+            "Event with the given Event ID!");
+      }
+      EventData editedEvent = new EventDataImpl(data.getAssociatedAreaId(), data.getEventId(),
+          data.getEventName(), data.getEventDescription(), data.getEventLocation(),
+          data.getEventDateAndTime());
+      publish(state.withArea(new AreaState(area.data, area.nextEventID,
+          area.events.put(editedEvent.getEventId(), editedEvent))),
+          () -> ModelChangeImpl.eventUpdated(editedEvent));
+    }
+  }
+
+  @Override
+  public void deleteArea(int areaID) {
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaState area = getAreaState(state, areaID);
+      publish(new ModelState(state.areas.remove(areaID), state.nextAreaID),
+          () -> ModelChangeImpl.areaRemoved(area.data));
+    }
+  }
+
+  @Override
+  public void deleteEvent(int areaID, int eventID) {
+    validExistingAreaID(areaID);
+
+    if (eventID == 0) {
+      throw new IllegalArgumentException("The ID of any Event that is apart of this model can't " +
+          "have the ID dedicated to creating new Events - i.e. no Event can have ID of zero!");
+    }
+    else if (eventID < 0) {
+      throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+    }
+
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaState area = getAreaState(state, areaID);
+      EventData deletedEvent = area.events.get(eventID);
+      if (deletedEvent == null) {
+        throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+            "Event with the given Event ID!");
+      }
+      publish(state.withArea(new AreaState(area.data, area.nextEventID,
+          area.events.remove(eventID))), () -> ModelChangeImpl.eventRemoved(deletedEvent));
+    }
+  }
+
+  @Override
+  public void addEvents(Collection<EventData> events) throws IllegalArgumentException {
+    if (events == null) {
+      throw new IllegalArgumentException("Given Events can't be null!");
+    }
+
+    synchronized (changeLock) {
+      // Nothing is published until every Event has been checked and added to the new version, so
+      // an invalid Event leaves the model data as it was.
+      ModelState state = current;
+      IntMap<AreaState> changedAreas = new IntMap<>();
+      List<EventData> added = new ArrayList<>(events.size());
+      for (EventData data : events) {
+        validEventData(state, data);
+        if (data.getEventId() > 0) {
+          throw new IllegalArgumentException("Given event data doesn't represent a new event!");
+        }
+
+        int areaID = data.getAssociatedAreaId();
+        AreaState area = changedAreas.get(areaID);
+        if (area == null) {
+          area = getAreaState(state, areaID);
+        }
+        EventData newEvent = new EventDataImpl(areaID, area.nextEventID, data.getEventName(),
+            data.getEventDescription(), data.getEventLocation(), data.getEventDateAndTime());
+        changedAreas.put(areaID, new AreaState(area.data, area.nextEventID + 1,
+            area.events.put(newEvent.getEventId(), newEvent)));
+        added.add(newEvent);
+      }
+      if (added.isEmpty()) {
+        return;
+      }
+
+      for (AreaState area : changedAreas.values()) {
+        state = state.withArea(area);
+      }
+      publish(state, () -> ModelChangeImpl.eventsAdded(added));
+    }
+  }
+
+  @Override
+  public void deleteEvents(int areaID, int[] eventIDs) {
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaState area = getAreaState(state, areaID);
+      List<EventData> deleted = new ArrayList<>();
+      PersistentIntMap<EventData> events = removeEvents(area, eventIDs, deleted);
+      if (deleted.isEmpty()) {
+        return;
+      }
+      publish(state.withArea(new AreaState(area.data, area.nextEventID, events)),
+          () -> ModelChangeImpl.eventsRemoved(deleted));
+    }
+  }
+
+  @Override
+  public void moveEvents(int fromAreaID, int[] eventIDs, int toAreaID) {
+    if (fromAreaID == toAreaID) {
+      throw new IllegalArgumentException("Can't move Events to the Area they are already in!");
+    }
+
+    synchronized (changeLock) {
+      ModelState state = current;
+      AreaState fromArea = getAreaState(state, fromAreaID);
+      AreaState toArea = getAreaState(state, toAreaID);
+      List<EventData> removed = new ArrayList<>();
+      PersistentIntMap<EventData> fromEvents = removeEvents(fromArea, eventIDs, removed);
+      if (removed.isEmpty()) {
+        return;
+      }
+
+      List<EventData> added = new ArrayList<>(removed.size());
+      PersistentIntMap<EventData> toEvents = toArea.events;
+      int nextEventID = toArea.nextEventID;
+      for (EventData event : removed) {
+        EventData movedEvent = new EventDataImpl(toAreaID, nextEventID++, event.getEventName(),
+            event.getEventDescription(), event.getEventLocation(), event.getEventDateAndTime());
+        toEvents = toEvents.put(movedEvent.getEventId(), movedEvent);
+        added.add(movedEvent);
+      }
+      publish(state.withArea(new AreaState(fromArea.data, fromArea.nextEventID, fromEvents))
+          .withArea(new AreaState(toArea.data, nextEventID, toEvents)),
+          () -> ModelChangeImpl.eventsMoved(removed, added));
+    }
+  }
+
+  /**
+   * Returns the Events of the given Area without those with the given IDs, adding each Event
+   * left out to the given list in the order its ID is given.
+   * @param area state of the Area
+   * @param eventIDs IDs of the Events to leave out
+   * @param removed list to add the Events left out to
+   * @return Events of the Area without those with the given IDs
+   * @throws IllegalArgumentException if given array is null, or any given ID is non-positive,
+   *         isn't that of an Event of the Area, or is given more than once
+   */
+  private static PersistentIntMap<EventData> removeEvents(AreaState area, int[] eventIDs,
+      List<EventData> removed) {
+    if (eventIDs == null) {
+      throw new IllegalArgumentException("Given Event IDs can't be null!");
+    }
+
+    PersistentIntMap<EventData> toReturn = area.events;
+    for (int eventID : eventIDs) {
+      if (eventID <= 0) {
+        throw new IllegalArgumentException("An existing Event's ID must be greater than 0!");
+      }
+      EventData event = toReturn.get(eventID);
+      if (event == null) {
+        if (area.events.containsKey(eventID)) {
+          throw new IllegalArgumentException("Event ID " + eventID + " is given more than once!");
+        }
+        throw new IllegalArgumentException("Area associated with given Area ID doesn't have an " +
+            "Event with the given Event ID!");
+      }
+      toReturn = toReturn.remove(eventID);
+      removed.add(event);
+    }
+    return toReturn;
+  }
+
+  @Override
+  public List<AreaData> outputAreas() {
+    List<AreaState> areas = current.areas.values();
+    List<AreaData> toReturn = new ArrayList<>(areas.size());
+    for (AreaState area : areas) {
+      toReturn.add(area.data);
+    }
+    return toReturn;
+  }
+
+  @Override
+  public List<EventData> outputEvents(int areaID) {
+    return getAreaState(current, areaID).events.values();
+  }
+
+  @Override
+  public List<EventData> outputEventsBetween(LocalDateTime start, LocalDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Given dates and times can't be null!");
+    }
+    else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Given end can't be before given start!");
+    }
+
+    // Look at every Event of a single version, rather than each Area as it is when reached.
+    ModelState state = current;
+    synchronized (indexLock) {
+      if (dateIndex == null) {
+        dateIndex = new DateIndex();
+        indexAll(state, dateIndex::add);
+      }
+      else {
+        reindex(dateIndexed, state, dateIndex::add, dateIndex::remove);
+      }
+      dateIndexed = state;
+      return dateIndex.between(0, start, end);
+    }
+  }
+
+  @Override
+  public List<EventData> searchEvents(String query, int maxResults) {
+    if (query == null) {
+      throw new IllegalArgumentException("Given query can't be null!");
+    }
+    else if (maxResults < 0) {
+      throw new IllegalArgumentException("Given maximum number of results can't be negative!");
+    }
+
+    ModelState state = current;
+    synchronized (indexLock) {
+      if (searchIndex == null) {
+        searchIndex = new SearchIndex();
+        indexAll(state, searchIndex::add);
+      }
+      else {
+        reindex(searchIndexed, state, searchIndex::add, searchIndex::remove);
+      }
+      searchIndexed = state;
+      return searchIndex.search(query, maxResults);
+    }
+  }
+
+  /**
+   * Adds every Event of the given version of the model data to an index.
+   * @param state version of the model data
+   * @param add adds an Event to the index
+   */
+  private static void indexAll(ModelState state, Consumer<EventData> add) {
+    for (AreaState area : state.areas.values()) {
+      for (EventData event : area.events.values()) {
+        add.accept(event);
+      }
+    }
+  }
+
+  /**
+   * Turns an index of the Events of one version of the model data into an index of those of
+   * another, removing and adding only the Events that differ between them.
+   * @param indexed version of the model data whose Events the index holds
+   * @param state version of the model data whose Events the index should hold
+   * @param add adds an Event to the index
+   * @param remove removes an Event from the index
+   */
+  private static void reindex(ModelState indexed, ModelState state, Consumer<EventData> add,
+      Consumer<EventData> remove) {
+    indexed.areas.forEachDifference(state.areas, (indexedArea, area) -> {
+      if (indexedArea == null) {
+        area.events.values().forEach(add);
+      }
+      else if (area == null) {
+        indexedArea.events.values().forEach(remove);
+      }
+      else {
+        indexedArea.events.forEachDifference(area.events, (indexedEvent, event) -> {
+          if (indexedEvent != null) {
+            remove.accept(indexedEvent);
+          }
+          if (event != null) {
+            add.accept(event);
+          }
+        });
+      }
+    });
+  }
+
+  @Override
+  public AreaData getAreaData(int areaID) {
+    AreaState area = current.areas.get(areaID);
+    if (area == null) {
+      throw new IllegalArgumentException("Model has no Area associated with given areaID!");
+    }
+    return area.data;
+  }
+
+  @Override
+  public EventData getEventData(int areaID, int eventID) {
+    EventData event = getAreaState(current, areaID).events.get(eventID);
+    if (event == null) {
+      throw new IllegalArgumentException("Area associated with given areaID has no Event "
+          + "associated with given eventID!");
+    }
+    return event;
+  }
+
+  @Override
+  public String outputModelDataAsString() {
+    ModelState state = current;
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      new StaxModelWriter().write(state.toStore(), output);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to output model data!");
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void addModelChangeListener(ModelChangeListener listener) {
+    changeSupport.addListener(listener);
+  }
+
+  @Override
+  public void removeModelChangeListener(ModelChangeListener listener) {
+    changeSupport.removeListener(listener);
+  }
+
+  /**
+   * A single immutable version of the model data - every Area keyed by its ID, and the ID to give
+   * the next Area added.
+   */
+  private static final class ModelState {
+
+    /**
+     * Model data with no Areas.
+     */
+    private static final ModelState EMPTY = new ModelState(PersistentIntMap.empty(), 1);
+
+    /**
+     * Every Area of the model data, keyed by the Area's ID.
+     */
+    private final PersistentIntMap<AreaState> areas;
+
+    /**
+     * ID to give the next Area added.
+     */
+    private final int nextAreaID;
+
+    /**
+     * Constructs a ModelState holding the given Areas.
+     * @param areas Areas of the model data, keyed by their IDs
+     * @param nextAreaID ID to give the next Area added
+     */
+    private ModelState(PersistentIntMap<AreaState> areas, int nextAreaID) {
+      this.areas = areas;
+      this.nextAreaID = nextAreaID;
+    }
+
+    /**
+     * Returns a version of this model data with the given Area replacing the one with its ID.
+     * @param area new state of the Area
+     * @return model data with the given Area
+     */
+    private ModelState withArea(AreaState area) {
+      return new ModelState(areas.put(area.data.getAreaId(), area), nextAreaID);
+    }
+
+    /**
+     * Returns a ModelStore holding this version of the model data, to be written out.
+     * @return store holding this model data
+     */
+    private ModelStore toStore() {
+      IntMap<AreaRecord> records = new IntMap<>(areas.size());
+      for (AreaState area : areas.values()) {
+        List<EventData> areaEvents = area.events.values();
+        IntMap<EventData> events = new IntMap<>(areaEvents.size());
+        for (EventData event : areaEvents) {
+          events.put(event.getEventId(), event);
+        }
+        records.put(area.data.getAreaId(), new AreaRecord(area.data, area.nextEventID, events));
+      }
+      return new ModelStore(records, nextAreaID);
+    }
+  }
+
+  /**
+   * A single immutable version of an Area - its own data, the ID to give the next Event added to
+   * it, and all its Events keyed by their IDs.
+   */
+  private static final class AreaState {
+
+    /**
+     * ID, name and description of this Area.
+     */
+    private final AreaData data;
+
+    /**
+     * ID to give the next Event added to this Area.
+     */
+    private final int nextEventID;
+
+    /**
+     * Every Event of this Area, keyed by the Event's ID.
+     */
+    private final PersistentIntMap<EventData> events;
+
+    /**
+     * Constructs an AreaState with the given data and Events.
+     * @param data ID, name and description of the Area
+     * @param nextEventID ID to give the next Event added to the Area
+     * @param events Events of the Area, keyed by their IDs
+     */
+    private AreaState(AreaData data, int nextEventID, PersistentIntMap<EventData> events) {
+      this.data = data;
+      this.nextEventID = nextEventID;
+      this.events = events;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import java.time.Duration;
+
+/**
+ * How long saving the model data of this ApplicationManager to a file took, and how many bytes
+ * were written.
+ */
+public final class SaveStatistics {
+
+  /**
+   * Number of bytes written to the file.
+   */
+  private final long bytesWritten;
+
+  /**
+   * Nanoseconds taken to write the file, from starting to write until it replaced the old file.
+   */
+  private final long durationNanos;
+
+  /**
+   * Constructs a SaveStatistics for a save that wrote the given number of bytes in the given time.
+   * @param bytesWritten number of bytes written to the file
+   * @param durationNanos nanoseconds the save took
+   * @throws IllegalArgumentException if either given value is negative
+   */
+  public SaveStatistics(long bytesWritten, long durationNanos) {
+    if (bytesWritten < 0 || durationNanos < 0) {
+      throw new IllegalArgumentException("Bytes written and duration of a save can't be "
+          + "negative!");
+    }
+
+    this.bytesWritten = bytesWritten;
+    this.durationNanos = durationNanos;
+  }
+
+  /**
+   * Returns the number of bytes written to the file.
+   * @return number of bytes written
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Returns how long the save took.
+   * @return duration of the save
+   */
+  public Duration getDuration() {
+    return Duration.ofNanos(durationNanos);
+  }
+
+  /**
+   * Returns the rate bytes were written at during the save.
+   * @return bytes written per second
+   */
+  public double getBytesPerSecond() {
+    return durationNanos == 0 ? 0 : bytesWritten * 1e9 / durationNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d bytes in %.1f ms (%.1f MB/s)", bytesWritten, durationNanos / 1e6,
+        getBytesPerSecond() / 1e6);
+  }
+}
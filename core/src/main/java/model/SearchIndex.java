@@ -0,0 +1,505 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import datatransfer.EventData;
+
+/**
+ * Inverted index of the words in the names, descriptions and locations of Events, for finding
+ * every Event matching a search query without looking at any other Event.
+ *
+ * <p>Text is split into tokens at every character that isn't a letter or digit, and each token is
+ * case folded. A query matches an Event if every token of the query is the start of some token of
+ * the Event - so a query can be searched for as it is typed. Matches are ranked by a score summed
+ * over the query's tokens, higher for a match in the name than the location, and in the location
+ * than the description, and higher for a whole token than only its start.
+ *
+ * <p>Each indexed Event is given a document number, and each token maps to the document numbers
+ * of the Events it occurs in, along with which fields it occurs in. Removing an Event only clears
+ * its document; the document numbers left behind in the index are skipped by searches, and dropped
+ * once they make up half of the index.
+ *
+ * <p>Searches reuse the same scratch arrays rather than allocating their own, so like the models
+ * it belongs to, a SearchIndex isn't safe to use from several threads at once.
+ */
+final class SearchIndex {
+
+  /**
+   * Field bit of a token occurring in an Event's name.
+   */
+  private static final int NAME = 1;
+
+  /**
+   * Field bit of a token occurring in an Event's location.
+   */
+  private static final int LOCATION = 2;
+
+  /**
+   * Field bit of a token occurring in an Event's description.
+   */
+  private static final int DESCRIPTION = 4;
+
+  /**
+   * Every token of the indexed Events, sorted so tokens starting with a query token are found as a
+   * range.
+   */
+  private final NavigableMap<String, Postings> tokens = new TreeMap<>();
+
+  /**
+   * Postings of every first character of a token, holding for each document the score of its
+   * best token starting with that character, so a query token of a single character - matching
+   * a large share of every token - is looked up in one list rather than merged from many.
+   */
+  private final Map<Character, Postings> initials = new HashMap<>();
+
+  /**
+   * Event of each document number, null for documents whose Event was removed.
+   */
+  private EventData[] documents = new EventData[16];
+
+  /**
+   * Date and time of the Event of each document number, as minutes since the epoch, so ties in
+   * score are broken without touching the Events themselves.
+   */
+  private long[] minutes = new long[16];
+
+  /**
+   * Area and Event ID of the Event of each document number, packed into a long.
+   */
+  private long[] ids = new long[16];
+
+  /**
+   * Number of document numbers handed out so far.
+   */
+  private int documentCount;
+
+  /**
+   * Document number of each indexed Event.
+   */
+  private final Map<EventData, Integer> documentNumbers = new IdentityHashMap<>();
+
+  /**
+   * Scratch array of searches: the stamp of each document, recording how many query tokens of
+   * the current search it has matched as the stamp of the search plus that number.
+   */
+  private int[] stamps = new int[0];
+
+  /**
+   * Scratch array of searches: the score of each document over the query tokens it has matched.
+   */
+  private int[] scores = new int[0];
+
+  /**
+   * Scratch array of searches: the best score of each document for the current query token.
+   */
+  private int[] best = new int[0];
+
+  /**
+   * Scratch array of searches: documents matching every query token so far.
+   */
+  private int[] hits = new int[0];
+
+  /**
+   * Stamp of the next search, past every stamp left in {@link #stamps} by earlier searches.
+   */
+  private int stamp;
+
+  /**
+   * Adds the given Event to this index.
+   * @param event Event to add
+   */
+  void add(EventData event) {
+    if (documentCount == documents.length) {
+      documents = Arrays.copyOf(documents, documentCount * 2);
+      minutes = Arrays.copyOf(minutes, documentCount * 2);
+      ids = Arrays.copyOf(ids, documentCount * 2);
+    }
+    int document = documentCount++;
+    documents[document] = event;
+    minutes[document] = BinarySnapshot.toEpochMinute(event.getEventDateAndTime());
+    ids[document] = ((long) event.getAssociatedAreaId() << 32)
+        | (event.getEventId() & 0xFFFFFFFFL);
+    documentNumbers.put(event, document);
+
+    addTokens(document, event.getEventName(), NAME);
+    addTokens(document, event.getEventLocation(), LOCATION);
+    addTokens(document, event.getEventDescription(), DESCRIPTION);
+  }
+
+  /**
+   * Adds the given document to the postings of every token of the given text.
+   * @param document document number of the Event the text is from
+   * @param text text of one field of the Event
+   * @param field field bit of the field
+   */
+  private void addTokens(int document, String text, int field) {
+    for (String token : tokenize(text)) {
+      tokens.computeIfAbsent(token, key -> new Postings()).add(document, field);
+      initials.computeIfAbsent(token.charAt(0), key -> new Postings())
+          .raise(document, weight(field, token.length() == 1));
+    }
+  }
+
+  /**
+   * Removes the given Event from this index, if it was added.
+   * @param event Event to remove, the same instance as was added
+   */
+  void remove(EventData event) {
+    Integer document = documentNumbers.remove(event);
+    if (document != null) {
+      documents[document] = null;
+      if (documentNumbers.size() < documentCount / 2) {
+        rebuild();
+      }
+    }
+  }
+
+  /**
+   * Rebuilds this index from the Events it holds, dropping every removed document.
+   */
+  private void rebuild() {
+    List<EventData> events = new ArrayList<>(documentNumbers.size());
+    for (int i = 0; i < documentCount; i++) {
+      if (documents[i] != null) {
+        events.add(documents[i]);
+      }
+    }
+
+    tokens.clear();
+    initials.clear();
+    documentNumbers.clear();
+    int capacity = Math.max(16, events.size());
+    documents = new EventData[capacity];
+    minutes = new long[capacity];
+    ids = new long[capacity];
+    documentCount = 0;
+    for (EventData event : events) {
+      add(event);
+    }
+  }
+
+  /**
+   * Returns the Events matching the given query, best match first, ties in order of date and
+   * time then of Area ID and Event ID.
+   * @param query query to search for
+   * @param maxResults most Events to return
+   * @return Events matching the query
+   */
+  List<EventData> search(String query, int maxResults) {
+    List<String> terms = tokenize(query);
+    if (terms.isEmpty() || maxResults == 0) {
+      return Collections.emptyList();
+    }
+
+    if (stamps.length < documentCount || stamp > Integer.MAX_VALUE - terms.size() - 1) {
+      stamps = new int[documents.length];
+      scores = new int[documents.length];
+      best = new int[documents.length];
+      hits = new int[documents.length];
+      stamp = 0;
+    }
+    // A document whose stamp is the base plus some number has matched that many query tokens;
+    // any stamp at or below the base is left from an earlier search.
+    int base = stamp;
+    stamp += terms.size() + 1;
+    int hitCount = 0;
+
+    for (int term = 0; term < terms.size(); term++) {
+      String prefix = terms.get(term);
+      hitCount = 0;
+      if (prefix.length() == 1) {
+        Postings postings = initials.get(prefix.charAt(0));
+        if (postings != null) {
+          hitCount = match(postings, true, false, term, base, hitCount);
+        }
+      }
+      else {
+        for (Map.Entry<String, Postings> entry
+            : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+          boolean whole = entry.getKey().length() == prefix.length();
+          hitCount = match(entry.getValue(), false, whole, term, base, hitCount);
+        }
+      }
+
+      if (hitCount == 0) {
+        return Collections.emptyList();
+      }
+      for (int i = 0; i < hitCount; i++) {
+        int document = hits[i];
+        stamps[document] = base + term + 1;
+        scores[document] = term == 0 ? best[document] : scores[document] + best[document];
+        best[document] = 0;
+      }
+    }
+
+    // Drop the documents of removed Events, skipped here rather than for every posting.
+    int live = 0;
+    for (int i = 0; i < hitCount; i++) {
+      if (documents[hits[i]] != null) {
+        hits[live++] = hits[i];
+      }
+    }
+    hitCount = live;
+
+    // Find the lowest score any result has; every hit scoring above it is a result, and the
+    // earliest hits scoring exactly it fill the rest of the results.
+    int maxScore = 0;
+    for (int i = 0; i < hitCount; i++) {
+      maxScore = Math.max(maxScore, scores[hits[i]]);
+    }
+    int[] histogram = new int[maxScore + 1];
+    for (int i = 0; i < hitCount; i++) {
+      histogram[scores[hits[i]]]++;
+    }
+    int cutoff = maxScore;
+    int above = 0;
+    while (cutoff > 0 && above + histogram[cutoff] < maxResults) {
+      above += histogram[cutoff];
+      cutoff--;
+    }
+
+    List<Integer> results = new ArrayList<>(Math.min(maxResults, hitCount));
+    // Sized by the hits actually tied, as maxResults may be far larger than the number of hits.
+    TieHeap ties = new TieHeap(Math.min(maxResults - above, histogram[cutoff]));
+    for (int i = 0; i < hitCount; i++) {
+      int document = hits[i];
+      if (scores[document] > cutoff) {
+        results.add(document);
+      }
+      else if (scores[document] == cutoff) {
+        ties.offer(document);
+      }
+    }
+    ties.drainTo(results);
+
+    results.sort((a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a])
+        : earlier(a, b) ? -1 : 1);
+    List<EventData> toReturn = new ArrayList<>(results.size());
+    for (int document : results) {
+      toReturn.add(documents[document]);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Records the best score of every document of the given postings that matched each earlier
+   * query token, adding those not yet recorded for the current query token to the hits.
+   * @param postings postings of a token, or of an initial, matching the current query token
+   * @param scored whether the postings are of an initial, holding scores rather than field bits
+   * @param whole whether the whole token matches the query token, rather than only its start
+   * @param term position of the current query token in the query
+   * @param base stamp of the current search
+   * @param hitCount number of hits of the current query token so far
+   * @return number of hits of the current query token
+   */
+  private int match(Postings postings, boolean scored, boolean whole, int term, int base,
+      int hitCount) {
+    int[] postingDocuments = postings.documents;
+    byte[] postingFields = postings.fields;
+    for (int i = 0; i < postings.size; i++) {
+      int document = postingDocuments[i];
+      // Only documents that matched every earlier query token can still match.
+      if (term > 0 && stamps[document] != base + term) {
+        continue;
+      }
+      int weight = scored ? postingFields[i] : weight(postingFields[i], whole);
+      if (best[document] == 0) {
+        hits[hitCount++] = document;
+        best[document] = weight;
+      }
+      else if (weight > best[document]) {
+        best[document] = weight;
+      }
+    }
+    return hitCount;
+  }
+
+  /**
+   * Returns true if the Event of the first document comes before that of the second, by date and
+   * time then by Area ID and Event ID.
+   * @param a first document number
+   * @param b second document number
+   * @return if the first document comes first
+   */
+  private boolean earlier(int a, int b) {
+    return minutes[a] != minutes[b] ? minutes[a] < minutes[b] : ids[a] < ids[b];
+  }
+
+  /**
+   * Returns the score of a token matching a query token.
+   * @param fields field bits of every field of the Event the token occurs in
+   * @param whole whether the whole token matches, rather than only its start
+   * @return score of the match
+   */
+  private static int weight(int fields, boolean whole) {
+    int weight = (fields & NAME) != 0 ? 3 : (fields & LOCATION) != 0 ? 2 : 1;
+    return whole ? weight * 2 : weight;
+  }
+
+  /**
+   * Splits the given text into case folded tokens, at every character that isn't a letter or
+   * digit.
+   * @param text text to split
+   * @return tokens of the text, in order
+   */
+  static List<String> tokenize(String text) {
+    List<String> toReturn = new ArrayList<>();
+    StringBuilder token = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        token.append(Character.toLowerCase(Character.toUpperCase(c)));
+      }
+      else if (token.length() > 0) {
+        toReturn.add(token.toString());
+        token.setLength(0);
+      }
+    }
+    if (token.length() > 0) {
+      toReturn.add(token.toString());
+    }
+    return toReturn;
+  }
+
+  /**
+   * Keeps the earliest of the documents offered to it, up to a set number, in a heap whose root
+   * is the latest of them.
+   */
+  private final class TieHeap {
+
+    /**
+     * Documents kept, as a binary heap.
+     */
+    private final int[] heap;
+
+    /**
+     * Number of documents kept.
+     */
+    private int size;
+
+    /**
+     * Constructs a TieHeap keeping up to the given number of documents.
+     * @param capacity most documents to keep
+     */
+    TieHeap(int capacity) {
+      heap = new int[capacity];
+    }
+
+    /**
+     * Offers a document, kept if fewer than the capacity are kept or it is earlier than the latest
+     * kept.
+     * @param document document number
+     */
+    void offer(int document) {
+      if (size < heap.length) {
+        int child = size++;
+        while (child > 0 && earlier(heap[(child - 1) / 2], document)) {
+          heap[child] = heap[(child - 1) / 2];
+          child = (child - 1) / 2;
+        }
+        heap[child] = document;
+      }
+      else if (size > 0 && earlier(document, heap[0])) {
+        int parent = 0;
+        while (true) {
+          int child = parent * 2 + 1;
+          if (child >= size) {
+            break;
+          }
+          if (child + 1 < size && earlier(heap[child], heap[child + 1])) {
+            child++;
+          }
+          if (!earlier(document, heap[child])) {
+            break;
+          }
+          heap[parent] = heap[child];
+          parent = child;
+        }
+        heap[parent] = document;
+      }
+    }
+
+    /**
+     * Adds every document kept to the given list.
+     * @param list list to add to
+     */
+    void drainTo(List<Integer> list) {
+      for (int i = 0; i < size; i++) {
+        list.add(heap[i]);
+      }
+    }
+  }
+
+  /**
+   * Document numbers of the Events a single token occurs in, with which of their fields it occurs
+   * in.
+   */
+  private static final class Postings {
+
+    /**
+     * Document numbers, in the order they were added.
+     */
+    private int[] documents = new int[4];
+
+    /**
+     * Field bits of each document, or for the postings of an initial, the score of each document.
+     */
+    private byte[] fields = new byte[4];
+
+    /**
+     * Number of documents.
+     */
+    private int size;
+
+    /**
+     * Adds a field of a document; a document added again straight after itself, as with a token
+     * occurring in several fields of an Event, only has its field bits combined.
+     * @param document document number
+     * @param field field bit of a field of the document the token occurs in
+     */
+    void add(int document, int field) {
+      if (size > 0 && documents[size - 1] == document) {
+        fields[size - 1] |= field;
+        return;
+      }
+      append(document, field);
+    }
+
+    /**
+     * Adds a score of a document; a document added again straight after itself only keeps the
+     * higher of its scores.
+     * @param document document number
+     * @param score score of a token of the document
+     */
+    void raise(int document, int score) {
+      if (size > 0 && documents[size - 1] == document) {
+        fields[size - 1] = (byte) Math.max(fields[size - 1], score);
+        return;
+      }
+      append(document, score);
+    }
+
+    /**
+     * Appends a document.
+     * @param document document number
+     * @param value field bits or score of the document
+     */
+    private void append(int document, int value) {
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, size * 2);
+        fields = Arrays.copyOf(fields, size * 2);
+      }
+      documents[size] = document;
+      fields[size] = (byte) value;
+      size++;
+    }
+  }
+}
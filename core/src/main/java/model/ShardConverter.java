@@ -0,0 +1,76 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool converting model data between the single file format of XMLData.xml and the
+ * directory of a file per Area laid out by {@link ShardDirectory}. The direction is chosen by the
+ * input: a directory is converted to a single XML file, an XML file to a directory.
+ */
+public final class ShardConverter {
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private ShardConverter() {
+  }
+
+  /**
+   * Converts the given model data, writing the result to the given output. A single XML file is
+   * written atomically; a directory has each of its files written atomically, and files of Areas
+   * not in the model data deleted.
+   * @param input model data to convert, either a directory or a single XML file
+   * @param output single XML file or directory to write the converted model data to
+   * @throws IOException if the input couldn't be read or the output couldn't be written
+   */
+  public static void convert(Path input, Path output) throws IOException {
+    if (Files.isDirectory(input)) {
+      // Events are copied from each Area's file as the XML file is written, one Area at a time.
+      ModelStore store = new ShardDirectory(input).read(false);
+      AtomicFileSaver.save(output, out -> new StaxModelWriter().write(store, out));
+    }
+    else {
+      ModelStore store;
+      try (InputStream in = new BufferedInputStream(Files.newInputStream(input))) {
+        store = new StaxModelReader().read(in);
+      }
+      new ShardDirectory(output).saveAll(store);
+    }
+  }
+
+  /**
+   * Runs the tool.
+   * @param args input file or directory, then optionally the output - which defaults to a
+   *             directory named after an XML input without its ".xml" extension, or a directory
+   *             input's name with ".xml" appended, beside the input
+   * @throws IOException if the input couldn't be read or the output couldn't be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: ShardConverter <input.xml|directory> [output]");
+      System.exit(1);
+    }
+
+    Path input = Paths.get(args[0]).toAbsolutePath();
+    String name = input.getFileName().toString();
+    Path output;
+    if (args.length == 2) {
+      output = Paths.get(args[1]);
+    }
+    else if (Files.isDirectory(input)) {
+      output = input.resolveSibling(name + ".xml");
+    }
+    else if (name.toLowerCase().endsWith(".xml")) {
+      output = input.resolveSibling(name.substring(0, name.length() - ".xml".length()));
+    }
+    else {
+      output = input.resolveSibling(name + ".d");
+    }
+    convert(input, output);
+  }
+}
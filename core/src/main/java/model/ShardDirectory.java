@@ -0,0 +1,502 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Model data stored as a directory of files rather than a single XMLData.xml: a manifest,
+ * manifest.xml, holding the ID, name and description of every Area in the format of XMLData.xml,
+ * and a file per Area, area-ID-G.xml, holding the Area's Events and the ID to give its next one.
+ * Reading the model data only reads the manifest and the start of each Area's file; the Events of
+ * each Area are read from its own file the first time they are needed. Saving only rewrites the
+ * files of Areas whose Events changed, along with the manifest - so a change to a single Event
+ * costs a write of its Area rather than of the whole model data.
+ *
+ * <p>Every save is numbered, its generation, stored in the manifest. The G in the name of each
+ * Area's file is the generation of the save that wrote it, also stored in the file and listed
+ * against the Area in the manifest. A save writes the files of changed Areas under new names,
+ * leaving those the manifest lists untouched, then replaces the manifest atomically through an
+ * {@link AtomicFileSaver} - the one step that makes the save as a whole take effect - and only
+ * then deletes the files it superseded. A crash part way through a save so leaves the directory
+ * holding the model data as it was before the save, plus files no manifest lists, which the next
+ * save deletes; and the generation in the manifest identifies exactly which save the model data
+ * read from the directory is that of. Directories written before saves were numbered have no
+ * generation, and files named area-ID.xml; they are read as generation 0.
+ *
+ * <p>As every Area has a file of its own, the Events of many Areas at once - e.g. of every Area,
+ * when the model data isn't read lazily - are read in parallel on a ForkJoinPool of a bounded
+ * number of threads, each parsing whole files, and only then stored in their Areas on the calling
+ * thread.
+ */
+final class ShardDirectory implements AreaEventLoader {
+
+  /**
+   * Name of the manifest file.
+   */
+  static final String MANIFEST = "manifest.xml";
+
+  /**
+   * Start of the name of the file of each Area, followed by the Area's ID.
+   */
+  private static final String SHARD_PREFIX = "area-";
+
+  /**
+   * End of the name of the file of each Area.
+   */
+  private static final String SHARD_SUFFIX = ".xml";
+
+  /**
+   * Attribute holding the generation of the save that wrote the manifest, or the file of an Area.
+   */
+  static final String GENERATION = "generation";
+
+  /**
+   * Number of files each thread is given to read at a time for every thread reading, so threads
+   * given files with fewer Events can take more of them.
+   */
+  private static final int BATCHES_PER_THREAD = 4;
+
+  /**
+   * The directory holding the model data.
+   */
+  private final Path directory;
+
+  /**
+   * Most threads reading the files of several Areas at once.
+   */
+  private final int loaderThreads;
+
+  /**
+   * Reader of the manifest and the file of each Area, on the calling thread.
+   */
+  private final StaxModelReader staxReader = new StaxModelReader();
+
+  /**
+   * Constructs a ShardDirectory of the model data stored in the given directory, reading the files
+   * of several Areas at once on as many threads as there are processors.
+   * @param directory directory holding the model data
+   */
+  ShardDirectory(Path directory) {
+    this(directory, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a ShardDirectory of the model data stored in the given directory, reading the files
+   * of several Areas at once on at most the given number of threads.
+   * @param directory directory holding the model data
+   * @param loaderThreads most threads to read the files of several Areas at once on, 1 to read
+   *                      them one after another on the calling thread
+   * @throws IllegalArgumentException if the given number of threads is less than 1
+   */
+  ShardDirectory(Path directory, int loaderThreads) {
+    if (loaderThreads < 1) {
+      throw new IllegalArgumentException("Given number of loader threads must be greater than 0!");
+    }
+
+    this.directory = directory;
+    this.loaderThreads = loaderThreads;
+  }
+
+  /**
+   * Returns the path of the file holding the Events of the Area with the given ID, as written by
+   * the save of the given generation.
+   * @param areaID ID of the Area
+   * @param generation generation of the save that wrote the file
+   * @return path of the Area's file
+   */
+  Path getShardPath(int areaID, int generation) {
+    return directory.resolve(SHARD_PREFIX + areaID + (generation == 0 ? "" : "-" + generation)
+        + SHARD_SUFFIX);
+  }
+
+  /**
+   * Reads the generation of the save that wrote the given manifest - that of model data stored in
+   * a directory, or one written by a save not yet committed.
+   * @param manifest manifest file to read
+   * @return generation of the save, 0 if the manifest doesn't hold it
+   * @throws IOException if the manifest couldn't be read or isn't well formed
+   */
+  static int readGeneration(Path manifest) throws IOException {
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(manifest))) {
+      return new StaxModelReader().readGeneration(input);
+    }
+  }
+
+  /**
+   * Reads the manifest of the model data, and either the Events of every Area along with it, or
+   * only the ID to give the next Event of each Area from the start of its file - leaving the Events
+   * of every Area to be loaded through this ShardDirectory once they are needed.
+   * @param withEvents whether to read the Events of every Area, in parallel
+   * @return ModelStore holding every Area of the model data, without the Events of those whose
+   *         file holds the ID to give their next Event unless read with Events
+   * @throws IOException if the manifest or an Area's file couldn't be read or isn't well formed
+   */
+  ModelStore read(boolean withEvents) throws IOException {
+    ModelStore toReturn;
+    try (InputStream input = new BufferedInputStream(
+        Files.newInputStream(directory.resolve(MANIFEST)))) {
+      toReturn = staxReader.read(input);
+    }
+
+    toReturn.eventLoader = this;
+    if (withEvents) {
+      for (AreaRecord area : toReturn.areas.values()) {
+        area.events = null;
+      }
+      toReturn.ensureAllEventsLoaded();
+      return toReturn;
+    }
+    for (AreaRecord area : toReturn.areas.values()) {
+      // The manifest doesn't hold the ID to give each Area's next Event, which changes with every
+      // added Event, so it is read from the start of the Area's file without reading its Events.
+      int nextEventID;
+      try (InputStream input = new BufferedInputStream(Files.newInputStream(
+          getShardPath(area.data.getAreaId(), area.shardGeneration)))) {
+        nextEventID = staxReader.readNextEventID(input);
+      }
+
+      area.events = null;
+      if (nextEventID > 0) {
+        area.nextEventID = nextEventID;
+      }
+      else {
+        loadEvents(area);
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Reads the file of the given Area listed in the manifest.
+   * @param area Area whose file to read
+   * @param reader reader to read the file with, used by a single thread at a time
+   * @return AreaRecord holding the Area's Events and the ID to give its next one
+   * @throws IOException if the file couldn't be read, isn't a well formed Area, or holds another
+   *         Area or that of another save
+   */
+  private AreaRecord readShard(AreaRecord area, StaxModelReader reader) throws IOException {
+    int areaID = area.data.getAreaId();
+    AreaRecord toReturn;
+    try (InputStream input = new BufferedInputStream(
+        Files.newInputStream(getShardPath(areaID, area.shardGeneration)))) {
+      toReturn = reader.readArea(input);
+    }
+
+    if (toReturn.data.getAreaId() != areaID) {
+      throw new IOException("File of area " + areaID + " holds area "
+          + toReturn.data.getAreaId() + "!");
+    }
+    else if (toReturn.shardGeneration != area.shardGeneration) {
+      throw new IOException("File of area " + areaID + " was written by save "
+          + toReturn.shardGeneration + ", not " + area.shardGeneration + "!");
+    }
+    return toReturn;
+  }
+
+  @Override
+  public void loadEvents(AreaRecord area) throws IOException {
+    store(area, readShard(area, staxReader));
+  }
+
+  @Override
+  public void loadEvents(List<AreaRecord> areas) throws IOException {
+    int threads = Math.min(loaderThreads, areas.size());
+    if (threads <= 1) {
+      AreaEventLoader.super.loadEvents(areas);
+      return;
+    }
+
+    AreaRecord[] loaded = new AreaRecord[areas.size()];
+    int batches = threads * BATCHES_PER_THREAD;
+    int batchSize = (areas.size() + batches - 1) / batches;
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new ReadShardsTask(this, areas, loaded, 0, areas.size(), batchSize));
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    finally {
+      pool.shutdown();
+    }
+
+    // Every file was read before any Area is changed, so a file that can't be read leaves every
+    // Area unloaded.
+    for (int i = 0; i < loaded.length; i++) {
+      store(areas.get(i), loaded[i]);
+    }
+  }
+
+  /**
+   * Stores the Events read from an Area's file in the Area, advancing the Area's next Event ID to
+   * that read if needed.
+   * @param area Area to store the Events in
+   * @param loaded AreaRecord read from the Area's file
+   */
+  private static void store(AreaRecord area, AreaRecord loaded) {
+    area.events = loaded.events;
+    area.nextEventID = Math.max(area.nextEventID, loaded.nextEventID);
+  }
+
+  @Override
+  public void copyEvents(AreaRecord area, OutputStream output) throws IOException {
+    // Each Area's file is a document of its own, so its Events are read rather than copied raw.
+    new StaxModelWriter().writeEvents(
+        readShard(area, staxReader).events.values(), output);
+  }
+
+  /**
+   * Saves the given model data into this directory as the next generation, writing a new file for
+   * every Area whose Events changed, then the manifest - and then deleting every file of an Area
+   * that the manifest no longer lists.
+   * @param store model data to save
+   * @return number of bytes written and time taken, over every file written
+   * @throws IOException if a file couldn't be written or deleted, in which case the directory
+   *         still holds the model data as last saved unless the manifest was written
+   */
+  SaveStatistics save(ModelStore store) throws IOException {
+    PendingSave save = write(store);
+    try {
+      return commit(store, save);
+    }
+    finally {
+      save.manifest.discard();
+    }
+  }
+
+  /**
+   * Writes the first part of a save of the given model data into this directory as the next
+   * generation: a new file for every Area whose Events changed, under a name no manifest lists
+   * yet, and the manifest beside the one in place. The model data in the directory stays as last
+   * saved until the save is committed by {@link #commit}.
+   * @param store model data to save, left unchanged
+   * @return the save written, to be committed or have its manifest discarded
+   * @throws IOException if a file couldn't be written
+   */
+  PendingSave write(ModelStore store) throws IOException {
+    long start = System.nanoTime();
+    long bytesWritten = 0;
+    int generation = store.generation + 1;
+    StaxModelWriter writer = new StaxModelWriter();
+    for (AreaRecord area : store.areas.values()) {
+      if (area.eventsModified) {
+        bytesWritten += AtomicFileSaver.save(getShardPath(area.data.getAreaId(), generation),
+            output -> writer.writeShard(area, generation, output)).getBytesWritten();
+      }
+    }
+    AtomicFileSaver.PendingFile manifest = AtomicFileSaver.write(directory.resolve(MANIFEST),
+        output -> writer.writeManifest(store, generation, output));
+    return new PendingSave(generation, manifest, bytesWritten, System.nanoTime() - start);
+  }
+
+  /**
+   * Makes the given save written by {@link #write} take effect, by moving its manifest into place,
+   * then marks the given model data as saved by it and deletes every file of an Area that the
+   * manifest no longer lists.
+   * @param store model data the save was written from
+   * @param save save to commit
+   * @return number of bytes written and time taken, over every file written
+   * @throws IOException if the manifest couldn't be moved, in which case the directory still holds
+   *         the model data as last saved, or a file couldn't be deleted
+   */
+  SaveStatistics commit(ModelStore store, PendingSave save) throws IOException {
+    SaveStatistics manifestSave = save.manifest.commit();
+
+    store.generation = save.generation;
+    for (AreaRecord area : store.areas.values()) {
+      if (area.eventsModified) {
+        area.shardGeneration = save.generation;
+        area.eventsModified = false;
+      }
+    }
+    deleteUnlistedShards(store);
+    return new SaveStatistics(save.bytesWritten + manifestSave.getBytesWritten(),
+        save.writeNanos + manifestSave.getDuration().toNanos());
+  }
+
+  /**
+   * Saves every Area of the given model data into this directory, along with the manifest,
+   * creating the directory if needed.
+   * @param store model data to save, with every Area's Events loaded
+   * @return number of bytes written and time taken, over every file written
+   * @throws IOException if the directory couldn't be created, or a file couldn't be written or
+   *         deleted
+   */
+  SaveStatistics saveAll(ModelStore store) throws IOException {
+    Files.createDirectories(directory);
+    for (AreaRecord area : store.areas.values()) {
+      area.eventsModified = true;
+    }
+    return save(store);
+  }
+
+  /**
+   * A save written into the directory by {@link #write} but not yet committed.
+   */
+  static final class PendingSave {
+
+    /**
+     * Generation of the save.
+     */
+    final int generation;
+
+    /**
+     * Manifest written, to be moved into place to commit the save.
+     */
+    final AtomicFileSaver.PendingFile manifest;
+
+    /**
+     * Number of bytes written to the files of Areas.
+     */
+    private final long bytesWritten;
+
+    /**
+     * Nanoseconds taken to write the files of Areas.
+     */
+    private final long writeNanos;
+
+    /**
+     * Constructs a PendingSave of the given generation, whose manifest is written to the given
+     * file.
+     * @param generation generation of the save
+     * @param manifest manifest written
+     * @param bytesWritten number of bytes written to the files of Areas
+     * @param writeNanos nanoseconds taken to write the files of Areas
+     */
+    private PendingSave(int generation, AtomicFileSaver.PendingFile manifest, long bytesWritten,
+        long writeNanos) {
+      this.generation = generation;
+      this.manifest = manifest;
+      this.bytesWritten = bytesWritten;
+      this.writeNanos = writeNanos;
+    }
+  }
+
+  /**
+   * Task reading the files of a range of Areas, split in halves until each part is no larger than
+   * a batch, each batch read by a single thread with a StaxModelReader of its own.
+   */
+  private static final class ReadShardsTask extends RecursiveAction {
+
+    /**
+     * Version of the serialized form; tasks are never serialized.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Directory holding the files read.
+     */
+    private final ShardDirectory directory;
+
+    /**
+     * Areas whose files to read.
+     */
+    private final List<AreaRecord> areas;
+
+    /**
+     * Where to put what is read from the file of each Area, at the Area's index.
+     */
+    private final AreaRecord[] loaded;
+
+    /**
+     * Index of the first Area of the range read.
+     */
+    private final int from;
+
+    /**
+     * Index one past the last Area of the range read.
+     */
+    private final int to;
+
+    /**
+     * Most Areas read by a single thread without splitting the range further.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructs a ReadShardsTask reading the files of the given range of the given Areas from
+     * the given directory.
+     * @param directory directory holding the files to read
+     * @param areas Areas whose files to read
+     * @param loaded where to put what is read from the file of each Area, at the Area's index
+     * @param from index of the first Area of the range read
+     * @param to index one past the last Area of the range read
+     * @param batchSize most Areas read by a single thread without splitting the range further
+     */
+    ReadShardsTask(ShardDirectory directory, List<AreaRecord> areas, AreaRecord[] loaded,
+        int from, int to, int batchSize) {
+      this.directory = directory;
+      this.areas = areas;
+      this.loaded = loaded;
+      this.from = from;
+      this.to = to;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > batchSize) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ReadShardsTask(directory, areas, loaded, from, middle, batchSize),
+            new ReadShardsTask(directory, areas, loaded, middle, to, batchSize));
+        return;
+      }
+
+      StaxModelReader reader = new StaxModelReader();
+      try {
+        for (int i = from; i < to; i++) {
+          loaded[i] = directory.readShard(areas.get(i), reader);
+        }
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Deletes every file of an Area in this directory that the given model data doesn't list, i.e.
+   * of an Area deleted since the last save, superseded by a later save, or written by a save that
+   * never wrote its manifest.
+   * @param store model data whose Areas' files to keep
+   * @throws IOException if the directory couldn't be listed or a file couldn't be deleted
+   */
+  private void deleteUnlistedShards(ModelStore store) throws IOException {
+    try (DirectoryStream<Path> shards = Files.newDirectoryStream(directory,
+        SHARD_PREFIX + "*" + SHARD_SUFFIX)) {
+      for (Path shard : shards) {
+        String name = shard.getFileName().toString();
+        String[] parts = name.substring(SHARD_PREFIX.length(),
+            name.length() - SHARD_SUFFIX.length()).split("-", -1);
+        if (parts.length > 2 || !isNumber(parts[0])
+            || (parts.length == 2 && !isNumber(parts[1]))) {
+          continue;
+        }
+
+        AreaRecord area = store.areas.get(Integer.parseInt(parts[0]));
+        int generation = parts.length == 2 ? Integer.parseInt(parts[1]) : 0;
+        if (area == null || area.shardGeneration != generation) {
+          Files.delete(shard);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if the given part of a file name is a number that fits in an int.
+   * @param part part of a file name
+   * @return if the given part is a non-empty run of at most nine digits
+   */
+  private static boolean isNumber(String part) {
+    return !part.isEmpty() && part.length() < 10 && part.chars().allMatch(Character::isDigit);
+  }
+}
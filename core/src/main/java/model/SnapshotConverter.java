@@ -0,0 +1,72 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool converting model data between the XML format of XMLData.xml and the binary
+ * format of a {@link BinarySnapshot}. The direction is chosen by the extension of the input file:
+ * an input ending in ".bin" is converted to XML, any other input is converted to binary.
+ */
+public final class SnapshotConverter {
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private SnapshotConverter() {
+  }
+
+  /**
+   * Converts the given model data file, writing the result atomically to the given output file.
+   * @param input model data file to convert, binary if its name ends in ".bin", else XML
+   * @param output file to write the converted model data to
+   * @throws IOException if the input couldn't be read or the output couldn't be written
+   */
+  public static void convert(Path input, Path output) throws IOException {
+    boolean fromBinary = input.getFileName().toString().toLowerCase().endsWith(".bin");
+
+    ModelStore store;
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(input))) {
+      store = fromBinary ? BinarySnapshot.read(in) : new StaxModelReader().read(in);
+    }
+
+    if (fromBinary) {
+      AtomicFileSaver.save(output, out -> new StaxModelWriter().write(store, out));
+    }
+    else {
+      AtomicFileSaver.save(output, out -> BinarySnapshot.write(store, out));
+    }
+  }
+
+  /**
+   * Runs the tool.
+   * @param args input file, then optionally the output file - which defaults to the binary
+   *             snapshot beside an XML input (see {@link CompactModelImpl#binarySnapshotPath}),
+   *             or the input with its ".bin" extension replaced by ".xml"
+   * @throws IOException if the input couldn't be read or the output couldn't be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: SnapshotConverter <input.xml|input.bin> [output]");
+      System.exit(1);
+    }
+
+    Path input = Paths.get(args[0]);
+    String name = input.getFileName().toString();
+    Path output;
+    if (args.length == 2) {
+      output = Paths.get(args[1]);
+    }
+    else if (name.toLowerCase().endsWith(".bin")) {
+      output = input.resolveSibling(name.substring(0, name.length() - ".bin".length()) + ".xml");
+    }
+    else {
+      output = CompactModelImpl.binarySnapshotPath(input);
+    }
+    convert(input, output);
+  }
+}
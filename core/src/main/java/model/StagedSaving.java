@@ -0,0 +1,81 @@
+package model;
+
+import java.nio.file.Path;
+
+/**
+ * A model whose save can be split into steps, so the model data can be written out while other
+ * threads go on reading and changing the model. Staging the save fixes what is saved; writing it
+ * does the slow work, without touching the model; committing it makes it take effect. A
+ * {@link ConcurrentModel} stages and commits a save while holding its lock, but writes it with the
+ * lock released.
+ *
+ * <p>Closing the model data of a model that saves this way stages, writes and commits a save in
+ * turn. Only one save may be staged at a time.
+ */
+interface StagedSaving {
+
+  /**
+   * Fixes the model data as it is now as what is to be saved. Changes made to the model from then
+   * on are left for the next save.
+   * @return save of the model data as it is now, or null if there is nothing to save
+   * @throws IllegalStateException if another save is staged and not yet committed or aborted
+   */
+  Save stageSave();
+
+  /**
+   * A staged save, to be written, then either committed or aborted.
+   */
+  interface Save {
+
+    /**
+     * Writes the model data staged, without making it take effect. Makes no call to the model, so
+     * may be made while other threads use it.
+     * @throws IllegalStateException if the model data couldn't be written
+     */
+    void write();
+
+    /**
+     * Makes the model data written take effect, replacing what was last saved. Must be called by
+     * the thread that owns the model, once the model data is written.
+     * @throws IllegalStateException if the model data couldn't be put in place, in which case
+     *         what was last saved is left as it was
+     */
+    void commit();
+
+    /**
+     * Drops the model data staged, leaving it to be saved by the next save along with any change
+     * made since. Must be called by the thread that owns the model, if the save isn't committed.
+     */
+    void abort();
+
+    /**
+     * Returns the file written that becomes the model data file - or the manifest of model data
+     * stored in a directory - once this save is committed.
+     * @return file written in place of the model data file, or null if this save leaves it as it is
+     */
+    Path written();
+  }
+
+  /**
+   * Writes and commits the given save on the calling thread, aborting it if either fails.
+   * @param save save to make, may be null if there is nothing to save
+   * @throws IllegalStateException if the model data couldn't be written or put in place
+   */
+  static void saveNow(Save save) {
+    if (save == null) {
+      return;
+    }
+
+    boolean committed = false;
+    try {
+      save.write();
+      save.commit();
+      committed = true;
+    }
+    finally {
+      if (!committed) {
+        save.abort();
+      }
+    }
+  }
+}
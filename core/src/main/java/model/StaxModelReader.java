@@ -0,0 +1,247 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+
+/**
+ * Reads model data in the format of XMLData.xml into a {@link ModelStore}, streaming over the
+ * file with a StAX XMLStreamReader. Each Area and Event is turned straight into an AreaData or
+ * EventData as it is read, so no document of the whole file is ever built.
+ */
+final class StaxModelReader {
+
+  /**
+   * Factory for the XMLStreamReaders of this StaxModelReader, never resolves DTDs or external
+   * entities.
+   */
+  private final XMLInputFactory inputFactory;
+
+  /**
+   * Constructs a StaxModelReader.
+   */
+  StaxModelReader() {
+    inputFactory = XMLInputFactory.newInstance();
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+  }
+
+  /**
+   * Reads the model data from the given input, which is left open.
+   * @param input model data in the format of XMLData.xml
+   * @return ModelStore holding the read model data
+   * @throws IOException if the given input couldn't be read or isn't well formed model data
+   */
+  ModelStore read(InputStream input) throws IOException {
+    try {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+      try {
+        return readRoot(reader);
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException | RuntimeException e) {
+      throw new IOException("Model data isn't well formed!", e);
+    }
+  }
+
+  /**
+   * Reads a single Area Element, given as a document of its own, from the given input, which is
+   * left open.
+   * @param input a single Area Element in the format of XMLData.xml
+   * @return AreaRecord holding the read Area
+   * @throws IOException if the given input couldn't be read or isn't a well formed Area
+   */
+  AreaRecord readArea(InputStream input) throws IOException {
+    try {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+      try {
+        reader.nextTag();
+        return readArea(reader);
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException | RuntimeException e) {
+      throw new IOException("Area data isn't well formed!", e);
+    }
+  }
+
+  /**
+   * Reads only the ID to give the next Event of a single Area Element, given as a document of its
+   * own, from the given input, which is left open - without reading any of the Area's Events.
+   * @param input a single Area Element in the format of XMLData.xml
+   * @return ID to give the Area's next Event, or 0 if the Area Element doesn't hold it
+   * @throws IOException if the given input couldn't be read or doesn't start a well formed Area
+   */
+  int readNextEventID(InputStream input) throws IOException {
+    try {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+      try {
+        reader.nextTag();
+        reader.require(XMLStreamConstants.START_ELEMENT, null, "area");
+        String nextEventID = reader.getAttributeValue(null, IdAllocator.NEXT_ID);
+        return nextEventID == null ? 0 : Integer.parseInt(nextEventID);
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException | RuntimeException e) {
+      throw new IOException("Area data isn't well formed!", e);
+    }
+  }
+
+  /**
+   * Reads only the number of the save that wrote the manifest of model data stored with a file
+   * per Area (see {@link ShardDirectory}) from the given input, which is left open - without
+   * reading any of its Areas.
+   * @param input manifest in the format of XMLData.xml
+   * @return number of the save that wrote the manifest, or 0 if the manifest doesn't hold it
+   * @throws IOException if the given input couldn't be read or doesn't start a well formed root
+   */
+  int readGeneration(InputStream input) throws IOException {
+    try {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+      try {
+        reader.nextTag();
+        reader.require(XMLStreamConstants.START_ELEMENT, null, "root");
+        return readGeneration(reader);
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException | RuntimeException e) {
+      throw new IOException("Manifest isn't well formed!", e);
+    }
+  }
+
+  /**
+   * Reads the generation attribute of the Element the given reader is positioned on.
+   * @param reader reader positioned on the start of an Element
+   * @return value of the Element's generation attribute, or 0 if it has none
+   */
+  private static int readGeneration(XMLStreamReader reader) {
+    String generation = reader.getAttributeValue(null, ShardDirectory.GENERATION);
+    return generation == null ? 0 : Integer.parseInt(generation);
+  }
+
+  /**
+   * Reads the root Element of the model data and every Area inside it.
+   * @param reader reader positioned before the root Element
+   * @return ModelStore holding the read model data
+   * @throws XMLStreamException if the model data isn't well formed
+   */
+  private ModelStore readRoot(XMLStreamReader reader) throws XMLStreamException {
+    reader.nextTag();
+    reader.require(XMLStreamConstants.START_ELEMENT, null, "root");
+    String nextAreaID = reader.getAttributeValue(null, IdAllocator.NEXT_ID);
+
+    ModelStore store = new ModelStore();
+    store.generation = readGeneration(reader);
+    int maxAreaID = 0;
+    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      AreaRecord area = readArea(reader);
+      store.areas.put(area.data.getAreaId(), area);
+      maxAreaID = Math.max(maxAreaID, area.data.getAreaId());
+    }
+
+    // Files written before IDs were allocated through next-id start after the largest ID.
+    store.nextAreaID = nextAreaID == null ? maxAreaID + 1 : Integer.parseInt(nextAreaID);
+    return store;
+  }
+
+  /**
+   * Reads a single Area Element and all of its Events.
+   * @param reader reader positioned on the start of the Area Element
+   * @return AreaRecord holding the read Area
+   * @throws XMLStreamException if the Area isn't well formed
+   */
+  private AreaRecord readArea(XMLStreamReader reader) throws XMLStreamException {
+    reader.require(XMLStreamConstants.START_ELEMENT, null, "area");
+    int areaID = Integer.parseInt(reader.getAttributeValue(null, "id"));
+    String nextEventID = reader.getAttributeValue(null, IdAllocator.NEXT_ID);
+    int shardGeneration = readGeneration(reader);
+
+    String name = "";
+    String desp = "";
+    IntMap<EventData> events = new IntMap<>();
+    int maxEventID = 0;
+    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (reader.getLocalName()) {
+        case "name":
+          name = reader.getElementText();
+          break;
+        case "description":
+          desp = reader.getElementText();
+          break;
+        case "event":
+          EventData event = readEvent(reader, areaID);
+          events.put(event.getEventId(), event);
+          maxEventID = Math.max(maxEventID, event.getEventId());
+          break;
+        default:
+          throw new XMLStreamException("Unexpected element in an area: " + reader.getLocalName());
+      }
+    }
+
+    int nextID = nextEventID == null ? maxEventID + 1 : Integer.parseInt(nextEventID);
+    AreaRecord toReturn = new AreaRecord(new AreaDataImpl(areaID, name, desp), nextID, events);
+    toReturn.shardGeneration = shardGeneration;
+    return toReturn;
+  }
+
+  /**
+   * Reads a single Event Element.
+   * @param reader reader positioned on the start of the Event Element
+   * @param areaID ID of the Area the Event is associated with
+   * @return EventData holding the read Event
+   * @throws XMLStreamException if the Event isn't well formed
+   */
+  private EventData readEvent(XMLStreamReader reader, int areaID) throws XMLStreamException {
+    int eventID = Integer.parseInt(reader.getAttributeValue(null, "id"));
+
+    String name = "";
+    String desp = "";
+    String location = "";
+    LocalDateTime dateTime = null;
+    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (reader.getLocalName()) {
+        case "name":
+          name = reader.getElementText();
+          break;
+        case "description":
+          desp = reader.getElementText();
+          break;
+        case "location":
+          location = reader.getElementText();
+          break;
+        case "date-time":
+          dateTime = DateTimeCodec.decode(reader.getElementText());
+          break;
+        default:
+          throw new XMLStreamException("Unexpected element in an event: "
+              + reader.getLocalName());
+      }
+    }
+
+    if (dateTime == null) {
+      throw new XMLStreamException("Event " + eventID + " of area " + areaID
+          + " has no date-time!");
+    }
+    return new EventDataImpl(areaID, eventID, name, desp, location, dateTime);
+  }
+}
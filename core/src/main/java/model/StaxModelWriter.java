@@ -0,0 +1,232 @@
+package model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import datatransfer.AreaData;
+import datatransfer.EventData;
+
+/**
+ * Writes a {@link ModelStore} out in the format of XMLData.xml, streaming each Area and Event
+ * through a StAX XMLStreamWriter rather than building a document of the whole model data first.
+ * Output is compact, with no whitespace between Elements. The Events of Areas that were never
+ * loaded are copied as raw bytes from the file they would have been loaded from, without being
+ * parsed.
+ */
+final class StaxModelWriter {
+
+  /**
+   * Factory for the XMLStreamWriters of this StaxModelWriter.
+   */
+  private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+  /**
+   * Codec writing the date and time of each Event, without making a String of it.
+   */
+  private final DateTimeCodec dateTimeCodec = new DateTimeCodec();
+
+  /**
+   * Writes the given model data to the given output as UTF-8, which is flushed but left open.
+   * @param store model data to write
+   * @param output output to write to
+   * @return where the Events of each Area that wasn't loaded were copied to, keyed by the Area's
+   *         ID, as the offsets of their first byte and one past their last byte in the output
+   * @throws IOException if the model data couldn't be written
+   */
+  IntMap<long[]> write(ModelStore store, OutputStream output) throws IOException {
+    CountingOutputStream counted = new CountingOutputStream(output);
+    IntMap<long[]> copied = new IntMap<>();
+    try {
+      XMLStreamWriter writer = outputFactory.createXMLStreamWriter(counted, "UTF-8");
+      writeRootStart(store, writer);
+
+      for (AreaRecord area : store.areas.values()) {
+        writeArea(area, writer);
+        if (area.events == null) {
+          // Make sure the start of the Area has reached the output before copying after it.
+          writer.writeCharacters("");
+          writer.flush();
+          long start = counted.getCount();
+          store.eventLoader.copyEvents(area, counted);
+          copied.put(area.data.getAreaId(), new long[] {start, counted.getCount()});
+        }
+        else {
+          for (EventData event : area.events.values()) {
+            writeEvent(event, writer);
+          }
+        }
+        writer.writeEndElement();
+      }
+
+      writer.writeEndElement();
+      writer.writeEndDocument();
+      writer.close();
+    }
+    catch (XMLStreamException e) {
+      throw new IOException("Failed to write model data!", e);
+    }
+    counted.flush();
+    return copied;
+  }
+
+  /**
+   * Writes the manifest of model data stored with a file per Area (see {@link ShardDirectory}) to
+   * the given output as UTF-8, which is flushed but left open. The manifest is in the format of
+   * XMLData.xml, holding the ID, name and description of every Area but none of their Events,
+   * along with the number of the save writing it and of the save that wrote each Area's file.
+   * @param store model data whose Areas to write
+   * @param generation number of the save writing the manifest, which writes the file of every
+   *                   Area whose Events changed
+   * @param output output to write to
+   * @throws IOException if the manifest couldn't be written
+   */
+  void writeManifest(ModelStore store, int generation, OutputStream output) throws IOException {
+    try {
+      XMLStreamWriter writer = outputFactory.createXMLStreamWriter(output, "UTF-8");
+      writeRootStart(store, writer);
+      writer.writeAttribute(ShardDirectory.GENERATION, Integer.toString(generation));
+      for (AreaRecord area : store.areas.values()) {
+        writer.writeStartElement("area");
+        writer.writeAttribute("id", Integer.toString(area.data.getAreaId()));
+        writer.writeAttribute(ShardDirectory.GENERATION,
+            Integer.toString(area.eventsModified ? generation : area.shardGeneration));
+        writeTextElement("name", area.data.getAreaName(), writer);
+        writeTextElement("description", area.data.getAreaDescription(), writer);
+        writer.writeEndElement();
+      }
+      writer.writeEndElement();
+      writer.writeEndDocument();
+      writer.close();
+    }
+    catch (XMLStreamException e) {
+      throw new IOException("Failed to write manifest!", e);
+    }
+    output.flush();
+  }
+
+  /**
+   * Writes the file of a single Area of model data stored with a file per Area (see
+   * {@link ShardDirectory}) to the given output as UTF-8, which is flushed but left open. The file
+   * is a document of a single Area Element, holding the Area's ID, the ID to give its next Event,
+   * and its Events, but not its name or description, which are kept in the manifest - along with
+   * the number of the save writing it.
+   * @param area Area to write, with its Events loaded
+   * @param generation number of the save writing the file
+   * @param output output to write to
+   * @throws IOException if the Area couldn't be written
+   */
+  void writeShard(AreaRecord area, int generation, OutputStream output) throws IOException {
+    try {
+      XMLStreamWriter writer = outputFactory.createXMLStreamWriter(output, "UTF-8");
+      writer.writeStartDocument("UTF-8", "1.0");
+      writer.writeStartElement("area");
+      writer.writeAttribute("id", Integer.toString(area.data.getAreaId()));
+      writer.writeAttribute(IdAllocator.NEXT_ID, Integer.toString(area.nextEventID));
+      writer.writeAttribute(ShardDirectory.GENERATION, Integer.toString(generation));
+      for (EventData event : area.events.values()) {
+        writeEvent(event, writer);
+      }
+      writer.writeEndElement();
+      writer.writeEndDocument();
+      writer.close();
+    }
+    catch (XMLStreamException e) {
+      throw new IOException("Failed to write area data!", e);
+    }
+    output.flush();
+  }
+
+  /**
+   * Writes the given Events to the given output as UTF-8, which is flushed but left open, as they
+   * would be written inside their Area Element - with no XML declaration or enclosing Element.
+   * @param events Events to write
+   * @param output output to write to
+   * @throws IOException if the Events couldn't be written
+   */
+  void writeEvents(Iterable<EventData> events, OutputStream output) throws IOException {
+    try {
+      XMLStreamWriter writer = outputFactory.createXMLStreamWriter(output, "UTF-8");
+      for (EventData event : events) {
+        writeEvent(event, writer);
+      }
+      writer.close();
+    }
+    catch (XMLStreamException e) {
+      throw new IOException("Failed to write events!", e);
+    }
+    output.flush();
+  }
+
+  /**
+   * Writes the XML declaration and the start of the root Element of the given model data, up to
+   * where its Areas begin.
+   * @param store model data to write
+   * @param writer writer to write to
+   * @throws XMLStreamException if the root Element couldn't be written
+   */
+  private void writeRootStart(ModelStore store, XMLStreamWriter writer)
+      throws XMLStreamException {
+    writer.writeStartDocument("UTF-8", "1.0");
+    writer.writeStartElement("root");
+    writer.writeNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+    writer.writeAttribute("xsi", "http://www.w3.org/2001/XMLSchema-instance",
+        "noNamespaceSchemaLocation", "XMLDataSchema.xml");
+    writer.writeAttribute(IdAllocator.NEXT_ID, Integer.toString(store.nextAreaID));
+  }
+
+  /**
+   * Writes the start of a single Area, up to where its Events begin.
+   * @param area Area to write
+   * @param writer writer to write to
+   * @throws XMLStreamException if the Area couldn't be written
+   */
+  private void writeArea(AreaRecord area, XMLStreamWriter writer) throws XMLStreamException {
+    AreaData data = area.data;
+    writer.writeStartElement("area");
+    writer.writeAttribute("id", Integer.toString(data.getAreaId()));
+    writer.writeAttribute(IdAllocator.NEXT_ID, Integer.toString(area.nextEventID));
+    writeTextElement("name", data.getAreaName(), writer);
+    writeTextElement("description", data.getAreaDescription(), writer);
+  }
+
+  /**
+   * Writes a single Event.
+   * @param event Event to write
+   * @param writer writer to write to
+   * @throws XMLStreamException if the Event couldn't be written
+   */
+  private void writeEvent(EventData event, XMLStreamWriter writer) throws XMLStreamException {
+    writer.writeStartElement("event");
+    writer.writeAttribute("id", Integer.toString(event.getEventId()));
+    writeTextElement("name", event.getEventName(), writer);
+    writeTextElement("description", event.getEventDescription(), writer);
+    writer.writeStartElement("date-time");
+    writer.writeCharacters(dateTimeCodec.encode(event.getEventDateAndTime()), 0,
+        DateTimeCodec.LENGTH);
+    writer.writeEndElement();
+    writeTextElement("location", event.getEventLocation(), writer);
+    writer.writeEndElement();
+  }
+
+  /**
+   * Writes an Element holding only the given text.
+   * @param name name of the Element
+   * @param text text of the Element
+   * @param writer writer to write to
+   * @throws XMLStreamException if the Element couldn't be written
+   */
+  private void writeTextElement(String name, String text, XMLStreamWriter writer)
+      throws XMLStreamException {
+    if (text.isEmpty()) {
+      writer.writeEmptyElement(name);
+    }
+    else {
+      writer.writeStartElement(name);
+      writer.writeCharacters(text);
+      writer.writeEndElement();
+    }
+  }
+}
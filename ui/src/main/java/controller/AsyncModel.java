@@ -0,0 +1,187 @@
+package controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javafx.application.Platform;
+import model.ModelChangeListener;
+import model.ModelInterface;
+
+/**
+ * Asynchronous facade of a model, so reading and writing its model data never blocks the JavaFX
+ * application thread. Every call to the model is run on a single thread dedicated to it, one at a
+ * time and in the order they were made, and its result is handed back on the application thread.
+ *
+ * <p>Calls are meant to be made from the application thread, which is also the only thread
+ * results, failures, and model changes are handed to.
+ */
+public class AsyncModel {
+
+  /**
+   * The model every call is made to.
+   */
+  private final ModelInterface model;
+
+  /**
+   * Thread every call to the model is run on.
+   */
+  private final ExecutorService modelExecutor;
+
+  /**
+   * Runs the handing back of results on the application thread.
+   */
+  private final Executor uiExecutor;
+
+  /**
+   * Number of calls made that haven't yet had their results handed back.
+   */
+  private int pending;
+
+  /**
+   * Told whenever the model starts or stops being busy with calls.
+   */
+  private Consumer<Boolean> loadingListener = loading -> { };
+
+  /**
+   * Constructs an AsyncModel of the given model, handing results back on the JavaFX application
+   * thread.
+   * @param model model to make calls to
+   * @throws IllegalArgumentException if given model is null
+   */
+  public AsyncModel(ModelInterface model) {
+    this(model, Platform::runLater);
+  }
+
+  /**
+   * Constructs an AsyncModel of the given model, handing results back through the given executor.
+   * @param model model to make calls to
+   * @param uiExecutor executor running the handing back of results on the application thread
+   * @throws IllegalArgumentException if either given model or executor is null
+   */
+  public AsyncModel(ModelInterface model, Executor uiExecutor) {
+    if (model == null) {
+      throw new IllegalArgumentException("Given model must be non-null!");
+    }
+    else if (uiExecutor == null) {
+      throw new IllegalArgumentException("Given executor must be non-null!");
+    }
+
+    this.model = model;
+    this.uiExecutor = uiExecutor;
+    // Not a daemon thread, so model data still being saved when the application exits is saved
+    // in full.
+    modelExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "model"));
+  }
+
+  /**
+   * Makes a call to the model returning some data, such as a list of its Areas.
+   * @param query call to make to the model
+   * @param <T> type of data returned
+   * @return future completed on the application thread with the data returned, or exceptionally
+   *         with whatever the call threw
+   * @throws IllegalArgumentException if given call is null
+   */
+  public <T> CompletableFuture<T> submit(Function<ModelInterface, T> query) {
+    if (query == null) {
+      throw new IllegalArgumentException("Given call can't be null!");
+    }
+
+    CompletableFuture<T> toReturn = new CompletableFuture<>();
+    callStarted();
+    modelExecutor.execute(() -> {
+      try {
+        T result = query.apply(model);
+        uiExecutor.execute(() -> {
+          callFinished();
+          toReturn.complete(result);
+        });
+      }
+      catch (RuntimeException e) {
+        uiExecutor.execute(() -> {
+          callFinished();
+          toReturn.completeExceptionally(e);
+          // Report the failure just as if the call had been made on the application thread.
+          Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        });
+      }
+    });
+    return toReturn;
+  }
+
+  /**
+   * Makes a call to the model returning nothing, such as adding an Area.
+   * @param command call to make to the model
+   * @return future completed on the application thread once the call has been made, or
+   *         exceptionally with whatever the call threw
+   * @throws IllegalArgumentException if given call is null
+   */
+  public CompletableFuture<Void> run(Consumer<ModelInterface> command) {
+    if (command == null) {
+      throw new IllegalArgumentException("Given call can't be null!");
+    }
+
+    return submit(model -> {
+      command.accept(model);
+      return null;
+    });
+  }
+
+  /**
+   * Adds a listener to be notified of every change made to the model, on the application thread.
+   * @param listener listener to add
+   * @throws IllegalArgumentException if given listener is null
+   */
+  public void addModelChangeListener(ModelChangeListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Given listener can't be null!");
+    }
+    model.addModelChangeListener(change -> uiExecutor.execute(() -> listener.modelChanged(change)));
+  }
+
+  /**
+   * Sets the listener told whenever the model starts being busy with calls, with true, and stops
+   * being busy with them, with false.
+   * @param listener listener to set
+   * @throws IllegalArgumentException if given listener is null
+   */
+  public void setLoadingListener(Consumer<Boolean> listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Given listener can't be null!");
+    }
+    loadingListener = listener;
+    listener.accept(pending > 0);
+  }
+
+  /**
+   * Closes the model once every call already made has been, then stops the thread calls are made
+   * on. Nothing is handed back to the application thread, so this may be called as the
+   * application exits.
+   */
+  public void close() {
+    modelExecutor.execute(model::closeModelData);
+    modelExecutor.shutdown();
+  }
+
+  /**
+   * Records that a call was made, telling the loading listener if the model was idle.
+   */
+  private void callStarted() {
+    if (pending++ == 0) {
+      loadingListener.accept(true);
+    }
+  }
+
+  /**
+   * Records that a call's result was handed back, telling the loading listener if the model is
+   * now idle.
+   */
+  private void callFinished() {
+    if (--pending == 0) {
+      loadingListener.accept(false);
+    }
+  }
+}
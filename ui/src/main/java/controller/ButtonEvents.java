@@ -10,5 +10,6 @@ public enum ButtonEvents {
   DELETE_AREA,
   NEW_EVENT,
   EDIT_EVENT,
-  DELETE_EVENT
+  DELETE_EVENT,
+  SEARCH
 }
@@ -8,6 +8,7 @@ import datatransfer.EventData;
 import datatransfer.EventDataImpl;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,15 +42,21 @@ public class Controller {
   private final ViewInterface view;
 
   /**
-   * The specific Model this Controller is given to work with.
+   * The specific Model this Controller is given to work with, called off the JavaFX application
+   * thread.
    */
-  private final ModelInterface model;
+  private final AsyncModel model;
 
   /**
    * Constant padding value for borders of event handler windows.
    */
   private final int paddingValue;
 
+  /**
+   * Most Events shown as the results of a search.
+   */
+  private final int maxSearchResults;
+
   /**
    * Constructs this Controller from a given View and Model to work with and provide interface
    * between.
@@ -57,7 +64,7 @@ public class Controller {
    * @param model model to draw data from and save data to
    * @throws IllegalArgumentException if either given Model or View are null
    */
-  public Controller(ViewInterface view, ModelInterface model) {
+  public Controller(ViewInterface view, AsyncModel model) {
     if (view == null) {
       throw new IllegalArgumentException("Given view must be non-null!");
     }
@@ -68,8 +75,12 @@ public class Controller {
     this.model = model;
     this.view = view;
     paddingValue = 5;
+    maxSearchResults = 50;
     assignMappings();
-    view.receiveAreas(model.outputAreas());
+    model.setLoadingListener(view::setLoading);
+    model.submit(ModelInterface::outputAreas).thenAccept(view::receiveAreas);
+    // From now on, only send the View what changes rather than all of the model's data again.
+    model.addModelChangeListener(view::receiveChange);
   }
 
 
@@ -85,6 +96,7 @@ public class Controller {
     mapping.put(ButtonEvents.EDIT_EVENT, new EditEvent());
     mapping.put(ButtonEvents.DELETE_EVENT, new DeleteEvent());
     mapping.put(ButtonEvents.DISPLAY, new DisplayEvent());
+    mapping.put(ButtonEvents.SEARCH, new Search());
     view.assignButtonEvents(mapping);
   }
 
@@ -124,8 +136,7 @@ public class Controller {
       submit.setOnAction(event12 -> {
         addAreaWindow.close();
         AreaData toSend = new AreaDataImpl(0, nameField.getText(), despField.getText());
-        model.addArea(toSend);
-        view.receiveAreas(model.outputAreas());
+        model.run(model -> model.addArea(toSend));
       });
 
       cancel.setOnAction(event1 -> addAreaWindow.close());
@@ -227,9 +238,8 @@ public class Controller {
         addEventWindow.initModality(Modality.APPLICATION_MODAL);
 
         submit.setOnAction(event12 -> {
-          // Closes the window, sends the information the user entered to the model as a new
-          // EventData, then resends a request to the model for the Events associated with the
-          // currently selected / displayed Area.
+          // Closes the window, then sends the information the user entered to the model as a new
+          // EventData. The model sends the View the new Event to display.
           addEventWindow.close();
 
           LocalDate dateInfo = datePicker.getValue();
@@ -244,8 +254,7 @@ public class Controller {
 
           EventData toSend = new EventDataImpl(view.getSelectedAreaID(), 0, nameField.getText(),
               despField.getText(), locationField.getText(), dateTime);
-          model.addEvent(toSend);
-          view.receiveEvents(model.outputEvents(view.getSelectedAreaID()));
+          model.run(model -> model.addEvent(toSend));
         });
 
         cancel.setOnAction(event1 -> {
@@ -268,57 +277,61 @@ public class Controller {
     public void handle(ActionEvent actionEvent) {
       // Can't edit an Area unless an Area is actually being displayed / is selected.
       if (view.getSelectedAreaID() > 0) {
-        AreaData toEdit = model.getAreaData(view.getSelectedAreaID());
+        int areaID = view.getSelectedAreaID();
+        model.submit(model -> model.getAreaData(areaID)).thenAccept(this::showWindow);
+      }
+    }
 
-        GridPane newAreaWindowRoot = new GridPane();
+    /**
+     * Displays the window to edit the given Area in.
+     * @param toEdit Area to edit
+     */
+    private void showWindow(AreaData toEdit) {
+      GridPane newAreaWindowRoot = new GridPane();
 
-        // Displays the name field of the current Area for the user to make changes to.
-        Label nameLabel = new Label("Edit Area Name:");
-        newAreaWindowRoot.add(nameLabel, 0, 0);
+      // Displays the name field of the current Area for the user to make changes to.
+      Label nameLabel = new Label("Edit Area Name:");
+      newAreaWindowRoot.add(nameLabel, 0, 0);
 
-        TextField nameField = new TextField(toEdit.getAreaName());
-        newAreaWindowRoot.add(nameField, 1, 0);
+      TextField nameField = new TextField(toEdit.getAreaName());
+      newAreaWindowRoot.add(nameField, 1, 0);
 
-        // Displays the description field of the current Area for the user to make changes to.
-        Label despLabel = new Label("Edit Area Description:");
-        newAreaWindowRoot.add(despLabel, 0, 1);
-        TextField despField = new TextField(toEdit.getAreaDescription());
-        newAreaWindowRoot.add(despField, 1, 1);
+      // Displays the description field of the current Area for the user to make changes to.
+      Label despLabel = new Label("Edit Area Description:");
+      newAreaWindowRoot.add(despLabel, 0, 1);
+      TextField despField = new TextField(toEdit.getAreaDescription());
+      newAreaWindowRoot.add(despField, 1, 1);
 
-        // Button for if the user wishes to finalize the edits they made.
-        Button submit = new Button("Submit");
-        newAreaWindowRoot.add(submit, 2, 0);
+      // Button for if the user wishes to finalize the edits they made.
+      Button submit = new Button("Submit");
+      newAreaWindowRoot.add(submit, 2, 0);
 
-        //Button for if the users to cancel making any changes.
-        Button cancel = new Button("Cancel");
-        newAreaWindowRoot.add(cancel, 2, 1);
+      //Button for if the users to cancel making any changes.
+      Button cancel = new Button("Cancel");
+      newAreaWindowRoot.add(cancel, 2, 1);
 
-        Scene newAreaWindowScene = new Scene(newAreaWindowRoot);
-        Stage addAreaWindow = new Stage();
-        addAreaWindow.setScene(newAreaWindowScene);
-        addAreaWindow.setTitle("Edit Current Area");
-        addAreaWindow.initModality(Modality.APPLICATION_MODAL);
+      Scene newAreaWindowScene = new Scene(newAreaWindowRoot);
+      Stage addAreaWindow = new Stage();
+      addAreaWindow.setScene(newAreaWindowScene);
+      addAreaWindow.setTitle("Edit Current Area");
+      addAreaWindow.initModality(Modality.APPLICATION_MODAL);
 
-        submit.setOnAction(event12 -> {
-          // Closes the window, grabs the text the user entered into the fields and sends those
-          // changes to the model, then sends a request again to the model to display all its Areas.
-          // Any changes made should be displayed in the new batch of Areas.
-          addAreaWindow.close();
-          AreaData toSend = new AreaDataImpl(toEdit.getAreaId(), nameField.getText(),
-              despField.getText());
-          model.editArea(toSend);
-          view.resetAreaDisplay();
-          view.receiveAreas(model.outputAreas());
-        });
+      submit.setOnAction(event12 -> {
+        // Closes the window, grabs the text the user entered into the fields and sends those
+        // changes to the model. The model sends the View the edited Area to display.
+        addAreaWindow.close();
+        AreaData toSend = new AreaDataImpl(toEdit.getAreaId(), nameField.getText(),
+            despField.getText());
+        model.run(model -> model.editArea(toSend));
+      });
 
-        cancel.setOnAction(event1 -> {
-          // Closes the window.
-          addAreaWindow.close();
-        });
+      cancel.setOnAction(event1 -> {
+        // Closes the window.
+        addAreaWindow.close();
+      });
 
-        // Displays the window.
-        addAreaWindow.show();
-      }
+      // Displays the window.
+      addAreaWindow.show();
     }
   }
 
@@ -348,14 +361,12 @@ public class Controller {
         window.initModality(Modality.APPLICATION_MODAL);
 
         delete.setOnAction(event1 -> {
-          // Closes the window, sends a request to the model to delete the currently selected /
-          // displayed Area, resets the displayID to 0, then sends another request to the model to
-          // display all its Areas. The just deleted Area should no longer be included in the new
-          // batch of Areas.
+          // Closes the window, then sends a request to the model to delete the currently
+          // selected / displayed Area. The model sends the View the deleted Area, which the View
+          // stops displaying along with its Events.
           window.close();
-          model.deleteArea(view.getSelectedAreaID());
-          view.resetAreaDisplay();
-          view.receiveAreas(model.outputAreas());
+          int areaID = view.getSelectedAreaID();
+          model.run(model -> model.deleteArea(areaID));
         });
 
         cancel.setOnAction(event1 -> {
@@ -375,8 +386,16 @@ public class Controller {
 
     @Override
     public void handle(ActionEvent actionEvent) {
-      EventData toEdit = model.getEventData(view.getSelectedAreaID(), view.getSelectedEventID());
+      int areaID = view.getSelectedAreaID();
+      int eventID = view.getSelectedEventID();
+      model.submit(model -> model.getEventData(areaID, eventID)).thenAccept(this::showWindow);
+    }
 
+    /**
+     * Displays the window to edit the given Event in.
+     * @param toEdit Event to edit
+     */
+    private void showWindow(EventData toEdit) {
       GridPane windowRoot = new GridPane();
 
       Label nameLabel = new Label("Edit Event Name:");
@@ -473,10 +492,9 @@ public class Controller {
 
         LocalDateTime dateTime = dateInfo.atTime(newHour, newMinute);
 
-        EventData toSend = new EventDataImpl(view.getSelectedAreaID(), toEdit.getEventId(),
+        EventData toSend = new EventDataImpl(toEdit.getAssociatedAreaId(), toEdit.getEventId(),
             nameField.getText(), despField.getText(), locationField.getText(), dateTime);
-        model.editEvent(toSend);
-        view.receiveEvents(model.outputEvents(view.getSelectedAreaID()));
+        model.run(model -> model.editEvent(toSend));
       });
 
       cancel.setOnAction(event13 -> {
@@ -509,8 +527,9 @@ public class Controller {
       window.setScene(windowScene);
 
       delete.setOnAction(event2 -> {
-        model.deleteEvent(view.getSelectedAreaID(), view.getSelectedEventID());
-        view.receiveEvents(model.outputEvents(view.getSelectedAreaID()));
+        int areaID = view.getSelectedAreaID();
+        int eventID = view.getSelectedEventID();
+        model.run(model -> model.deleteEvent(areaID, eventID));
         window.close();
       });
 
@@ -534,11 +553,48 @@ public class Controller {
     public void handle(ActionEvent actionEvent) {
       int currentAreaID = view.getSelectedAreaID();
 
-      // Send a request to the model for Event's associated with the Area that was just clicked.
-      List<EventData> eventsToDisplay = model.outputEvents(currentAreaID);
+      // Send a request to the model for Event's associated with the Area that was just clicked,
+      // then display the received events - unless another Area was selected in the meantime.
+      model.submit(model -> model.outputEvents(currentAreaID)).thenAccept(eventsToDisplay -> {
+        if (view.getSelectedAreaID() == currentAreaID) {
+          view.receiveEvents(eventsToDisplay);
+        }
+      });
+    }
+  }
+
+  /**
+   * Action event handling the searching of the Events of every Area for the query entered in the
+   * View, as it is typed.
+   */
+  class Search implements EventHandler<ActionEvent> {
 
-      // Display the received events.
-      view.receiveEvents(eventsToDisplay);
+    @Override
+    public void handle(ActionEvent actionEvent) {
+      String query = view.getSearchQuery();
+
+      // Once the query is cleared, go back to displaying the Events of the selected Area, if any.
+      if (query.isBlank()) {
+        int currentAreaID = view.getSelectedAreaID();
+        if (currentAreaID > 0) {
+          model.submit(model -> model.outputEvents(currentAreaID)).thenAccept(events -> {
+            if (view.getSelectedAreaID() == currentAreaID && view.getSearchQuery().isBlank()) {
+              view.receiveEvents(events);
+            }
+          });
+        }
+        else {
+          view.receiveEvents(new ArrayList<>());
+        }
+      }
+      else {
+        // Skip the results of a query that has already been typed past.
+        model.submit(model -> model.searchEvents(query, maxSearchResults)).thenAccept(results -> {
+          if (query.equals(view.getSearchQuery())) {
+            view.receiveSearchResults(results);
+          }
+        });
+      }
     }
   }
 }
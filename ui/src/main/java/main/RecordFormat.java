@@ -0,0 +1,498 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import datatransfer.EventData;
+
+/**
+ * Formats Events are imported from and exported in by {@link RunBatch}, one Event to a record.
+ * Each record has the fields named by {@link #FIELDS}: the Area of the Event, by ID or by name,
+ * and the Event's name, description, location, and date and time in ISO format (e.g.
+ * 2020-01-31T14:30). Records are read one at a time, so inputs of any size can be streamed.
+ */
+enum RecordFormat {
+
+  /**
+   * Comma separated values, with a header line naming the fields in the order they appear.
+   * Fields containing commas, quotes or line breaks are quoted, with quotes inside doubled.
+   */
+  CSV {
+    @Override
+    RecordReader reader(BufferedReader input) throws IOException {
+      return new CsvReader(input);
+    }
+
+    @Override
+    void writeHeader(Appendable output) throws IOException {
+      output.append(String.join(",", FIELDS)).append('\n');
+    }
+
+    @Override
+    void write(EventData event, Appendable output) throws IOException {
+      String[] values = fieldValues(event);
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          output.append(',');
+        }
+        String value = values[i];
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+            && value.indexOf('\r') < 0) {
+          output.append(value);
+        }
+        else {
+          output.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+      }
+      output.append('\n');
+    }
+  },
+
+  /**
+   * JSON lines: a JSON object on each line, with a member for each field. The area may be given
+   * as a number or a string; every other field is a string. Blank lines are skipped.
+   */
+  JSONL {
+    @Override
+    RecordReader reader(BufferedReader input) {
+      return new JsonLinesReader(input);
+    }
+
+    @Override
+    void writeHeader(Appendable output) {
+      // JSON lines have no header.
+    }
+
+    @Override
+    void write(EventData event, Appendable output) throws IOException {
+      String[] values = fieldValues(event);
+      output.append("{\"").append(FIELDS.get(0)).append("\":").append(values[0]);
+      for (int i = 1; i < values.length; i++) {
+        output.append(",\"").append(FIELDS.get(i)).append("\":");
+        writeJsonString(values[i], output);
+      }
+      output.append("}\n");
+    }
+  };
+
+  /**
+   * Names of the fields of a record, in the order they are written.
+   */
+  static final List<String> FIELDS = List.of("area", "name", "description", "location",
+      "dateTime");
+
+  /**
+   * Returns a reader of the records of the given input in this format.
+   * @param input input to read records from
+   * @return reader of the records of the input
+   * @throws IOException if the input couldn't be read
+   */
+  abstract RecordReader reader(BufferedReader input) throws IOException;
+
+  /**
+   * Writes whatever comes before the first record in this format.
+   * @param output output to write to
+   * @throws IOException if the output couldn't be written
+   */
+  abstract void writeHeader(Appendable output) throws IOException;
+
+  /**
+   * Writes the given Event as a single record in this format, with its Area given by ID.
+   * @param event Event to write
+   * @param output output to write to
+   * @throws IOException if the output couldn't be written
+   */
+  abstract void write(EventData event, Appendable output) throws IOException;
+
+  /**
+   * Returns the format of the given file name, by its extension.
+   * @param fileName name of a file of records
+   * @return format of the file, JSONL for names ending in ".jsonl" or ".json", CSV otherwise
+   */
+  static RecordFormat ofFileName(String fileName) {
+    String lowerCase = fileName.toLowerCase();
+    return lowerCase.endsWith(".jsonl") || lowerCase.endsWith(".json") ? JSONL : CSV;
+  }
+
+  /**
+   * Returns the values of the fields of a record of the given Event, in the order of
+   * {@link #FIELDS}.
+   * @param event Event to get the values of
+   * @return values of the Event's fields
+   */
+  private static String[] fieldValues(EventData event) {
+    return new String[] {Integer.toString(event.getAssociatedAreaId()), event.getEventName(),
+        event.getEventDescription(), event.getEventLocation(),
+        event.getEventDateAndTime().toString()};
+  }
+
+  /**
+   * Writes the given String as a JSON string, escaping quotes, backslashes and control
+   * characters.
+   * @param value String to write
+   * @param output output to write to
+   * @throws IOException if the output couldn't be written
+   */
+  private static void writeJsonString(String value, Appendable output) throws IOException {
+    output.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          output.append("\\\"");
+          break;
+        case '\\':
+          output.append("\\\\");
+          break;
+        case '\n':
+          output.append("\\n");
+          break;
+        case '\r':
+          output.append("\\r");
+          break;
+        case '\t':
+          output.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            output.append(String.format("\\u%04x", (int) c));
+          }
+          else {
+            output.append(c);
+          }
+      }
+    }
+    output.append('"');
+  }
+
+  /**
+   * Reads records one at a time from an input.
+   */
+  abstract static class RecordReader {
+
+    /**
+     * The input records are read from.
+     */
+    final BufferedReader input;
+
+    /**
+     * Number of the line of the input the last record read started on.
+     */
+    int lineNumber;
+
+    /**
+     * Constructs a RecordReader of the given input.
+     * @param input input to read records from
+     */
+    RecordReader(BufferedReader input) {
+      this.input = input;
+    }
+
+    /**
+     * Reads the next record, as the values of its fields by field name. Fields missing from the
+     * record are missing from the map.
+     * @return fields of the next record, or null if the input has no more records
+     * @throws IOException if the input couldn't be read
+     * @throws IllegalArgumentException if the record isn't well formed
+     */
+    abstract Map<String, String> next() throws IOException;
+
+    /**
+     * Returns the number of the line of the input the last record read started on, from 1.
+     * @return line number of the last record read
+     */
+    int getLineNumber() {
+      return lineNumber;
+    }
+  }
+
+  /**
+   * Reads records of comma separated values, named by the header line of the input.
+   */
+  private static final class CsvReader extends RecordReader {
+
+    /**
+     * Names of the fields, in the order they appear in each record.
+     */
+    private final List<String> header;
+
+    /**
+     * Number of the line of the input the next character read is on.
+     */
+    private int currentLine = 1;
+
+    /**
+     * Constructs a CsvReader of the given input, reading its header line.
+     * @param input input to read records from
+     * @throws IOException if the input couldn't be read
+     * @throws IllegalArgumentException if the input has no header line
+     */
+    CsvReader(BufferedReader input) throws IOException {
+      super(input);
+      header = readRow();
+      if (header == null) {
+        throw new IllegalArgumentException("Given CSV input has no header line!");
+      }
+      for (int i = 0; i < header.size(); i++) {
+        header.set(i, header.get(i).trim());
+      }
+    }
+
+    @Override
+    Map<String, String> next() throws IOException {
+      List<String> row = readRow();
+      while (row != null && row.size() == 1 && row.get(0).isEmpty()) {
+        row = readRow();
+      }
+      if (row == null) {
+        return null;
+      }
+      else if (row.size() != header.size()) {
+        throw new IllegalArgumentException("Record has " + row.size() + " fields, but the header "
+            + "names " + header.size() + "!");
+      }
+
+      Map<String, String> toReturn = new HashMap<>();
+      for (int i = 0; i < row.size(); i++) {
+        toReturn.put(header.get(i), row.get(i));
+      }
+      return toReturn;
+    }
+
+    /**
+     * Reads the fields of the next row, which may span several lines if a quoted field has line
+     * breaks in it.
+     * @return fields of the next row, or null at the end of the input
+     * @throws IOException if the input couldn't be read
+     * @throws IllegalArgumentException if a quoted field is never closed
+     */
+    private List<String> readRow() throws IOException {
+      int c = input.read();
+      if (c < 0) {
+        return null;
+      }
+      lineNumber = currentLine;
+
+      List<String> row = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      while (true) {
+        if (quoted) {
+          if (c < 0) {
+            throw new IllegalArgumentException("Quoted field is never closed!");
+          }
+          else if (c == '"') {
+            input.mark(1);
+            if (input.read() == '"') {
+              field.append('"');
+            }
+            else {
+              input.reset();
+              quoted = false;
+            }
+          }
+          else {
+            if (c == '\n') {
+              currentLine++;
+            }
+            field.append((char) c);
+          }
+        }
+        else if (c == '"' && field.length() == 0) {
+          quoted = true;
+        }
+        else if (c == ',') {
+          row.add(field.toString());
+          field.setLength(0);
+        }
+        else if (c < 0 || c == '\n' || c == '\r') {
+          if (c == '\r') {
+            input.mark(1);
+            if (input.read() != '\n') {
+              input.reset();
+            }
+          }
+          if (c >= 0) {
+            currentLine++;
+          }
+          row.add(field.toString());
+          return row;
+        }
+        else {
+          field.append((char) c);
+        }
+        c = input.read();
+      }
+    }
+  }
+
+  /**
+   * Reads records of a JSON object on each line. Only objects whose members are strings,
+   * numbers, booleans or null are read, which is all a record needs.
+   */
+  private static final class JsonLinesReader extends RecordReader {
+
+    /**
+     * The line being parsed.
+     */
+    private String line;
+
+    /**
+     * Index of the next character of the line to parse.
+     */
+    private int position;
+
+    /**
+     * Constructs a JsonLinesReader of the given input.
+     * @param input input to read records from
+     */
+    JsonLinesReader(BufferedReader input) {
+      super(input);
+    }
+
+    @Override
+    Map<String, String> next() throws IOException {
+      do {
+        line = input.readLine();
+        if (line == null) {
+          return null;
+        }
+        lineNumber++;
+      } while (line.isBlank());
+      position = 0;
+
+      Map<String, String> toReturn = new HashMap<>();
+      expect('{');
+      if (peek() == '}') {
+        position++;
+      }
+      else {
+        char separator;
+        do {
+          String name = readString();
+          expect(':');
+          toReturn.put(name, readValue());
+          separator = peek();
+          position++;
+        } while (separator == ',');
+        if (separator != '}') {
+          throw new IllegalArgumentException("Expected , or } at column " + position + "!");
+        }
+      }
+      if (peek() != 0) {
+        throw new IllegalArgumentException("Unexpected text after the object at column "
+            + (position + 1) + "!");
+      }
+      return toReturn;
+    }
+
+    /**
+     * Skips whitespace, returning the next character without consuming it.
+     * @return next character that isn't whitespace, or 0 at the end of the line
+     */
+    private char peek() {
+      while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+        position++;
+      }
+      return position < line.length() ? line.charAt(position) : 0;
+    }
+
+    /**
+     * Skips whitespace, then consumes the given character.
+     * @param expected character that must come next
+     * @throws IllegalArgumentException if a different character comes next
+     */
+    private void expect(char expected) {
+      if (peek() != expected) {
+        throw new IllegalArgumentException("Expected " + expected + " at column "
+            + (position + 1) + "!");
+      }
+      position++;
+    }
+
+    /**
+     * Reads a member value, giving numbers and booleans as they are written, and null as null.
+     * @return the value read
+     * @throws IllegalArgumentException if no value of a supported kind comes next
+     */
+    private String readValue() {
+      char c = peek();
+      if (c == '"') {
+        return readString();
+      }
+      else if (c == '{' || c == '[' || c == 0) {
+        throw new IllegalArgumentException("Expected a string, number, boolean or null at column "
+            + (position + 1) + "!");
+      }
+
+      int start = position;
+      while (position < line.length() && ",}".indexOf(line.charAt(position)) < 0
+          && !Character.isWhitespace(line.charAt(position))) {
+        position++;
+      }
+      String value = line.substring(start, position);
+      return value.equals("null") ? null : value;
+    }
+
+    /**
+     * Reads a string, decoding its escapes.
+     * @return the string read
+     * @throws IllegalArgumentException if no well formed string comes next
+     */
+    private String readString() {
+      expect('"');
+      StringBuilder toReturn = new StringBuilder();
+      while (position < line.length()) {
+        char c = line.charAt(position++);
+        if (c == '"') {
+          return toReturn.toString();
+        }
+        else if (c != '\\') {
+          toReturn.append(c);
+        }
+        else if (position < line.length()) {
+          char escaped = line.charAt(position++);
+          switch (escaped) {
+            case 'b':
+              toReturn.append('\b');
+              break;
+            case 'f':
+              toReturn.append('\f');
+              break;
+            case 'n':
+              toReturn.append('\n');
+              break;
+            case 'r':
+              toReturn.append('\r');
+              break;
+            case 't':
+              toReturn.append('\t');
+              break;
+            case 'u':
+              if (position + 4 > line.length()) {
+                throw new IllegalArgumentException("Unfinished \\u escape at column "
+                    + position + "!");
+              }
+              try {
+                toReturn.append((char) Integer.parseInt(line.substring(position, position + 4),
+                    16));
+              }
+              catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed \\u escape at column " + position
+                    + "!");
+              }
+              position += 4;
+              break;
+            default:
+              toReturn.append(escaped);
+          }
+        }
+      }
+      throw new IllegalArgumentException("String is never closed!");
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package main;
+
+import controller.AsyncModel;
+import controller.Controller;
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import model.AutosaveScheduler;
+import model.CompactModelImpl;
+import model.ConcurrentModel;
+import model.JournaledModel;
+import model.ModelInterface;
+import view.ViewImpl;
+import view.ViewInterface;
+
+/**
+ * Starts up this ApplicationManager.
+ */
+public class RunApplicationManager extends Application {
+
+  AsyncModel model;
+
+  AutosaveScheduler autosave;
+
+  ViewInterface view;
+
+  /**
+   * Starts up this ApplicationManager with the proper configurations (if any).
+   * @param args configurations to start this program up with; the first, if given, is the path of
+   *        the model data file to open instead of data/XMLData.xml
+   */
+  public static void main(String[] args) {
+    launch(args);
+  }
+
+  @Override
+  public void start(Stage primaryStage) {
+    // The model data file given on the command line, or the one kept in the ui module otherwise.
+    List<String> arguments = getParameters().getUnnamed();
+    String filePath = new File(arguments.isEmpty() ? "data/XMLData.xml" : arguments.get(0))
+        .getAbsolutePath();
+    ModelInterface sharedModel = new ConcurrentModel(new JournaledModel(
+        new CompactModelImpl(filePath, true, true), filePath));
+    model = new AsyncModel(sharedModel);
+
+    // Open associated model for editing, without waiting for it before showing the window.
+    model.run(ModelInterface::openModelData);
+
+    // Save changes a few seconds after editing stops, or at least once a minute while it goes on.
+    autosave = new AutosaveScheduler(sharedModel, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+    view = new ViewImpl();
+
+    new Controller(view, model);
+
+    Scene scene = new Scene(view.asParent(), view.getWidth(), view.getHeight());
+    primaryStage.setTitle("Application Manager");
+    primaryStage.setResizable(false);
+    primaryStage.setScene(scene);
+    primaryStage.show();
+  }
+
+  /**
+   * After use has closed the View window, save changes made in the model, so long as the model is
+   * assigned.
+   * @throws IllegalArgumentException if the model has not yet been properly assigned
+   */
+  @Override
+  public void stop() {
+    if (model == null) {
+      throw new IllegalArgumentException("Model must be non null to save info!");
+    }
+    autosave.close();
+    model.close();
+  }
+}
@@ -0,0 +1,380 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import model.CompactModelImpl;
+import model.JournaledModel;
+import model.ModelInterface;
+
+/**
+ * Runs this ApplicationManager from the command line without its window, for bulk changes and
+ * reports over a model data file - e.g. importing Events generated by other systems. Never loads
+ * JavaFX, so it runs headless.
+ *
+ * <p>Commands, each run on the model data file given first:
+ * <ul>
+ *   <li>{@code import <file> [--format csv|jsonl] [--create-areas]} adds an Event for each record
+ *   of the file (see {@link RecordFormat}), or of standard input if the file is "-". Records are
+ *   streamed, so only the model itself is held in memory, and the model data file is saved once
+ *   after every record has been added. If any record can't be added nothing is saved. An Area
+ *   given by a name no Area has is added if --create-areas is given, and an error otherwise.</li>
+ *   <li>{@code export <start> <end> [--area <ID>] [--format csv|jsonl] [--output <file>]} writes
+ *   every Event at or after start and before end - of a single Area if one is given - to
+ *   standard output or the given file, Area by Area, each Area's in order of date and time.</li>
+ *   <li>{@code count [<start> <end>]} writes the number of Events of each Area, and in total,
+ *   optionally only counting those at or after start and before end.</li>
+ * </ul>
+ * Dates and times are in ISO format, e.g. 2020-01-31T14:30.
+ *
+ * <p>The model is opened the same way the application opens it, so changes left in its journal by
+ * the application are replayed first. The application shouldn't have the same model data file
+ * open while an import runs, as whichever saves last overwrites the other's changes. Export and
+ * count only replay the journal in memory, writing neither the model data file nor its journal,
+ * so they may run while the application has the file open - though not while it is saving.
+ */
+public final class RunBatch {
+
+  /**
+   * Usage message printed when the arguments can't be understood.
+   */
+  private static final String USAGE = "Usage: RunBatch <model data file> <command>\n"
+      + "  import <file|-> [--format csv|jsonl] [--create-areas]\n"
+      + "  export <start> <end> [--area <ID>] [--format csv|jsonl] [--output <file>]\n"
+      + "  count [<start> <end>]";
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private RunBatch() {
+  }
+
+  /**
+   * Runs the command given by the arguments, exiting with status 1 if it fails or the arguments
+   * can't be understood.
+   * @param args model data file, then the command and its arguments
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println(USAGE);
+      System.exit(1);
+    }
+
+    String filePath = Paths.get(args[0]).toAbsolutePath().toString();
+    List<String> arguments = new ArrayList<>(List.of(args).subList(2, args.length));
+    try {
+      switch (args[1]) {
+        case "import":
+          importEvents(filePath, arguments);
+          break;
+        case "export":
+          exportEvents(filePath, arguments);
+          break;
+        case "count":
+          countEvents(filePath, arguments);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown command " + args[1] + "!\n" + USAGE);
+      }
+    }
+    catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Adds an Event to the model for each record of the file given by the arguments, then saves
+   * the model once.
+   * @param filePath path of the model data file
+   * @param arguments arguments of the import command
+   * @throws IOException if the records couldn't be read
+   * @throws IllegalArgumentException if the arguments can't be understood, or a record is
+   *         malformed or can't be added to the model
+   */
+  private static void importEvents(String filePath, List<String> arguments) throws IOException {
+    String format = removeOption(arguments, "--format");
+    boolean createAreas = arguments.remove("--create-areas");
+    if (arguments.size() != 1) {
+      throw new IllegalArgumentException("Expected a single file to import!\n" + USAGE);
+    }
+    String input = arguments.get(0);
+    RecordFormat recordFormat = format != null ? parseFormat(format)
+        : RecordFormat.ofFileName(input);
+
+    // Changes are made to the wrapped model, not journaled one by one, and saved together when
+    // the JournaledModel is closed.
+    CompactModelImpl model = new CompactModelImpl(filePath, true, true);
+    JournaledModel journaled = new JournaledModel(model, filePath);
+    journaled.openModelData();
+
+    Map<String, Integer> areaIDs = new HashMap<>();
+    for (AreaData area : model.outputAreas()) {
+      areaIDs.putIfAbsent(area.getAreaName(), area.getAreaId());
+      areaIDs.put(Integer.toString(area.getAreaId()), area.getAreaId());
+    }
+
+    int imported = 0;
+    try (BufferedReader reader = input.equals("-")
+        ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+        : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8)) {
+      RecordFormat.RecordReader records = recordFormat.reader(reader);
+      Map<String, String> record;
+      while ((record = nextRecord(records)) != null) {
+        try {
+          String area = required(record, "area");
+          Integer areaID = areaIDs.get(area);
+          if (areaID == null) {
+            if (!createAreas) {
+              throw new IllegalArgumentException("No Area has ID or name " + area + "!");
+            }
+            areaID = addArea(model, area);
+            areaIDs.put(area, areaID);
+            areaIDs.put(Integer.toString(areaID), areaID);
+          }
+          model.addEvent(new EventDataImpl(areaID, 0, required(record, "name"),
+              record.getOrDefault("description", ""), record.getOrDefault("location", ""),
+              parseDateTime(required(record, "dateTime"))));
+          imported++;
+        }
+        catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Record on line " + records.getLineNumber() + ": "
+              + e.getMessage() + " Nothing was imported.");
+        }
+      }
+    }
+
+    journaled.closeModelData();
+    System.err.println("Imported " + imported + " Events.");
+  }
+
+  /**
+   * Reads the next record, adding its line number to the message of any error.
+   * @param records reader of the records
+   * @return fields of the next record, or null if there are no more
+   * @throws IOException if the records couldn't be read
+   * @throws IllegalArgumentException if the next record is malformed
+   */
+  private static Map<String, String> nextRecord(RecordFormat.RecordReader records)
+      throws IOException {
+    try {
+      return records.next();
+    }
+    catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Record on line " + records.getLineNumber() + ": "
+          + e.getMessage() + " Nothing was imported.");
+    }
+  }
+
+  /**
+   * Adds an Area of the given name to the model, returning its ID.
+   * @param model model to add the Area to
+   * @param name name of the Area
+   * @return ID of the added Area
+   */
+  private static int addArea(ModelInterface model, String name) {
+    model.addArea(new AreaDataImpl(0, name, ""));
+    // New Areas are given IDs larger than any the model has had.
+    int toReturn = 0;
+    for (AreaData area : model.outputAreas()) {
+      toReturn = Math.max(toReturn, area.getAreaId());
+    }
+    return toReturn;
+  }
+
+  /**
+   * Writes the Events in the window of time given by the arguments.
+   * @param filePath path of the model data file
+   * @param arguments arguments of the export command
+   * @throws IOException if the Events couldn't be written
+   * @throws IllegalArgumentException if the arguments can't be understood
+   */
+  private static void exportEvents(String filePath, List<String> arguments) throws IOException {
+    String area = removeOption(arguments, "--area");
+    String format = removeOption(arguments, "--format");
+    String output = removeOption(arguments, "--output");
+    if (arguments.size() != 2) {
+      throw new IllegalArgumentException("Expected a start and an end to export between!\n"
+          + USAGE);
+    }
+    LocalDateTime start = parseDateTime(arguments.get(0));
+    LocalDateTime end = parseDateTime(arguments.get(1));
+    RecordFormat recordFormat = format != null ? parseFormat(format)
+        : output != null ? RecordFormat.ofFileName(output) : RecordFormat.CSV;
+
+    ModelInterface model = openModel(filePath);
+    List<Integer> areaIDs = area != null ? List.of(parseAreaID(area)) : areaIDs(model);
+    try (Writer writer = output != null
+        ? Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)
+        : standardOutput()) {
+      recordFormat.writeHeader(writer);
+      // The first window asked for loads and indexes every Event, each Area's are then written in
+      // turn.
+      for (int areaID : areaIDs) {
+        for (EventData event : model.outputEventsBetween(areaID, start, end)) {
+          recordFormat.write(event, writer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the number of Events of each Area, and in total, in the window of time given by the
+   * arguments if any.
+   * @param filePath path of the model data file
+   * @param arguments arguments of the count command
+   * @throws IllegalArgumentException if the arguments can't be understood
+   */
+  private static void countEvents(String filePath, List<String> arguments) {
+    if (arguments.size() != 0 && arguments.size() != 2) {
+      throw new IllegalArgumentException("Expected a start and an end to count between, or "
+          + "neither!\n" + USAGE);
+    }
+    LocalDateTime start = arguments.isEmpty() ? null : parseDateTime(arguments.get(0));
+    LocalDateTime end = arguments.isEmpty() ? null : parseDateTime(arguments.get(1));
+
+    ModelInterface model = openModel(filePath);
+    long total = 0;
+    PrintWriter out = new PrintWriter(standardOutput());
+    for (AreaData area : model.outputAreas()) {
+      int count = start == null ? model.outputEvents(area.getAreaId()).size()
+          : model.outputEventsBetween(area.getAreaId(), start, end).size();
+      out.println(area.getAreaId() + "\t" + area.getAreaName() + "\t" + count);
+      total += count;
+    }
+    out.println("total\t\t" + total);
+    out.flush();
+  }
+
+  /**
+   * Returns a writer of standard output, in UTF-8 whatever the platform's default charset is.
+   * @return writer of standard output
+   */
+  private static Writer standardOutput() {
+    return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Opens the model for reading only, with the changes in its journal replayed in memory but
+   * neither saved nor cleared from the journal. It isn't closed, as nothing is changed.
+   * @param filePath path of the model data file
+   * @return the opened model
+   */
+  private static ModelInterface openModel(String filePath) {
+    JournaledModel model = new JournaledModel(new CompactModelImpl(filePath, true, true),
+        filePath);
+    model.openModelDataForReading();
+    return model;
+  }
+
+  /**
+   * Returns the IDs of every Area of the model.
+   * @param model opened model
+   * @return IDs of the model's Areas
+   */
+  private static List<Integer> areaIDs(ModelInterface model) {
+    List<Integer> toReturn = new ArrayList<>();
+    for (AreaData area : model.outputAreas()) {
+      toReturn.add(area.getAreaId());
+    }
+    return toReturn;
+  }
+
+  /**
+   * Removes the given option and the value following it from the arguments.
+   * @param arguments arguments of a command
+   * @param option name of the option
+   * @return value of the option, or null if it wasn't given
+   * @throws IllegalArgumentException if the option is given without a value
+   */
+  private static String removeOption(List<String> arguments, String option) {
+    int index = arguments.indexOf(option);
+    if (index < 0) {
+      return null;
+    }
+    else if (index == arguments.size() - 1) {
+      throw new IllegalArgumentException("Option " + option + " needs a value!");
+    }
+    arguments.remove(index);
+    return arguments.remove(index);
+  }
+
+  /**
+   * Returns the value of a field a record must have.
+   * @param record fields of the record
+   * @param field name of the field
+   * @return value of the field
+   * @throws IllegalArgumentException if the record doesn't have the field
+   */
+  private static String required(Map<String, String> record, String field) {
+    String value = record.get(field);
+    if (value == null) {
+      throw new IllegalArgumentException("Record has no " + field + "!");
+    }
+    return value;
+  }
+
+  /**
+   * Parses the name of a record format.
+   * @param format name of the format
+   * @return the named format
+   * @throws IllegalArgumentException if no format has the name
+   */
+  private static RecordFormat parseFormat(String format) {
+    try {
+      return RecordFormat.valueOf(format.toUpperCase());
+    }
+    catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown format " + format + "!");
+    }
+  }
+
+  /**
+   * Parses a date and time in ISO format.
+   * @param dateTime date and time to parse
+   * @return the parsed date and time
+   * @throws IllegalArgumentException if the date and time isn't in ISO format
+   */
+  private static LocalDateTime parseDateTime(String dateTime) {
+    try {
+      return LocalDateTime.parse(dateTime.trim());
+    }
+    catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Date and time " + dateTime + " isn't of the form "
+          + "2020-01-31T14:30!");
+    }
+  }
+
+  /**
+   * Parses an Area ID.
+   * @param areaID Area ID to parse
+   * @return the parsed Area ID
+   * @throws IllegalArgumentException if the Area ID isn't a number
+   */
+  private static int parseAreaID(String areaID) {
+    try {
+      return Integer.parseInt(areaID);
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Area ID " + areaID + " isn't a number!");
+    }
+  }
+}
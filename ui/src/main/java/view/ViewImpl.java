@@ -0,0 +1,876 @@
+package view;
+
+import controller.ButtonEvents;
+import datatransfer.AreaData;
+import datatransfer.EventData;
+import datatransfer.ModelChange;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+
+/**
+ * Implementation of the ViewInterface, as a JavaFX GUI.
+ */
+public class ViewImpl implements ViewInterface {
+
+  /**
+   * The AreaDatas whose data is currently being displayed, bound to areasDisplay so that changing
+   * a single AreaData in it only updates the cell displaying that Area.
+   */
+  private final ObservableList<AreaData> areas;
+
+  /**
+   * The ID of the Area whose events are currently being displayed. If 0, indicated no Area is 
+   * currently selected
+   */
+  private int currentAreaID = 0;
+
+  /**
+   * The ID of the Event who is currently being displayed. If 0, indicated no Event is
+   * currently selected
+   */
+  private int currentEventID = 0;
+
+  /**
+   * The EventDatas whose data is currently being display, are the Events of the AreaData whose ID
+   * is equal to currentAreaID.
+   */
+  private ObservableList<EventData> events;
+
+  /**
+   * The EventDatas matching the current search query, displayed instead of events while
+   * showingSearchResults.
+   */
+  private ObservableList<EventData> searchResults;
+
+  /**
+   * Whether eventsDisplay is displaying searchResults rather than events.
+   */
+  private boolean showingSearchResults;
+
+  /**
+   * ListView displaying the data in each AreaData in areas.
+   */
+  private ListView<AreaData> areasDisplay;
+
+  /**
+   * ScrollPane displaying the name and description of the Area currently being displayed (as per
+   * currentAreaID).
+   */
+  private ScrollPane currentAreaInfo;
+
+  /**
+   * ListView displaying the data in each EventData in events, or in each result of a search.
+   */
+  private ListView<EventData> eventsDisplay;
+
+  /**
+   * The total width of this application's window.
+   */
+  private final int totalWidth;
+
+  /**
+   * The total height of this application's window.
+   */
+  private final int totalHeight;
+
+  /**
+   * The total width of area of this application delegated to displaying what Areas a user may
+   * select from.
+   */
+  private final int areaWidth;
+
+  /**
+   * The total width of area of this application delegated to displaying what the Events of the
+   * currently selected Area.
+   */
+  private final int eventWidth;
+
+  /**
+   * Universal value for any padding in this Display.
+   */
+  private final int paddingValue;
+
+  /**
+   * The height of each Area displayed.
+   */
+  private final int areaCellHeight;
+
+  /**
+   * The height of each Event displayed.
+   */
+  private final int eventCellHeight;
+
+  /**
+   * The height of each search result displayed.
+   */
+  private final int searchResultCellHeight;
+
+  /**
+   * Button to add a new Area.
+   */
+  private final Button addNewArea;
+
+  /**
+   * Button to add a new Event to a new Area.
+   */
+  private final Button addNewEvent;
+
+  /**
+   * Button to edit the selected Area.
+   */
+  private final Button editArea;
+
+  /**
+   * Button to delete the currently selected Area.
+   */
+  private final Button deleteArea;
+
+  /**
+   * Field to enter a query to search the Events of every Area for.
+   */
+  private final TextField searchField;
+
+  /**
+   * Indicator shown while the model is busy loading or saving data.
+   */
+  private final ProgressIndicator loadingIndicator;
+
+  private EventHandler<ActionEvent> displayEventHandler;
+
+  private EventHandler<ActionEvent> deleteEventHandler;
+
+  private EventHandler<ActionEvent> editEventHandler;
+
+  private EventHandler<ActionEvent> searchEventHandler;
+
+  /**
+   * Root frame of this view.
+   */
+  private final BorderPane root;
+
+  /**
+   *
+   */
+  public ViewImpl() {
+    // Set constants
+    areas = FXCollections.observableArrayList();
+    events = FXCollections.observableArrayList();
+    searchResults = FXCollections.observableArrayList();
+    totalWidth = 700;
+    totalHeight = 500;
+    areaWidth = 200;
+    eventWidth = totalWidth - areaWidth;
+    paddingValue = 5;
+    areaCellHeight = 50;
+    eventCellHeight = 115;
+    searchResultCellHeight = 65;
+
+    areasDisplay = new ListView<>(areas);
+    areasDisplay.setCellFactory(list -> new AreaCell());
+    areasDisplay.setFixedCellSize(areaCellHeight);
+    eventsDisplay = new ListView<>();
+    currentAreaInfo = new ScrollPane();
+
+    // Root pane to display all this application's content. Split into an area to display all Areas,
+    // and an area to display all the Events of a selected Area - and the Area's own info.
+    root = new BorderPane();
+
+    // Size parameters for buttons, internal containers, etc.
+    int labelHeight = 10;
+
+    int areasDisplayWidth = areaWidth;
+    int areasDisplayHeight = totalHeight - labelHeight;
+
+    int buttonWidth = 150;
+    int buttonHeight = 100;
+    int currentAreaInfoWidth = eventWidth - buttonWidth;
+    int currentAreaInfoHeight = buttonHeight;
+
+    int eventsDisplayWidth = eventWidth - labelHeight;
+    int eventsDisplayHeight = totalHeight - buttonHeight;
+
+    // Part of the root pane to display Areas.
+
+    areasDisplay.setMinWidth(areasDisplayWidth);
+    areasDisplay.setMinHeight(areasDisplayHeight);
+
+    // Field to search the Events of every Area, searching again each time its text changes so
+    // results are shown as the query is typed.
+    searchField = new TextField();
+    searchField.setPromptText("Search Events");
+    searchField.setMaxWidth(areaWidth);
+    searchField.textProperty().addListener((observable, oldQuery, newQuery) -> {
+      if (searchEventHandler != null) {
+        searchEventHandler.handle(new ActionEvent(searchField, null));
+      }
+    });
+
+    Label areasLabel = new Label("Areas");
+    areasLabel.setPrefHeight(labelHeight);
+    VBox areaVBox = new VBox(searchField, areasLabel, areasDisplay);
+    areaVBox.setAlignment(Pos.CENTER);
+    areaVBox.setMinWidth(areaWidth);
+    areaVBox.setPrefHeight(totalHeight);
+
+    // Part of the root pane to display Events.
+    // Button to add a new Area to the list of all Areas currently stored in the model.
+    addNewArea = new Button("Add New Area");
+    addNewArea.setPrefWidth(buttonWidth);
+    addNewArea.setPrefHeight(buttonHeight / 4);
+
+    // Button to add a new Event to the currently selected / displayed Area.
+    addNewEvent = new Button("Add New Event");
+    addNewEvent.setMinWidth(buttonWidth);
+    addNewEvent.setPrefHeight(buttonHeight / 4);
+
+    // Button to edit the information of the currently selected / displayed Area.
+    editArea = new Button("Edit Area");
+    editArea.setMinWidth(buttonWidth);
+    editArea.setPrefHeight(buttonHeight / 4);
+
+    // Button to delete the currently selected / displayed Area.
+    deleteArea = new Button("Delete Area");
+    deleteArea.setMinWidth(buttonWidth);
+    deleteArea.setPrefHeight(buttonHeight / 4);
+
+    VBox buttons = new VBox(addNewArea, addNewEvent, deleteArea, editArea);
+
+    Label areaInfo = new Label("Current Area Info");
+    VBox currentAreaInfoBox = new VBox(areaInfo, currentAreaInfo);
+    currentAreaInfoBox.setAlignment(Pos.CENTER);
+    currentAreaInfoBox.setPrefWidth(currentAreaInfoWidth);
+    currentAreaInfoBox.setPrefHeight(currentAreaInfoHeight);
+
+    HBox eventHeader = new HBox(currentAreaInfoBox, buttons);
+
+    Label eventsLabel = new Label("Events");
+    eventsLabel.setPrefHeight(labelHeight);
+    eventsDisplay.setMinWidth(eventsDisplayWidth);
+    eventsDisplay.setMinHeight(eventsDisplayHeight);
+
+    // Spins next to the Events label for as long as the model is busy.
+    loadingIndicator = new ProgressIndicator();
+    loadingIndicator.setPrefSize(2 * labelHeight, 2 * labelHeight);
+    loadingIndicator.setVisible(false);
+    HBox eventsLabelBox = new HBox(eventsLabel, loadingIndicator);
+    eventsLabelBox.setAlignment(Pos.CENTER_LEFT);
+
+    VBox eventVBox = new VBox(eventHeader, eventsLabelBox, eventsDisplay);
+    eventVBox.setAlignment(Pos.CENTER);
+
+    // Assign the component displaying all the Areas to the left part of the root pane, and the
+    // component displaying all Areas to the right part of the root pane.
+    root.setLeft(areaVBox);
+    root.setRight(eventVBox);
+  }
+
+  @Override
+  public void receiveAreas(List<AreaData> areas) {
+    if (areas == null) {
+      throw new IllegalArgumentException("Given list of AreaDatas can't be null!");
+    }
+
+    Set<Integer> givenIDs = new HashSet<>();
+    for (AreaData area : areas) {
+      givenIDs.add(area.getAreaId());
+    }
+
+    // Bring the displayed Areas in line with the given ones position by position, so an unchanged
+    // Area keeps its cell as it is, and only the cell of a changed, added or deleted Area and
+    // those of the Areas after it are updated.
+    for (int i = 0; i < areas.size(); i++) {
+      AreaData area = areas.get(i);
+      while (i < this.areas.size() && !givenIDs.contains(this.areas.get(i).getAreaId())) {
+        this.areas.remove(i);
+      }
+      if (i == this.areas.size()) {
+        this.areas.add(area);
+      }
+      else if (this.areas.get(i).getAreaId() != area.getAreaId()) {
+        this.areas.add(i, area);
+      }
+      else if (!sameAreaData(this.areas.get(i), area)) {
+        this.areas.set(i, area);
+      }
+    }
+    if (this.areas.size() > areas.size()) {
+      this.areas.remove(areas.size(), this.areas.size());
+    }
+  }
+
+  /**
+   * Returns whether the two given AreaDatas hold the same data.
+   * @param first first AreaData
+   * @param second second AreaData
+   * @return if both have the same ID, name and description
+   */
+  private static boolean sameAreaData(AreaData first, AreaData second) {
+    return first.getAreaId() == second.getAreaId()
+        && first.getAreaName().equals(second.getAreaName())
+        && first.getAreaDescription().equals(second.getAreaDescription());
+  }
+
+  @Override
+  public void receiveEvents(List<EventData> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("Given list of EventDatas can't be null!");
+    }
+
+    // Check that the Events to be displayed are of the currently selected Area (as per
+    // currentAreaID).
+    for (EventData event : events) {
+      if (event.getAssociatedAreaId() != currentAreaID) {
+        throw new IllegalArgumentException("Can't display Events not associated with the " +
+                "currently selected Area!");
+      }
+    }
+
+    // The Events are copied so that later changes can be applied to them directly, only
+    // updating the cells of the Events changed.
+    this.events = FXCollections.observableArrayList(events);
+    showingSearchResults = false;
+
+    // Don't attempt to display any Events unless this View is up and running.
+    if (eventsDisplay != null) {
+      eventsDisplay.setCellFactory(list -> new EventCell());
+      eventsDisplay.setFixedCellSize(eventCellHeight);
+      eventsDisplay.setItems(this.events);
+    }
+  }
+
+  @Override
+  public void receiveSearchResults(List<EventData> results) {
+    if (results == null) {
+      throw new IllegalArgumentException("Given list of EventDatas can't be null!");
+    }
+
+    for (EventData event : results) {
+      if (indexOfArea(event.getAssociatedAreaId()) < 0) {
+        throw new IllegalArgumentException("Can't display Events not associated with a "
+            + "displayed Area!");
+      }
+    }
+
+    searchResults = FXCollections.observableArrayList(results);
+    showingSearchResults = true;
+
+    // Don't attempt to display any results unless this View is up and running.
+    if (eventsDisplay != null) {
+      eventsDisplay.setCellFactory(list -> new SearchResultCell());
+      eventsDisplay.setFixedCellSize(searchResultCellHeight);
+      eventsDisplay.setItems(searchResults);
+    }
+  }
+
+  @Override
+  public void receiveChange(ModelChange change) {
+    if (change == null) {
+      throw new IllegalArgumentException("Given ModelChange can't be null!");
+    }
+
+    for (AreaData area : change.getRemovedAreas()) {
+      int index = indexOfArea(area.getAreaId());
+      if (index >= 0) {
+        areas.remove(index);
+      }
+      // The Events of a removed Area are removed along with it.
+      searchResults.removeIf(event -> event.getAssociatedAreaId() == area.getAreaId());
+      if (area.getAreaId() == currentAreaID) {
+        resetAreaDisplay();
+        events.clear();
+      }
+    }
+    for (AreaData area : change.getUpdatedAreas()) {
+      int index = indexOfArea(area.getAreaId());
+      if (index >= 0) {
+        areas.set(index, area);
+      }
+      if (area.getAreaId() == currentAreaID) {
+        displayAreaInfo(area);
+      }
+      // Search results show the name of their Area, so redisplay them with its new name.
+      if (showingSearchResults && eventsDisplay != null) {
+        eventsDisplay.refresh();
+      }
+    }
+    areas.addAll(change.getAddedAreas());
+
+    for (EventData event : change.getRemovedEvents()) {
+      int index = indexOfEvent(event);
+      if (index >= 0) {
+        events.remove(index);
+      }
+      index = indexOfSearchResult(event);
+      if (index >= 0) {
+        searchResults.remove(index);
+      }
+    }
+    for (EventData event : change.getUpdatedEvents()) {
+      int index = indexOfEvent(event);
+      if (index >= 0) {
+        events.set(index, event);
+      }
+      index = indexOfSearchResult(event);
+      if (index >= 0) {
+        searchResults.set(index, event);
+      }
+    }
+    // Added Events have the largest IDs of their Area, so go at the end of its Events. Whether
+    // they match the current search query is left to the next search.
+    for (EventData event : change.getAddedEvents()) {
+      if (event.getAssociatedAreaId() == currentAreaID) {
+        events.add(event);
+      }
+    }
+  }
+
+  /**
+   * Returns the position of the Area with the given ID among the displayed Areas. Areas are
+   * usually in order of ID, so it is looked for by binary search first, then one by one.
+   * @param areaID ID of the Area to find
+   * @return position of the Area, or -1 if it isn't displayed
+   */
+  private int indexOfArea(int areaID) {
+    return indexOfID(areas, AreaData::getAreaId, areaID);
+  }
+
+  /**
+   * Returns the position of the given Event among the displayed Events of the selected Area.
+   * Events are usually in order of ID, so it is looked for by binary search first, then one by
+   * one.
+   * @param event Event to find, by its Area and Event ID
+   * @return position of the Event, or -1 if it isn't displayed
+   */
+  private int indexOfEvent(EventData event) {
+    if (event.getAssociatedAreaId() != currentAreaID) {
+      return -1;
+    }
+    return indexOfID(events, EventData::getEventId, event.getEventId());
+  }
+
+  /**
+   * Returns the position of the given Event among the current search results.
+   * @param event Event to find, by its Area and Event ID
+   * @return position of the Event, or -1 if it isn't a search result
+   */
+  private int indexOfSearchResult(EventData event) {
+    for (int i = 0; i < searchResults.size(); i++) {
+      EventData result = searchResults.get(i);
+      if (result.getAssociatedAreaId() == event.getAssociatedAreaId()
+          && result.getEventId() == event.getEventId()) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the position of the item with the given ID in the given list, by binary search if the
+   * list is in order of ID, and otherwise by looking at every item.
+   * @param list list to search
+   * @param idOf function returning the ID of an item
+   * @param id ID of the item to find
+   * @param <T> type of the items
+   * @return position of the item, or -1 if no item has the given ID
+   */
+  private static <T> int indexOfID(List<T> list, ToIntFunction<T> idOf, int id) {
+    int low = 0;
+    int high = list.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midID = idOf.applyAsInt(list.get(mid));
+      if (midID < id) {
+        low = mid + 1;
+      }
+      else if (midID > id) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+
+    for (int i = 0; i < list.size(); i++) {
+      if (idOf.applyAsInt(list.get(i)) == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Selects the given Area, displaying its own info and requesting its Events to display.
+   * @param area Area to select
+   */
+  void selectArea(AreaData area) {
+    currentAreaID = area.getAreaId();
+    displayAreaInfo(area);
+    Button dummy = new Button();
+    dummy.setOnAction(displayEventHandler);
+    dummy.fire();
+  }
+
+  /**
+   * Displays the name and description of the given Area as that of the selected Area.
+   * @param area Area to display
+   */
+  private void displayAreaInfo(AreaData area) {
+    Text name = new Text("Name: " + area.getAreaName());
+    Text desp = new Text("Description: " + area.getAreaDescription());
+    VBox text = new VBox(name, desp);
+    currentAreaInfo.setContent(text);
+  }
+
+  @Override
+  public void assignButtonEvents(Map<ButtonEvents, EventHandler<ActionEvent>> buttonEvents)
+      throws IllegalArgumentException {
+    if (buttonEvents == null) {
+      throw new IllegalArgumentException("Given mapping can't null!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.NEW_AREA)) {
+      addNewArea.setOnAction(buttonEvents.get(ButtonEvents.NEW_AREA));
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for NEW_AREA "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.DELETE_AREA)) {
+      deleteArea.setOnAction(buttonEvents.get(ButtonEvents.DELETE_AREA));
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for DELETE_AREA "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.NEW_EVENT)) {
+      addNewEvent.setOnAction(buttonEvents.get(ButtonEvents.NEW_EVENT));
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for NEW_EVENT "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.EDIT_AREA)) {
+      editArea.setOnAction(buttonEvents.get(ButtonEvents.EDIT_AREA));
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for EDIT_AREA "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.DELETE_EVENT)) {
+      deleteEventHandler = buttonEvents.get(ButtonEvents.DELETE_EVENT);
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for DELETE_EVENT "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.EDIT_EVENT)) {
+      editEventHandler = buttonEvents.get(ButtonEvents.EDIT_EVENT);
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for EDIT_EVENT "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.DISPLAY)) {
+      displayEventHandler = buttonEvents.get(ButtonEvents.DISPLAY);
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for DISPLAY "
+          + "ButtonEvent!");
+    }
+
+    if (buttonEvents.containsKey(ButtonEvents.SEARCH)) {
+      searchEventHandler = buttonEvents.get(ButtonEvents.SEARCH);
+    }
+    else {
+      throw new IllegalArgumentException("Given mapping must contain EventHandler for SEARCH "
+          + "ButtonEvent!");
+    }
+  }
+
+  @Override
+  public Parent asParent() {
+    return root;
+  }
+
+  @Override
+  public int getWidth() {
+    return totalWidth;
+  }
+
+  @Override
+  public int getHeight() {
+    return totalHeight;
+  }
+
+  @Override
+  public int getSelectedAreaID() {
+    return currentAreaID;
+  }
+
+  @Override
+  public void resetAreaDisplay() {
+    currentAreaID = 0;
+    currentAreaInfo.setContent(new Text());
+  }
+
+  @Override
+  public int getSelectedEventID() {
+    return currentEventID;
+  }
+
+  @Override
+  public String getSearchQuery() {
+    return searchField.getText();
+  }
+
+  @Override
+  public void setLoading(boolean loading) {
+    loadingIndicator.setVisible(loading);
+  }
+
+  /**
+   * Cell of the ListView of Events, displaying the data of a single Event. Its nodes are only
+   * created once, and are given the data of whichever Event the cell is reused for as the list is
+   * scrolled.
+   */
+  private class EventCell extends ListCell<EventData> {
+
+    /**
+     * Name of the Event.
+     */
+    private final Text name;
+
+    /**
+     * Description of the Event.
+     */
+    private final Text desp;
+
+    /**
+     * Location of the Event.
+     */
+    private final Text location;
+
+    /**
+     * Date of the Event.
+     */
+    private final Text date;
+
+    /**
+     * Time of the Event.
+     */
+    private final Text time;
+
+    /**
+     * All the nodes displaying the Event.
+     */
+    private final StackPane stack;
+
+    /**
+     * Constructs an EventCell, creating the nodes it displays Events with.
+     */
+    EventCell() {
+      name = new Text();
+      desp = new Text();
+      location = new Text();
+      date = new Text();
+      time = new Text();
+
+      // Button to edit this Event.
+      Button editEvent = new Button("Edit");
+      editEvent.setOnAction(event1 -> {
+        currentEventID = getItem().getEventId();
+        editEventHandler.handle(event1);
+      });
+
+      // Button to delete this Event.
+      Button deleteEvent = new Button("Delete");
+      deleteEvent.setOnAction(event1 -> {
+        currentEventID = getItem().getEventId();
+        deleteEventHandler.handle(event1);
+      });
+
+      // More containers to hold all the info that needs to be displayed.
+      HBox buttons = new HBox(editEvent, deleteEvent);
+      VBox items = new VBox(name, desp, location, date, time, buttons);
+
+      // Background to display info and buttons over.
+      int backgroundWidth = eventWidth - 4 * paddingValue;
+      int backgroundHeight = 110;
+      Rectangle background = new Rectangle(backgroundWidth, backgroundHeight, Color.LIGHTGRAY);
+
+      stack = new StackPane(background, items);
+      stack.setAlignment(Pos.CENTER_LEFT);
+    }
+
+    @Override
+    protected void updateItem(EventData event, boolean empty) {
+      super.updateItem(event, empty);
+      if (empty || event == null) {
+        setGraphic(null);
+        return;
+      }
+
+      // Get info out from current Event and display it.
+      name.setText("Event Name: " + event.getEventName());
+      desp.setText("Event Desp: " + event.getEventDescription());
+      location.setText("Event Location: " + event.getEventLocation());
+
+      LocalDateTime dateTimeInfo = event.getEventDateAndTime();
+      int year = dateTimeInfo.getYear();
+      int month = dateTimeInfo.getMonthValue();
+      int day = dateTimeInfo.getDayOfMonth();
+      int minute = dateTimeInfo.getMinute();
+      int finalHour = event.getFinalHour();
+      String timeConventionString = event.getTimeConvention();
+
+      date.setText(String.format("Date: %d/%d/%d", month, day, year));
+      time.setText(String.format("Time: %d:%02d %s", finalHour, minute, timeConventionString));
+      setGraphic(stack);
+    }
+  }
+
+  /**
+   * Cell of the ListView of search results, displaying a single Event along with the Area it is
+   * of. Clicking the cell selects that Area.
+   */
+  private class SearchResultCell extends ListCell<EventData> {
+
+    /**
+     * Name of the Event.
+     */
+    private final Text name;
+
+    /**
+     * Name of the Area of the Event.
+     */
+    private final Text areaName;
+
+    /**
+     * Date and time of the Event.
+     */
+    private final Text dateTime;
+
+    /**
+     * All the nodes displaying the Event.
+     */
+    private final StackPane stack;
+
+    /**
+     * Constructs a SearchResultCell, creating the nodes it displays results with.
+     */
+    SearchResultCell() {
+      name = new Text();
+      areaName = new Text();
+      dateTime = new Text();
+      VBox items = new VBox(name, areaName, dateTime);
+      items.setMouseTransparent(true);
+
+      // When a result is clicked, display the Area it is of, along with all its Events.
+      int backgroundWidth = eventWidth - 4 * paddingValue;
+      int backgroundHeight = 60;
+      Button background = new Button();
+      background.setMinHeight(backgroundHeight);
+      background.setMinWidth(backgroundWidth);
+      background.setOnAction(event1 ->
+          selectArea(areas.get(indexOfArea(getItem().getAssociatedAreaId()))));
+
+      stack = new StackPane(background, items);
+      stack.setAlignment(Pos.CENTER_LEFT);
+    }
+
+    @Override
+    protected void updateItem(EventData event, boolean empty) {
+      super.updateItem(event, empty);
+      if (empty || event == null) {
+        setGraphic(null);
+        return;
+      }
+
+      LocalDateTime dateTimeInfo = event.getEventDateAndTime();
+      name.setText("Event Name: " + event.getEventName());
+      int areaIndex = indexOfArea(event.getAssociatedAreaId());
+      areaName.setText("Area: " + (areaIndex < 0 ? "" : areas.get(areaIndex).getAreaName()));
+      dateTime.setText(String.format("Date: %d/%d/%d  Time: %d:%02d %s",
+          dateTimeInfo.getMonthValue(), dateTimeInfo.getDayOfMonth(), dateTimeInfo.getYear(),
+          event.getFinalHour(), dateTimeInfo.getMinute(), event.getTimeConvention()));
+      setGraphic(stack);
+    }
+  }
+
+  /**
+   * Cell of the ListView of Areas, displaying the name of a single Area as a button selecting it.
+   */
+  private class AreaCell extends ListCell<AreaData> {
+
+    /**
+     * Name of the Area.
+     */
+    private final Text areaName;
+
+    /**
+     * All the nodes displaying the Area.
+     */
+    private final StackPane stack;
+
+    /**
+     * Constructs an AreaCell, creating the nodes it displays Areas with.
+     */
+    AreaCell() {
+      areaName = new Text();
+      areaName.setMouseTransparent(true);
+
+      int backgroundWidth = areaWidth - 4 * paddingValue;
+      int backgroundHeight = areaCellHeight - paddingValue;
+      Button background = new Button();
+      background.setMinHeight(backgroundHeight);
+      background.setMinWidth(backgroundWidth);
+
+      // When Area button is clicked, display the Area's associated Events and own info.
+      background.setOnAction((ActionEvent event) -> selectArea(getItem()));
+
+      stack = new StackPane(background, areaName);
+    }
+
+    @Override
+    protected void updateItem(AreaData area, boolean empty) {
+      super.updateItem(area, empty);
+      if (empty || area == null) {
+        setGraphic(null);
+        return;
+      }
+
+      areaName.setText(area.getAreaName());
+      setGraphic(stack);
+    }
+  }
+}
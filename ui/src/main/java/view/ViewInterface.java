@@ -5,6 +5,7 @@ import java.util.List;
 
 import datatransfer.AreaData;
 import datatransfer.EventData;
+import datatransfer.ModelChange;
 import java.util.Map;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
@@ -35,6 +36,22 @@ public interface ViewInterface {
    */
   void receiveEvents(List<EventData> events) throws IllegalArgumentException;
 
+  /**
+   * Receives a list of EventDatas matching the current search query, best match first and
+   * possibly of several different Areas, to display in this View.
+   * @param results list of EventDatas matching the current search query
+   * @throws IllegalArgumentException if given list is null
+   */
+  void receiveSearchResults(List<EventData> results) throws IllegalArgumentException;
+
+  /**
+   * Receives a change made to the corresponding model, updating only the displayed Areas and
+   * Events that changed rather than all of them.
+   * @param change every Area and Event added, updated, or removed by the change
+   * @throws IllegalArgumentException if given change is null
+   */
+  void receiveChange(ModelChange change) throws IllegalArgumentException;
+
   /**
    * Given a mapping of {@link controller.ButtonEvents} to JavaFX events, assigns the appropriate
    * event to the appropriate
@@ -81,4 +98,17 @@ public interface ViewInterface {
    * @return ID of Event last selected
    */
   int getSelectedEventID();
+
+  /**
+   * Returns the search query currently entered in this View. If empty, indicates no search is
+   * being made.
+   * @return current search query
+   */
+  String getSearchQuery();
+
+  /**
+   * Shows or hides this View's indicator that the model is busy loading or saving data.
+   * @param loading whether the model is busy
+   */
+  void setLoading(boolean loading);
 }
@@ -0,0 +1,168 @@
+package view;
+
+import controller.ButtonEvents;
+import datatransfer.AreaData;
+import datatransfer.AreaDataImpl;
+import datatransfer.EventData;
+import datatransfer.EventDataImpl;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Measures how long a {@link ViewImpl} takes to display the Events of an Area with 1k, 10k and
+ * 100k Events, from selecting the Area to the Events being laid out, along with how many nodes the
+ * scene graph holds and how much the heap grows once they are displayed.
+ *
+ * <p>Kept with the test sources of the view, so it can select an Area through the package-private
+ * selectArea without being shipped with the application. Runs without a display through Monocle's
+ * headless platform, a test dependency of this module:
+ * <pre>
+ * mvn -pl ui test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw \
+ *     -cp ui/target/test-classes:ui/target/classes:$(cat ui/cp.txt) view.EventListBenchmark
+ * </pre>
+ */
+public final class EventListBenchmark {
+
+  /**
+   * Numbers of Events displayed.
+   */
+  private static final int[] EVENT_COUNTS = {1_000, 10_000, 100_000};
+
+  /**
+   * Number of times the Events are displayed before measuring.
+   */
+  private static final int WARMUP_RUNS = 3;
+
+  /**
+   * Not meant to be instantiated.
+   */
+  private EventListBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark on the JavaFX application thread, started without an Application so it
+   * can run from the class path.
+   * @param args not used
+   */
+  public static void main(String[] args) {
+    Platform.startup(() -> {
+      try {
+        run(new Stage());
+      }
+      finally {
+        Platform.exit();
+      }
+    });
+  }
+
+  /**
+   * Displays each number of Events on the given stage, printing the measurements of each.
+   * @param stage stage to show the view on
+   */
+  private static void run(Stage stage) {
+    System.out.printf("%-10s %16s %10s %14s%n", "events", "render (ms)", "nodes", "heap (MB)");
+    for (int eventCount : EVENT_COUNTS) {
+      List<EventData> events = generateEvents(eventCount);
+      for (int i = 0; i < WARMUP_RUNS; i++) {
+        display(stage, events, false);
+      }
+      display(stage, events, true);
+    }
+  }
+
+  /**
+   * Displays the given Events in a new ViewImpl shown on the given stage.
+   * @param stage stage to show the view on
+   * @param events Events of a single Area to display
+   * @param print whether to print the measurements taken
+   */
+  private static void display(Stage stage, List<EventData> events, boolean print) {
+    ViewImpl view = new ViewImpl();
+    AreaData area = new AreaDataImpl(1, "Area", "Benchmarked Area");
+    view.assignButtonEvents(handlers(view, events));
+    view.receiveAreas(List.of(area));
+    stage.setScene(new Scene(view.asParent(), view.getWidth(), view.getHeight()));
+    stage.show();
+
+    long heapBefore = usedHeap();
+    long start = System.nanoTime();
+    view.selectArea(area);
+    view.asParent().applyCss();
+    view.asParent().layout();
+    long time = System.nanoTime() - start;
+    long heapAfter = usedHeap();
+
+    if (print) {
+      System.out.printf("%-10d %16.1f %10d %14.1f%n", events.size(), time / 1e6,
+          countNodes(view.asParent()), (heapAfter - heapBefore) / 1e6);
+    }
+  }
+
+  /**
+   * Returns handlers for every ButtonEvent a ViewImpl needs, displaying the given Events when an
+   * Area is selected and doing nothing otherwise.
+   * @param view view to display the Events in
+   * @param events Events to display
+   * @return mapping of every ButtonEvent to its handler
+   */
+  private static Map<ButtonEvents, EventHandler<ActionEvent>> handlers(ViewImpl view,
+      List<EventData> events) {
+    Map<ButtonEvents, EventHandler<ActionEvent>> toReturn = new EnumMap<>(ButtonEvents.class);
+    for (ButtonEvents buttonEvent : ButtonEvents.values()) {
+      toReturn.put(buttonEvent, actionEvent -> { });
+    }
+    toReturn.put(ButtonEvents.DISPLAY, actionEvent -> view.receiveEvents(events));
+    return toReturn;
+  }
+
+  /**
+   * Generates the given number of Events, all of the Area with ID 1.
+   * @param eventCount number of Events to generate
+   * @return generated Events
+   */
+  private static List<EventData> generateEvents(int eventCount) {
+    List<EventData> toReturn = new ArrayList<>(eventCount);
+    LocalDateTime start = LocalDateTime.of(2020, 1, 1, 9, 0);
+    for (int i = 1; i <= eventCount; i++) {
+      toReturn.add(new EventDataImpl(1, i, "Event " + i, "Description of event " + i,
+          "Room " + (i % 100), start.plusMinutes(30L * i)));
+    }
+    return toReturn;
+  }
+
+  /**
+   * Returns the number of nodes in the scene graph under the given node, including itself.
+   * @param node root of the scene graph to count
+   * @return number of nodes
+   */
+  private static int countNodes(Node node) {
+    int toReturn = 1;
+    if (node instanceof Parent) {
+      for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+        toReturn += countNodes(child);
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Returns how much of the heap is in use once garbage has been collected.
+   * @return bytes of heap in use
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}